@@ -0,0 +1,157 @@
+package com.project.service;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.project.dto.RealDTO;
+import com.project.dto.RealRowView;
+
+/**
+ * production_real 행 → RealDTO: 예전 Object[] 매핑 vs RealRowView 생성자 매핑
+ *
+ * - objectArray: 예전 convertToDto (Number 캐스트, Timestamp 변환, DECIMAL 도 toString → new BigDecimal)
+ * - constructorRow: 지금 경로. 같은 튜플 값으로 Hibernate 처럼 생성자를 리플렉션 호출한 뒤 RealService.convertToDto
+ * - interfaceProxy: 인터페이스 프로젝션(Map 기반 Spring Data 프록시)을 썼을 때 → 생성자 방식으로 바꾼 이유
+ * - 쿼리/드라이버 시간은 빼고 행 변환만 잼
+ * - 실행: mvn -Pbenchmark test-compile exec:exec -Djmh.include=RealRowMapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RealRowMappingBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] ALIASES = { "hydrogenActualId", "facid", "orgid", "plantId", "ts", "idlepowerkw",
+            "productionKg", "powerConsumedKwh", "utilizationRate", "facilityName", "generationKw", "capacityKw" };
+
+    /** 설비 20개 x 30일 x 24시간 */
+    @Param({ "14400" })
+    public int rowCount;
+
+    private List<Object[]> tuples;
+    private List<RowView> proxyRows;
+    private Constructor<RealRowView> constructor;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        Random random = new Random(42);
+        SpelAwareProxyProjectionFactory factory = new SpelAwareProxyProjectionFactory();
+        tuples = new ArrayList<>(rowCount);
+        proxyRows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            long facId = i % 20 + 1;
+            // 드라이버가 돌려주는 타입 그대로 (DATETIME → Timestamp, BIGINT → Long, DECIMAL → BigDecimal)
+            Object[] tuple = { (long) i + 1, facId, 1L, "plt" + facId, Timestamp.valueOf(START.plusHours(i / 20)),
+                    BigDecimal.valueOf(random.nextInt(5_000_000), 3), BigDecimal.valueOf(random.nextInt(1_000_000), 3),
+                    BigDecimal.valueOf(random.nextInt(5_000_000), 3), BigDecimal.valueOf(random.nextInt(10_000), 4),
+                    "설비" + facId, random.nextDouble() * 500, 1000 };
+            tuples.add(tuple);
+
+            Map<String, Object> map = new HashMap<>();
+            for (int c = 0; c < ALIASES.length; c++) {
+                map.put(ALIASES[c], tuple[c]);
+            }
+            proxyRows.add(factory.createProjection(RowView.class, map));
+        }
+        constructor = RealRowView.class.getConstructor(Long.class, Long.class, Long.class, String.class,
+                Timestamp.class, BigDecimal.class, BigDecimal.class, BigDecimal.class, BigDecimal.class, String.class,
+                Double.class, Integer.class);
+    }
+
+    @Benchmark
+    public List<RealDTO> objectArray() {
+        List<RealDTO> results = new ArrayList<>();
+        for (Object[] row : tuples) {
+            results.add(RealDTO.builder()
+                    .hydrogenActualId(row[0] != null ? ((Number) row[0]).longValue() : null)
+                    .facid(row[1] != null ? ((Number) row[1]).longValue() : null)
+                    .orgid(row[2] != null ? ((Number) row[2]).longValue() : null)
+                    .plantId(row[3] != null ? row[3].toString() : null)
+                    .ts(row[4] != null ? ((Timestamp) row[4]).toLocalDateTime() : null)
+                    .idlepowerkw(row[5] != null ? new BigDecimal(row[5].toString()) : null)
+                    .productionKg(row[6] != null ? new BigDecimal(row[6].toString()) : null)
+                    .powerConsumedKwh(row[7] != null ? new BigDecimal(row[7].toString()) : null)
+                    .utilizationRate(row[8] != null ? new BigDecimal(row[8].toString()) : null)
+                    .facilityName(row[9] != null ? row[9].toString() : null)
+                    .plantName(null)
+                    .generationKw(row[10] != null ? new BigDecimal(row[10].toString()) : null)
+                    .capacityKw(row[11] != null ? new BigDecimal(row[11].toString()) : null)
+                    .build());
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<RealDTO> constructorRow() throws ReflectiveOperationException {
+        List<RealRowView> rows = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            rows.add(constructor.newInstance(tuple));
+        }
+        return RealService.convertToDto(rows);
+    }
+
+    @Benchmark
+    public List<RealDTO> interfaceProxy() {
+        List<RealDTO> results = new ArrayList<>(proxyRows.size());
+        for (RowView row : proxyRows) {
+            Double generationKw = row.getGenerationKw();
+            Integer capacityKw = row.getCapacityKw();
+            results.add(RealDTO.builder()
+                    .hydrogenActualId(row.getHydrogenActualId())
+                    .facid(row.getFacid())
+                    .orgid(row.getOrgid())
+                    .plantId(row.getPlantId())
+                    .ts(row.getTs())
+                    .idlepowerkw(row.getIdlepowerkw())
+                    .productionKg(row.getProductionKg())
+                    .powerConsumedKwh(row.getPowerConsumedKwh())
+                    .utilizationRate(row.getUtilizationRate())
+                    .facilityName(row.getFacilityName())
+                    .plantName(null)
+                    .generationKw(generationKw != null ? BigDecimal.valueOf(generationKw) : null)
+                    .capacityKw(capacityKw != null ? BigDecimal.valueOf(capacityKw.longValue()) : null)
+                    .build());
+        }
+        return results;
+    }
+
+    /** 인터페이스 프로젝션이었을 때의 RealRowView */
+    public interface RowView {
+        Long getHydrogenActualId();
+        Long getFacid();
+        Long getOrgid();
+        String getPlantId();
+        LocalDateTime getTs();
+        BigDecimal getIdlepowerkw();
+        BigDecimal getProductionKg();
+        BigDecimal getPowerConsumedKwh();
+        BigDecimal getUtilizationRate();
+        String getFacilityName();
+        Double getGenerationKw();
+        Integer getCapacityKw();
+    }
+}
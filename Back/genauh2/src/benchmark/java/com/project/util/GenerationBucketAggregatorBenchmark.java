@@ -0,0 +1,147 @@
+package com.project.util;
+
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.dto.MonthlyTotal;
+import com.project.dto.WeeklyTotal;
+import com.project.entity.PlantGeneration;
+
+/**
+ * 주/월 합계: 예전 Collectors.groupingBy("연-주" 문자열 키, 행마다 double[2]) vs GenerationBucketAggregator
+ *
+ * - 같은 행 목록(발전소 x 1년 x 24시간)을 두 방식으로 접어 DTO 목록까지 만듦
+ * - 실행: mvn -Pbenchmark test-compile exec:exec -Djmh.include=GenerationBucketAggregator
+ * - 행당 할당량 비교는 -Djmh.include="GenerationBucketAggregator -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBucketAggregatorBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Param({ "20" })
+    public int plants;
+
+    private List<PlantGeneration> rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>();
+        long id = 1;
+        for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+            for (int p = 0; p < plants; p++) {
+                for (int h = 0; h < 24; h++) {
+                    double gen = random.nextDouble() * 500;
+                    rows.add(new PlantGeneration(id++, "plt" + p, d, h, gen, gen * 0.9, 1000));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<WeeklyTotal> weeklyGroupingBy() {
+        Map<String, double[]> weeklySums = rows.stream()
+                .collect(Collectors.groupingBy(r -> {
+                    int year = r.getDate().getYear();
+                    int week = r.getDate().get(WeekFields.of(Locale.getDefault()).weekOfWeekBasedYear());
+                    return year + "-" + week;
+                }, Collectors.reducing(new double[2], r -> new double[] { r.getGeneration_Kw(), r.getForecast_Kwh() },
+                        (a, b) -> new double[] { a[0] + b[0], a[1] + b[1] })));
+
+        return weeklySums.entrySet().stream()
+                .map(entry -> {
+                    String[] parts = entry.getKey().split("-");
+                    double[] totals = entry.getValue();
+                    return WeeklyTotal.builder()
+                            .year(Integer.parseInt(parts[0]))
+                            .weekOfYear(Integer.parseInt(parts[1]))
+                            .genKwhTotal(totals[0])
+                            .predKwhTotal(totals[1])
+                            .build();
+                })
+                .sorted(Comparator.comparingInt(WeeklyTotal::getYear).thenComparingInt(WeeklyTotal::getWeekOfYear))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<WeeklyTotal> weeklyAggregator() {
+        GenerationBucketAggregator weeklySums = new GenerationBucketAggregator(GenerationBucketAggregator.Unit.WEEK, START, END);
+        for (PlantGeneration r : rows) {
+            weeklySums.add(r.getDate(), r.getGeneration_Kw(), r.getForecast_Kwh(), r.getCapacity_Kw(), 1);
+        }
+        List<WeeklyTotal> result = new ArrayList<>(weeklySums.size());
+        weeklySums.forEachSorted((key, genSum, predSum, capacitySum, rowCount) -> result.add(WeeklyTotal.builder()
+                .year((int) (key / 100))
+                .weekOfYear((int) (key % 100))
+                .genKwhTotal(genSum)
+                .predKwhTotal(predSum)
+                .build()));
+        return result;
+    }
+
+    @Benchmark
+    public List<MonthlyTotal> monthlyGroupingBy() {
+        Map<String, double[]> monthlySums = rows.stream()
+                .collect(Collectors.groupingBy(r -> r.getDate().getYear() + "-" + r.getDate().getMonthValue(),
+                        Collectors.reducing(new double[2],
+                                r -> new double[] { r.getGeneration_Kw(), r.getForecast_Kwh() },
+                                (a, b) -> new double[] { a[0] + b[0], a[1] + b[1] })));
+
+        return monthlySums.entrySet().stream()
+                .map(entry -> {
+                    String[] parts = entry.getKey().split("-");
+                    double[] totals = entry.getValue();
+                    return MonthlyTotal.builder()
+                            .year(Integer.parseInt(parts[0]))
+                            .month(Integer.parseInt(parts[1]))
+                            .genKwhTotal(totals[0])
+                            .predKwhTotal(totals[1])
+                            .build();
+                })
+                .sorted(Comparator.comparingInt(MonthlyTotal::getYear).thenComparingInt(MonthlyTotal::getMonth))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<MonthlyTotal> monthlyAggregator() {
+        GenerationBucketAggregator monthlySums = new GenerationBucketAggregator(GenerationBucketAggregator.Unit.MONTH, START, END);
+        for (PlantGeneration r : rows) {
+            monthlySums.add(r.getDate(), r.getGeneration_Kw(), r.getForecast_Kwh(), r.getCapacity_Kw(), 1);
+        }
+        List<MonthlyTotal> result = new ArrayList<>(monthlySums.size());
+        monthlySums.forEachSorted((key, genSum, predSum, capacitySum, rowCount) -> result.add(MonthlyTotal.builder()
+                .year((int) (key / 100))
+                .month((int) (key % 100))
+                .genKwhTotal(genSum)
+                .predKwhTotal(predSum)
+                .build()));
+        return result;
+    }
+}
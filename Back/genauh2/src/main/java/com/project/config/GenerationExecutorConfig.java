@@ -0,0 +1,70 @@
+package com.project.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class GenerationExecutorConfig {
+
+    // 발전소별 조회를 병렬로 실행하는 스레드 풀 (큐가 차면 호출 스레드에서 실행 → 요청 수만큼만 부하)
+    @Bean(name = "generationQueryExecutor")
+    public ThreadPoolTaskExecutor generationQueryExecutor(
+            @Value("${generation.batch.pool-size:8}") int poolSize,
+            @Value("${generation.batch.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("gen-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // production_real 생성을 설비별로 병렬 실행하는 스레드 풀 (DB 커넥션 풀보다 작게)
+    // 큐가 차면 호출 스레드(스케줄러)가 직접 설비 하나를 처리 → 설비 수가 많아도 대기 작업이 큐 크기를 넘지 않음
+    @Bean(name = "productionRealExecutor")
+    public ThreadPoolTaskExecutor productionRealExecutor(
+            @Value("${production-real.pool-size:4}") int poolSize,
+            @Value("${production-real.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("prod-real-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 적재 후 파생 저장소 갱신을 요청 밖에서 실행하는 단일 스레드 (대기 날짜는 서비스에서 합쳐 한 번에 처리 → 큐 1칸)
+    @Bean(name = "ingestDerivedExecutor")
+    public ThreadPoolTaskExecutor ingestDerivedExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("ingest-derived-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 재생성 작업 청크를 실행하는 스레드 풀 (모든 작업이 공유 → 동시에 DB에 거는 부하 상한)
+    // 큐에는 청크가 아니라 작업별 워커만 들어감 → 큐가 차면 새 작업은 거절(BackfillService 에서 PENDING 으로 남김)
+    @Bean(name = "backfillExecutor")
+    public ThreadPoolTaskExecutor backfillExecutor(
+            @Value("${backfill.pool-size:4}") int poolSize,
+            @Value("${backfill.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("backfill-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -114,7 +114,12 @@ public class SecurityConfig {
         
         // 허용할 헤더 (모든 헤더 허용)
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        
+
+        // 브라우저에서 읽을 수 있게 노출할 응답 헤더 (발전량 히트맵 메타데이터)
+        configuration.setExposedHeaders(Arrays.asList(
+            "X-Heatmap-Plant-Id", "X-Heatmap-Start", "X-Heatmap-Days", "X-Heatmap-Hours"
+        ));
+
         // 인증 정보 포함 허용 (쿠키, Authorization 헤더 등)
         configuration.setAllowCredentials(true);
         
@@ -0,0 +1,97 @@
+package com.project.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.dto.BackfillJobStatusDTO;
+import com.project.entity.BackfillJob;
+import com.project.service.AccessGuard;
+import com.project.service.BackfillService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/backfill")
+@RequiredArgsConstructor
+public class BackfillController {
+
+    private final BackfillService backfillService;
+    private final AccessGuard accessGuard;
+
+    /**
+     * [관리자] 파생 테이블 기간 재생성 작업 등록 (바로 반환, 진행 상황은 GET /backfill/jobs/{jobId})
+     * type = real | predict, split = day | facility
+     * 실행 중인 작업이 많아 풀에 넣지 못하면 503 (작업은 PENDING 으로 남아 resume 가능)
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<BackfillJobStatusDTO> startJob(
+            @RequestParam String type,
+            @RequestParam(defaultValue = "day") String split,
+            @RequestParam(value = "start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            accessGuard.requireSupervisor();
+            return ResponseEntity.ok(backfillService.start(
+                    BackfillJob.JobType.valueOf(type.trim().toUpperCase()),
+                    BackfillJob.Split.valueOf(split.trim().toUpperCase()),
+                    startDate, endDate));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /** 최근 작업 50건 */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<BackfillJobStatusDTO>> getJobs() {
+        return ResponseEntity.ok(backfillService.getRecentJobs());
+    }
+
+    /** 진행 상황 / 처리량 */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BackfillJobStatusDTO> getJob(@PathVariable Long jobId) {
+        BackfillJobStatusDTO status = backfillService.getStatus(jobId);
+        return (status != null) ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    /** [관리자] 실패/남은 청크 다시 실행 */
+    @PostMapping("/jobs/{jobId}/resume")
+    public ResponseEntity<BackfillJobStatusDTO> resumeJob(@PathVariable Long jobId) {
+        try {
+            accessGuard.requireSupervisor();
+            return ResponseEntity.ok(backfillService.resume(jobId));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /** [관리자] 남은 청크 취소 (실행 중인 청크는 끝까지 처리) */
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<BackfillJobStatusDTO> cancelJob(@PathVariable Long jobId) {
+        try {
+            accessGuard.requireSupervisor();
+            return ResponseEntity.ok(backfillService.cancel(jobId));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -2,14 +2,26 @@ package com.project.controller;
 
 import com.project.dto.HydrogenTankStatusDTO; // 수소탱크 채우기
 import com.project.dto.HourlyHydrogenProductionDTO; // 시간대별 수소 생산량
+import com.project.dto.HourlyOrgProductionDTO;
+import com.project.dto.TankFarmStatusDTO;
+import com.project.entity.HydrogenTank;
+import com.project.entity.TankDrawdown;
+import com.project.service.HydrogenTankFarmEngine;
 import com.project.service.HydrogenStorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
 
@@ -19,6 +31,7 @@ import java.util.List;
 public class HydrogenStorageController {
 
     private final HydrogenStorageService hydrogenStorageService;
+    private final HydrogenTankFarmEngine hydrogenTankFarmEngine;
 
     /**
      * 특정 시설(plant)의 누적 수소 생산량 및 탱크 상태를 조회합니다.
@@ -43,5 +56,105 @@ public ResponseEntity<List<HourlyHydrogenProductionDTO>> getHourlyHydrogenProduc
     List<HourlyHydrogenProductionDTO> hourlyData = hydrogenStorageService.getHourlyProductionForToday();
     return ResponseEntity.ok(hourlyData);
 }
-    
+
+    /**
+     * 로그인한 사용자(조직)의 기간별 시간대 수소 생산량 (start/end 생략 시 오늘, 최대 366일)
+     */
+    @GetMapping("/hourly-hydrogen-production/range")
+    public ResponseEntity<List<HourlyOrgProductionDTO>> getHourlyHydrogenProductionRange(
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        try {
+            return ResponseEntity.ok(hydrogenStorageService.getHourlyProduction(
+                    start != null ? start : today, end != null ? end : today));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    /**
+     * [관리자] 여러 조직의 기간별 시간대 수소 생산량 (orgIds 생략 시 전체 조직)
+     */
+    @GetMapping("/admin/hourly-hydrogen-production")
+    public ResponseEntity<List<HourlyOrgProductionDTO>> getHourlyHydrogenProductionByOrgs(
+            @RequestParam(value = "orgIds", required = false) List<Long> orgIds,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        try {
+            return ResponseEntity.ok(hydrogenStorageService.getHourlyProductionByOrgs(
+                    orgIds, start != null ? start : today, end != null ? end : today));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    /**
+     * 발전소 탱크별 저장량/넘침/인출 및 최신 예측 기준 가득 참 예상 시각
+     */
+    @GetMapping("/tanks")
+    public ResponseEntity<TankFarmStatusDTO> getTankFarmStatus(@RequestParam(value = "plantId") String plantId) {
+        if (!hydrogenTankFarmEngine.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(hydrogenTankFarmEngine.getStatus(plantId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 발전소 탱크 구성 (설정이 없으면 기본 구성)
+     */
+    @GetMapping("/tanks/config")
+    public ResponseEntity<List<HydrogenTank>> getTanks(@RequestParam(value = "plantId") String plantId) {
+        return ResponseEntity.ok(hydrogenTankFarmEngine.getTanks(plantId));
+    }
+
+    /**
+     * 발전소 탱크 구성 교체 (목록 순서대로 채움) - 해당 발전소 조직 또는 관리자만
+     */
+    @PutMapping("/tanks/config")
+    public ResponseEntity<List<HydrogenTank>> replaceTanks(
+            @RequestParam(value = "plantId") String plantId,
+            @RequestBody List<HydrogenTank> tanks) {
+        try {
+            hydrogenStorageService.checkPlantAccess(plantId);
+            return ResponseEntity.ok(hydrogenTankFarmEngine.replaceTanks(plantId, tanks));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    /**
+     * 수소 인출 기록 추가 (미래 시각이면 예정 인출로 예상 시각 계산에 반영) - 해당 발전소 조직 또는 관리자만
+     */
+    @PostMapping("/tanks/drawdowns")
+    public ResponseEntity<TankDrawdown> addDrawdown(@RequestBody TankDrawdown drawdown) {
+        try {
+            hydrogenStorageService.checkPlantAccess((drawdown != null) ? drawdown.getPlantId() : null);
+            return ResponseEntity.ok(hydrogenTankFarmEngine.addDrawdown(drawdown));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    /**
+     * 최근 인출 기록 (최대 100건)
+     */
+    @GetMapping("/tanks/drawdowns")
+    public ResponseEntity<List<TankDrawdown>> getDrawdowns(@RequestParam(value = "plantId") String plantId) {
+        return ResponseEntity.ok(hydrogenTankFarmEngine.getDrawdowns(plantId));
+    }
+
 }
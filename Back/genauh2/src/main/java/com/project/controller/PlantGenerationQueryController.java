@@ -1,50 +1,206 @@
 package com.project.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
 // 페이징 기능
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.dto.CapacityFactorSeriesDTO;
 import com.project.dto.DailyTotal;
+import com.project.dto.ForecastAccuracyDTO;
+import com.project.dto.GenerationAnomalyDTO;
 import com.project.dto.DashboardSummaryDTO;
+import com.project.dto.GenerationCoverageDTO;
+import com.project.dto.GenerationCursorPageDTO;
+import com.project.dto.GenerationGapDTO;
+import com.project.dto.GenerationHeatmapDTO;
+import com.project.dto.GenerationIngestResultDTO;
 import com.project.dto.HourlyAvg;
+import com.project.dto.HourlyQuantileDTO;
 import com.project.dto.PeriodSummaryDTO;
+import com.project.dto.PlantBatchAnalyticsDTO;
 import com.project.entity.PlantGeneration;
+import com.project.service.AccessGuard;
+import com.project.service.CapacityFactorService;
+import com.project.service.ForecastAccuracyService;
+import com.project.service.GenerationAnomalyScorer;
+import com.project.service.GenerationBatchService;
+import com.project.service.GenerationQualityIndex;
+import com.project.service.GenerationSketchService;
+import com.project.service.PlantGenerationIngestService;
 import com.project.service.PlantGenerationQueryService;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/generation")
 @RequiredArgsConstructor
+@Slf4j
 public class PlantGenerationQueryController {
     
     private final PlantGenerationQueryService service;
+    private final GenerationBatchService batchService;
+    private final ForecastAccuracyService accuracyService;
+    private final GenerationSketchService sketchService;
+    private final GenerationAnomalyScorer anomalyScorer;
+    private final CapacityFactorService capacityFactorService;
+    private final PlantGenerationIngestService ingestService;
+    private final GenerationQualityIndex qualityIndex;
+    private final AccessGuard accessGuard;
     
-    /** 원시 시계열(엔티티 그대로 반환) */
+    /** 원시 시계열(엔티티 그대로 반환, maxPoints 지정 시 다운샘플링) */
     @GetMapping("/raw")
     public ResponseEntity<List<PlantGeneration>> getRaw(
             @RequestParam(value = "plantId", required = false) String plantId,
             @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(defaultValue = "2000") int limit) {
+            @RequestParam(defaultValue = "2000") int limit,
+            @RequestParam(value = "maxPoints", required = false) Integer maxPoints) {
         
-        System.out.println("=== RAW CONTROLLER ===");
-        System.out.println("Received plantId: " + plantId);
-        System.out.println("Received startDate: " + startDate);
-        System.out.println("Received endDate: " + endDate);
+        log.debug("[RAW] plantId={}, start={}, end={}", plantId, startDate, endDate);
+        
+        // maxPoints 지정 시 발전소별 LTTB 다운샘플링 (limit 무시)
+        if (maxPoints != null) {
+            if (maxPoints < 3) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(service.getRawSeriesDownsampled(plantId, startDate, endDate, maxPoints));
+        }
         
         List<PlantGeneration> result = service.getRawSeries(plantId, startDate, endDate, limit);
         return ResponseEntity.ok(result);
     }
     
+    /** 원시 시계열 스트리밍 내보내기 (format = ndjson | csv, limit = 0 이면 전체) */
+    @GetMapping("/raw/export")
+    public ResponseEntity<StreamingResponseBody> exportRaw(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int limit,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> service.exportRawSeries(plantId, startDate, endDate, limit, csv, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"plant_generation." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+    
+    /**
+     * 날짜 x 시간 발전량 히트맵 (float32 little-endian, days x 24)
+     * format = binary: application/octet-stream 본문 + X-Heatmap-* 헤더, base64: JSON (data = base64)
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getHeatmap(
+            @RequestParam(value = "plantId") String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "binary") String format) {
+
+        boolean binary = "binary".equalsIgnoreCase(format);
+        if (!binary && !"base64".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        GenerationHeatmapDTO heatmap;
+        try {
+            heatmap = service.getGenerationHeatmap(plantId, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!binary) {
+            return ResponseEntity.ok(heatmap);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("X-Heatmap-Plant-Id", heatmap.getPlantId())
+                .header("X-Heatmap-Start", heatmap.getStart().toString())
+                .header("X-Heatmap-Days", String.valueOf(heatmap.getDays()))
+                .header("X-Heatmap-Hours", String.valueOf(heatmap.getHours()))
+                .body(heatmap.getData());
+    }
+    
+    /**
+     * [관리자] 시간별 발전량 일괄 적재 (요청 본문 = CSV 또는 NDJSON, (plant_id, date, hour) 기준 upsert)
+     * 검증에 실패한 행은 건너뛰고 결과에 건수와 사유를 담습니다.
+     * 일부 배치를 쓴 뒤 실패하면 200 + completed = false (쓴 행은 남음), 아무것도 쓰기 전 실패(CSV 헤더 오류)만 400
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<GenerationIngestResultDTO> ingest(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+
+        try {
+            accessGuard.requireSupervisor();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(ingestService.ingest(body, csv));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();     // CSV 헤더 오류 (쓰기 전)
+        }
+    }
+    
+    /** 누락/중복 시간이 있는 발전소·일자 목록 (데이터 품질 인덱스) */
+    @GetMapping("/quality/gaps")
+    public ResponseEntity<List<GenerationGapDTO>> getGaps(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        String pid = (plantId != null && !plantId.trim().isEmpty()) ? plantId : null;
+        return ResponseEntity.ok(qualityIndex.getGaps(pid, startDate, endDate));
+    }
+    
+    /** 발전소별 데이터 완전성 요약 */
+    @GetMapping("/quality/coverage")
+    public ResponseEntity<List<GenerationCoverageDTO>> getCoverage(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        String pid = (plantId != null && !plantId.trim().isEmpty()) ? plantId : null;
+        return ResponseEntity.ok(qualityIndex.getCoverage(pid, startDate, endDate));
+    }
+    
+    /** [관리자] 데이터 품질 인덱스 전체 재구성 (행 삭제/중복 정리 후 호출) */
+    @PostMapping("/quality/rebuild")
+    public ResponseEntity<Integer> rebuildQualityIndex() {
+        try {
+            accessGuard.requireSupervisor();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(qualityIndex.rebuild());
+    }
+    
     /** 최신 1건(엔티티) */
     @GetMapping("/latest")
     public ResponseEntity<PlantGeneration> getLatest(
@@ -81,6 +237,17 @@ public class PlantGenerationQueryController {
         return ResponseEntity.ok(result);
     }
     
+    /** 시간대별 발전량 분위수 (p10 / p50 / p90) */
+    @GetMapping("/hourly-quantiles")
+    public ResponseEntity<List<HourlyQuantileDTO>> getHourlyQuantiles(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        List<HourlyQuantileDTO> result = sketchService.getHourlyQuantiles(plantId, startDate, endDate);
+        return ResponseEntity.ok(result);
+    }
+    
     /** 대시보드 요약 정보 */
     @GetMapping("/summary")
     public ResponseEntity<DashboardSummaryDTO> getSummary(
@@ -102,6 +269,41 @@ public class PlantGenerationQueryController {
         return ResponseEntity.ok(result);
     }
     
+    /** 상세 데이터 (커서 페이징 - 이전 응답의 nextDate/nextHour/nextId를 cursor로 전달) */
+    @GetMapping("/detailed/cursor")
+    public ResponseEntity<GenerationCursorPageDTO> getDetailedByCursor(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "cursorDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursorDate,
+            @RequestParam(value = "cursorHour", required = false) Integer cursorHour,
+            @RequestParam(value = "cursorId", required = false) Long cursorId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        if (size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            GenerationCursorPageDTO result = service.getDetailedDataByCursor(plantId, startDate, endDate,
+                    cursorDate, cursorHour, cursorId, size, includeTotal);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /** 여러 발전소의 일별 합계 + 요약 일괄 조회 (plantIds 생략 시 전체 발전소) */
+    @GetMapping("/batch")
+    public ResponseEntity<List<PlantBatchAnalyticsDTO>> getBatch(
+            @RequestParam(value = "plantIds", required = false) List<String> plantIds,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        List<PlantBatchAnalyticsDTO> result = batchService.getBatch(plantIds, startDate, endDate);
+        return ResponseEntity.ok(result);
+    }
+    
     /** 발전소 목록 조회 */
     @GetMapping("/plant-list")
     public ResponseEntity<List<String>> getPlantList() {
@@ -126,14 +328,55 @@ public class PlantGenerationQueryController {
         return ResponseEntity.ok(result);
     }
     
+    /** 예측 정확도 지표 (groupBy = plant | day | hour | total) */
+    @GetMapping("/accuracy")
+    public ResponseEntity<List<ForecastAccuracyDTO>> getAccuracy(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "plant") String groupBy) {
+
+        try {
+            return ResponseEntity.ok(accuracyService.getAccuracy(plantId, startDate, endDate, groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /** 이동 구간 설비이용률 (%) 일별 시계열 (windows 기본 7,30,90일) */
+    @GetMapping("/capacity-factor")
+    public ResponseEntity<List<CapacityFactorSeriesDTO>> getCapacityFactor(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "windows", required = false) List<Integer> windows) {
+
+        try {
+            return ResponseEntity.ok(capacityFactorService.getRollingCapacityFactor(plantId, startDate, endDate, windows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /** 발전량 이상 점수 (메모리 기준선, limit = 발전소별 최근 건수) */
+    @GetMapping("/anomalies")
+    public ResponseEntity<List<GenerationAnomalyDTO>> getAnomalies(
+            @RequestParam(value = "plantId", required = false) String plantId,
+            @RequestParam(defaultValue = "24") int limit,
+            @RequestParam(defaultValue = "false") boolean onlyAnomalies) {
+
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        String pid = (plantId != null && !plantId.trim().isEmpty()) ? plantId : null;
+        return ResponseEntity.ok(anomalyScorer.getScores(pid, limit, onlyAnomalies));
+    }
+    
     /** 실시간 효율성 계산 */
     @GetMapping("/real-time-efficiency")
     public ResponseEntity<Double> getRealTimeEfficiency(
             @RequestParam(value = "plantId", required = false) String plantId) {
         
-        System.out.println("=== 실시간 효율성 계산 API 호출 ===");
-        System.out.println("plantId: " + plantId);
-        
         Double result = service.calculateRealTimeEfficiency(plantId);
         return ResponseEntity.ok(result);
     }
@@ -143,9 +386,6 @@ public class PlantGenerationQueryController {
     public ResponseEntity<Double> getRealTimeHydrogenComparison(
             @RequestParam(value = "plantId", required = false) String plantId) {
         
-        System.out.println("=== 실시간 수소 생산량 비교 API 호출 ===");
-        System.out.println("plantId: " + plantId);
-        
         Double result = service.calculateRealTimeHydrogenComparison(plantId);
         return ResponseEntity.ok(result);
     }
@@ -112,6 +112,8 @@ public class PredictController {
         try {
             List<PredictDTO> predictions = predictService.getPredictionsByDateRange(startDate, endDate);
             return ResponseEntity.ok(predictions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
@@ -4,11 +4,17 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.project.service.AccessGuard;
+import com.project.service.LatestSnapshotStore;
+import com.project.service.ProductionTotalIndex;
 import com.project.service.RealService;
 import com.project.dto.HourlyProductionDTO;
+import com.project.dto.OrgLatestSummaryDTO;
 import com.project.dto.RealDTO;
+import com.project.entity.LatestSnapshot;
 
 @RestController
 @RequestMapping("/real")
@@ -17,6 +23,15 @@ public class RealController {
     @Autowired
     private RealService realService;
 
+    @Autowired
+    private ProductionTotalIndex productionTotalIndex;
+
+    @Autowired
+    private LatestSnapshotStore latestSnapshotStore;
+
+    @Autowired
+    private AccessGuard accessGuard;
+
     /**
      * 모든 plant_generation 데이터에 대한 실제 생산 데이터를 생성하고 저장
      */
@@ -75,6 +90,66 @@ public class RealController {
         }
     }
 
+    /**
+     * [관리자] 누적 생산량 인덱스 전체 재구성 (production_real 기존 행 수정/삭제 후), 반환값 = 읽은 행 수
+     */
+    @PostMapping("/total-index/rebuild")
+    public ResponseEntity<Integer> rebuildTotalIndex() {
+        try {
+            accessGuard.requireSupervisor();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(productionTotalIndex.rebuild());
+    }
+
+    /**
+     * 설비별 최신 상태 (facId 순), orgId 가 있으면 그 조직만. 적재 전이면 503
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<List<LatestSnapshot>> getLatestFacilities(
+            @RequestParam(value = "orgId", required = false) Long orgId) {
+        if (!latestSnapshotStore.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(latestSnapshotStore.getFacilities(orgId));
+    }
+
+    /**
+     * 발전소별 최신 상태 (plantId 순). 적재 전이면 503
+     */
+    @GetMapping("/latest/plants")
+    public ResponseEntity<List<LatestSnapshot>> getLatestPlants() {
+        if (!latestSnapshotStore.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(latestSnapshotStore.getPlants());
+    }
+
+    /**
+     * 조직 전체 설비의 최신 상태 합계. 적재 전이면 503
+     */
+    @GetMapping("/latest/summary/{orgId}")
+    public ResponseEntity<OrgLatestSummaryDTO> getLatestSummary(@PathVariable Long orgId) {
+        if (!latestSnapshotStore.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(latestSnapshotStore.getOrgSummary(orgId));
+    }
+
+    /**
+     * [관리자] 최신 상태 전체 재구성 (원본 행 삭제 후), 반환값 = 읽은 행 수
+     */
+    @PostMapping("/latest/rebuild")
+    public ResponseEntity<Integer> rebuildLatestSnapshot() {
+        try {
+            accessGuard.requireSupervisor();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(latestSnapshotStore.rebuild());
+    }
+
     /**
      * 실제 생산 결과 조회 (최신 데이터)
      */
@@ -137,6 +212,8 @@ public class RealController {
         try {
             List<RealDTO> results = realService.getProductionRealByDateRange(startDate, endDate);
             return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
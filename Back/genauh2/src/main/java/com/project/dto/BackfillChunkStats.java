@@ -0,0 +1,10 @@
+package com.project.dto;
+
+import com.project.entity.BackfillChunk;
+
+/** backfill_chunk 상태별 집계 프로젝션 */
+public interface BackfillChunkStats {
+    BackfillChunk.Status getStatus();
+    Long getChunks();
+    Long getRowCount();
+}
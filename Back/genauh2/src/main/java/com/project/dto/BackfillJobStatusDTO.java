@@ -0,0 +1,35 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.project.entity.BackfillJob;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** 재생성 작업 진행 상황 (처리량은 마지막 실행/재개 시점 이후 기준) */
+@Value
+@Builder
+public class BackfillJobStatusDTO {
+    Long jobId;
+    BackfillJob.JobType type;
+    BackfillJob.Split split;
+    LocalDate startDate;
+    LocalDate endDate;
+    BackfillJob.Status status;
+    long totalChunks;
+    long doneChunks;
+    long failedChunks;
+    long pendingChunks;
+    long rowsWritten;
+    double progressRate;        // 완료 청크 / 전체 청크 (%)
+    long elapsedMs;
+    double chunksPerSecond;
+    double rowsPerSecond;
+    Long etaSeconds;            // 실행 중이 아니거나 아직 끝난 청크가 없으면 null
+    LocalDateTime createdAt;
+    LocalDateTime startedAt;
+    LocalDateTime finishedAt;
+    String lastError;
+}
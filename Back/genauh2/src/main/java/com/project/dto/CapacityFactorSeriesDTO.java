@@ -0,0 +1,22 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 발전소별 이동 구간 설비이용률 (%) 일별 시계열
+ * windows 의 값 목록은 dates 와 같은 순서이며, 구간 안에 설비용량 합이 0이면 null
+ */
+@Getter
+@ToString
+@Builder
+public class CapacityFactorSeriesDTO {
+    private String plantId;
+    private List<LocalDate> dates;
+    private Map<Integer, List<Double>> windows;     // 구간 일수 → 설비이용률(%) 목록
+}
@@ -12,4 +12,5 @@ public class DailyTotal {
     double genKwhTotal;
     double predKwhTotal;
     double utilizationRate; // 가동률
+    boolean incomplete;     // 데이터가 있는 발전소 중 누락 시간이 있는 날 (오늘은 현재 시각까지만 기대)
 }
\ No newline at end of file
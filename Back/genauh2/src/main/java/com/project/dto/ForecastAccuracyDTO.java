@@ -0,0 +1,27 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 예측 정확도 지표 (err = 실제 발전량 - 예측량)
+ * groupBy에 따라 plantId / date / hour 중 해당 항목만 채워집니다.
+ */
+@Getter
+@ToString
+@Builder
+public class ForecastAccuracyDTO {
+    private String plantId;
+    private LocalDate date;
+    private Integer hour;
+    private long dataCount;
+    private double totalGenerationKwh;
+    private double totalForecastKwh;
+    private Double mape;        // 평균 절대 백분율 오차 (%) - 예측량 > 0 인 행 기준
+    private Double rmse;        // 평균 제곱근 오차
+    private Double bias;        // 평균 오차 (양수면 실제가 예측보다 많음)
+    private Double hitRate;     // 허용 오차 이내 비율 (%)
+}
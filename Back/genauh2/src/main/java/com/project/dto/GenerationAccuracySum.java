@@ -0,0 +1,21 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 예측 정확도 구성 값 합계 프로젝션 (err = generation_kw - forecast_kwh)
+ * 그룹 기준에 따라 date / plantId / hour 중 하나만 채워집니다. (나머지는 호출하지 않음)
+ */
+public interface GenerationAccuracySum {
+    LocalDate getDate();
+    String getPlantId();
+    Integer getHour();
+    Long getRowCount();
+    Double getGenSum();
+    Double getPredSum();
+    Double getErrSum();          // SUM(err)
+    Double getSqErrSum();        // SUM(err^2)
+    Double getAbsPctErrSum();    // SUM(|err| / forecast), forecast > 0
+    Long getPctCount();          // forecast > 0 인 행 수
+    Long getHitCount();          // |err| <= forecast * tolerance 인 행 수
+}
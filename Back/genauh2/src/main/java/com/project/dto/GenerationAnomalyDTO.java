@@ -0,0 +1,20 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** 발전량 이상 점수 (같은 발전소·같은 시간대의 지수가중 기준선 대비 z-score) */
+@Value
+@Builder
+public class GenerationAnomalyDTO {
+    String plantId;
+    LocalDate date;
+    int hour;               // 0~23
+    double generationKw;
+    Double expectedKw;      // 기준선 평균 (표본 부족 시 null)
+    Double stdKw;           // 기준선 표준편차 (표본 부족 시 null)
+    Double score;           // (실제 - 평균) / 표준편차, 표본 부족 시 null
+    boolean anomaly;        // |score| >= generation.anomaly.threshold
+}
@@ -0,0 +1,17 @@
+package com.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** 발전소별 데이터 완전성 요약 (발전소 첫 데이터 일자 이후만 집계) */
+@Value
+@Builder
+public class GenerationCoverageDTO {
+    String plantId;
+    long days;
+    long completeDays;
+    long incompleteDays;        // 누락 또는 중복이 있는 날
+    long missingHours;
+    long duplicateHours;
+    double coverageRate;        // 존재 시간 / 기대 시간 (%)
+}
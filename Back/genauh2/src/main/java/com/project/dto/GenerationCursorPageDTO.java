@@ -0,0 +1,27 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.project.entity.PlantGeneration;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 상세 데이터 커서(keyset) 페이지
+ * 다음 페이지는 nextDate / nextHour / nextId 를 그대로 cursor 파라미터로 넘기면 됩니다.
+ */
+@Getter
+@ToString
+@Builder
+public class GenerationCursorPageDTO {
+    private List<PlantGeneration> content;
+    private int size;
+    private boolean hasNext;
+    private LocalDate nextDate;     // 마지막 행의 date (hasNext = false면 null)
+    private Integer nextHour;       // 마지막 행의 hour
+    private Long nextId;            // 마지막 행의 id
+    private Long totalElements;     // includeTotal = true 일 때만 채움
+}
@@ -0,0 +1,14 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+/** plant_generation 일별 집계 프로젝션 (GROUP BY date) */
+public interface GenerationDailySum {
+    LocalDate getDate();
+    Double getGenSum();
+    Double getPredSum();
+    Long getCapacitySum();
+    Long getRowCount();
+    Long getHourCount();    // 발전소별 데이터가 있는 시간 수의 합 (주별 롤업은 null)
+    Long getPlantCount();   // 그날 데이터가 있는 발전소 수 (주별 롤업은 null)
+}
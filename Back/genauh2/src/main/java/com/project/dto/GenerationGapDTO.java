@@ -0,0 +1,18 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** 발전소·일자별 누락/중복 시간 (문제가 있는 날만) */
+@Value
+@Builder
+public class GenerationGapDTO {
+    String plantId;
+    LocalDate date;
+    int presentHours;               // 데이터가 있는 시간 수
+    List<Integer> missingHours;     // 오늘은 현재 시각까지만 검사
+    List<Integer> duplicateHours;   // 같은 (plant_id, date, hour) 행이 2개 이상 (유니크 키 적용 전 DB 에서만 생김)
+}
@@ -0,0 +1,22 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 날짜 x 시간 발전량 히트맵
+ * data = float32 little-endian 행렬 (days x 24, 행 = start 부터의 날짜, 열 = 시간), 값이 없으면 NaN
+ * JSON 응답에서는 Jackson 기본 동작으로 base64 문자열이 됩니다.
+ */
+@Getter
+@Builder
+public class GenerationHeatmapDTO {
+    private String plantId;
+    private LocalDate start;
+    private LocalDate end;
+    private int days;
+    private int hours;
+    private byte[] data;
+}
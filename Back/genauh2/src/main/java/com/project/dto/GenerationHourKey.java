@@ -0,0 +1,11 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+/** plant_generation 행 키 프로젝션 (데이터 품질 인덱스 적재용) */
+public interface GenerationHourKey {
+    Long getId();
+    String getPlantId();
+    LocalDate getDate();
+    Integer getHour();
+}
@@ -0,0 +1,11 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+/** plant_generation 발전량 값 프로젝션 (분위수 스케치 생성용) */
+public interface GenerationHourValue {
+    String getPlantId();
+    LocalDate getDate();
+    Integer getHour();
+    Double getValue();
+}
@@ -0,0 +1,9 @@
+package com.project.dto;
+
+/** plant_generation 시간대별 집계 프로젝션 (GROUP BY hour) */
+public interface GenerationHourlySum {
+    Integer getHour();
+    Double getGenSum();
+    Double getPredSum();
+    Long getRowCount();
+}
@@ -0,0 +1,30 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * plant_generation 적재 결과 (거부된 행은 앞쪽 일부만 사유와 함께 반환)
+ * completed = false 면 error 전까지 쓴 배치만 반영된 부분 결과
+ */
+@Getter
+@ToString
+@Builder
+public class GenerationIngestResultDTO {
+    private boolean completed;      // 입력 끝까지 적재했는지
+    private String error;           // 중간에 멈춘 사유 (완료 시 null)
+    private long totalRows;         // 읽은 데이터 행 수 (헤더/빈 줄 제외)
+    private long acceptedRows;      // 검증을 통과해 upsert(커밋) 한 행 수
+    private long rejectedRows;
+    private long batches;
+    private long elapsedMs;         // 읽기 + 검증 + upsert 시간 (파생 저장소 갱신 제외)
+    private double rowsPerSecond;   // acceptedRows / elapsedMs
+    private LocalDate minDate;      // 적재된 행의 날짜 범위 (없으면 null)
+    private LocalDate maxDate;
+    private boolean derivedRefreshQueued;   // 롤업/production_real 등 파생 저장소 갱신을 예약했는지 (요청 밖에서 실행)
+    private List<String> rejectedSamples;   // "줄번호: 사유"
+}
@@ -0,0 +1,10 @@
+package com.project.dto;
+
+/** plant_generation 월별 집계 프로젝션 (GROUP BY year, month) */
+public interface GenerationMonthlySum {
+    Integer getYear();
+    Integer getMonth();
+    Double getGenSum();
+    Double getPredSum();
+    Long getRowCount();
+}
@@ -0,0 +1,8 @@
+package com.project.dto;
+
+/** plant_generation 기간 합계 프로젝션 (단일 행) */
+public interface GenerationPeriodSum {
+    Double getGenSum();
+    Double getPredSum();
+    Long getRowCount();
+}
@@ -0,0 +1,11 @@
+package com.project.dto;
+
+import java.time.LocalDate;
+
+/** plant_generation 발전소별 일별 집계 프로젝션 (GROUP BY plantId, date) */
+public interface GenerationPlantDailySum {
+    String getPlantId();
+    LocalDate getDate();
+    Double getGenSum();
+    Long getCapacitySum();
+}
@@ -0,0 +1,29 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlyOrgProductionDTO {
+
+    // 조직 ID
+    private Long orgId;
+
+    // 날짜
+    private LocalDate date;
+
+    // 시간 (0 ~ 23)
+    private int hour;
+
+    // 해당 시간에 생산된 수소량 (kg)
+    private BigDecimal productionKg;
+
+}
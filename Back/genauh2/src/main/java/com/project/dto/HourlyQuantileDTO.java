@@ -0,0 +1,15 @@
+package com.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** 시간대별 발전량 분위수 (상대 오차 1% 이내 근사값) */
+@Value
+@Builder
+public class HourlyQuantileDTO {
+    int hour;           // 0~23
+    long dataCount;
+    Double p10GenKw;
+    Double p50GenKw;
+    Double p90GenKw;
+}
@@ -0,0 +1,19 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/** 시각별 유휴 전력량 (네이티브 쿼리 결과를 ts, idlepowerkw 순서로 생성자에 받음) */
+@Getter
+public class IdlePowerRow {
+    private final LocalDateTime ts;
+    private final BigDecimal idlepowerkw;
+
+    public IdlePowerRow(Timestamp ts, BigDecimal idlepowerkw) {
+        this.ts = ts != null ? ts.toLocalDateTime() : null;
+        this.idlepowerkw = idlepowerkw;
+    }
+}
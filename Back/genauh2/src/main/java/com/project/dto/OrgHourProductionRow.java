@@ -0,0 +1,11 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** 조직 x 시각별 생산량 합계 프로젝션 */
+public interface OrgHourProductionRow {
+    Long getOrgId();
+    LocalDateTime getTs();
+    BigDecimal getProductionKg();
+}
@@ -0,0 +1,23 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** 조직 전체 설비의 최신 상태 합계 (LatestSnapshotStore) */
+@Data
+@Builder
+public class OrgLatestSummaryDTO {
+    private Long orgId;
+    private Integer facilityCount;          // 생산 데이터가 있는 설비 수
+    private LocalDateTime latestProductionTs; // 설비 최신 시각 중 가장 늦은 시각
+    private BigDecimal productionKg;        // 설비별 최신 생산량 합계 (kg)
+    private BigDecimal idlePowerKw;         // 설비별 최신 유휴 전력 합계 (kW)
+    private BigDecimal powerConsumedKwh;    // 설비별 최신 소비 전력 합계 (kWh)
+    private BigDecimal avgUtilizationRate;  // 설비별 최신 가동률 평균 (%)
+    private Integer plantCount;             // 설비가 속한 발전소 수
+    private Double generationKw;            // 발전소별 최신 발전량 합계 (kW)
+    private Integer capacityKw;             // 발전소별 설비용량 합계 (kW)
+}
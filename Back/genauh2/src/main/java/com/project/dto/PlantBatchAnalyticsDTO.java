@@ -0,0 +1,17 @@
+package com.project.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/** 발전소 한 곳의 일별 합계 + 대시보드 요약 (일괄 조회 응답 항목) */
+@Getter
+@ToString
+@Builder
+public class PlantBatchAnalyticsDTO {
+    private String plantId;
+    private List<DailyTotal> daily;
+    private DashboardSummaryDTO summary;
+}
@@ -0,0 +1,9 @@
+package com.project.dto;
+
+import java.time.LocalDateTime;
+
+/** 발전소 x 시각별 예측 생산량 합계 프로젝션 */
+public interface PlantPredictionRow {
+    LocalDateTime getTs();
+    Double getPredictedKg();
+}
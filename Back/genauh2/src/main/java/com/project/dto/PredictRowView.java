@@ -0,0 +1,42 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/**
+ * production_predict 조회 행 (설비 이름 포함)
+ *
+ * - 네이티브 쿼리 결과를 SELECT 컬럼 순서대로 생성자에 바로 받음 (DATETIME → Timestamp)
+ * - 인자 순서를 바꾸면 PredictRepository 쿼리의 컬럼 순서도 같이 바꿔야 함
+ */
+@Getter
+public class PredictRowView {
+    private final Long predictionid;
+    private final Long facid;
+    private final Long orgid;
+    private final String plantId;
+    private final LocalDateTime ts;
+    private final BigDecimal idlepowerkw;
+    private final BigDecimal predictedmaxkg;
+    private final BigDecimal predictedcurrentkg;
+    private final String facilityName;
+    private final String plantName;
+
+    public PredictRowView(Long predictionid, Long facid, Long orgid, String plantId, Timestamp ts,
+            BigDecimal idlepowerkw, BigDecimal predictedmaxkg, BigDecimal predictedcurrentkg, String facilityName,
+            String plantName) {
+        this.predictionid = predictionid;
+        this.facid = facid;
+        this.orgid = orgid;
+        this.plantId = plantId;
+        this.ts = ts != null ? ts.toLocalDateTime() : null;
+        this.idlepowerkw = idlepowerkw;
+        this.predictedmaxkg = predictedmaxkg;
+        this.predictedcurrentkg = predictedcurrentkg;
+        this.facilityName = facilityName;
+        this.plantName = plantName;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/**
+ * production_real 조회 행 (설비 이름, 같은 시각 발전량 포함)
+ *
+ * - 네이티브 쿼리 결과를 SELECT 컬럼 순서대로 생성자에 바로 받음 (인터페이스 프로젝션의 프록시/변환 비용 없음)
+ * - 생성자 인자 타입은 드라이버가 돌려주는 타입 그대로 (DATETIME → Timestamp)
+ * - 인자 순서를 바꾸면 RealRepository 쿼리의 컬럼 순서도 같이 바꿔야 함
+ */
+@Getter
+public class RealRowView {
+    private final Long hydrogenActualId;
+    private final Long facid;
+    private final Long orgid;
+    private final String plantId;
+    private final LocalDateTime ts;
+    private final BigDecimal idlepowerkw;
+    private final BigDecimal productionKg;
+    private final BigDecimal powerConsumedKwh;
+    private final BigDecimal utilizationRate;
+    private final String facilityName;
+    private final Double generationKw;
+    private final Integer capacityKw;
+
+    public RealRowView(Long hydrogenActualId, Long facid, Long orgid, String plantId, Timestamp ts,
+            BigDecimal idlepowerkw, BigDecimal productionKg, BigDecimal powerConsumedKwh, BigDecimal utilizationRate,
+            String facilityName, Double generationKw, Integer capacityKw) {
+        this.hydrogenActualId = hydrogenActualId;
+        this.facid = facid;
+        this.orgid = orgid;
+        this.plantId = plantId;
+        this.ts = ts != null ? ts.toLocalDateTime() : null;
+        this.idlepowerkw = idlepowerkw;
+        this.productionKg = productionKg;
+        this.powerConsumedKwh = powerConsumedKwh;
+        this.utilizationRate = utilizationRate;
+        this.facilityName = facilityName;
+        this.generationKw = generationKw;
+        this.capacityKw = capacityKw;
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** 발전소 탱크 묶음 상태 (HydrogenTankFarmEngine) */
+@Data
+@Builder
+public class TankFarmStatusDTO {
+    private String plantId;
+    private LocalDate startDate;            // 저장 시작일
+    private LocalDateTime asOf;             // 이 시각 이전 생산/인출까지 반영
+    private BigDecimal totalProducedKg;     // 시작일 이후 총 생산량 (kg)
+    private BigDecimal totalDrawnKg;        // 총 인출량 (kg)
+    private BigDecimal ventedKg;            // 탱크가 모두 차서 저장하지 못한 양 (kg)
+    private BigDecimal unmetDrawKg;         // 재고 부족으로 인출하지 못한 양 (kg)
+    private BigDecimal storedKg;            // 현재 저장량 (kg)
+    private BigDecimal capacityKg;          // 전체 탱크 용량 (kg)
+    private Double fillRate;                // 저장률 (%)
+    private Integer fullTanksCount;         // 가득 찬 탱크 수
+    private List<TankLevelDTO> tanks;       // 탱크별 저장량 (채우는 순서)
+    private LocalDateTime fullAt;           // 최신 예측 기준 전체 탱크가 가득 차는 예상 시각 (예측 구간 안에 없으면 null)
+    private Integer projectionHours;        // 예상 시각 계산에 사용한 예측 구간 (시간)
+}
@@ -0,0 +1,19 @@
+package com.project.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TankLevelDTO {
+    private String name;
+    private BigDecimal capacityKg;  // 탱크 용량 (kg)
+    private BigDecimal levelKg;     // 현재 저장량 (kg)
+    private boolean full;
+}
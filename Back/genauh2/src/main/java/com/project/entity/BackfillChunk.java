@@ -0,0 +1,75 @@
+package com.project.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * backfill_job 의 처리 단위 (하루 또는 설비 하나 x 한 달)
+ * 청크 처리와 DONE 표시가 한 트랜잭션이므로 재시작 후에는 DONE 이 아닌 청크만 다시 실행하면 됩니다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "backfill_chunk", indexes = {
+        @Index(name = "idx_backfill_chunk_job_status", columnList = "job_id, status")
+})
+public class BackfillChunk {
+
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    // Split.DAY 일 때 처리할 날짜, Split.FACILITY 일 때 처리할 달의 첫날 (작업 시작일이 더 늦으면 시작일)
+    @Column(name = "chunk_date")
+    private LocalDate chunkDate;
+
+    // Split.FACILITY 일 때 처리할 설비
+    @Column(name = "facid")
+    private Long facId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    // 청크가 쓴 행 수
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,54 @@
+package com.project.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 발전소별 수소 저장 탱크 구성 (HydrogenTankFarmEngine)
+ * fillOrder 순으로 채우고 역순으로 꺼냅니다. 구성이 없는 발전소는 기본 탱크(hydrogen-storage.default-*)를 사용합니다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "hydrogen_tank", indexes = {
+        @Index(name = "idx_hydrogen_tank_plant", columnList = "plant_id, fill_order")
+})
+public class HydrogenTank {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "plant_id", nullable = false, length = 50)
+    private String plantId;
+
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    // 탱크 용량 (kg)
+    @Column(name = "capacity_kg", nullable = false, precision = 12, scale = 3)
+    private BigDecimal capacityKg;
+
+    @Column(name = "fill_order", nullable = false)
+    private Integer fillOrder;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,76 @@
+package com.project.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 발전소 / 설비별 최신 상태 (LatestSnapshotStore 의 저장본)
+ * name 으로 대상을 구분합니다. (예: "plant:P001", "facility:3")
+ *
+ * - 발전소: 최신 발전량(plant_generation) + 그 발전소 설비들의 최신 시각 생산량 합계
+ * - 설비: 최신 생산량 / 유휴 전력 / 가동률(production_real)
+ */
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "latest_snapshot")
+public class LatestSnapshot {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "plant_id", length = 50)
+    private String plantId;
+
+    @Column(name = "facid")
+    private Long facId;
+
+    @Column(name = "orgid")
+    private Long orgId;
+
+    // 최신 발전량 시각 (date + hour)
+    @Column(name = "generation_ts")
+    private LocalDateTime generationTs;
+
+    @Column(name = "generation_kw")
+    private Double generationKw;
+
+    @Column(name = "forecast_kwh")
+    private Double forecastKwh;
+
+    @Column(name = "capacity_kw")
+    private Integer capacityKw;
+
+    // 최신 생산량 시각
+    @Column(name = "production_ts")
+    private LocalDateTime productionTs;
+
+    @Column(name = "productionkg", precision = 12, scale = 3)
+    private BigDecimal productionKg;
+
+    @Column(name = "idlepowerkw", precision = 10, scale = 3)
+    private BigDecimal idlePowerKw;
+
+    @Column(name = "powerconsumedkwh", precision = 12, scale = 3)
+    private BigDecimal powerConsumedKwh;
+
+    @Column(name = "utilizationrate", precision = 10, scale = 3)
+    private BigDecimal utilizationRate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
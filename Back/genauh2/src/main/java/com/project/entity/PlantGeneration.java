@@ -3,6 +3,7 @@ package com.project.entity;
 
 import jakarta.persistence.*;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -12,8 +13,10 @@ import java.time.LocalDate;
 @Getter
 @ToString
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA용
+@AllArgsConstructor // 메모리 시계열 저장소에서 복원용
 @Entity
-@Table(name = "plant_generation")
+@Table(name = "plant_generation",
+       uniqueConstraints = @UniqueConstraint(columnNames = { "plant_id", "date", "hour" })) // db/plant_generation_unique.sql
 public class PlantGeneration {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
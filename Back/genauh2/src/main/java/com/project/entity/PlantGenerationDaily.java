@@ -0,0 +1,67 @@
+package com.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * plant_generation 일별 롤업 (발전소 x 일)
+ * GenerationRollupService가 네이티브 쿼리로 갱신하므로 읽기 전용으로 사용합니다.
+ */
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA용
+@Entity
+@Table(name = "plant_generation_daily",
+       uniqueConstraints = @UniqueConstraint(columnNames = { "plant_id", "date" }))
+public class PlantGenerationDaily {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "plant_id", nullable = false, length = 50)
+    private String plantId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "gen_sum", nullable = false)
+    private Double genSum;          // SUM(generation_kw)
+
+    @Column(name = "forecast_sum", nullable = false)
+    private Double forecastSum;     // SUM(forecast_kwh)
+
+    @Column(name = "capacity_sum", nullable = false)
+    private Long capacitySum;       // SUM(capacity_kw)
+
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;          // 원본 행 수
+
+    @Column(name = "hour_count", nullable = false)
+    private Integer hourCount;      // 데이터가 있는 시간 수 (COUNT(DISTINCT hour), 24 미만이면 누락 시간이 있는 날)
+
+    // ===== 예측 정확도 구성 값 (err = generation_kw - forecast_kwh) =====
+
+    @Column(name = "err_sum", nullable = false)
+    private Double errSum;          // SUM(err)
+
+    @Column(name = "sq_err_sum", nullable = false)
+    private Double sqErrSum;        // SUM(err^2)
+
+    @Column(name = "abs_pct_err_sum", nullable = false)
+    private Double absPctErrSum;    // SUM(|err| / forecast), forecast > 0 인 행만
+
+    @Column(name = "pct_count", nullable = false)
+    private Long pctCount;          // forecast > 0 인 행 수
+
+    @Column(name = "hit_count", nullable = false)
+    private Long hitCount;          // |err| <= forecast * hit-tolerance 인 행 수
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
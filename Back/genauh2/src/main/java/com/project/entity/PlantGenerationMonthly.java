@@ -0,0 +1,48 @@
+package com.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * plant_generation 월별 롤업 (발전소 x 월)
+ */
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA용
+@Entity
+@Table(name = "plant_generation_monthly",
+       uniqueConstraints = @UniqueConstraint(columnNames = { "plant_id", "year", "month" }))
+public class PlantGenerationMonthly {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "plant_id", nullable = false, length = 50)
+    private String plantId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(name = "gen_sum", nullable = false)
+    private Double genSum;
+
+    @Column(name = "forecast_sum", nullable = false)
+    private Double forecastSum;
+
+    @Column(name = "capacity_sum", nullable = false)
+    private Long capacitySum;
+
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
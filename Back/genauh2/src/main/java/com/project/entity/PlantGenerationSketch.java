@@ -0,0 +1,58 @@
+package com.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발전소 x 월 x 시간대(0~23시) 발전량 분위수 스케치 (QuantileSketch 직렬화 값)
+ * GenerationSketchService가 갱신합니다.
+ */
+@Getter
+@ToString(exclude = "sketch")
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA용
+@Entity
+@Table(name = "plant_generation_sketch",
+       uniqueConstraints = @UniqueConstraint(columnNames = { "plant_id", "year", "month", "hour" }))
+public class PlantGenerationSketch {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "plant_id", nullable = false, length = 50)
+    private String plantId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer hour;           // 0~23
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] sketch;
+
+    @Column(name = "value_count", nullable = false)
+    private Long valueCount;        // 스케치에 들어간 원본 행 수
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PlantGenerationSketch(String plantId, int year, int month, int hour, byte[] sketch,
+                                 long valueCount, LocalDateTime updatedAt) {
+        this.plantId = plantId;
+        this.year = year;
+        this.month = month;
+        this.hour = hour;
+        this.sketch = sketch;
+        this.valueCount = valueCount;
+        this.updatedAt = updatedAt;
+    }
+}
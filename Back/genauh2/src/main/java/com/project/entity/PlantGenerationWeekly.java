@@ -0,0 +1,47 @@
+package com.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * plant_generation 주별 롤업 (발전소 x 주)
+ * 주 시작일(week_start)은 서버 Locale의 첫 요일 기준입니다.
+ */
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA용
+@Entity
+@Table(name = "plant_generation_weekly",
+       uniqueConstraints = @UniqueConstraint(columnNames = { "plant_id", "week_start" }))
+public class PlantGenerationWeekly {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "plant_id", nullable = false, length = 50)
+    private String plantId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "gen_sum", nullable = false)
+    private Double genSum;
+
+    @Column(name = "forecast_sum", nullable = false)
+    private Double forecastSum;
+
+    @Column(name = "capacity_sum", nullable = false)
+    private Long capacitySum;
+
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
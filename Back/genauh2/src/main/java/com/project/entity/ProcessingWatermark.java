@@ -0,0 +1,42 @@
+package com.project.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 증분 처리 작업의 진행 위치(high-water mark)
+ * name 으로 작업을 구분합니다. (예: "plant_generation_rollup")
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "processing_watermark")
+public class ProcessingWatermark {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    // 마지막으로 처리한 원본 행 id
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    // 마지막으로 처리한 시각 데이터 (작업에 따라 사용)
+    @Column(name = "last_ts")
+    private LocalDateTime lastTs;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.project.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 수소 탱크 인출(출하/사용) 기록
+ * ts 가 속한 시간의 생산량을 채운 뒤 인출합니다. 미래 시각이면 예정 인출로 보고 가득 참 예상 시각 계산에 반영합니다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "hydrogen_tank_drawdown", indexes = {
+        @Index(name = "idx_hydrogen_tank_drawdown_plant_ts", columnList = "plant_id, ts")
+})
+public class TankDrawdown {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "plant_id", nullable = false, length = 50)
+    private String plantId;
+
+    // 인출 시각 (정시로 내림)
+    @Column(name = "ts", nullable = false)
+    private LocalDateTime ts;
+
+    // 인출량 (kg)
+    @Column(name = "amount_kg", nullable = false, precision = 12, scale = 3)
+    private BigDecimal amountKg;
+
+    @Column(name = "reason", length = 200)
+    private String reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,40 @@
+package com.project.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.dto.BackfillChunkStats;
+import com.project.entity.BackfillChunk;
+
+@Repository
+public interface BackfillChunkRepository extends JpaRepository<BackfillChunk, Long> {
+
+    List<BackfillChunk> findByJobIdAndStatusOrderByIdAsc(Long jobId, BackfillChunk.Status status);
+
+    // 상태별 청크 수 / 쓴 행 수 합계
+    @Query("SELECT c.status AS status, COUNT(c) AS chunks, COALESCE(SUM(c.rowCount), 0) AS rowCount " +
+           "FROM BackfillChunk c WHERE c.jobId = :jobId GROUP BY c.status")
+    List<BackfillChunkStats> statsByJob(@Param("jobId") Long jobId);
+
+    // since 이후에 끝난 청크 (현재 실행의 처리량 계산용)
+    @Query("SELECT c.status AS status, COUNT(c) AS chunks, COALESCE(SUM(c.rowCount), 0) AS rowCount " +
+           "FROM BackfillChunk c WHERE c.jobId = :jobId AND c.status = com.project.entity.BackfillChunk.Status.DONE " +
+           "AND c.updatedAt >= :since GROUP BY c.status")
+    List<BackfillChunkStats> doneSince(@Param("jobId") Long jobId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT c.error FROM BackfillChunk c WHERE c.jobId = :jobId AND c.status = com.project.entity.BackfillChunk.Status.FAILED " +
+           "ORDER BY c.updatedAt DESC, c.id DESC LIMIT 1")
+    String findLastError(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Query("UPDATE BackfillChunk c SET c.status = com.project.entity.BackfillChunk.Status.PENDING, c.error = null " +
+           "WHERE c.jobId = :jobId AND c.status IN :statuses")
+    int resetToPending(@Param("jobId") Long jobId, @Param("statuses") Collection<BackfillChunk.Status> statuses);
+}
@@ -0,0 +1,17 @@
+package com.project.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.project.entity.BackfillJob;
+
+@Repository
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+
+    List<BackfillJob> findByStatusInOrderByIdAsc(Collection<BackfillJob.Status> statuses);
+
+    List<BackfillJob> findTop50ByOrderByIdDesc();
+}
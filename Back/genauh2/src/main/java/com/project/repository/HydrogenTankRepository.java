@@ -0,0 +1,21 @@
+package com.project.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.entity.HydrogenTank;
+
+@Repository
+public interface HydrogenTankRepository extends JpaRepository<HydrogenTank, Long> {
+
+    List<HydrogenTank> findByPlantIdOrderByFillOrderAscIdAsc(String plantId);
+
+    @Modifying
+    @Query("DELETE FROM HydrogenTank t WHERE t.plantId = :plantId")
+    int deleteByPlantId(@Param("plantId") String plantId);
+}
@@ -0,0 +1,89 @@
+package com.project.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.dto.GenerationAccuracySum;
+import com.project.dto.GenerationDailySum;
+import com.project.dto.GenerationPlantDailySum;
+import com.project.entity.PlantGenerationDaily;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PlantGenerationDailyRepository extends JpaRepository<PlantGenerationDaily, Long> {
+
+    // 일별 롤업 합계 (plantId가 null이면 전체 발전소 합산)
+    @Query("SELECT d.date AS date, SUM(d.genSum) AS genSum, SUM(d.forecastSum) AS predSum, " +
+           "SUM(d.capacitySum) AS capacitySum, SUM(d.rowCount) AS rowCount, " +
+           "SUM(d.hourCount) AS hourCount, COUNT(d) AS plantCount " +
+           "FROM PlantGenerationDaily d " +
+           "WHERE (:plantId IS NULL OR d.plantId = :plantId) " +
+           "AND d.date BETWEEN :start AND :end " +
+           "GROUP BY d.date " +
+           "ORDER BY d.date")
+    List<GenerationDailySum> sumDaily(@Param("plantId") String plantId,
+                                      @Param("start") LocalDate start,
+                                      @Param("end") LocalDate end);
+
+    // 발전소별 일별 롤업 (plantId가 null이면 전체 발전소)
+    @Query("SELECT d.plantId AS plantId, d.date AS date, d.genSum AS genSum, d.capacitySum AS capacitySum " +
+           "FROM PlantGenerationDaily d " +
+           "WHERE (:plantId IS NULL OR d.plantId = :plantId) " +
+           "AND d.date BETWEEN :start AND :end " +
+           "ORDER BY d.plantId, d.date")
+    List<GenerationPlantDailySum> findDailyByPlant(@Param("plantId") String plantId,
+                                                   @Param("start") LocalDate start,
+                                                   @Param("end") LocalDate end);
+
+    @Modifying
+    @Query(value = "DELETE FROM plant_generation_daily WHERE date BETWEEN :start AND :end", nativeQuery = true)
+    int deleteByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // 예측 정확도 구성 값 합계 - 일별 (plantId가 null이면 전체 발전소)
+    @Query("SELECT d.date AS date, SUM(d.rowCount) AS rowCount, SUM(d.genSum) AS genSum, SUM(d.forecastSum) AS predSum, " +
+           "SUM(d.errSum) AS errSum, SUM(d.sqErrSum) AS sqErrSum, SUM(d.absPctErrSum) AS absPctErrSum, " +
+           "SUM(d.pctCount) AS pctCount, SUM(d.hitCount) AS hitCount " +
+           "FROM PlantGenerationDaily d " +
+           "WHERE (:plantId IS NULL OR d.plantId = :plantId) " +
+           "AND d.date BETWEEN :start AND :end " +
+           "GROUP BY d.date " +
+           "ORDER BY d.date")
+    List<GenerationAccuracySum> sumAccuracyByDay(@Param("plantId") String plantId,
+                                                 @Param("start") LocalDate start,
+                                                 @Param("end") LocalDate end);
+
+    // 예측 정확도 구성 값 합계 - 발전소별
+    @Query("SELECT d.plantId AS plantId, SUM(d.rowCount) AS rowCount, SUM(d.genSum) AS genSum, SUM(d.forecastSum) AS predSum, " +
+           "SUM(d.errSum) AS errSum, SUM(d.sqErrSum) AS sqErrSum, SUM(d.absPctErrSum) AS absPctErrSum, " +
+           "SUM(d.pctCount) AS pctCount, SUM(d.hitCount) AS hitCount " +
+           "FROM PlantGenerationDaily d " +
+           "WHERE (:plantId IS NULL OR d.plantId = :plantId) " +
+           "AND d.date BETWEEN :start AND :end " +
+           "GROUP BY d.plantId " +
+           "ORDER BY d.plantId")
+    List<GenerationAccuracySum> sumAccuracyByPlant(@Param("plantId") String plantId,
+                                                   @Param("start") LocalDate start,
+                                                   @Param("end") LocalDate end);
+
+    // 원본(plant_generation)에서 기간 내 일별 롤업을 다시 계산해 적재 (hitTolerance: 적중 판정 허용 오차율)
+    @Modifying
+    @Query(value = "INSERT INTO plant_generation_daily (plant_id, date, gen_sum, forecast_sum, capacity_sum, row_count, hour_count, " +
+                   "err_sum, sq_err_sum, abs_pct_err_sum, pct_count, hit_count, updated_at) " +
+                   "SELECT pg.plant_id, pg.date, SUM(pg.generation_kw), SUM(pg.forecast_kwh), SUM(pg.capacity_kw), COUNT(*), COUNT(DISTINCT pg.hour), " +
+                   "SUM(pg.generation_kw - pg.forecast_kwh), " +
+                   "SUM((pg.generation_kw - pg.forecast_kwh) * (pg.generation_kw - pg.forecast_kwh)), " +
+                   "SUM(CASE WHEN pg.forecast_kwh > 0 THEN ABS(pg.generation_kw - pg.forecast_kwh) / pg.forecast_kwh ELSE 0 END), " +
+                   "SUM(CASE WHEN pg.forecast_kwh > 0 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN pg.forecast_kwh > 0 AND ABS(pg.generation_kw - pg.forecast_kwh) <= pg.forecast_kwh * :hitTolerance THEN 1 ELSE 0 END), " +
+                   "NOW() " +
+                   "FROM plant_generation pg " +
+                   "WHERE pg.date BETWEEN :start AND :end " +
+                   "GROUP BY pg.plant_id, pg.date", nativeQuery = true)
+    int insertFromRaw(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                      @Param("hitTolerance") double hitTolerance);
+}
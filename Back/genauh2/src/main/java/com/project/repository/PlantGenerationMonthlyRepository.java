@@ -0,0 +1,43 @@
+package com.project.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.dto.GenerationMonthlySum;
+import com.project.entity.PlantGenerationMonthly;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PlantGenerationMonthlyRepository extends JpaRepository<PlantGenerationMonthly, Long> {
+
+    // 월별 롤업 합계 (key = year * 100 + month)
+    @Query("SELECT m.year AS year, m.month AS month, SUM(m.genSum) AS genSum, SUM(m.forecastSum) AS predSum, " +
+           "SUM(m.rowCount) AS rowCount " +
+           "FROM PlantGenerationMonthly m " +
+           "WHERE (:plantId IS NULL OR m.plantId = :plantId) " +
+           "AND (m.year * 100 + m.month) BETWEEN :startKey AND :endKey " +
+           "GROUP BY m.year, m.month " +
+           "ORDER BY m.year, m.month")
+    List<GenerationMonthlySum> sumMonthly(@Param("plantId") String plantId,
+                                          @Param("startKey") int startKey,
+                                          @Param("endKey") int endKey);
+
+    @Modifying
+    @Query(value = "DELETE FROM plant_generation_monthly WHERE (year * 100 + month) BETWEEN :startKey AND :endKey", nativeQuery = true)
+    int deleteByKeyBetween(@Param("startKey") int startKey, @Param("endKey") int endKey);
+
+    // 일별 롤업에서 월별 롤업을 다시 계산해 적재 (start/end는 월 경계)
+    @Modifying
+    @Query(value = "INSERT INTO plant_generation_monthly (plant_id, year, month, gen_sum, forecast_sum, capacity_sum, row_count, updated_at) " +
+                   "SELECT d.plant_id, YEAR(d.date), MONTH(d.date), " +
+                   "SUM(d.gen_sum), SUM(d.forecast_sum), SUM(d.capacity_sum), SUM(d.row_count), NOW() " +
+                   "FROM plant_generation_daily d " +
+                   "WHERE d.date BETWEEN :start AND :end " +
+                   "GROUP BY d.plant_id, YEAR(d.date), MONTH(d.date)", nativeQuery = true)
+    int insertFromDaily(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
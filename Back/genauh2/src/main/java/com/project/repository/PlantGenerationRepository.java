@@ -1,22 +1,35 @@
 package com.project.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 // 페이징 기능
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import com.project.dto.DailyTotal;
+import com.project.dto.GenerationAccuracySum;
+import com.project.dto.GenerationDailySum;
+import com.project.dto.GenerationHourKey;
+import com.project.dto.GenerationHourValue;
+import com.project.dto.GenerationHourlySum;
+import com.project.dto.GenerationMonthlySum;
+import com.project.dto.GenerationPeriodSum;
+import com.project.dto.GenerationPlantDailySum;
 import com.project.entity.PlantGeneration;
 
-import io.lettuce.core.dynamic.annotation.Param;
-
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PlantGenerationRepository extends JpaRepository<PlantGeneration, Long> {
     
@@ -37,17 +50,217 @@ public interface PlantGenerationRepository extends JpaRepository<PlantGeneration
     
     // 페이징 기능 - 전체 발전소
     Page<PlantGeneration> findByDateBetween(LocalDate start, LocalDate end, Pageable pageable);
+
+    // ===== 커서(keyset) 페이징 - date, hour, id 내림차순 =====
+
+    // 첫 페이지
+    @Query("SELECT p FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "ORDER BY p.date DESC, p.hour DESC, p.id DESC")
+    List<PlantGeneration> findPageFirst(@Param("plantId") String plantId,
+                                        @Param("start") LocalDate start,
+                                        @Param("end") LocalDate end,
+                                        Limit limit);
+
+    // 다음 페이지: 마지막으로 받은 (date, hour, id) 바로 뒤부터
+    @Query("SELECT p FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date >= :start AND p.date <= :cursorDate " +
+           "AND (p.date < :cursorDate OR p.hour < :cursorHour OR (p.hour = :cursorHour AND p.id < :cursorId)) " +
+           "ORDER BY p.date DESC, p.hour DESC, p.id DESC")
+    List<PlantGeneration> findPageAfter(@Param("plantId") String plantId,
+                                        @Param("start") LocalDate start,
+                                        @Param("cursorDate") LocalDate cursorDate,
+                                        @Param("cursorHour") int cursorHour,
+                                        @Param("cursorId") long cursorId,
+                                        Limit limit);
+
+    // 커서 페이징용 전체 건수 (선택)
+    @Query("SELECT COUNT(p) FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end")
+    long countRange(@Param("plantId") String plantId,
+                    @Param("start") LocalDate start,
+                    @Param("end") LocalDate end);
+
+    // 원시 시계열 (date, hour, id 오름차순) - limit은 쿼리에서 적용
+    @Query("SELECT p FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "ORDER BY p.date, p.hour, p.id")
+    List<PlantGeneration> findSeries(@Param("plantId") String plantId,
+                                     @Param("start") LocalDate start,
+                                     @Param("end") LocalDate end,
+                                     Limit limit);
+
+    /**
+     * 원시 시계열 스트리밍 조회 (대용량 내보내기용, 트랜잭션 안에서 소비해야 함)
+     * MySQL 드라이버는 fetch size = Integer.MIN_VALUE 일 때 결과를 한 행씩 읽어 옵니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "ORDER BY p.date, p.hour, p.id")
+    Stream<PlantGeneration> streamSeries(@Param("plantId") String plantId,
+                                         @Param("start") LocalDate start,
+                                         @Param("end") LocalDate end,
+                                         Limit limit);
+
+    // id 순 분할 로딩 (메모리 시계열 저장소 적재용)
+    List<PlantGeneration> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // id 순 행 키 스트리밍 (데이터 품질 인덱스 재구성/증분 반영용, 호출 측 트랜잭션 필요)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.plantId AS plantId, p.date AS date, p.hour AS hour " +
+           "FROM PlantGeneration p WHERE p.id > :fromId ORDER BY p.id")
+    Stream<GenerationHourKey> streamHourKeysAfter(@Param("fromId") long fromId);
+
+    // 해당 날짜 이후 행 중 가장 작은 id (이상 탐지 기준선 워밍업 시작점)
+    @Query("SELECT MIN(p.id) FROM PlantGeneration p WHERE p.date >= :since")
+    Long findMinIdSince(@Param("since") LocalDate since);
     
-    @Query("SELECT new com.project.dto.DailyTotal(" +
-    	       "p.date, " +
-    	       "SUM(p.generation_Kw), " +
-    	       "SUM(p.forecast_Kwh), " +
-    	       "(SUM(p.generation_Kw) / SUM(p.capacity_Kw)) * 100) " +
-    	       "FROM PlantGeneration p " +
-    	       "WHERE p.date BETWEEN :start AND :end " +
-    	       "GROUP BY p.date " +
-    	       "ORDER BY p.date")
-    	List<DailyTotal> findDailyTotalsWithUtilization(@Param("start") LocalDate start, @Param("end") LocalDate end);
+    // ===== DB 집계 (GROUP BY 프로젝션) - plantId가 null이면 전체 발전소 =====
+
+    /**
+     * 일별 합계. cutoffDate 당일은 cutoffHour 이하 시간만 포함합니다.
+     * (미래 시간 제외가 필요 없으면 cutoffHour = 23)
+     * (plant_id, date, hour) 유니크 키가 있으므로 행 수 = 발전소별 데이터가 있는 시간 수의 합
+     */
+    @Query("SELECT p.date AS date, SUM(p.generation_Kw) AS genSum, SUM(p.forecast_Kwh) AS predSum, " +
+           "SUM(p.capacity_Kw) AS capacitySum, COUNT(p) AS rowCount, " +
+           "COUNT(p) AS hourCount, COUNT(DISTINCT p.plantId) AS plantCount " +
+           "FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "AND (p.date <> :cutoffDate OR p.hour <= :cutoffHour) " +
+           "GROUP BY p.date " +
+           "ORDER BY p.date")
+    List<GenerationDailySum> sumDaily(@Param("plantId") String plantId,
+                                      @Param("start") LocalDate start,
+                                      @Param("end") LocalDate end,
+                                      @Param("cutoffDate") LocalDate cutoffDate,
+                                      @Param("cutoffHour") int cutoffHour);
+
+    // 발전소별 일별 합계. cutoffDate 당일은 cutoffHour 이하 시간만 포함합니다.
+    @Query("SELECT p.plantId AS plantId, p.date AS date, SUM(p.generation_Kw) AS genSum, " +
+           "SUM(p.capacity_Kw) AS capacitySum " +
+           "FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "AND (p.date <> :cutoffDate OR p.hour <= :cutoffHour) " +
+           "GROUP BY p.plantId, p.date " +
+           "ORDER BY p.plantId, p.date")
+    List<GenerationPlantDailySum> sumDailyByPlant(@Param("plantId") String plantId,
+                                                  @Param("start") LocalDate start,
+                                                  @Param("end") LocalDate end,
+                                                  @Param("cutoffDate") LocalDate cutoffDate,
+                                                  @Param("cutoffHour") int cutoffHour);
+
+    // 월별 합계
+    @Query("SELECT YEAR(p.date) AS year, MONTH(p.date) AS month, " +
+           "SUM(p.generation_Kw) AS genSum, SUM(p.forecast_Kwh) AS predSum, COUNT(p) AS rowCount " +
+           "FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "GROUP BY YEAR(p.date), MONTH(p.date) " +
+           "ORDER BY YEAR(p.date), MONTH(p.date)")
+    List<GenerationMonthlySum> sumMonthly(@Param("plantId") String plantId,
+                                          @Param("start") LocalDate start,
+                                          @Param("end") LocalDate end);
+
+    // 시간대(0~23시)별 합계/건수
+    @Query("SELECT p.hour AS hour, SUM(p.generation_Kw) AS genSum, SUM(p.forecast_Kwh) AS predSum, COUNT(p) AS rowCount " +
+           "FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end " +
+           "GROUP BY p.hour " +
+           "ORDER BY p.hour")
+    List<GenerationHourlySum> sumHourly(@Param("plantId") String plantId,
+                                        @Param("start") LocalDate start,
+                                        @Param("end") LocalDate end);
+
+    // 기간 전체 합계/건수 (데이터가 없으면 합계는 null)
+    @Query("SELECT SUM(p.generation_Kw) AS genSum, SUM(p.forecast_Kwh) AS predSum, COUNT(p) AS rowCount " +
+           "FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end")
+    GenerationPeriodSum sumPeriod(@Param("plantId") String plantId,
+                                  @Param("start") LocalDate start,
+                                  @Param("end") LocalDate end);
+
+    // ===== 예측 정확도 구성 값 (err = generation_Kw - forecast_Kwh) =====
+
+    String ACCURACY_COLUMNS =
+            "COUNT(p) AS rowCount, SUM(p.generation_Kw) AS genSum, SUM(p.forecast_Kwh) AS predSum, " +
+            "SUM(p.generation_Kw - p.forecast_Kwh) AS errSum, " +
+            "SUM((p.generation_Kw - p.forecast_Kwh) * (p.generation_Kw - p.forecast_Kwh)) AS sqErrSum, " +
+            "SUM(CASE WHEN p.forecast_Kwh > 0 THEN ABS(p.generation_Kw - p.forecast_Kwh) / p.forecast_Kwh ELSE 0.0 END) AS absPctErrSum, " +
+            "SUM(CASE WHEN p.forecast_Kwh > 0 THEN 1 ELSE 0 END) AS pctCount, " +
+            "SUM(CASE WHEN p.forecast_Kwh > 0 AND ABS(p.generation_Kw - p.forecast_Kwh) <= p.forecast_Kwh * :hitTolerance " +
+            "THEN 1 ELSE 0 END) AS hitCount ";
+
+    // cutoffDate 당일은 cutoffHour 이하 시간만 (일별 합계/이용률과 같이 아직 오지 않은 시간 행 제외)
+    String ACCURACY_FILTER =
+            "FROM PlantGeneration p " +
+            "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+            "AND p.date BETWEEN :start AND :end " +
+            "AND (p.date <> :cutoffDate OR p.hour <= :cutoffHour) ";
+
+    @Query("SELECT p.date AS date, " + ACCURACY_COLUMNS + ACCURACY_FILTER + "GROUP BY p.date ORDER BY p.date")
+    List<GenerationAccuracySum> sumAccuracyByDay(@Param("plantId") String plantId,
+                                                 @Param("start") LocalDate start,
+                                                 @Param("end") LocalDate end,
+                                                 @Param("hitTolerance") double hitTolerance,
+                                                 @Param("cutoffDate") LocalDate cutoffDate,
+                                                 @Param("cutoffHour") int cutoffHour);
+
+    @Query("SELECT p.plantId AS plantId, " + ACCURACY_COLUMNS + ACCURACY_FILTER + "GROUP BY p.plantId ORDER BY p.plantId")
+    List<GenerationAccuracySum> sumAccuracyByPlant(@Param("plantId") String plantId,
+                                                   @Param("start") LocalDate start,
+                                                   @Param("end") LocalDate end,
+                                                   @Param("hitTolerance") double hitTolerance,
+                                                   @Param("cutoffDate") LocalDate cutoffDate,
+                                                   @Param("cutoffHour") int cutoffHour);
+
+    @Query("SELECT p.hour AS hour, " + ACCURACY_COLUMNS + ACCURACY_FILTER + "GROUP BY p.hour ORDER BY p.hour")
+    List<GenerationAccuracySum> sumAccuracyByHour(@Param("plantId") String plantId,
+                                                  @Param("start") LocalDate start,
+                                                  @Param("end") LocalDate end,
+                                                  @Param("hitTolerance") double hitTolerance,
+                                                  @Param("cutoffDate") LocalDate cutoffDate,
+                                                  @Param("cutoffHour") int cutoffHour);
+
+    // 기간 내 발전량 값 (분위수 스케치 생성/부분 월 보정용)
+    @Query("SELECT p.plantId AS plantId, p.date AS date, p.hour AS hour, p.generation_Kw AS value " +
+           "FROM PlantGeneration p " +
+           "WHERE (:plantId IS NULL OR p.plantId = :plantId) " +
+           "AND p.date BETWEEN :start AND :end")
+    List<GenerationHourValue> findHourValues(@Param("plantId") String plantId,
+                                             @Param("start") LocalDate start,
+                                             @Param("end") LocalDate end);
+
+    // ===== 롤업 증분 갱신용 =====
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM PlantGeneration p")
+    Long findMaxId();
+
+    @Query("SELECT MIN(p.date) FROM PlantGeneration p")
+    LocalDate findMinDate();
+
+    @Query("SELECT MAX(p.date) FROM PlantGeneration p")
+    LocalDate findMaxDate();
+
+    // id 구간(fromId, toId]에 새로 들어온 행들의 날짜 목록
+    @Query("SELECT DISTINCT p.date FROM PlantGeneration p WHERE p.id > :fromId AND p.id <= :toId")
+    List<LocalDate> findDistinctDatesByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
 
     // 발전소 ID 목록 조회
     List<String> findDistinctPlantIdByOrderByPlantIdAsc();
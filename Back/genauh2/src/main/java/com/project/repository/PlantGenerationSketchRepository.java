@@ -0,0 +1,27 @@
+package com.project.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.entity.PlantGenerationSketch;
+
+import java.util.List;
+
+@Repository
+public interface PlantGenerationSketchRepository extends JpaRepository<PlantGenerationSketch, Long> {
+
+    // 월 키(연도 * 100 + 월) 구간의 스케치 (plantId가 null이면 전체 발전소)
+    @Query("SELECT s FROM PlantGenerationSketch s " +
+           "WHERE (:plantId IS NULL OR s.plantId = :plantId) " +
+           "AND (s.year * 100 + s.month) BETWEEN :startKey AND :endKey")
+    List<PlantGenerationSketch> findByMonthKeyBetween(@Param("plantId") String plantId,
+                                                      @Param("startKey") int startKey,
+                                                      @Param("endKey") int endKey);
+
+    @Modifying
+    @Query(value = "DELETE FROM plant_generation_sketch WHERE year = :year AND month = :month", nativeQuery = true)
+    int deleteByMonth(@Param("year") int year, @Param("month") int month);
+}
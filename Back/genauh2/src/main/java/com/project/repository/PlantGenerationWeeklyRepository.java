@@ -0,0 +1,42 @@
+package com.project.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.dto.GenerationDailySum;
+import com.project.entity.PlantGenerationWeekly;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PlantGenerationWeeklyRepository extends JpaRepository<PlantGenerationWeekly, Long> {
+
+    // 주별 롤업 합계 (date = 주 시작일)
+    @Query("SELECT w.weekStart AS date, SUM(w.genSum) AS genSum, SUM(w.forecastSum) AS predSum, " +
+           "SUM(w.capacitySum) AS capacitySum, SUM(w.rowCount) AS rowCount " +
+           "FROM PlantGenerationWeekly w " +
+           "WHERE (:plantId IS NULL OR w.plantId = :plantId) " +
+           "AND w.weekStart BETWEEN :start AND :end " +
+           "GROUP BY w.weekStart " +
+           "ORDER BY w.weekStart")
+    List<GenerationDailySum> sumWeekly(@Param("plantId") String plantId,
+                                       @Param("start") LocalDate start,
+                                       @Param("end") LocalDate end);
+
+    @Modifying
+    @Query(value = "DELETE FROM plant_generation_weekly WHERE week_start BETWEEN :start AND :end", nativeQuery = true)
+    int deleteByWeekStartBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // 일별 롤업에서 한 주(weekStart ~ weekStart + 6일)의 주별 롤업을 다시 계산해 적재
+    @Modifying
+    @Query(value = "INSERT INTO plant_generation_weekly (plant_id, week_start, gen_sum, forecast_sum, capacity_sum, row_count, updated_at) " +
+                   "SELECT d.plant_id, :weekStart, SUM(d.gen_sum), SUM(d.forecast_sum), SUM(d.capacity_sum), SUM(d.row_count), NOW() " +
+                   "FROM plant_generation_daily d " +
+                   "WHERE d.date BETWEEN :weekStart AND :weekEnd " +
+                   "GROUP BY d.plant_id", nativeQuery = true)
+    int insertFromDaily(@Param("weekStart") LocalDate weekStart, @Param("weekEnd") LocalDate weekEnd);
+}
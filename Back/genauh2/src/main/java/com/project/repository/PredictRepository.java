@@ -9,8 +9,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.dto.FacilityKpiDto;
+import com.project.dto.IdlePowerRow;
+import com.project.dto.PlantPredictionRow;
+import com.project.dto.PredictRowView;
 import com.project.entity.Predict;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -62,10 +66,10 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
     @Modifying
     @Query(value = """
         INSERT INTO production_predict (
-            facid, orgid, plant_id, ts, idlepowerkw, 
+            facid, orgid, plant_id, ts, idlepowerkw,
             predictedmaxkg, predictedcurrentkg
         )
-        SELECT 
+        SELECT
             f.facid,
             f.orgid,
             pg.plant_id,
@@ -81,6 +85,42 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
     """, nativeQuery = true)
     int insertPredictionsByDateTime(@Param("date") String date, @Param("hour") Integer hour);
 
+    // ===== 기간 재생성 (BackfillService, 청크마다 삭제 후 다시 삽입) =====
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO production_predict (
+            facid, orgid, plant_id, ts, idlepowerkw,
+            predictedmaxkg, predictedcurrentkg
+        )
+        SELECT
+            f.facid,
+            f.orgid,
+            pg.plant_id,
+            CONCAT(pg.date, ' ', LPAD(pg.hour, 2, '0'), ':00:00') as ts,
+            GREATEST(0, ROUND(pg.forecast_kwh - (pg.capacity_kw * 0.3), 3)) as idlepowerkw,
+            ROUND((50 + GREATEST(0, ROUND(pg.forecast_kwh - (pg.capacity_kw * 0.3), 3))), 3) as predictedmaxkg,
+            ROUND((GREATEST(0, ROUND(pg.forecast_kwh - (pg.capacity_kw * 0.3), 3)) * (0.75 + (RAND() * 0.05)) + 50), 3) as predictedcurrentkg
+        FROM facilities f
+        INNER JOIN plant_generation pg ON f.facid = pg.facid
+        WHERE pg.date >= :start AND pg.date <= :end
+          AND (:facId IS NULL OR f.facid = :facId)
+          AND f.spec_kwh > 0 AND f.power_kw > 0 AND pg.capacity_kw > 0
+    """, nativeQuery = true)
+    int insertPredictionsBetween(@Param("facId") Long facId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // 발전소의 [from, to) 시각별 예측 생산량 합계 (탱크 가득 참 예상 시각 계산용)
+    @Query(value = "SELECT ts AS ts, SUM(predictedcurrentkg) AS predictedKg FROM production_predict " +
+                   "WHERE plant_id = :plantId AND ts >= :from AND ts < :to GROUP BY ts ORDER BY ts",
+           nativeQuery = true)
+    List<PlantPredictionRow> sumPredictedByPlant(@Param("plantId") String plantId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // [from, to) 구간 삭제
+    @Modifying
+    @Query(value = "DELETE FROM production_predict WHERE ts >= :from AND ts < :to AND (:facId IS NULL OR facid = :facId)",
+           nativeQuery = true)
+    int deletePredictionsBetween(@Param("facId") Long facId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     // 잘못된 JOIN 수정 및 ASC 정렬로 변경
     @Query(value = """
         SELECT 
@@ -99,7 +139,7 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
         ORDER BY p.ts ASC, p.predictionid ASC
         LIMIT 100
     """, nativeQuery = true)
-    List<Object[]> getLatestPredictionsRaw();
+    List<PredictRowView> getLatestPredictionsRaw();
 
     // 잘못된 JOIN 수정 및 ASC 정렬로 변경
     @Query(value = """
@@ -120,15 +160,12 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
         ORDER BY p.ts ASC
         LIMIT 50
     """, nativeQuery = true)
-    List<Object[]> getPredictionsForFacilityRaw(@Param("facId") Long facId);
+    List<PredictRowView> getPredictionsForFacilityRaw(@Param("facId") Long facId);
 
     @Modifying
     @Query(value = "DELETE FROM production_predict WHERE facid = :facId", nativeQuery = true)
     int deletePredictionsByFacility(@Param("facId") Long facId);
 
-    @Modifying
-    @Query(value = "DELETE FROM production_predict WHERE DATE(ts) = :date", nativeQuery = true)
-    int deletePredictionsByDate(@Param("date") String date);
     
     // 모든 예측 데이터 조회
     @Query(value = """
@@ -147,9 +184,9 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
         LEFT JOIN facilities f ON p.facid = f.facid
         ORDER BY p.ts ASC, p.predictionid ASC
     """, nativeQuery = true)
-    List<Object[]> getAllPredictionsRaw();
+    List<PredictRowView> getAllPredictionsRaw();
 
-    // 특정 기간 예측 데이터 조회
+    // 특정 기간 [start, end) 예측 데이터 조회
     @Query(value = """
         SELECT 
             p.predictionid as predictionid,
@@ -164,10 +201,10 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
             p.plant_id as plantName
         FROM production_predict p
         LEFT JOIN facilities f ON p.facid = f.facid
-        WHERE p.ts BETWEEN :startDate AND :endDate
+        WHERE p.ts >= :start AND p.ts < :end
         ORDER BY p.ts ASC, p.predictionid ASC
     """, nativeQuery = true)
-    List<Object[]> getPredictionsByDateRange(@Param("startDate") String startDate, @Param("endDate") String endDate);
+    List<PredictRowView> getPredictionsByTsRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
     
 
@@ -200,11 +237,12 @@ public interface PredictRepository extends JpaRepository<Predict, String> {
 		);
 
    /**
-         * 특정 날짜의 모든 실제 유휴 전력량 데이터를 타임스탬프와 함께 조회합니다.
-         * * @param date 조회할 날짜 (YYYY-MM-DD 형식)
-         * @return 타임스탬프(ts), 유휴 전력량(idlepowerkw)을 담은 Object[] 리스트
+         * 기간 [start, end) 의 모든 유휴 전력량 데이터를 타임스탬프와 함께 조회합니다.
+         * @param start 시작 시각 (포함)
+         * @param end   종료 시각 (미포함)
+         * @return 타임스탬프(ts), 유휴 전력량(idlepowerkw) 리스트
          */
-        @Query(value = "SELECT ts, idlepowerkw FROM production_real WHERE DATE(ts) = :date ORDER BY ts ASC", nativeQuery = true)
-        List<Object[]> findIdlePowerByDate(@Param("date") String date);
+        @Query(value = "SELECT ts AS ts, idlepowerkw AS idlepowerkw FROM production_real WHERE ts >= :start AND ts < :end ORDER BY ts ASC", nativeQuery = true)
+        List<IdlePowerRow> findIdlePowerBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
 }
\ No newline at end of file
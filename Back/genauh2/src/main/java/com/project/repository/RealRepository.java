@@ -1,11 +1,15 @@
 package com.project.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.project.dto.IdlePowerRow;
+import com.project.dto.OrgHourProductionRow;
+import com.project.dto.RealRowView;
 import com.project.entity.Real;
 
 import com.project.repository.RealRepository;
@@ -13,106 +17,74 @@ import com.project.repository.RealRepository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.sql.Timestamp; // Timestamp import 추가
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface RealRepository extends JpaRepository<Real, Long> {
 
-        @Modifying
-        @Query(value = "INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, powerconsumedkwh, utilizationrate) "
-                        +
-                        "SELECT f.facid, f.orgid, pg.plant_id, " +
-                        "CONCAT(pg.date, ' ', LPAD(pg.hour, 2, '0'), ':00:00') as ts, " +
-                        "GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.3), 3)) as idlepowerkw, " +
-                        "ROUND(((f.power_kw * (CASE WHEN GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3)) = 0 THEN (((49 + (RAND() * 2)) / f.power_kw) * 100) ELSE (((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.power_kw) * 100) END / 100)) / f.spec_kwh), 3) as productionkg, "
-                        +
-                        "ROUND((f.power_kw * (CASE WHEN GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3)) = 0 THEN (((49 + (RAND() * 2)) / f.power_kw) * 100) ELSE (((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.power_kw) * 100) END / 100)), 2) as powerconsumedkwh, "
-                        +
-                        "ROUND(CASE WHEN GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3)) = 0 THEN (((49 + (RAND() * 2)) / f.power_kw) * 100) ELSE (((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.power_kw) * 100) END, 4) as utilizationrate "
-                        +
-                        "FROM facilities f " +
-                        "INNER JOIN plant_generation pg ON f.facid = pg.facid " +
-                        "WHERE f.spec_kwh > 0 AND f.power_kw > 0 AND pg.capacity_kw > 0 AND pg.hour >= 0 AND pg.hour <= 23", nativeQuery = true)
-        int insertProductionRealForAll();
+        // ===== 증분 생성 (ProductionRealIncrementalService) =====
 
-        @Modifying
-        @Query(value = "INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, powerconsumedkwh, utilizationrate) "
-                        +
-                        "SELECT f.facid, f.orgid, pg.plant_id, " +
-                        "CONCAT(pg.date, ' ', LPAD(pg.hour, 2, '0'), ':00:00') as ts, " +
-                        "GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3)) as idlepowerkw, " +
-                        "ROUND(((f.power_kw * ((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw)) / f.spec_kwh), 3) as productionkg, "
-                        +
-                        "ROUND((f.power_kw * ((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw)), 2) as powerconsumedkwh, "
-                        +
-                        "ROUND(((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw), 4) as utilizationrate "
-                        +
-                        "FROM facilities f " +
-                        "INNER JOIN plant_generation pg ON f.facid = pg.facid " +
-                        "WHERE f.facid = :facId AND f.spec_kwh > 0 AND f.spec_kw > 0 AND f.power_kw > 0 AND pg.capacity_kw > 0 AND pg.hour >= 0 AND pg.hour <= 23", nativeQuery = true)
-        int insertProductionRealForFacility(@Param("facId") Long facId);
+        // 설비의 fromId 이후 원본 행 중 id 순 chunkSize 번째 행의 id (없으면 null) → 한 번에 처리할 구간 (fromId, toId]
+        @Query(value = "SELECT MAX(t.id) FROM (SELECT pg.id FROM plant_generation pg " +
+                        "WHERE pg.facid = :facId AND pg.id > :fromId ORDER BY pg.id LIMIT :chunkSize) t", nativeQuery = true)
+        Long findChunkEndId(@Param("facId") Long facId, @Param("fromId") long fromId, @Param("chunkSize") int chunkSize);
 
-        @Modifying
-        @Query(value = "INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, powerconsumedkwh, utilizationrate) "
-                        +
-                        "SELECT f.facid, f.orgid, pg.plant_id, " +
-                        "CONCAT(pg.date, ' ', LPAD(pg.hour, 2, '0'), ':00:00') as ts, " +
-                        "GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3)) as idlepowerkw, " +
-                        "ROUND(((f.power_kw * ((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw)) / f.spec_kwh), 3) as productionkg, "
-                        +
-                        "ROUND((f.power_kw * ((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw)), 2) as powerconsumedkwh, "
-                        +
-                        "ROUND(((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw), 4) as utilizationrate "
-                        +
-                        "FROM facilities f " +
-                        "INNER JOIN plant_generation pg ON f.facid = pg.facid " +
-                        "WHERE pg.plant_id = :plantId AND f.spec_kwh > 0 AND f.spec_kw > 0 AND f.power_kw > 0 AND pg.capacity_kw > 0 AND pg.hour >= 0 AND pg.hour <= 23", nativeQuery = true)
-        int insertProductionRealForPlant(@Param("plantId") String plantId);
+        // ===== 누적 생산량 인덱스 (ProductionTotalIndex) =====
 
-        @Modifying
-        @Query(value = "INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, powerconsumedkwh, utilizationrate) "
-                        +
-                        "SELECT f.facid, f.orgid, pg.plant_id, " +
-                        "CONCAT(pg.date, ' ', LPAD(pg.hour, 2, '0'), ':00:00') as ts, " +
-                        "GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3)) as idlepowerkw, " +
-                        "ROUND(((f.power_kw * ((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw)) / f.spec_kwh), 3) as productionkg, "
-                        +
-                        "ROUND((f.power_kw * ((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw)), 2) as powerconsumedkwh, "
-                        +
-                        "ROUND(((50 + GREATEST(0, ROUND(pg.generation_kw - (pg.capacity_kw * 0.7), 3))) / f.spec_kw), 4) as utilizationrate "
-                        +
-                        "FROM facilities f " +
-                        "INNER JOIN plant_generation pg ON f.facid = pg.facid " +
-                        "WHERE pg.date = :date AND pg.hour = :hour AND f.spec_kwh > 0 AND f.spec_kw > 0 AND f.power_kw > 0 AND pg.capacity_kw > 0", nativeQuery = true)
-        int insertProductionRealByDateTime(@Param("date") String date, @Param("hour") Integer hour);
+        // id 이후 행을 id 순으로 (페이지 단위 적재)
+        List<Real> findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(Long id, Pageable pageable);
+
+        @Query("SELECT COALESCE(MAX(r.hydrogenActualId), 0) FROM Real r")
+        long findMaxId();
+
+        // [start, end) 행 (부분 재구성에서 하루 단위로 읽음)
+        List<Real> findByTsGreaterThanEqualAndTsLessThan(LocalDateTime start, LocalDateTime end);
+
+        // 설비 행의 (조직, 발전소) 키별 ts 범위 → 부분 재구성 대상
+        @Query("SELECT r.orgid, r.plantId, MIN(r.ts), MAX(r.ts) FROM Real r WHERE r.facid = :facId AND r.ts >= :start AND r.ts < :end GROUP BY r.orgid, r.plantId")
+        List<Object[]> findIndexKeysByFacid(@Param("facId") Long facId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+        // 발전소 행의 (조직, 발전소) 키별 ts 범위 → 부분 재구성 대상
+        @Query("SELECT r.orgid, r.plantId, MIN(r.ts), MAX(r.ts) FROM Real r WHERE r.plantId = :plantId GROUP BY r.orgid, r.plantId")
+        List<Object[]> findIndexKeysByPlantId(@Param("plantId") String plantId);
+
+        // id <= lastId 행의 조직/발전소 행 수와 합계 (checkpoint 검증, 인덱스에 들어가는 행만)
+        @Query("SELECT COUNT(r.orgid), SUM(CASE WHEN r.orgid IS NOT NULL THEN r.productionKg END), "
+                        + "COUNT(r.plantId), SUM(CASE WHEN r.plantId IS NOT NULL THEN r.productionKg END) "
+                        + "FROM Real r WHERE r.hydrogenActualId <= :lastId AND r.ts IS NOT NULL AND r.productionKg IS NOT NULL")
+        List<Object[]> findIndexStats(@Param("lastId") long lastId);
+
+        // 발전소 생산 데이터 중 이 조직 행이 있는지 (탱크 설정/인출 기록 권한 확인)
+        boolean existsByPlantIdAndOrgid(String plantId, Long orgid);
 
         // 가장 오래된 ts 값을 찾는 메서드 추가
         @Query(value = "SELECT MIN(pr.ts) FROM production_real pr", nativeQuery = true)
         Timestamp findFirstTs();
 
-        // 특정 기간 내 데이터를 조회하는 메서드 - ASC로 변경
-        @Query(value = "SELECT pr.hydrogenactualid, pr.facid, pr.orgid, pr.plant_id, pr.ts, pr.idlepowerkw, pr.productionkg, pr.powerconsumedkwh, pr.utilizationrate, f.name, pg.generation_kw, pg.capacity_kw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour WHERE pr.ts BETWEEN :startDate AND :endDate ORDER BY pr.ts ASC, pr.hydrogenactualid ASC", nativeQuery = true)
-        List<Object[]> findByTsBetween(@Param("startDate") String startDate, @Param("endDate") String endDate);
+        // 특정 기간 [start, end) 데이터를 조회하는 메서드 - ASC로 변경
+        @Query(value = "SELECT pr.hydrogenactualid AS hydrogenActualId, pr.facid AS facid, pr.orgid AS orgid, pr.plant_id AS plantId, pr.ts AS ts, pr.idlepowerkw AS idlepowerkw, pr.productionkg AS productionKg, pr.powerconsumedkwh AS powerConsumedKwh, pr.utilizationrate AS utilizationRate, f.name AS facilityName, pg.generation_kw AS generationKw, pg.capacity_kw AS capacityKw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour WHERE pr.ts >= :start AND pr.ts < :end ORDER BY pr.ts ASC, pr.hydrogenactualid ASC", nativeQuery = true)
+        List<RealRowView> findByTsRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-        // 최신 100개 데이터 조회 - ASC로 변경 (가장 오래된 100개가 됨)
-        @Query(value = "SELECT pr.hydrogenactualid, pr.facid, pr.orgid, pr.plant_id, pr.ts, pr.idlepowerkw, pr.productionkg, pr.powerconsumedkwh, pr.utilizationrate, f.name, pg.generation_kw, pg.capacity_kw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour ORDER BY pr.ts ASC, pr.hydrogenactualid ASC LIMIT 100", nativeQuery = true)
-        List<Object[]> getLatestProductionRealRaw();
+        // 최신 100개 데이터 조회 - ts 역순 인덱스로 100건만 고른 뒤 화면 표시는 ASC
+        @Query(value = "SELECT pr.hydrogenactualid AS hydrogenActualId, pr.facid AS facid, pr.orgid AS orgid, pr.plant_id AS plantId, pr.ts AS ts, pr.idlepowerkw AS idlepowerkw, pr.productionkg AS productionKg, pr.powerconsumedkwh AS powerConsumedKwh, pr.utilizationrate AS utilizationRate, f.name AS facilityName, pg.generation_kw AS generationKw, pg.capacity_kw AS capacityKw FROM (SELECT * FROM production_real ORDER BY ts DESC, hydrogenactualid DESC LIMIT 100) pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour ORDER BY pr.ts ASC, pr.hydrogenactualid ASC", nativeQuery = true)
+        List<RealRowView> getLatestProductionRealRaw();
 
         // 특정 시설 데이터 조회 - ASC로 변경
-        @Query(value = "SELECT pr.hydrogenactualid, pr.facid, pr.orgid, pr.plant_id, pr.ts, pr.idlepowerkw, pr.productionkg, pr.powerconsumedkwh, pr.utilizationrate, f.name, pg.generation_kw, pg.capacity_kw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour WHERE pr.facid = :facId ORDER BY pr.ts ASC LIMIT 50", nativeQuery = true)
-        List<Object[]> getProductionRealForFacilityRaw(@Param("facId") Long facId);
+        @Query(value = "SELECT pr.hydrogenactualid AS hydrogenActualId, pr.facid AS facid, pr.orgid AS orgid, pr.plant_id AS plantId, pr.ts AS ts, pr.idlepowerkw AS idlepowerkw, pr.productionkg AS productionKg, pr.powerconsumedkwh AS powerConsumedKwh, pr.utilizationrate AS utilizationRate, f.name AS facilityName, pg.generation_kw AS generationKw, pg.capacity_kw AS capacityKw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour WHERE pr.facid = :facId ORDER BY pr.ts ASC LIMIT 50", nativeQuery = true)
+        List<RealRowView> getProductionRealForFacilityRaw(@Param("facId") Long facId);
 
         // 특정 플랜트 데이터 조회 - ASC로 변경
-        @Query(value = "SELECT pr.hydrogenactualid, pr.facid, pr.orgid, pr.plant_id, pr.ts, pr.idlepowerkw, pr.productionkg, powerconsumedkwh, pr.utilizationrate, f.name, pg.generation_kw, pg.capacity_kw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour WHERE pr.plant_id = :plantId ORDER BY pr.ts ASC LIMIT 50", nativeQuery = true)
-        List<Object[]> getProductionRealForPlantRaw(@Param("plantId") String plantId);
+        @Query(value = "SELECT pr.hydrogenactualid AS hydrogenActualId, pr.facid AS facid, pr.orgid AS orgid, pr.plant_id AS plantId, pr.ts AS ts, pr.idlepowerkw AS idlepowerkw, pr.productionkg AS productionKg, pr.powerconsumedkwh AS powerConsumedKwh, pr.utilizationrate AS utilizationRate, f.name AS facilityName, pg.generation_kw AS generationKw, pg.capacity_kw AS capacityKw FROM production_real pr LEFT JOIN facilities f ON pr.facid = f.facid LEFT JOIN plant_generation pg ON pr.plant_id = pg.plant_id AND DATE(pr.ts) = pg.date AND HOUR(pr.ts) = pg.hour WHERE pr.plant_id = :plantId ORDER BY pr.ts ASC LIMIT 50", nativeQuery = true)
+        List<RealRowView> getProductionRealForPlantRaw(@Param("plantId") String plantId);
 
         @Modifying
         @Query(value = "DELETE FROM production_real WHERE facid = :facId", nativeQuery = true)
         int deleteProductionRealByFacility(@Param("facId") Long facId);
 
         @Modifying
-        @Query(value = "DELETE FROM production_real WHERE DATE(ts) = :date", nativeQuery = true)
-        int deleteProductionRealByDate(@Param("date") String date);
+        @Query(value = "DELETE FROM production_real WHERE ts >= :start AND ts < :end", nativeQuery = true)
+        int deleteProductionRealBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
         /**
          * 특정 발전소의 지정된 기간 동안의 총 수소 생산량(productionKg)을 합산하여 반환합니다.
@@ -146,16 +118,24 @@ public interface RealRepository extends JpaRepository<Real, Long> {
 
 
         /**
-         * 특정 날짜의 모든 실제 유휴 전력량 데이터를 타임스탬프와 함께 조회합니다.
-         * * @param date 조회할 날짜 (YYYY-MM-DD 형식)
-         * @return 타임스탬프(ts), 유휴 전력량(idlepowerkw)을 담은 Object[] 리스트
+         * 기간 [start, end) 의 모든 실제 유휴 전력량 데이터를 타임스탬프와 함께 조회합니다.
+         * @param start 시작 시각 (포함)
+         * @param end   종료 시각 (미포함)
+         * @return 타임스탬프(ts), 유휴 전력량(idlepowerkw) 리스트
          */
-        @Query(value = "SELECT ts, idlepowerkw FROM production_real WHERE DATE(ts) = :date ORDER BY ts ASC", nativeQuery = true)
-        List<Object[]> findIdlePowerByDate(@Param("date") String date);
+        @Query(value = "SELECT ts AS ts, idlepowerkw AS idlepowerkw FROM production_real WHERE ts >= :start AND ts < :end ORDER BY ts ASC", nativeQuery = true)
+        List<IdlePowerRow> findIdlePowerBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
         @Query("SELECT FUNCTION('HOUR', r.ts) as hour, SUM(r.productionKg) as totalProductionKg FROM Real r WHERE r.orgid = :orgId AND r.ts >= :start AND r.ts < :end GROUP BY hour ORDER BY hour ASC")
         List<Object[]> findHourlyProductionByOrgId(@Param("orgId") Long orgId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+        // 조직 x 시각별 생산량 합계 [start, end) (누적 생산량 인덱스 적재 전 사용)
+        @Query(value = "SELECT pr.orgid AS orgId, pr.ts AS ts, SUM(pr.productionkg) AS productionKg FROM production_real pr WHERE pr.orgid IN (:orgIds) AND pr.ts >= :start AND pr.ts < :end GROUP BY pr.orgid, pr.ts", nativeQuery = true)
+        List<OrgHourProductionRow> sumProductionByOrgAndTs(@Param("orgIds") Collection<Long> orgIds, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+        @Query(value = "SELECT pr.orgid AS orgId, pr.ts AS ts, SUM(pr.productionkg) AS productionKg FROM production_real pr WHERE pr.orgid IS NOT NULL AND pr.ts >= :start AND pr.ts < :end GROUP BY pr.orgid, pr.ts", nativeQuery = true)
+        List<OrgHourProductionRow> sumProductionByOrgAndTs(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
         @Query("SELECT SUM(r.productionKg) FROM Real r WHERE r.orgid = :orgId AND r.ts >= :start AND r.ts < :end")
         BigDecimal findTotalProductionByOrgIdForLastSixMonths(@Param("orgId") Long orgId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
@@ -0,0 +1,17 @@
+package com.project.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.project.entity.TankDrawdown;
+
+@Repository
+public interface TankDrawdownRepository extends JpaRepository<TankDrawdown, Long> {
+
+    List<TankDrawdown> findByPlantIdAndTsGreaterThanEqualOrderByTsAscIdAsc(String plantId, LocalDateTime from);
+
+    List<TankDrawdown> findTop100ByPlantIdOrderByTsDescIdDesc(String plantId);
+}
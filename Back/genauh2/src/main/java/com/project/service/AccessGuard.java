@@ -0,0 +1,43 @@
+package com.project.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.project.entity.Organization;
+import com.project.repository.OrganizationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로그인한 조직 확인 / 관리자(SUPERVISOR) 권한 확인
+ * 권한이 없으면 SecurityException → 컨트롤러에서 403
+ */
+@Service
+@RequiredArgsConstructor
+public class AccessGuard {
+
+    private final OrganizationRepository organizationRepository;
+
+    /** JWT 필터가 넣어 둔 principal(orgId), 인증되지 않았으면 SecurityException */
+    public Long currentOrgId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new SecurityException("인증된 사용자가 아닙니다.");
+        }
+        return Long.parseLong((String) authentication.getPrincipal());
+    }
+
+    public boolean isSupervisor(Long orgId) {
+        return organizationRepository.findById(orgId)
+                .map(user -> user.getRole() == Organization.Role.SUPERVISOR)
+                .orElse(false);
+    }
+
+    /** 재적재/재구성처럼 전체 데이터에 영향을 주는 작업 전 확인 */
+    public void requireSupervisor() {
+        if (!isSupervisor(currentOrgId())) {
+            throw new SecurityException("관리자 권한이 필요합니다.");
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.project.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.dto.BackfillChunkStats;
+import com.project.dto.BackfillJobStatusDTO;
+import com.project.entity.BackfillChunk;
+import com.project.entity.BackfillJob;
+import com.project.repository.BackfillChunkRepository;
+import com.project.repository.BackfillJobRepository;
+import com.project.repository.PredictRepository;
+import com.project.util.ElectrolyzerModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * production_real / production_predict 기간 재생성 작업
+ *
+ * - 기간을 하루(전체 설비) 또는 설비 하나 x 한 달 단위 청크로 나눠 backfill_chunk 에 저장
+ *   (설비 단위도 달별로 잘라 한 청크의 트랜잭션이 기간 전체를 잡지 않게 함)
+ * - 작업마다 워커 backfill.pool-size 개만 backfillExecutor(모든 작업 공유, 큐 유한) 에 넣고,
+ *   워커가 하나가 끝나면 다음 청크를 꺼내 가는 방식 → 청크 수와 관계없이 풀 큐에는 작업당 워커 수만 쌓임
+ * - 청크 처리 + DONE 표시를 한 트랜잭션으로 커밋 → 긴 트랜잭션/잠금 없이 진행되고, 요청 스레드는 작업 등록 후 바로 반환
+ * - 설비 모델(facilities)은 작업 시작 시 한 번 읽어 모든 청크가 같이 씀
+ * - 서버가 중간에 내려가도 기동 시 PENDING/RUNNING 작업의 남은 청크부터 이어서 실행
+ * - real 은 (facid, ts) upsert, predict 는 청크 범위를 지운 뒤 다시 넣으므로 같은 청크를 여러 번 실행해도 결과가 같음
+ */
+@Service
+@Slf4j
+public class BackfillService {
+
+    // 한 작업의 최대 기간
+    static final int MAX_DAYS = 3660;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BackfillJobRepository jobRepo;
+    private final BackfillChunkRepository chunkRepo;
+    private final ElectrolyzerProductionEngine productionEngine;
+    private final PredictRepository predictRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductionTotalIndex productionTotalIndex;
+    private final Executor executor;
+
+    // 작업 하나가 동시에 실행하는 청크 수 (보통 풀 크기와 같게)
+    @Value("${backfill.pool-size:4}")
+    private int workers;
+
+    // 이 서버에서 실행 중인 작업 / 취소 요청된 작업
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final Set<Long> cancelRequested = ConcurrentHashMap.newKeySet();
+
+    public BackfillService(BackfillJobRepository jobRepo,
+                           BackfillChunkRepository chunkRepo,
+                           ElectrolyzerProductionEngine productionEngine,
+                           PredictRepository predictRepository,
+                           TransactionTemplate transactionTemplate,
+                           ProductionTotalIndex productionTotalIndex,
+                           @Qualifier("backfillExecutor") Executor executor) {
+        this.jobRepo = jobRepo;
+        this.chunkRepo = chunkRepo;
+        this.productionEngine = productionEngine;
+        this.predictRepository = predictRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.productionTotalIndex = productionTotalIndex;
+        this.executor = executor;
+    }
+
+    /** 기동 시 끝나지 않은 작업 이어서 실행 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        try {
+            for (BackfillJob job : jobRepo.findByStatusInOrderByIdAsc(
+                    List.of(BackfillJob.Status.PENDING, BackfillJob.Status.RUNNING))) {
+                log.info("[BACKFILL] 작업 {} 이어서 실행", job.getId());
+                try {
+                    launch(job.getId());
+                } catch (IllegalStateException e) {
+                    log.warn("[BACKFILL] 작업 {} 재개 보류: {}", job.getId(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("[BACKFILL] 미완료 작업 재개 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 작업 등록 후 바로 실행 (요청 스레드는 기다리지 않음) */
+    public BackfillJobStatusDTO start(BackfillJob.JobType type, BackfillJob.Split split, LocalDate start, LocalDate end) {
+        if (type == null || split == null || start == null || end == null) {
+            throw new IllegalArgumentException("type, split, start, end는 필수입니다.");
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("start가 end보다 늦습니다.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) + 1 > MAX_DAYS) {
+            throw new IllegalArgumentException("기간은 최대 " + MAX_DAYS + "일입니다.");
+        }
+
+        Long jobId = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<BackfillChunk> chunks = new ArrayList<>();
+            if (split == BackfillJob.Split.DAY) {
+                for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                    chunks.add(newChunk(d, null, now));
+                }
+            } else {
+                for (Long facId : productionEngine.loadModels().keySet()) {
+                    for (LocalDate d = start; !d.isAfter(end); d = d.withDayOfMonth(1).plusMonths(1)) {
+                        chunks.add(newChunk(d, facId, now));
+                    }
+                }
+            }
+            BackfillJob job = jobRepo.save(BackfillJob.builder()
+                    .type(type)
+                    .split(split)
+                    .startDate(start)
+                    .endDate(end)
+                    .status(BackfillJob.Status.PENDING)
+                    .totalChunks(chunks.size())
+                    .createdAt(now)
+                    .build());
+            chunks.forEach(c -> c.setJobId(job.getId()));
+            chunkRepo.saveAll(chunks);
+            return job.getId();
+        });
+        log.info("[BACKFILL] 작업 {} 등록: {} {} {} ~ {}", jobId, type, split, start, end);
+        launch(jobId);
+        return getStatus(jobId);
+    }
+
+    /** 실패/미처리 청크만 다시 실행 */
+    public BackfillJobStatusDTO resume(Long jobId) {
+        BackfillJob job = jobRepo.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("작업이 없습니다: " + jobId));
+        if (!running.contains(job.getId())) {
+            transactionTemplate.executeWithoutResult(status ->
+                    chunkRepo.resetToPending(jobId, List.of(BackfillChunk.Status.FAILED)));
+            cancelRequested.remove(jobId);
+            launch(jobId);
+        }
+        return getStatus(jobId);
+    }
+
+    /** 아직 시작하지 않은 청크를 건너뛰고 작업 종료 (실행 중인 청크는 끝까지 처리) */
+    public BackfillJobStatusDTO cancel(Long jobId) {
+        BackfillJob job = jobRepo.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("작업이 없습니다: " + jobId));
+        if (running.contains(jobId)) {
+            cancelRequested.add(jobId);
+        } else if (job.getStatus() == BackfillJob.Status.PENDING || job.getStatus() == BackfillJob.Status.RUNNING) {
+            job.setStatus(BackfillJob.Status.CANCELLED);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepo.save(job);
+        }
+        return getStatus(jobId);
+    }
+
+    public List<BackfillJobStatusDTO> getRecentJobs() {
+        List<BackfillJobStatusDTO> result = new ArrayList<>();
+        for (BackfillJob job : jobRepo.findTop50ByOrderByIdDesc()) {
+            result.add(toStatus(job));
+        }
+        return result;
+    }
+
+    /** 작업이 없으면 null */
+    public BackfillJobStatusDTO getStatus(Long jobId) {
+        return jobRepo.findById(jobId).map(this::toStatus).orElse(null);
+    }
+
+    // 남은(PENDING) 청크를 큐에 두고 워커 몇 개만 풀에 넣음 → 워커가 청크를 하나씩 꺼내 처리, 다 끝나면 작업 상태 확정
+    private void launch(Long jobId) {
+        if (!running.add(jobId)) {
+            return;
+        }
+        try {
+            BackfillJob job = transactionTemplate.execute(status -> {
+                BackfillJob j = jobRepo.findById(jobId).orElseThrow();
+                j.setStatus(BackfillJob.Status.RUNNING);
+                j.setStartedAt(LocalDateTime.now());
+                j.setFinishedAt(null);
+                j.setLastError(null);
+                return jobRepo.save(j);
+            });
+            Map<Long, ElectrolyzerModel> models = (job.getType() == BackfillJob.JobType.REAL)
+                    ? productionEngine.loadModels() : Map.of();
+            Queue<BackfillChunk> chunks = new ConcurrentLinkedQueue<>(
+                    chunkRepo.findByJobIdAndStatusOrderByIdAsc(jobId, BackfillChunk.Status.PENDING));
+            int count = Math.max(1, Math.min(workers, chunks.size()));
+            List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                try {
+                    futures.add(CompletableFuture.runAsync(() -> drain(job, models, chunks), executor));
+                } catch (RejectedExecutionException e) {
+                    if (futures.isEmpty()) {
+                        // 청크는 PENDING 그대로 → resume 또는 다음 기동 때 이어서 실행
+                        transactionTemplate.executeWithoutResult(status -> jobRepo.findById(jobId).ifPresent(j -> {
+                            j.setStatus(BackfillJob.Status.PENDING);
+                            jobRepo.save(j);
+                        }));
+                        throw new IllegalStateException("재생성 작업이 많아 지금은 시작할 수 없습니다. 잠시 후 resume 하세요.", e);
+                    }
+                    break;  // 이미 넣은 워커가 나머지 청크까지 처리
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((v, e) -> finish(jobId, job.getType()));
+        } catch (RuntimeException e) {
+            running.remove(jobId);
+            throw e;
+        }
+    }
+
+    // 큐가 빌 때까지 (또는 취소될 때까지) 청크를 하나씩 처리
+    private void drain(BackfillJob job, Map<Long, ElectrolyzerModel> models, Queue<BackfillChunk> chunks) {
+        BackfillChunk chunk;
+        while (!cancelRequested.contains(job.getId()) && (chunk = chunks.poll()) != null) {
+            runChunk(job, models, chunk);
+        }
+    }
+
+    private void runChunk(BackfillJob job, Map<Long, ElectrolyzerModel> models, BackfillChunk chunk) {
+        long started = System.currentTimeMillis();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int rows = process(job, models, chunk);
+                chunk.setStatus(BackfillChunk.Status.DONE);
+                chunk.setRowCount((long) rows);
+                chunk.setError(null);
+                completeAttempt(chunk, started);
+            });
+        } catch (Exception e) {
+            log.warn("[BACKFILL] 작업 {} 청크 {} 실패: {}", job.getId(), chunk.getId(), e.getMessage());
+            String message = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.setStatus(BackfillChunk.Status.FAILED);
+                chunk.setRowCount(0L);
+                chunk.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                completeAttempt(chunk, started);
+            });
+        }
+    }
+
+    private void completeAttempt(BackfillChunk chunk, long started) {
+        chunk.setAttempts(chunk.getAttempts() + 1);
+        chunk.setDurationMs(System.currentTimeMillis() - started);
+        chunk.setUpdatedAt(LocalDateTime.now());
+        chunkRepo.save(chunk);
+    }
+
+    // 청크 하나 처리. 반환값 = 쓴 행 수
+    private int process(BackfillJob job, Map<Long, ElectrolyzerModel> models, BackfillChunk chunk) {
+        LocalDate start = (chunk.getChunkDate() != null) ? chunk.getChunkDate() : job.getStartDate();
+        LocalDate end = job.getEndDate();
+        if (chunk.getChunkDate() != null) {
+            // 설비 청크는 chunk_date 가 속한 달 끝(또는 작업 종료일)까지, 하루 청크는 그날만
+            LocalDate monthEnd = YearMonth.from(start).atEndOfMonth();
+            end = (job.getSplit() == BackfillJob.Split.FACILITY)
+                    ? (monthEnd.isBefore(end) ? monthEnd : end)
+                    : start;
+        }
+        Long facId = chunk.getFacId();
+        if (job.getType() == BackfillJob.JobType.REAL) {
+            return productionEngine.generateBetween(models, facId, start, end);
+        }
+        predictRepository.deletePredictionsBetween(facId, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+        return predictRepository.insertPredictionsBetween(facId, start, end);
+    }
+
+    private void finish(Long jobId, BackfillJob.JobType type) {
+        try {
+            BackfillJob finished = transactionTemplate.execute(status -> {
+                BackfillJob job = jobRepo.findById(jobId).orElseThrow();
+                Map<BackfillChunk.Status, Long> counts = countByStatus(jobId);
+                if (cancelRequested.contains(jobId)) {
+                    job.setStatus(BackfillJob.Status.CANCELLED);
+                } else if (counts.get(BackfillChunk.Status.FAILED) > 0) {
+                    job.setStatus(BackfillJob.Status.FAILED);
+                    job.setLastError(chunkRepo.findLastError(jobId));
+                } else {
+                    job.setStatus(BackfillJob.Status.COMPLETED);
+                }
+                job.setFinishedAt(LocalDateTime.now());
+                log.info("[BACKFILL] 작업 {} 종료: {} (완료 {} / 실패 {} / 전체 {})", jobId, job.getStatus(),
+                        counts.get(BackfillChunk.Status.DONE), counts.get(BackfillChunk.Status.FAILED),
+                        job.getTotalChunks());
+                return jobRepo.save(job);
+            });
+            // 기존 행 값이 바뀌었을 수 있으므로 누적 생산량 인덱스는 작업 기간만 다시 구성
+            if (type == BackfillJob.JobType.REAL && finished != null) {
+                productionTotalIndex.rebuildRange(null, finished.getStartDate().atStartOfDay(),
+                        finished.getEndDate().plusDays(1).atStartOfDay());
+            }
+        } catch (Exception e) {
+            log.error("[BACKFILL] 작업 {} 상태 기록 실패: {}", jobId, e.getMessage(), e);
+        } finally {
+            cancelRequested.remove(jobId);
+            running.remove(jobId);
+        }
+    }
+
+    private BackfillJobStatusDTO toStatus(BackfillJob job) {
+        Map<BackfillChunk.Status, Long> counts = new EnumMap<>(BackfillChunk.Status.class);
+        long rowsWritten = 0;
+        for (BackfillChunk.Status s : BackfillChunk.Status.values()) {
+            counts.put(s, 0L);
+        }
+        for (BackfillChunkStats stats : chunkRepo.statsByJob(job.getId())) {
+            counts.put(stats.getStatus(), stats.getChunks());
+            rowsWritten += stats.getRowCount();
+        }
+        long total = job.getTotalChunks();
+        long done = counts.get(BackfillChunk.Status.DONE);
+        long pending = counts.get(BackfillChunk.Status.PENDING);
+
+        long elapsedMs = 0;
+        double chunksPerSecond = 0;
+        double rowsPerSecond = 0;
+        Long etaSeconds = null;
+        if (job.getStartedAt() != null) {
+            LocalDateTime until = (job.getFinishedAt() != null) ? job.getFinishedAt() : LocalDateTime.now();
+            elapsedMs = Math.max(Duration.between(job.getStartedAt(), until).toMillis(), 0);
+            long runChunks = 0;
+            long runRows = 0;
+            for (BackfillChunkStats stats : chunkRepo.doneSince(job.getId(), job.getStartedAt())) {
+                runChunks += stats.getChunks();
+                runRows += stats.getRowCount();
+            }
+            if (elapsedMs > 0) {
+                chunksPerSecond = runChunks * 1000.0 / elapsedMs;
+                rowsPerSecond = runRows * 1000.0 / elapsedMs;
+            }
+            if (job.getStatus() == BackfillJob.Status.RUNNING && chunksPerSecond > 0) {
+                etaSeconds = (long) Math.ceil(pending / chunksPerSecond);
+            }
+        }
+
+        return BackfillJobStatusDTO.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .split(job.getSplit())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .status(job.getStatus())
+                .totalChunks(total)
+                .doneChunks(done)
+                .failedChunks(counts.get(BackfillChunk.Status.FAILED))
+                .pendingChunks(pending)
+                .rowsWritten(rowsWritten)
+                .progressRate(total > 0 ? (double) done / total * 100 : 100.0)
+                .elapsedMs(elapsedMs)
+                .chunksPerSecond(chunksPerSecond)
+                .rowsPerSecond(rowsPerSecond)
+                .etaSeconds(etaSeconds)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .lastError(job.getLastError())
+                .build();
+    }
+
+    private Map<BackfillChunk.Status, Long> countByStatus(Long jobId) {
+        Map<BackfillChunk.Status, Long> counts = new EnumMap<>(BackfillChunk.Status.class);
+        for (BackfillChunk.Status s : BackfillChunk.Status.values()) {
+            counts.put(s, 0L);
+        }
+        for (BackfillChunkStats stats : chunkRepo.statsByJob(jobId)) {
+            counts.put(stats.getStatus(), stats.getChunks());
+        }
+        return counts;
+    }
+
+    private static BackfillChunk newChunk(LocalDate date, Long facId, LocalDateTime now) {
+        return BackfillChunk.builder()
+                .chunkDate(date)
+                .facId(facId)
+                .status(BackfillChunk.Status.PENDING)
+                .attempts(0)
+                .rowCount(0L)
+                .durationMs(0L)
+                .updatedAt(now)
+                .build();
+    }
+}
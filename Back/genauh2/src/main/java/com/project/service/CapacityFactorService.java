@@ -0,0 +1,134 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import com.project.dto.CapacityFactorSeriesDTO;
+import com.project.dto.GenerationPlantDailySum;
+import com.project.repository.PlantGenerationDailyRepository;
+import com.project.repository.PlantGenerationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 이동 구간(예: 7/30/90일) 설비이용률 = 구간 발전량 합 / 구간 설비용량 합
+ *
+ * 발전소별 일별 합계를 한 번 읽어 누적합 배열(prefix sum)을 만들고,
+ * 각 날짜·구간 값은 누적합 두 칸의 차로 O(1)에 계산합니다.
+ * 일별 합계는 닫힌 기간은 일별 롤업에서, 이후 기간만 원본에서 읽습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CapacityFactorService {
+
+    static final int MAX_WINDOW_DAYS = 366;
+
+    private final PlantGenerationRepository repo;
+    private final PlantGenerationDailyRepository dailyRollupRepo;
+    private final GenerationRollupService rollupService;
+
+    public List<CapacityFactorSeriesDTO> getRollingCapacityFactor(String plantId, LocalDate start, LocalDate end,
+                                                                  List<Integer> windows) {
+        LocalDate e = (end != null) ? end : LocalDate.now();
+        LocalDate s = (start != null) ? start : e.minusDays(364);
+        String pid = (plantId != null && !plantId.trim().isEmpty()) ? plantId : null;
+        List<Integer> ws = (windows != null && !windows.isEmpty()) ? windows : List.of(7, 30, 90);
+        int maxWindow = 0;
+        for (Integer w : ws) {
+            if (w == null || w <= 0 || w > MAX_WINDOW_DAYS) {
+                throw new IllegalArgumentException("windows는 1~" + MAX_WINDOW_DAYS + "일이어야 합니다: " + w);
+            }
+            maxWindow = Math.max(maxWindow, w);
+        }
+        if (s.isAfter(e)) {
+            throw new IllegalArgumentException("start가 end보다 늦습니다: " + s + " > " + e);
+        }
+
+        // 첫 날짜의 가장 긴 구간까지 덮도록 앞쪽을 넓혀 읽음
+        LocalDate from = s.minusDays(maxWindow - 1);
+        int offset = maxWindow - 1;                     // 배열에서 s 의 위치
+        int days = (int) ChronoUnit.DAYS.between(from, e) + 1;
+
+        Map<String, PrefixSums> byPlant = new TreeMap<>();
+        for (GenerationPlantDailySum row : dailySumsByPlant(pid, from, e)) {
+            byPlant.computeIfAbsent(row.getPlantId(), k -> new PrefixSums(days))
+                    .add((int) ChronoUnit.DAYS.between(from, row.getDate()), row);
+        }
+
+        List<LocalDate> dates = new ArrayList<>(days - offset);
+        for (LocalDate d = s; !d.isAfter(e); d = d.plusDays(1)) {
+            dates.add(d);
+        }
+
+        List<CapacityFactorSeriesDTO> result = new ArrayList<>(byPlant.size());
+        byPlant.forEach((id, sums) -> {
+            sums.accumulate();
+            Map<Integer, List<Double>> values = new LinkedHashMap<>();
+            for (int w : ws) {
+                List<Double> series = new ArrayList<>(dates.size());
+                for (int i = offset; i < days; i++) {
+                    series.add(sums.ratio(i - w + 1, i));
+                }
+                values.put(w, series);
+            }
+            result.add(CapacityFactorSeriesDTO.builder().plantId(id).dates(dates).windows(values).build());
+        });
+        return result;
+    }
+
+    // 닫힌 기간은 일별 롤업에서, 나머지는 원본에서 (오늘은 현재 시각까지만)
+    private List<GenerationPlantDailySum> dailySumsByPlant(String plantId, LocalDate s, LocalDate e) {
+        LocalDate today = LocalDate.now();
+        int hour = LocalTime.now().getHour();
+        LocalDate closedBefore = rollupService.closedBefore();
+        if (closedBefore == null || !s.isBefore(closedBefore)) {
+            return repo.sumDailyByPlant(plantId, s, e, today, hour);
+        }
+        LocalDate closedEnd = e.isBefore(closedBefore) ? e : closedBefore.minusDays(1);
+        List<GenerationPlantDailySum> rows = new ArrayList<>(dailyRollupRepo.findDailyByPlant(plantId, s, closedEnd));
+        if (closedEnd.isBefore(e)) {
+            rows.addAll(repo.sumDailyByPlant(plantId, closedEnd.plusDays(1), e, today, hour));
+        }
+        return rows;
+    }
+
+    /** 일별 발전량/설비용량 합 → 누적합 (gen[i] = 0 ~ i-1 일의 합) */
+    private static final class PrefixSums {
+        private final double[] gen;
+        private final long[] capacity;
+
+        PrefixSums(int days) {
+            gen = new double[days + 1];
+            capacity = new long[days + 1];
+        }
+
+        void add(int day, GenerationPlantDailySum row) {
+            gen[day + 1] += row.getGenSum() != null ? row.getGenSum() : 0.0;
+            capacity[day + 1] += row.getCapacitySum() != null ? row.getCapacitySum() : 0L;
+        }
+
+        void accumulate() {
+            for (int i = 1; i < gen.length; i++) {
+                gen[i] += gen[i - 1];
+                capacity[i] += capacity[i - 1];
+            }
+        }
+
+        // [from, to] 일 구간 설비이용률 (%)
+        Double ratio(int from, int to) {
+            long cap = capacity[to + 1] - capacity[Math.max(from, 0)];
+            if (cap <= 0) {
+                return null;
+            }
+            return (gen[to + 1] - gen[Math.max(from, 0)]) / cap * 100;
+        }
+    }
+}
@@ -10,18 +10,57 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class DataRefreshScheduler {
 
+    private final GenerationRollupService generationRollupService;
+    private final GenerationSeriesStore generationSeriesStore;
+    private final IntradayGenerationAccumulator intradayGenerationAccumulator;
+    private final GenerationSketchService generationSketchService;
+    private final GenerationAnomalyScorer generationAnomalyScorer;
+    private final GenerationQualityIndex generationQualityIndex;
+    private final ProductionTotalIndex productionTotalIndex;
+    private final LatestSnapshotStore latestSnapshotStore;
+    private final HydrogenTankFarmEngine hydrogenTankFarmEngine;
 
     // 매시 00분마다 실행 (예: 1:00, 2:00, 3:00...)
     @Scheduled(cron = "0 0 * * * *")
     public void refreshDailyData() {
         log.info("🔄 일일 가동률 데이터 갱신 시작 - {}", java.time.LocalDateTime.now());
         
-        try {
-            // 캐시 무효화나 데이터 새로고침 로직
-            // 필요하다면 여기서 캐시를 클리어하거나 미리 계산된 데이터를 갱신
+        int failed = 0;
+        // 단계마다 따로 처리해 한 단계가 실패해도 나머지는 계속 갱신
+        // 새로 들어온 시간대가 속한 일/주/월 롤업만 다시 계산
+        failed += step("롤업", generationRollupService::refresh);
+        // 새 시간대가 속한 달의 시간대별 분위수 스케치 재계산
+        failed += step("분위수 스케치", generationSketchService::refresh);
+        // 메모리 시계열 저장소에 새 시간대 반영 (비활성화 시 무시)
+        failed += step("시계열 저장소", generationSeriesStore::refresh);
+        // 오늘 누적 합계 (실시간 효율성/수소 비교용, 자정이면 새 날짜로 초기화)
+        failed += step("오늘 누적 합계", intradayGenerationAccumulator::refresh);
+        // 새 시간대 행 이상 점수 계산 (메모리 기준선, 새 id만 읽음)
+        failed += step("이상 점수", generationAnomalyScorer::refresh);
+        // 새 행의 시간 존재/중복 마스크 반영
+        failed += step("품질 인덱스", generationQualityIndex::refresh);
+        // production_real 새 행을 조직/발전소 누적 생산량 인덱스에 반영
+        failed += step("누적 생산량 인덱스", productionTotalIndex::refresh);
+        // 발전소별 탱크 상태를 새 시간만큼 진행 (인덱스 기준)
+        failed += step("탱크 상태", hydrogenTankFarmEngine::refresh);
+        // 외부에서 들어온 새 행을 발전소/설비 최신 상태에 반영
+        failed += step("최신 상태", latestSnapshotStore::refresh);
+
+        if (failed == 0) {
             log.info("✅ 일일 가동률 데이터 갱신 완료");
+        } else {
+            log.warn("⚠️ 일일 가동률 데이터 갱신 완료 (실패 {}단계)", failed);
+        }
+    }
+
+    // 갱신 단계 하나 실행 (실패 시 로그만 남기고 1 반환)
+    private int step(String name, Runnable refresh) {
+        try {
+            refresh.run();
+            return 0;
         } catch (Exception e) {
-            log.error("❌ 일일 가동률 데이터 갱신 실패: {}", e.getMessage(), e);
+            log.error("❌ {} 갱신 실패: {}", name, e.getMessage(), e);
+            return 1;
         }
     }
-}
\ No newline at end of file
+}
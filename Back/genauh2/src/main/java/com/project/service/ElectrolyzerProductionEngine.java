@@ -0,0 +1,266 @@
+package com.project.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.project.entity.Facility;
+import com.project.entity.LatestSnapshot;
+import com.project.repository.FacilityRepository;
+import com.project.util.ElectrolyzerModel;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * production_real 계산/저장 엔진 (ElectrolyzerModel + JDBC 다중 VALUES upsert)
+ *
+ * - 설비 사양은 호출당 한 번 읽어 ElectrolyzerModel 로 만들고, 행마다 DB가 아닌 Java 에서 계산
+ * - 원본 행은 id 순 batch-size 건씩 읽어 기본형 배열에 계산 결과를 채운 뒤 한 문장으로 (facid, ts) upsert
+ *   → 메모리는 배치 크기만큼만 사용, 같은 시각을 다시 계산하면 덮어씀 (db/production_real_unique.sql 필요)
+ * - 난수 시드가 고정(production-real.seed)이므로 같은 원본이면 다시 계산해도 같은 값
+ * - 배치마다 설비별 가장 늦은 시각의 결과를 LatestSnapshotStore 에 넘김 (커밋 후 반영)
+ *
+ * 트랜잭션은 호출하는 쪽에서 관리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ElectrolyzerProductionEngine {
+
+    // MySQL 자리표시자 최대 65535개 / 행당 8개
+    static final int MAX_BATCH_SIZE = 8000;
+
+    private static final String SELECT_SOURCE =
+            "SELECT pg.id, pg.facid, pg.plant_id, pg.date, pg.hour, pg.generation_kw, pg.capacity_kw "
+            + "FROM plant_generation pg "
+            + "WHERE pg.capacity_kw > 0 AND pg.hour >= 0 AND pg.hour <= 23 AND pg.id > ? AND ";
+    private static final String SELECT_SUFFIX = " ORDER BY pg.id LIMIT ?";
+    private static final String INSERT_PREFIX =
+            "INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, powerconsumedkwh, utilizationrate) VALUES ";
+    private static final String UPSERT_SUFFIX =
+            " ON DUPLICATE KEY UPDATE orgid = VALUES(orgid), plant_id = VALUES(plant_id), "
+            + "idlepowerkw = VALUES(idlepowerkw), productionkg = VALUES(productionkg), "
+            + "powerconsumedkwh = VALUES(powerconsumedkwh), utilizationrate = VALUES(utilizationrate)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FacilityRepository facilityRepository;
+    private final LatestSnapshotStore latestSnapshotStore;
+
+    @Value("${production-real.seed:0}")
+    private long seed;
+
+    @Value("${production-real.batch-size:2000}")
+    private int batchSize;
+
+    /** 생산 데이터를 만들 수 있는 설비 (facid 순) */
+    public Map<Long, ElectrolyzerModel> loadModels() {
+        Map<Long, ElectrolyzerModel> models = new TreeMap<>();
+        for (Facility facility : facilityRepository.findAll()) {
+            ElectrolyzerModel model = ElectrolyzerModel.of(facility);
+            if (model != null) {
+                models.put(model.getFacId(), model);
+            }
+        }
+        return models;
+    }
+
+    /** 설비 하나의 원본 id 구간 (fromId, toId] */
+    public int generateRange(ElectrolyzerModel model, long fromId, long toId) {
+        return generate(Map.of(model.getFacId(), model), fromId, "pg.facid = ? AND pg.id <= ?", model.getFacId(), toId);
+    }
+
+    /** 설비 하나의 전체 이력 */
+    public int generateForFacility(Long facId) {
+        Map<Long, ElectrolyzerModel> models = loadModels();
+        ElectrolyzerModel model = models.get(facId);
+        if (model == null) {
+            return 0;
+        }
+        return generate(Map.of(facId, model), 0, "pg.facid = ?", facId);
+    }
+
+    /** 발전소 하나의 전체 이력 */
+    public int generateForPlant(String plantId) {
+        return generate(loadModels(), 0, "pg.plant_id = ?", plantId);
+    }
+
+    /** 특정 날짜/시간의 모든 설비 */
+    public int generateByDateTime(LocalDate date, int hour) {
+        return generate(loadModels(), 0, "pg.date = ? AND pg.hour = ?", Date.valueOf(date), hour);
+    }
+
+    /** 기간 [start, end] 의 전체 설비, facId 가 있으면 그 설비만 */
+    public int generateBetween(Long facId, LocalDate start, LocalDate end) {
+        return generateBetween(loadModels(), facId, start, end);
+    }
+
+    /** 이미 읽어 둔 설비 모델로 계산 (재생성 작업처럼 같은 모델로 청크를 여러 번 실행할 때) */
+    public int generateBetween(Map<Long, ElectrolyzerModel> models, Long facId, LocalDate start, LocalDate end) {
+        if (facId == null) {
+            return generate(models, 0, "pg.date >= ? AND pg.date <= ?", Date.valueOf(start), Date.valueOf(end));
+        }
+        ElectrolyzerModel model = models.get(facId);
+        if (model == null) {
+            return 0;
+        }
+        return generate(Map.of(facId, model), 0, "pg.facid = ? AND pg.date >= ? AND pg.date <= ?",
+                facId, Date.valueOf(start), Date.valueOf(end));
+    }
+
+    // afterId 이후 조건에 맞는 원본을 id 순 배치 단위로 계산 → upsert. 반환값 = 영향 행 수
+    private int generate(Map<Long, ElectrolyzerModel> models, long afterId, String where, Object... args) {
+        if (models.isEmpty()) {
+            return 0;
+        }
+        int size = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        String sql = SELECT_SOURCE + where + SELECT_SUFFIX;
+        Object[] params = new Object[args.length + 2];
+        System.arraycopy(args, 0, params, 1, args.length);
+        params[params.length - 1] = size;
+
+        Batch batch = new Batch(size);
+        double[] out = new double[4];
+        long[] cursor = { afterId };
+        int[] read = new int[1];
+        int affected = 0;
+        while (true) {
+            params[0] = cursor[0];
+            read[0] = 0;
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                read[0]++;
+                cursor[0] = rs.getLong(1);
+                long facId = rs.getLong(2);
+                ElectrolyzerModel model = rs.wasNull() ? null : models.get(facId);
+                if (model == null) {
+                    return;
+                }
+                double generationKw = rs.getDouble(6);
+                if (rs.wasNull()) {
+                    return;
+                }
+                LocalDateTime ts = rs.getDate(4).toLocalDate().atTime(rs.getInt(5), 0);
+                model.compute(generationKw, rs.getDouble(7), ts.toLocalDate().toEpochDay() * 24 + ts.getHour(), seed, out);
+                batch.add(model, rs.getString(3), ts, out);
+            }, params);
+            if (batch.size > 0) {
+                affected += flush(batch);
+            }
+            if (read[0] < size) {
+                break;
+            }
+        }
+        return affected;
+    }
+
+    // 배치 전체를 다중 VALUES upsert 한 문장으로 실행
+    private int flush(Batch batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size * 18 + UPSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < batch.size; i++) {
+            sql.append(i == 0 ? "(?,?,?,?,?,?,?,?)" : ",(?,?,?,?,?,?,?,?)");
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        int affected = jdbcTemplate.update(sql.toString(), (PreparedStatement ps) -> {
+            int p = 1;
+            for (int i = 0; i < batch.size; i++) {
+                ps.setLong(p++, batch.facId[i]);
+                ps.setLong(p++, batch.orgId[i]);
+                ps.setString(p++, batch.plantId[i]);
+                ps.setTimestamp(p++, Timestamp.valueOf(batch.ts[i]));
+                ps.setDouble(p++, batch.idlePowerKw[i]);
+                ps.setDouble(p++, batch.productionKg[i]);
+                ps.setDouble(p++, batch.powerConsumedKwh[i]);
+                ps.setDouble(p++, batch.utilizationRate[i]);
+            }
+        });
+        latestSnapshotStore.offer(latestPerFacility(batch));
+        batch.clear();
+        return affected;
+    }
+
+    // 배치 안에서 설비별 가장 늦은 시각의 결과
+    private static List<LatestSnapshot> latestPerFacility(Batch batch) {
+        Map<Long, Integer> latest = new HashMap<>();
+        for (int i = 0; i < batch.size; i++) {
+            Integer j = latest.get(batch.facId[i]);
+            if (j == null || !batch.ts[i].isBefore(batch.ts[j])) {
+                latest.put(batch.facId[i], i);
+            }
+        }
+        return latest.values().stream()
+                .map(i -> LatestSnapshot.builder()
+                        .facId(batch.facId[i])
+                        .orgId(batch.orgId[i])
+                        .plantId(batch.plantId[i])
+                        .productionTs(batch.ts[i])
+                        .idlePowerKw(decimal(batch.idlePowerKw[i]))
+                        .productionKg(decimal(batch.productionKg[i]))
+                        .powerConsumedKwh(decimal(batch.powerConsumedKwh[i]))
+                        .utilizationRate(decimal(batch.utilizationRate[i]))
+                        .build())
+                .toList();
+    }
+
+    // production_real 컬럼과 같은 소수 셋째 자리
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP);
+    }
+
+    /** 한 번에 쓸 계산 결과 (열 단위 기본형 배열) */
+    private static final class Batch {
+        final long[] facId;
+        final long[] orgId;
+        final String[] plantId;
+        final LocalDateTime[] ts;
+        final double[] idlePowerKw;
+        final double[] productionKg;
+        final double[] powerConsumedKwh;
+        final double[] utilizationRate;
+        int size;
+
+        Batch(int capacity) {
+            facId = new long[capacity];
+            orgId = new long[capacity];
+            plantId = new String[capacity];
+            ts = new LocalDateTime[capacity];
+            idlePowerKw = new double[capacity];
+            productionKg = new double[capacity];
+            powerConsumedKwh = new double[capacity];
+            utilizationRate = new double[capacity];
+        }
+
+        void add(ElectrolyzerModel model, String plant, LocalDateTime time, double[] out) {
+            facId[size] = model.getFacId();
+            orgId[size] = model.getOrgId();
+            plantId[size] = plant;
+            ts[size] = time;
+            idlePowerKw[size] = out[0];
+            productionKg[size] = out[1];
+            powerConsumedKwh[size] = out[2];
+            utilizationRate[size] = out[3];
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(plantId, 0, size, null);
+            Arrays.fill(ts, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.dto.ForecastAccuracyDTO;
+import com.project.dto.GenerationAccuracySum;
+import com.project.repository.PlantGenerationDailyRepository;
+import com.project.repository.PlantGenerationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 예측 정확도 지표 (MAPE / RMSE / bias / 적중률)
+ *
+ * 지표를 합산 가능한 구성 값(건수, 오차 합, 제곱 오차 합, 절대 백분율 오차 합, 적중 건수)으로 나눠
+ * 닫힌 기간은 일별 롤업(plant_generation_daily)에 저장된 값을, 이후 기간만 원본을 한 번 집계해 합칩니다.
+ * 시간대별(hour) 집계는 롤업이 없으므로 원본 GROUP BY 한 번으로 계산합니다.
+ * 오늘 데이터는 현재 시각까지만 포함합니다 (getDaily 와 같은 기준).
+ */
+@Service
+@RequiredArgsConstructor
+public class ForecastAccuracyService {
+
+    private final PlantGenerationRepository repo;
+    private final PlantGenerationDailyRepository dailyRollupRepo;
+    private final GenerationRollupService rollupService;
+
+    // 예측 적중 판정 허용 오차율 (|실제 - 예측| <= 예측 * hit-tolerance 이면 적중)
+    @Value("${generation.accuracy.hit-tolerance:0.1}")
+    private double hitTolerance;
+
+    /** groupBy = plant(기본) | day | hour | total */
+    public List<ForecastAccuracyDTO> getAccuracy(String plantId, LocalDate start, LocalDate end, String groupBy) {
+        LocalDate s = (start != null) ? start : LocalDate.now().minusDays(30);
+        LocalDate e = (end != null) ? end : LocalDate.now();
+        String pid = (plantId != null && !plantId.trim().isEmpty()) ? plantId : null;
+        String group = (groupBy != null) ? groupBy.toLowerCase() : "plant";
+        LocalDate cutoffDate = LocalDate.now();
+        int cutoffHour = LocalTime.now().getHour();
+
+        switch (group) {
+            case "hour": {
+                List<ForecastAccuracyDTO> result = new ArrayList<>();
+                for (GenerationAccuracySum row : repo.sumAccuracyByHour(pid, s, e, hitTolerance,
+                        cutoffDate, cutoffHour)) {
+                    Accumulator acc = new Accumulator();
+                    acc.add(row);
+                    result.add(acc.toDto().hour(row.getHour()).build());
+                }
+                return result;
+            }
+            case "day": {
+                Map<LocalDate, Accumulator> byDay = new TreeMap<>();
+                merge(byDay, pid, s, e, cutoffDate, cutoffHour, GenerationAccuracySum::getDate, true);
+                List<ForecastAccuracyDTO> result = new ArrayList<>(byDay.size());
+                byDay.forEach((date, acc) -> result.add(acc.toDto().plantId(pid).date(date).build()));
+                return result;
+            }
+            case "plant":
+            case "total": {
+                Map<String, Accumulator> byPlant = new TreeMap<>();
+                merge(byPlant, pid, s, e, cutoffDate, cutoffHour, GenerationAccuracySum::getPlantId, false);
+                if (group.equals("total")) {
+                    Accumulator total = new Accumulator();
+                    byPlant.values().forEach(total::add);
+                    return List.of(total.toDto().plantId(pid).build());
+                }
+                List<ForecastAccuracyDTO> result = new ArrayList<>(byPlant.size());
+                byPlant.forEach((id, acc) -> result.add(acc.toDto().plantId(id).build()));
+                return result;
+            }
+            default:
+                throw new IllegalArgumentException("groupBy는 plant, day, hour, total 중 하나여야 합니다: " + groupBy);
+        }
+    }
+
+    // 닫힌 기간은 일별 롤업에서, 나머지는 원본에서 구성 값을 읽어 key별로 합산 (cutoffDate 당일은 cutoffHour 이하만)
+    private <K> void merge(Map<K, Accumulator> target, String plantId, LocalDate s, LocalDate e,
+                           LocalDate cutoffDate, int cutoffHour, Function<GenerationAccuracySum, K> key, boolean byDay) {
+        LocalDate closedBefore = rollupService.closedBefore();
+        LocalDate rawFrom = s;
+        if (closedBefore != null && s.isBefore(closedBefore)) {
+            LocalDate closedEnd = e.isBefore(closedBefore) ? e : closedBefore.minusDays(1);
+            List<GenerationAccuracySum> closed = byDay
+                    ? dailyRollupRepo.sumAccuracyByDay(plantId, s, closedEnd)
+                    : dailyRollupRepo.sumAccuracyByPlant(plantId, s, closedEnd);
+            closed.forEach(row -> target.computeIfAbsent(key.apply(row), k -> new Accumulator()).add(row));
+            rawFrom = closedEnd.plusDays(1);
+        }
+        if (!rawFrom.isAfter(e)) {
+            List<GenerationAccuracySum> open = byDay
+                    ? repo.sumAccuracyByDay(plantId, rawFrom, e, hitTolerance, cutoffDate, cutoffHour)
+                    : repo.sumAccuracyByPlant(plantId, rawFrom, e, hitTolerance, cutoffDate, cutoffHour);
+            open.forEach(row -> target.computeIfAbsent(key.apply(row), k -> new Accumulator()).add(row));
+        }
+    }
+
+    /** 합산 가능한 정확도 구성 값 */
+    private static final class Accumulator {
+        long rows;
+        double gen;
+        double pred;
+        double err;
+        double sqErr;
+        double absPctErr;
+        long pctRows;
+        long hits;
+
+        void add(GenerationAccuracySum row) {
+            rows += nz(row.getRowCount());
+            gen += nz(row.getGenSum());
+            pred += nz(row.getPredSum());
+            err += nz(row.getErrSum());
+            sqErr += nz(row.getSqErrSum());
+            absPctErr += nz(row.getAbsPctErrSum());
+            pctRows += nz(row.getPctCount());
+            hits += nz(row.getHitCount());
+        }
+
+        void add(Accumulator other) {
+            rows += other.rows;
+            gen += other.gen;
+            pred += other.pred;
+            err += other.err;
+            sqErr += other.sqErr;
+            absPctErr += other.absPctErr;
+            pctRows += other.pctRows;
+            hits += other.hits;
+        }
+
+        ForecastAccuracyDTO.ForecastAccuracyDTOBuilder toDto() {
+            return ForecastAccuracyDTO.builder()
+                    .dataCount(rows)
+                    .totalGenerationKwh(gen)
+                    .totalForecastKwh(pred)
+                    .mape(pctRows > 0 ? absPctErr / pctRows * 100 : null)
+                    .rmse(rows > 0 ? Math.sqrt(sqErr / rows) : null)
+                    .bias(rows > 0 ? err / rows : null)
+                    .hitRate(pctRows > 0 ? (double) hits / pctRows * 100 : null);
+        }
+
+        private static double nz(Double v) {
+            return v != null ? v : 0.0;
+        }
+
+        private static long nz(Long v) {
+            return v != null ? v : 0L;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.project.dto.GenerationAnomalyDTO;
+import com.project.entity.PlantGeneration;
+import com.project.repository.PlantGenerationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 발전량 이상 탐지 (발전소 x 시간대별 지수가중 평균/분산 기준선)
+ *
+ * - 새 행이 들어오면 갱신 전 기준선으로 z-score 를 매기고, 그 값으로 기준선을 O(1) 갱신
+ * - 기준선과 최근 점수는 메모리에만 보관 → 조회/채점 모두 과거 데이터를 다시 읽지 않음
+ * - 기동 시 최근 warmup-days 일만 한 번 읽어 기준선을 채우고, 이후 DataRefreshScheduler 에서 새 id만 반영
+ * - 기존 행을 덮어쓰는 적재 후에는 invalidateDates() 로 기준선을 다시 계산
+ *
+ * 같은 발전소·시간대에서 이미 반영한 날짜 이전/같은 날짜의 행(늦게 들어온 과거 행, 중복 행)은 건너뜁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationAnomalyScorer {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final PlantGenerationRepository repo;
+
+    @Value("${generation.anomaly.enabled:true}")
+    private boolean enabled;
+
+    // 지수가중 계수 (클수록 최근 값 비중이 큼, 0.1 ≈ 최근 열흘 남짓)
+    @Value("${generation.anomaly.alpha:0.1}")
+    private double alpha;
+
+    // |z| 가 이 값 이상이면 이상치
+    @Value("${generation.anomaly.threshold:3.0}")
+    private double threshold;
+
+    // 점수를 매기기 시작하는 최소 표본 수
+    @Value("${generation.anomaly.min-samples:7}")
+    private int minSamples;
+
+    // 표준편차 하한 (야간처럼 값이 0으로 고정된 시간대의 0 나누기 방지)
+    @Value("${generation.anomaly.min-std-kw:1.0}")
+    private double minStdKw;
+
+    // 기동 시 기준선을 채울 최근 일수
+    @Value("${generation.anomaly.warmup-days:28}")
+    private int warmupDays;
+
+    // 발전소별로 보관할 최근 점수 개수
+    @Value("${generation.anomaly.history:168}")
+    private int history;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PlantBaseline> plants = new TreeMap<>();
+    private long lastScoredId = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("[ANOMALY] 기준선 워밍업 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /** lastScoredId 이후의 새 행만 채점하고 기준선에 반영 */
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        if (lastScoredId < 0) {
+            lastScoredId = warmupStartId();
+        }
+        int[] counts = new int[2];
+        lastScoredId = score(plants, lastScoredId, counts);
+        log.info("[ANOMALY] 채점 완료: {}행, 이상 {}건 (발전소 {}곳)", counts[0], counts[1], plants.size());
+    }
+
+    /**
+     * 적재로 바뀐 날짜 반영. 기준선 기간(warmup-days) 안의 날짜가 있으면 기준선을 다시 계산하고,
+     * 아니면 새 행만 채점합니다. (같은 id로 덮어쓴 행은 증분 채점에 잡히지 않음)
+     */
+    public synchronized void invalidateDates(Collection<LocalDate> dates) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate warmupStart = LocalDate.now().minusDays(warmupDays);
+        if (dates != null && dates.stream().anyMatch(d -> !d.isBefore(warmupStart))) {
+            rebuild();
+        } else {
+            refresh();
+        }
+    }
+
+    /** 최근 warmup-days 일로 기준선/점수를 처음부터 다시 계산 (따로 만든 뒤 한 번에 교체) */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, PlantBaseline> rebuilt = new TreeMap<>();
+        int[] counts = new int[2];
+        long lastId = score(rebuilt, warmupStartId(), counts);
+        lock.writeLock().lock();
+        try {
+            plants.clear();
+            plants.putAll(rebuilt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastScoredId = lastId;
+        log.info("[ANOMALY] 기준선 재계산 완료: {}행, 이상 {}건 (발전소 {}곳)", counts[0], counts[1], rebuilt.size());
+    }
+
+    // 기준선 기간 첫 행 직전 id (기간 안에 행이 없으면 현재 MAX(id))
+    private long warmupStartId() {
+        Long firstId = repo.findMinIdSince(LocalDate.now().minusDays(warmupDays));
+        return (firstId != null) ? firstId - 1 : repo.findMaxId();
+    }
+
+    // afterId 이후 행을 id 순으로 채점해 target 기준선에 반영, 마지막으로 읽은 id 반환 (counts = {채점, 이상})
+    private long score(Map<String, PlantBaseline> target, long afterId, int[] counts) {
+        long lastId = afterId;
+        while (true) {
+            List<PlantGeneration> batch = repo.findByIdGreaterThanOrderByIdAsc(lastId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return lastId;
+            }
+            lock.writeLock().lock();
+            try {
+                for (PlantGeneration row : batch) {
+                    PlantBaseline baseline = target.computeIfAbsent(row.getPlantId(), k -> new PlantBaseline(history));
+                    int result = baseline.score(row, alpha, threshold, minSamples, minStdKw);
+                    if (result >= 0) {
+                        counts[0]++;
+                        counts[1] += result;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 최근 점수 (발전소 순, 발전소 안에서는 채점 순서 = 오래된 것부터)
+     * limit = 발전소별 최대 건수, onlyAnomalies = 이상치만
+     */
+    public List<GenerationAnomalyDTO> getScores(String plantId, int limit, boolean onlyAnomalies) {
+        List<GenerationAnomalyDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, PlantBaseline> entry : targets(plantId)) {
+                entry.getValue().collect(entry.getKey(), limit, onlyAnomalies, threshold, result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private Collection<Map.Entry<String, PlantBaseline>> targets(String plantId) {
+        if (plantId == null) {
+            return plants.entrySet();
+        }
+        PlantBaseline baseline = plants.get(plantId);
+        return baseline != null ? List.of(Map.entry(plantId, baseline)) : List.of();
+    }
+
+    /** 발전소 하나의 시간대별 기준선 + 최근 점수 링 버퍼 */
+    private static final class PlantBaseline {
+        // 시간대(0~23)별 지수가중 평균/분산, 표본 수, 마지막 반영 날짜(epochDay)
+        private final double[] mean = new double[24];
+        private final double[] variance = new double[24];
+        private final int[] samples = new int[24];
+        private final long[] lastDay = new long[24];
+
+        // 최근 점수 (NaN = 표본 부족으로 점수 없음)
+        private final long[] day;
+        private final int[] hour;
+        private final double[] gen;
+        private final double[] expected;
+        private final double[] std;
+        private final double[] score;
+        private int head;       // 다음에 쓸 칸
+        private int size;
+
+        PlantBaseline(int capacity) {
+            int n = Math.max(capacity, 1);
+            day = new long[n];
+            hour = new int[n];
+            gen = new double[n];
+            expected = new double[n];
+            std = new double[n];
+            score = new double[n];
+            Arrays.fill(lastDay, Long.MIN_VALUE);
+        }
+
+        /** 채점 후 기준선 갱신. 반환값 1 = 이상, 0 = 정상/점수 없음, -1 = 건너뜀 */
+        int score(PlantGeneration row, double alpha, double threshold, int minSamples, double minStdKw) {
+            int h = row.getHour();
+            long epochDay = row.getDate().toEpochDay();
+            if (h < 0 || h > 23 || row.getGeneration_Kw() == null || epochDay <= lastDay[h]) {
+                return -1;
+            }
+            double x = row.getGeneration_Kw();
+
+            double e = Double.NaN;
+            double s = Double.NaN;
+            double z = Double.NaN;
+            if (samples[h] >= minSamples) {
+                e = mean[h];
+                s = Math.max(Math.sqrt(variance[h]), minStdKw);
+                z = (x - e) / s;
+            }
+
+            if (samples[h] == 0) {
+                mean[h] = x;
+                variance[h] = 0;
+            } else {
+                double diff = x - mean[h];
+                double incr = alpha * diff;
+                mean[h] += incr;
+                variance[h] = (1 - alpha) * (variance[h] + diff * incr);
+            }
+            samples[h]++;
+            lastDay[h] = epochDay;
+
+            day[head] = epochDay;
+            hour[head] = h;
+            gen[head] = x;
+            expected[head] = e;
+            std[head] = s;
+            score[head] = z;
+            head = (head + 1) % day.length;
+            if (size < day.length) {
+                size++;
+            }
+            return (!Double.isNaN(z) && Math.abs(z) >= threshold) ? 1 : 0;
+        }
+
+        void collect(String plantId, int limit, boolean onlyAnomalies, double threshold,
+                     List<GenerationAnomalyDTO> out) {
+            // 최신부터 거꾸로 limit 건을 고른 뒤 오름차순으로 내보냄
+            int[] picked = new int[Math.min(size, Math.max(limit, 0))];
+            int n = 0;
+            for (int k = 1; k <= size && n < picked.length; k++) {
+                int i = (head - k + day.length) % day.length;
+                boolean anomaly = !Double.isNaN(score[i]) && Math.abs(score[i]) >= threshold;
+                if (!onlyAnomalies || anomaly) {
+                    picked[n++] = i;
+                }
+            }
+            for (int k = n - 1; k >= 0; k--) {
+                int i = picked[k];
+                boolean anomaly = !Double.isNaN(score[i]) && Math.abs(score[i]) >= threshold;
+                out.add(GenerationAnomalyDTO.builder()
+                        .plantId(plantId)
+                        .date(LocalDate.ofEpochDay(day[i]))
+                        .hour(hour[i])
+                        .generationKw(gen[i])
+                        .expectedKw(Double.isNaN(expected[i]) ? null : expected[i])
+                        .stdKw(Double.isNaN(std[i]) ? null : std[i])
+                        .score(Double.isNaN(score[i]) ? null : score[i])
+                        .anomaly(anomaly)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.project.dto.PlantBatchAnalyticsDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 발전소의 일별 합계/요약을 한 번에 조회
+ * 발전소별 조회를 generationQueryExecutor 에서 병렬로 실행하므로 전체 지연은 가장 느린 발전소 수준입니다.
+ */
+@Service
+@Slf4j
+public class GenerationBatchService {
+
+    private final PlantGenerationQueryService queryService;
+    private final Executor executor;
+
+    public GenerationBatchService(PlantGenerationQueryService queryService,
+                                  @Qualifier("generationQueryExecutor") Executor executor) {
+        this.queryService = queryService;
+        this.executor = executor;
+    }
+
+    /** plantIds가 비어 있으면 전체 발전소 목록을 사용 */
+    public List<PlantBatchAnalyticsDTO> getBatch(List<String> plantIds, LocalDate start, LocalDate end) {
+        List<String> targets = new ArrayList<>(new LinkedHashSet<>(
+                (plantIds == null || plantIds.isEmpty()) ? queryService.getPlantList() : plantIds));
+
+        List<CompletableFuture<PlantBatchAnalyticsDTO>> futures = new ArrayList<>(targets.size());
+        for (String plantId : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> PlantBatchAnalyticsDTO.builder()
+                    .plantId(plantId)
+                    .daily(queryService.getDaily(plantId, start, end))
+                    .summary(queryService.getDashboardSummary(plantId))
+                    .build(), executor));
+        }
+
+        List<PlantBatchAnalyticsDTO> result = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<PlantBatchAnalyticsDTO> future : futures) {
+                result.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("발전소 일괄 조회 실패: {}", cause.getMessage(), cause);
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException(cause);
+        }
+        return result;
+    }
+}
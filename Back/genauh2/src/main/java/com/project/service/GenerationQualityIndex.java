@@ -0,0 +1,306 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.dto.GenerationCoverageDTO;
+import com.project.dto.GenerationGapDTO;
+import com.project.dto.GenerationHourKey;
+import com.project.repository.PlantGenerationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * plant_generation 데이터 품질 인덱스 (발전소 x 일자별 24비트 마스크)
+ *
+ * - presence: 해당 시간(bit = hour) 행이 하나 이상 있음
+ * - duplicate: 같은 (plant_id, date, hour) 행이 두 개 이상 있음.
+ *   db/plant_generation_unique.sql 의 유니크 키가 걸린 DB 에서는 생길 수 없어 항상 0이고,
+ *   키를 걸기 전 DB 에서 정리할 중복 행을 찾는 용도로만 의미가 있습니다.
+ *   (적재 API 의 upsert 는 같은 id 를 덮어쓰므로 새 id 로 다시 반영되지 않음)
+ * - 기동 시/요청 시 id 순 한 번 훑어 재구성, 이후 DataRefreshScheduler 와 적재 API 에서 새 id만 반영
+ * - 1년 x 전체 발전소 검사도 발전소당 int 365개 x 2 의 비트 연산이라 메모리 안에서 끝납니다.
+ * - 발전소 첫 데이터 일자 ~ 오늘(현재 시각)까지를 기대 구간으로 보므로 보고가 끊긴 뒤의 날도 누락으로 잡힙니다.
+ *
+ * 행 삭제는 증분으로 반영되지 않으므로 중복 정리(db/plant_generation_unique.sql) 후에는 rebuild() 를 호출합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationQualityIndex {
+
+    static final int FULL_DAY = (1 << 24) - 1;
+    private static final int APPLY_BATCH_SIZE = 5000;
+
+    private final PlantGenerationRepository repo;
+
+    @Value("${generation.quality.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PlantMasks> plants = new TreeMap<>();
+    private long lastIndexedId;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("[QUALITY] 인덱스 생성 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 전체 재구성 (id 순 스캔 1회). 새 인덱스를 따로 만든 뒤 한 번에 교체하므로 그동안 조회는 이전 인덱스를 봅니다. */
+    @Transactional(readOnly = true)
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, PlantMasks> rebuilt = new TreeMap<>();
+        int[] count = { 0 };
+        long lastId = scan(rebuilt, 0, count);
+        lock.writeLock().lock();
+        try {
+            plants.clear();
+            plants.putAll(rebuilt);
+            lastIndexedId = lastId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("[QUALITY] 인덱스 재구성 완료: 발전소 {}곳, {}행 ({}ms)", rebuilt.size(), count[0],
+                System.currentTimeMillis() - start);
+        return count[0];
+    }
+
+    /** lastIndexedId 이후 새 행만 반영 */
+    @Transactional(readOnly = true)
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            rebuild();
+            return;
+        }
+        int[] count = { 0 };
+        long lastId = scan(plants, lastIndexedId, count);
+        lastIndexedId = lastId;
+        log.debug("[QUALITY] 인덱스 갱신: 신규 {}행", count[0]);
+    }
+
+    /** 누락/중복이 있는 발전소·일자 목록 (date 오름차순, 같은 날은 plantId 순) */
+    public List<GenerationGapDTO> getGaps(String plantId, LocalDate start, LocalDate end) {
+        LocalDate today = LocalDate.now();
+        LocalDate s = (start != null) ? start : today.minusDays(30);
+        LocalDate e = (end != null && end.isBefore(today)) ? end : today;
+        int todayMask = todayMask();
+        List<GenerationGapDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, PlantMasks> entry : targets(plantId)) {
+                PlantMasks masks = entry.getValue();
+                LocalDate from = s.isBefore(masks.epoch) ? masks.epoch : s;
+                for (LocalDate d = from; !d.isAfter(e); d = d.plusDays(1)) {
+                    int expected = d.equals(today) ? todayMask : FULL_DAY;
+                    int present = masks.presence(d);
+                    int missing = expected & ~present;
+                    int duplicate = masks.duplicate(d);
+                    if (missing == 0 && duplicate == 0) {
+                        continue;
+                    }
+                    result.add(GenerationGapDTO.builder()
+                            .plantId(entry.getKey())
+                            .date(d)
+                            .presentHours(Integer.bitCount(present))
+                            .missingHours(hours(missing))
+                            .duplicateHours(hours(duplicate))
+                            .build());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort((a, b) -> a.getDate().equals(b.getDate())
+                ? a.getPlantId().compareTo(b.getPlantId())
+                : a.getDate().compareTo(b.getDate()));
+        return result;
+    }
+
+    /** 발전소별 완전성 요약 */
+    public List<GenerationCoverageDTO> getCoverage(String plantId, LocalDate start, LocalDate end) {
+        LocalDate today = LocalDate.now();
+        LocalDate s = (start != null) ? start : today.minusDays(30);
+        LocalDate e = (end != null && end.isBefore(today)) ? end : today;
+        int todayMask = todayMask();
+        List<GenerationCoverageDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, PlantMasks> entry : targets(plantId)) {
+                PlantMasks masks = entry.getValue();
+                LocalDate from = s.isBefore(masks.epoch) ? masks.epoch : s;
+                long days = 0;
+                long complete = 0;
+                long expectedHours = 0;
+                long missingHours = 0;
+                long duplicateHours = 0;
+                for (LocalDate d = from; !d.isAfter(e); d = d.plusDays(1)) {
+                    int expected = d.equals(today) ? todayMask : FULL_DAY;
+                    int missing = Integer.bitCount(expected & ~masks.presence(d));
+                    int duplicate = Integer.bitCount(masks.duplicate(d));
+                    days++;
+                    expectedHours += Integer.bitCount(expected);
+                    missingHours += missing;
+                    duplicateHours += duplicate;
+                    if (missing == 0 && duplicate == 0) {
+                        complete++;
+                    }
+                }
+                result.add(GenerationCoverageDTO.builder()
+                        .plantId(entry.getKey())
+                        .days(days)
+                        .completeDays(complete)
+                        .incompleteDays(days - complete)
+                        .missingHours(missingHours)
+                        .duplicateHours(duplicateHours)
+                        .coverageRate(expectedHours > 0 ? (double) (expectedHours - missingHours) / expectedHours * 100 : 0.0)
+                        .build());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // afterId 이후 행 키를 id 순으로 훑어 target 마스크에 APPLY_BATCH_SIZE 건씩 반영, 마지막 id 반환
+    private long scan(Map<String, PlantMasks> target, long afterId, int[] count) {
+        List<GenerationHourKey> pending = new ArrayList<>(APPLY_BATCH_SIZE);
+        long[] lastId = { afterId };
+        try (Stream<GenerationHourKey> keys = repo.streamHourKeysAfter(afterId)) {
+            keys.forEach(key -> {
+                pending.add(key);
+                if (pending.size() == APPLY_BATCH_SIZE) {
+                    lastId[0] = apply(target, pending);
+                    count[0] += APPLY_BATCH_SIZE;
+                }
+            });
+        }
+        if (!pending.isEmpty()) {
+            count[0] += pending.size();
+            lastId[0] = apply(target, pending);
+        }
+        return lastId[0];
+    }
+
+    // 모아 둔 키를 쓰기 락 한 번으로 반영하고 비움
+    private long apply(Map<String, PlantMasks> target, List<GenerationHourKey> pending) {
+        lock.writeLock().lock();
+        try {
+            for (GenerationHourKey key : pending) {
+                int hour = key.getHour();
+                if (hour >= 0 && hour <= 23) {
+                    target.computeIfAbsent(key.getPlantId(), k -> new PlantMasks(key.getDate()))
+                            .mark(key.getDate(), hour);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long lastId = pending.get(pending.size() - 1).getId();
+        pending.clear();
+        return lastId;
+    }
+
+    private Collection<Map.Entry<String, PlantMasks>> targets(String plantId) {
+        if (plantId == null) {
+            return plants.entrySet();
+        }
+        PlantMasks masks = plants.get(plantId);
+        return masks != null ? List.of(Map.entry(plantId, masks)) : List.of();
+    }
+
+    // 오늘은 현재 시각까지만 기대
+    private static int todayMask() {
+        return (1 << (LocalTime.now().getHour() + 1)) - 1;
+    }
+
+    private static List<Integer> hours(int mask) {
+        List<Integer> hours = new ArrayList<>(Integer.bitCount(mask));
+        for (int m = mask; m != 0; m &= m - 1) {
+            hours.add(Integer.numberOfTrailingZeros(m));
+        }
+        return hours;
+    }
+
+    /** 발전소 하나의 일자별 presence / duplicate 마스크 (인덱스 = epoch 부터 경과 일수) */
+    private static final class PlantMasks {
+        private LocalDate epoch;
+        private int[] presence = new int[0];
+        private int[] duplicate = new int[0];
+        private int lastDay = -1;
+
+        PlantMasks(LocalDate epoch) {
+            this.epoch = epoch;
+        }
+
+        void mark(LocalDate date, int hour) {
+            if (date.isBefore(epoch)) {
+                int shift = (int) ChronoUnit.DAYS.between(date, epoch);
+                int[] newPresence = new int[presence.length + shift];
+                int[] newDuplicate = new int[duplicate.length + shift];
+                System.arraycopy(presence, 0, newPresence, shift, presence.length);
+                System.arraycopy(duplicate, 0, newDuplicate, shift, duplicate.length);
+                presence = newPresence;
+                duplicate = newDuplicate;
+                lastDay = (lastDay >= 0) ? lastDay + shift : -1;
+                epoch = date;
+            }
+            int day = (int) ChronoUnit.DAYS.between(epoch, date);
+            if (day >= presence.length) {
+                int newLength = Math.max(day + 1, presence.length + (presence.length >> 1) + 16);
+                presence = Arrays.copyOf(presence, newLength);
+                duplicate = Arrays.copyOf(duplicate, newLength);
+            }
+            int bit = 1 << hour;
+            if ((presence[day] & bit) != 0) {
+                duplicate[day] |= bit;
+            }
+            presence[day] |= bit;
+            lastDay = Math.max(lastDay, day);
+        }
+
+        int presence(LocalDate date) {
+            int day = (int) ChronoUnit.DAYS.between(epoch, date);
+            return (day >= 0 && day <= lastDay) ? presence[day] : 0;
+        }
+
+        int duplicate(LocalDate date) {
+            int day = (int) ChronoUnit.DAYS.between(epoch, date);
+            return (day >= 0 && day <= lastDay) ? duplicate[day] : 0;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.entity.ProcessingWatermark;
+import com.project.repository.PlantGenerationDailyRepository;
+import com.project.repository.PlantGenerationMonthlyRepository;
+import com.project.repository.PlantGenerationRepository;
+import com.project.repository.PlantGenerationWeeklyRepository;
+import com.project.repository.ProcessingWatermarkRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * plant_generation 일/주/월 롤업 테이블 관리
+ *
+ * - 최초 실행: 원본 전체에서 롤업 생성 (한 달씩 별도 트랜잭션, 끝나면 진행 위치 저장)
+ * - 이후 실행: 마지막으로 처리한 id 이후에 들어온 행의 날짜 + 최근 recheck-days 일만 다시 계산
+ *   (일별은 원본에서, 주별/월별은 일별 롤업에서 재계산)
+ * - 갱신 시각(closedBefore 기준)은 커밋된 뒤에만 바뀌고, 최근 recheck-days 일(최소 하루)은 닫힌 기간으로 보지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationRollupService {
+
+    static final String WATERMARK_NAME = "plant_generation_rollup";
+
+    private final PlantGenerationRepository generationRepo;
+    private final PlantGenerationDailyRepository dailyRepo;
+    private final PlantGenerationWeeklyRepository weeklyRepo;
+    private final PlantGenerationMonthlyRepository monthlyRepo;
+    private final ProcessingWatermarkRepository watermarkRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    // 새 행이 없어도 다시 계산할 최근 일수 (늦게 수정되는 데이터 대비)
+    @Value("${generation.rollup.recheck-days:1}")
+    private int recheckDays;
+
+    // 예측 적중 판정 허용 오차율 (ForecastAccuracyService와 같은 값, 바꾸면 롤업 재생성 필요)
+    @Value("${generation.accuracy.hit-tolerance:0.1}")
+    private double hitTolerance;
+
+    // 마지막 롤업 갱신 시각 (null이면 롤업 미생성)
+    private volatile LocalDateTime lastRefreshedAt;
+    private volatile boolean watermarkLoaded;
+
+    /** 새로 들어온/변경된 구간의 롤업만 갱신 (롤업이 아직 없으면 전체 생성) */
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        long maxId = generationRepo.findMaxId();
+        if (watermarkRepo.findById(WATERMARK_NAME).isEmpty()) {
+            rebuildAll();
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            ProcessingWatermark watermark = watermarkRepo.findById(WATERMARK_NAME).orElse(null);
+            if (watermark == null) {
+                watermark = ProcessingWatermark.builder().name(WATERMARK_NAME).build();
+            } else {
+                SortedSet<LocalDate> dirty = new TreeSet<>(
+                        generationRepo.findDistinctDatesByIdRange(watermark.getLastId(), maxId));
+                for (int i = 0; i <= recheckDays; i++) {
+                    dirty.add(now.toLocalDate().minusDays(i));
+                }
+                rebuild(dirty);
+            }
+            watermark.setLastId(maxId);
+            watermark.setUpdatedAt(now);
+            watermarkRepo.save(watermark);
+            // 롤백되면 이전 갱신 시각을 유지해야 하므로 커밋 후에 반영
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastRefreshedAt = now;
+                    watermarkLoaded = true;
+                }
+            });
+        });
+    }
+
+    /** 지정한 날짜가 속한 일/주/월 롤업만 다시 계산 (기존 행을 수정하는 적재 후 호출) */
+    @Transactional
+    public void rebuildDates(SortedSet<LocalDate> dates) {
+        if (dates.isEmpty() || watermarkRepo.findById(WATERMARK_NAME).isEmpty()) {
+            return;     // 롤업이 아직 없으면 첫 refresh()에서 전체 생성
+        }
+        rebuild(dates);
+    }
+
+    /**
+     * 이 날짜 이전(미포함)의 일자는 롤업에 반영이 끝난 "닫힌" 기간입니다.
+     * 롤업이 아직 없으면 null.
+     */
+    public LocalDate closedBefore() {
+        if (!watermarkLoaded) {
+            lastRefreshedAt = watermarkRepo.findById(WATERMARK_NAME)
+                    .map(ProcessingWatermark::getUpdatedAt)
+                    .orElse(null);
+            watermarkLoaded = true;
+        }
+        LocalDateTime refreshed = lastRefreshedAt;
+        if (refreshed == null) {
+            return null;
+        }
+        // 마지막 갱신일 기준 최근 recheck-days 일(최소 하루)은 늦게 들어오는 행이 있을 수 있어 원본에서 읽음
+        LocalDate today = LocalDate.now();
+        LocalDate refreshedDate = refreshed.toLocalDate().isBefore(today) ? refreshed.toLocalDate() : today;
+        return refreshedDate.minusDays(Math.max(1, recheckDays));
+    }
+
+    /** 주 시작일 (서버 Locale 기준, PlantGenerationQueryService의 주차 계산과 동일) */
+    static LocalDate weekStart(LocalDate date) {
+        return date.with(WeekFields.of(Locale.getDefault()).dayOfWeek(), 1);
+    }
+
+    // 원본 전체를 한 달씩 나눠 각각 별도 트랜잭션으로 생성 (진행 위치는 호출 측에서 마지막에 저장)
+    private void rebuildAll() {
+        LocalDate min = generationRepo.findMinDate();
+        LocalDate max = generationRepo.findMaxDate();
+        transactionTemplate.executeWithoutResult(status -> {
+            dailyRepo.deleteAllInBatch();
+            weeklyRepo.deleteAllInBatch();
+            monthlyRepo.deleteAllInBatch();
+        });
+        if (min == null || max == null) {
+            return;
+        }
+
+        int[] counts = new int[3];
+        for (YearMonth ym = YearMonth.from(min); !ym.isAfter(YearMonth.from(max)); ym = ym.plusMonths(1)) {
+            LocalDate from = ym.atDay(1);
+            LocalDate to = ym.atEndOfMonth();
+            transactionTemplate.executeWithoutResult(status -> {
+                counts[0] += dailyRepo.insertFromRaw(from, to, hitTolerance);
+                counts[2] += monthlyRepo.insertFromDaily(from, to);
+            });
+        }
+        // 주는 달을 걸치므로 일별이 모두 들어간 뒤 5주씩
+        LocalDate lastWeekEnd = weekStart(max).plusDays(6);
+        for (LocalDate ws = weekStart(min); ws.isBefore(lastWeekEnd); ws = ws.plusWeeks(5)) {
+            LocalDate from = ws;
+            LocalDate to = ws.plusWeeks(5).minusDays(1).isAfter(lastWeekEnd) ? lastWeekEnd : ws.plusWeeks(5).minusDays(1);
+            transactionTemplate.executeWithoutResult(status -> counts[1] += rebuildWeeks(from, to));
+        }
+        log.info("[ROLLUP] 전체 재생성 완료: {} ~ {} (일 {}건, 주 {}건, 월 {}건)", min, max, counts[0], counts[1], counts[2]);
+    }
+
+    private void rebuild(SortedSet<LocalDate> dirty) {
+        for (LocalDate[] r : toRanges(dirty, UnaryOperator.identity(), UnaryOperator.identity())) {
+            dailyRepo.deleteByDateBetween(r[0], r[1]);
+            dailyRepo.insertFromRaw(r[0], r[1], hitTolerance);
+        }
+
+        for (LocalDate[] r : toRanges(dirty, GenerationRollupService::weekStart, d -> weekStart(d).plusDays(6))) {
+            weeklyRepo.deleteByWeekStartBetween(r[0], r[1]);
+            rebuildWeeks(r[0], r[1]);
+        }
+
+        for (LocalDate[] r : toRanges(dirty,
+                d -> d.with(TemporalAdjusters.firstDayOfMonth()),
+                d -> d.with(TemporalAdjusters.lastDayOfMonth()))) {
+            monthlyRepo.deleteByKeyBetween(monthKey(r[0]), monthKey(r[1]));
+            monthlyRepo.insertFromDaily(r[0], r[1]);
+        }
+        log.info("[ROLLUP] 증분 갱신 완료: 대상 일자 {}일 ({} ~ {})", dirty.size(), dirty.first(), dirty.last());
+    }
+
+    // 주 경계에 맞춘 구간 [from, to]의 주별 롤업을 한 주씩 적재
+    private int rebuildWeeks(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (LocalDate ws = from; !ws.isAfter(to); ws = ws.plusWeeks(1)) {
+            count += weeklyRepo.insertFromDaily(ws, ws.plusDays(6));
+        }
+        return count;
+    }
+
+    /** 날짜 집합을 버킷 경계(floor/ceil)로 넓힌 뒤, 이어지거나 겹치는 구간끼리 합칩니다. */
+    private static List<LocalDate[]> toRanges(SortedSet<LocalDate> dates,
+                                              UnaryOperator<LocalDate> floor,
+                                              UnaryOperator<LocalDate> ceil) {
+        List<LocalDate[]> ranges = new ArrayList<>();
+        LocalDate[] current = null;
+        for (LocalDate d : dates) {
+            LocalDate from = floor.apply(d);
+            LocalDate to = ceil.apply(d);
+            if (current != null && !from.isAfter(current[1].plusDays(1))) {
+                if (to.isAfter(current[1])) {
+                    current[1] = to;
+                }
+            } else {
+                current = new LocalDate[] { from, to };
+                ranges.add(current);
+            }
+        }
+        return ranges;
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+}
@@ -0,0 +1,467 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.project.dto.GenerationDailySum;
+import com.project.dto.GenerationHourlySum;
+import com.project.dto.GenerationPeriodSum;
+import com.project.entity.PlantGeneration;
+import com.project.repository.PlantGenerationRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * plant_generation 메모리 시계열 저장소 (generation.store.enabled=true 일 때만 사용)
+ *
+ * - 발전소별로 시간 단위 값을 기본형 배열(double[]/int[])에 보관
+ *   (배열 인덱스 = 기준일 0시부터 경과한 시간 수)
+ * - 기동 시 전체 적재, 이후 DataRefreshScheduler 에서 새 행과 최근 recheck-days 일을 다시 반영
+ * - 과거 시간을 같은 id로 덮어쓰는 적재(upsert)는 invalidateDates() 로 해당 날짜만 다시 읽음
+ * - 적재가 끝나기 전이거나 비활성화 상태면 isReady() = false → 호출 측은 DB 조회를 사용
+ *
+ * (plant_id, date, hour) 당 1행을 전제로 하며, 중복 행이 있으면 id가 큰 행을 유지합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationSeriesStore {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final PlantGenerationRepository repo;
+
+    @Value("${generation.store.enabled:false}")
+    private boolean enabled;
+
+    // 새 행이 없어도 다시 읽어 올 최근 일수 (늦게 수정되는 데이터 대비)
+    @Value("${generation.store.recheck-days:1}")
+    private int recheckDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PlantSeries> plants = new TreeMap<>();
+    private long lastLoadedId;
+    private volatile boolean ready;
+
+    /** 저장소 조회 가능 여부 */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int rows = appendNewRows();
+            ready = true;
+            log.info("[SERIES-STORE] 적재 완료: 발전소 {}곳, {}행 ({}ms)", plants.size(), rows,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[SERIES-STORE] 적재 실패, DB 조회로 동작합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 새로 들어온 행과 최근 recheck-days 일의 행을 반영 */
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        int appended = appendNewRows();
+
+        LocalDate from = LocalDate.now().minusDays(recheckDays);
+        LocalDate to = LocalDate.now();
+        int rechecked = reload(from, to);
+        ready = true;
+        log.info("[SERIES-STORE] 갱신 완료: 신규 {}행, 재확인 {}행 ({} ~ {})", appended, rechecked, from, to);
+    }
+
+    /**
+     * 지정한 날짜의 행을 DB에서 다시 읽어 교체 (기존 행을 같은 id로 덮어쓴 경우 등, id 증분으로는 안 잡히는 변경용)
+     * 연속한 날짜는 한 번의 기간 조회로 묶어 읽습니다.
+     */
+    public synchronized void invalidateDates(Collection<LocalDate> dates) {
+        if (!enabled || !ready || dates == null || dates.isEmpty()) {
+            return;
+        }
+        List<LocalDate> sorted = new ArrayList<>(new TreeSet<>(dates));
+        int rows = 0;
+        int runStart = 0;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i == sorted.size() || !sorted.get(i).equals(sorted.get(i - 1).plusDays(1))) {
+                rows += reload(sorted.get(runStart), sorted.get(i - 1));
+                runStart = i;
+            }
+        }
+        log.info("[SERIES-STORE] 날짜 {}일 다시 읽음 ({}행)", sorted.size(), rows);
+    }
+
+    // [from, to] 날짜의 모든 발전소 값을 비우고 DB 행으로 다시 채움
+    private int reload(LocalDate from, LocalDate to) {
+        List<PlantGeneration> rows = repo.findByDateBetween(from, to);
+        lock.writeLock().lock();
+        try {
+            for (PlantSeries series : plants.values()) {
+                series.clear(from, to);
+            }
+            rows.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rows.size();
+    }
+
+    /** 원시 시계열 (date, hour 오름차순, 같은 시각은 plantId 순) */
+    public List<PlantGeneration> findRaw(String plantId, LocalDate start, LocalDate end, int limit) {
+        lock.readLock().lock();
+        try {
+            Collection<PlantSeries> targets = targets(plantId);
+            List<PlantGeneration> result = new ArrayList<>();
+            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                for (int h = 0; h < 24; h++) {
+                    for (PlantSeries series : targets) {
+                        PlantGeneration row = series.get(d, h);
+                        if (row == null) {
+                            continue;
+                        }
+                        result.add(row);
+                        if (limit > 0 && result.size() >= limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 발전소별로 (date, hour) 오름차순 행을 하나씩 넘겨 줌 (목록을 따로 만들지 않음) */
+    public void forEachRow(String plantId, LocalDate start, LocalDate end, Consumer<PlantGeneration> action) {
+        lock.readLock().lock();
+        try {
+            for (PlantSeries series : targets(plantId)) {
+                int from = Math.max(series.index(start, 0), 0);
+                int to = Math.min(series.index(end, 23), series.lastIndex);
+                for (int i = from; i <= to; i++) {
+                    if (series.ids[i] != 0) {
+                        action.accept(series.row(i));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 최신 1건 (전체 발전소면 가장 늦은 시각의 행) */
+    public PlantGeneration findLatest(String plantId) {
+        lock.readLock().lock();
+        try {
+            PlantSeries latest = null;
+            for (PlantSeries series : targets(plantId)) {
+                if (series.lastIndex < 0) {
+                    continue;
+                }
+                if (latest == null || series.hoursFrom(latest.epoch, series.lastIndex) > latest.lastIndex) {
+                    latest = series;
+                }
+            }
+            return latest != null ? latest.row(latest.lastIndex) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 일별 합계. cutoffDate 당일은 cutoffHour 이하 시간만 포함합니다. */
+    public List<GenerationDailySum> sumDaily(String plantId, LocalDate start, LocalDate end,
+                                             LocalDate cutoffDate, int cutoffHour) {
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        if (days <= 0) {
+            return List.of();
+        }
+        double[] gen = new double[days];
+        double[] pred = new double[days];
+        long[] capacity = new long[days];
+        long[] count = new long[days];
+        long[] plants = new long[days];
+
+        lock.readLock().lock();
+        try {
+            for (PlantSeries series : targets(plantId)) {
+                int lastDay = -1;
+                int base = series.index(start, 0);
+                int from = Math.max(base, 0);
+                int to = Math.min(series.index(end, 23), series.lastIndex);
+                int skipFrom = series.index(cutoffDate, cutoffHour) + 1;
+                int skipTo = series.index(cutoffDate, 23);
+                for (int i = from; i <= to; i++) {
+                    if (series.ids[i] == 0 || (i >= skipFrom && i <= skipTo)) {
+                        continue;
+                    }
+                    int day = (i - base) / 24;
+                    gen[day] += series.gen[i];
+                    pred[day] += series.forecast[i];
+                    capacity[day] += series.capacity[i];
+                    count[day]++;
+                    if (day != lastDay) {
+                        plants[day]++;
+                        lastDay = day;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<GenerationDailySum> result = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            if (count[day] > 0) {
+                result.add(new DailySum(start.plusDays(day), gen[day], pred[day], capacity[day], count[day],
+                        count[day], plants[day]));
+            }
+        }
+        return result;
+    }
+
+    /** 시간대(0~23시)별 합계/건수 */
+    public List<GenerationHourlySum> sumHourly(String plantId, LocalDate start, LocalDate end) {
+        double[] gen = new double[24];
+        double[] pred = new double[24];
+        long[] count = new long[24];
+
+        lock.readLock().lock();
+        try {
+            for (PlantSeries series : targets(plantId)) {
+                int from = Math.max(series.index(start, 0), 0);
+                int to = Math.min(series.index(end, 23), series.lastIndex);
+                for (int i = from; i <= to; i++) {
+                    if (series.ids[i] == 0) {
+                        continue;
+                    }
+                    int hour = i % 24;
+                    gen[hour] += series.gen[i];
+                    pred[hour] += series.forecast[i];
+                    count[hour]++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<GenerationHourlySum> result = new ArrayList<>();
+        for (int h = 0; h < 24; h++) {
+            if (count[h] > 0) {
+                result.add(new HourlySum(h, gen[h], pred[h], count[h]));
+            }
+        }
+        return result;
+    }
+
+    /** 기간 합계 */
+    public GenerationPeriodSum sumPeriod(String plantId, LocalDate start, LocalDate end) {
+        double gen = 0;
+        double pred = 0;
+        long count = 0;
+
+        lock.readLock().lock();
+        try {
+            for (PlantSeries series : targets(plantId)) {
+                int from = Math.max(series.index(start, 0), 0);
+                int to = Math.min(series.index(end, 23), series.lastIndex);
+                for (int i = from; i <= to; i++) {
+                    if (series.ids[i] == 0) {
+                        continue;
+                    }
+                    gen += series.gen[i];
+                    pred += series.forecast[i];
+                    count++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PeriodSum(gen, pred, count);
+    }
+
+    // lastLoadedId 이후의 행을 id 순으로 나눠 읽어 반영
+    private int appendNewRows() {
+        int total = 0;
+        while (true) {
+            List<PlantGeneration> batch = repo.findByIdGreaterThanOrderByIdAsc(lastLoadedId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return total;
+            }
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastLoadedId = batch.get(batch.size() - 1).getId();
+            total += batch.size();
+        }
+    }
+
+    private void put(PlantGeneration row) {
+        plants.computeIfAbsent(row.getPlantId(), k -> new PlantSeries(k, row.getDate())).put(row);
+    }
+
+    private Collection<PlantSeries> targets(String plantId) {
+        if (plantId == null) {
+            return plants.values();
+        }
+        PlantSeries series = plants.get(plantId);
+        return series != null ? List.of(series) : List.of();
+    }
+
+    /** 발전소 하나의 시간 단위 시계열 (ids[i] == 0 이면 빈 칸) */
+    private static final class PlantSeries {
+        private final String plantId;
+        private LocalDate epoch;
+        private long[] ids = new long[0];
+        private double[] gen = new double[0];
+        private double[] forecast = new double[0];
+        private int[] capacity = new int[0];
+        private int lastIndex = -1;
+
+        PlantSeries(String plantId, LocalDate epoch) {
+            this.plantId = plantId;
+            this.epoch = epoch;
+        }
+
+        int index(LocalDate date, int hour) {
+            return (int) (ChronoUnit.DAYS.between(epoch, date) * 24 + hour);
+        }
+
+        // 다른 기준일(otherEpoch)로 환산한 인덱스
+        int hoursFrom(LocalDate otherEpoch, int i) {
+            return (int) (ChronoUnit.DAYS.between(otherEpoch, epoch) * 24 + i);
+        }
+
+        void put(PlantGeneration row) {
+            int hour = row.getHour();
+            if (hour < 0 || hour > 23) {
+                return;
+            }
+            if (row.getDate().isBefore(epoch)) {
+                shift((int) ChronoUnit.DAYS.between(row.getDate(), epoch) * 24);
+                epoch = row.getDate();
+            }
+            int i = index(row.getDate(), hour);
+            ensureCapacity(i + 1);
+            if (ids[i] > row.getId()) {
+                return;
+            }
+            ids[i] = row.getId();
+            gen[i] = row.getGeneration_Kw();
+            forecast[i] = row.getForecast_Kwh();
+            capacity[i] = row.getCapacity_Kw();
+            lastIndex = Math.max(lastIndex, i);
+        }
+
+        PlantGeneration get(LocalDate date, int hour) {
+            int i = index(date, hour);
+            return (i >= 0 && i <= lastIndex && ids[i] != 0) ? row(i) : null;
+        }
+
+        PlantGeneration row(int i) {
+            return new PlantGeneration(ids[i], plantId, epoch.plusDays(i / 24), i % 24,
+                    gen[i], forecast[i], capacity[i]);
+        }
+
+        void clear(LocalDate from, LocalDate to) {
+            int start = Math.max(index(from, 0), 0);
+            int end = Math.min(index(to, 23), lastIndex);
+            for (int i = start; i <= end; i++) {
+                ids[i] = 0;
+            }
+            while (lastIndex >= 0 && ids[lastIndex] == 0) {
+                lastIndex--;
+            }
+        }
+
+        private void ensureCapacity(int size) {
+            if (size <= ids.length) {
+                return;
+            }
+            int newLength = Math.max(size, ids.length + (ids.length >> 1) + 24);
+            ids = Arrays.copyOf(ids, newLength);
+            gen = Arrays.copyOf(gen, newLength);
+            forecast = Arrays.copyOf(forecast, newLength);
+            capacity = Arrays.copyOf(capacity, newLength);
+        }
+
+        // 기준일보다 이른 행이 들어오면 배열 앞쪽에 hours 칸을 비워 둔다
+        private void shift(int hours) {
+            int newLength = ids.length + hours;
+            long[] newIds = new long[newLength];
+            double[] newGen = new double[newLength];
+            double[] newForecast = new double[newLength];
+            int[] newCapacity = new int[newLength];
+            System.arraycopy(ids, 0, newIds, hours, ids.length);
+            System.arraycopy(gen, 0, newGen, hours, gen.length);
+            System.arraycopy(forecast, 0, newForecast, hours, forecast.length);
+            System.arraycopy(capacity, 0, newCapacity, hours, capacity.length);
+            ids = newIds;
+            gen = newGen;
+            forecast = newForecast;
+            capacity = newCapacity;
+            if (lastIndex >= 0) {
+                lastIndex += hours;
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class DailySum implements GenerationDailySum {
+        private final LocalDate date;
+        private final Double genSum;
+        private final Double predSum;
+        private final Long capacitySum;
+        private final Long rowCount;
+        private final Long hourCount;   // 시간당 칸 하나 → 행 수와 같음
+        private final Long plantCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class HourlySum implements GenerationHourlySum {
+        private final Integer hour;
+        private final Double genSum;
+        private final Double predSum;
+        private final Long rowCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class PeriodSum implements GenerationPeriodSum {
+        private final Double genSum;
+        private final Double predSum;
+        private final Long rowCount;
+    }
+}
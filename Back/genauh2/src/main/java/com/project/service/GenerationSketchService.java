@@ -0,0 +1,221 @@
+package com.project.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.dto.GenerationHourValue;
+import com.project.dto.HourlyQuantileDTO;
+import com.project.entity.PlantGenerationSketch;
+import com.project.entity.ProcessingWatermark;
+import com.project.repository.PlantGenerationRepository;
+import com.project.repository.PlantGenerationSketchRepository;
+import com.project.repository.ProcessingWatermarkRepository;
+import com.project.util.QuantileSketch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시간대별 발전량 분위수 (p10 / p50 / p90)
+ *
+ * - 발전소 x 월 x 시간대마다 QuantileSketch 를 plant_generation_sketch 에 저장
+ * - 조회 시 기간 안의 닫힌 달은 저장된 스케치를 병합하고, 양 끝의 부분 월만 원본 값을 더합니다.
+ *   → 1년 조회도 스케치 12개 x 24시간대 병합 수준의 비용
+ * - 갱신은 롤업과 같은 방식 (새 id가 속한 달 + 최근 recheck-days 일이 속한 달만 재계산)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationSketchService {
+
+    static final String WATERMARK_NAME = "plant_generation_sketch";
+
+    private final PlantGenerationRepository generationRepo;
+    private final PlantGenerationSketchRepository sketchRepo;
+    private final ProcessingWatermarkRepository watermarkRepo;
+
+    @Value("${generation.rollup.recheck-days:1}")
+    private int recheckDays;
+
+    // 마지막 스케치 갱신 시각 (null이면 스케치 미생성)
+    private volatile LocalDateTime lastRefreshedAt;
+    private volatile boolean watermarkLoaded;
+
+    /** 새로 들어온/변경된 행이 속한 달의 스케치만 다시 계산 */
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        long maxId = generationRepo.findMaxId();
+        ProcessingWatermark watermark = watermarkRepo.findById(WATERMARK_NAME).orElse(null);
+
+        SortedSet<YearMonth> dirty = new TreeSet<>();
+        if (watermark == null) {
+            sketchRepo.deleteAllInBatch();
+            LocalDate min = generationRepo.findMinDate();
+            LocalDate max = generationRepo.findMaxDate();
+            if (min != null && max != null) {
+                for (YearMonth ym = YearMonth.from(min); !ym.isAfter(YearMonth.from(max)); ym = ym.plusMonths(1)) {
+                    dirty.add(ym);
+                }
+            }
+            watermark = ProcessingWatermark.builder().name(WATERMARK_NAME).build();
+        } else {
+            generationRepo.findDistinctDatesByIdRange(watermark.getLastId(), maxId)
+                    .forEach(d -> dirty.add(YearMonth.from(d)));
+            for (int i = 0; i <= recheckDays; i++) {
+                dirty.add(YearMonth.from(now.toLocalDate().minusDays(i)));
+            }
+        }
+
+        int sketches = 0;
+        for (YearMonth ym : dirty) {
+            sketches += rebuildMonth(ym, now);
+        }
+
+        watermark.setLastId(maxId);
+        watermark.setUpdatedAt(now);
+        watermarkRepo.save(watermark);
+        lastRefreshedAt = now;
+        watermarkLoaded = true;
+        log.info("[SKETCH] 갱신 완료: {}개월, 스케치 {}개", dirty.size(), sketches);
+    }
+
+    /** 지정한 달의 스케치를 다시 계산 (기존 행을 같은 id로 덮어쓴 적재 후). 스케치가 아직 없으면 무시 */
+    @Transactional
+    public void rebuildMonths(Collection<YearMonth> months) {
+        if (months.isEmpty() || closedBefore() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int sketches = 0;
+        for (YearMonth ym : new TreeSet<>(months)) {
+            sketches += rebuildMonth(ym, now);
+        }
+        log.info("[SKETCH] 지정 월 재계산: {}개월, 스케치 {}개", months.size(), sketches);
+    }
+
+    /** 시간대(0~23시)별 발전량 p10 / p50 / p90 */
+    public List<HourlyQuantileDTO> getHourlyQuantiles(String plantId, LocalDate start, LocalDate end) {
+        LocalDate s = (start != null) ? start : LocalDate.now().minusDays(30);
+        LocalDate e = (end != null) ? end : LocalDate.now();
+        String pid = (plantId != null && !plantId.trim().isEmpty()) ? plantId : null;
+
+        QuantileSketch[] byHour = new QuantileSketch[24];
+        for (int h = 0; h < 24; h++) {
+            byHour[h] = new QuantileSketch();
+        }
+
+        // 기간 안에 온전히 들어오고 이미 닫힌 달은 저장된 스케치 사용
+        LocalDate closedBefore = closedBefore();
+        YearMonth firstClosed = null;
+        YearMonth lastClosed = null;
+        if (closedBefore != null) {
+            for (YearMonth ym = YearMonth.from(s); !ym.atDay(1).isAfter(e); ym = ym.plusMonths(1)) {
+                if (ym.atDay(1).isBefore(s) || ym.atEndOfMonth().isAfter(e) || !ym.atEndOfMonth().isBefore(closedBefore)) {
+                    continue;
+                }
+                if (firstClosed == null) {
+                    firstClosed = ym;
+                }
+                lastClosed = ym;
+            }
+        }
+
+        if (firstClosed == null) {
+            addRaw(byHour, pid, s, e);
+        } else {
+            for (PlantGenerationSketch row : sketchRepo.findByMonthKeyBetween(pid, monthKey(firstClosed), monthKey(lastClosed))) {
+                byHour[row.getHour()].merge(QuantileSketch.fromBytes(row.getSketch()));
+            }
+            if (s.isBefore(firstClosed.atDay(1))) {
+                addRaw(byHour, pid, s, firstClosed.atDay(1).minusDays(1));
+            }
+            if (lastClosed.atEndOfMonth().isBefore(e)) {
+                addRaw(byHour, pid, lastClosed.atEndOfMonth().plusDays(1), e);
+            }
+        }
+
+        List<HourlyQuantileDTO> result = new ArrayList<>(24);
+        for (int h = 0; h < 24; h++) {
+            result.add(HourlyQuantileDTO.builder()
+                    .hour(h)
+                    .dataCount(byHour[h].getCount())
+                    .p10GenKw(byHour[h].quantile(0.1))
+                    .p50GenKw(byHour[h].quantile(0.5))
+                    .p90GenKw(byHour[h].quantile(0.9))
+                    .build());
+        }
+        return result;
+    }
+
+    /** 이 날짜 이전(미포함)의 달은 스케치에 반영이 끝났습니다. 스케치가 아직 없으면 null. */
+    public LocalDate closedBefore() {
+        if (!watermarkLoaded) {
+            lastRefreshedAt = watermarkRepo.findById(WATERMARK_NAME)
+                    .map(ProcessingWatermark::getUpdatedAt)
+                    .orElse(null);
+            watermarkLoaded = true;
+        }
+        LocalDateTime refreshed = lastRefreshedAt;
+        if (refreshed == null) {
+            return null;
+        }
+        LocalDate today = LocalDate.now();
+        return refreshed.toLocalDate().isBefore(today) ? refreshed.toLocalDate() : today;
+    }
+
+    // 한 달치 원본 값으로 발전소 x 시간대 스케치를 다시 만든다
+    private int rebuildMonth(YearMonth ym, LocalDateTime now) {
+        sketchRepo.deleteByMonth(ym.getYear(), ym.getMonthValue());
+
+        Map<String, QuantileSketch[]> byPlant = new HashMap<>();
+        for (GenerationHourValue v : generationRepo.findHourValues(null, ym.atDay(1), ym.atEndOfMonth())) {
+            int hour = v.getHour();
+            if (hour < 0 || hour > 23 || v.getValue() == null) {
+                continue;
+            }
+            QuantileSketch[] sketches = byPlant.computeIfAbsent(v.getPlantId(), k -> new QuantileSketch[24]);
+            if (sketches[hour] == null) {
+                sketches[hour] = new QuantileSketch();
+            }
+            sketches[hour].add(v.getValue());
+        }
+
+        List<PlantGenerationSketch> rows = new ArrayList<>();
+        byPlant.forEach((plantId, sketches) -> {
+            for (int h = 0; h < 24; h++) {
+                if (sketches[h] != null) {
+                    rows.add(new PlantGenerationSketch(plantId, ym.getYear(), ym.getMonthValue(), h,
+                            sketches[h].toBytes(), sketches[h].getCount(), now));
+                }
+            }
+        });
+        sketchRepo.saveAll(rows);
+        return rows.size();
+    }
+
+    private void addRaw(QuantileSketch[] byHour, String plantId, LocalDate from, LocalDate to) {
+        for (GenerationHourValue v : generationRepo.findHourValues(plantId, from, to)) {
+            int hour = v.getHour();
+            if (hour >= 0 && hour <= 23 && v.getValue() != null) {
+                byHour[hour].add(v.getValue());
+            }
+        }
+    }
+
+    private static int monthKey(YearMonth ym) {
+        return ym.getYear() * 100 + ym.getMonthValue();
+    }
+}
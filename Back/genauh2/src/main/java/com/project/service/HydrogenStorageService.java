@@ -1,26 +1,27 @@
 package com.project.service;
 
 import com.project.dto.HydrogenTankStatusDTO;
+import com.project.dto.OrgHourProductionRow;
 import com.project.repository.RealRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import org.springframework.security.core.Authentication; // import 추가
-import org.springframework.security.core.context.SecurityContextHolder; // import 추가
-
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId; // ZoneId import 추가
+import java.time.temporal.ChronoUnit;
 
 import com.project.dto.HourlyHydrogenProductionDTO;
-import com.project.entity.Real;
-import java.util.Comparator;
+import com.project.dto.HourlyOrgProductionDTO;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -30,10 +31,16 @@ import java.util.stream.IntStream;
 public class HydrogenStorageService {
 
     private final RealRepository realRepository;
+    private final AccessGuard accessGuard;
+    private final ProductionTotalIndex productionTotalIndex;
 
     // 수소 탱크 하나의 용량 (1000kg)
     private static final BigDecimal TANK_CAPACITY_KG = new BigDecimal("1000");
 
+    // 시간대별 조회 최대 기간 / 기준 시간대
+    static final int MAX_RANGE_DAYS = 366;
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
     /**
      * 특정 발전소의 누적 수소 생산량 정보를 조회하고,
      * 현재 수소 탱크 상태를 계산하여 반환합니다.
@@ -47,8 +54,10 @@ public class HydrogenStorageService {
         LocalDateTime startDateTime = LocalDateTime.of(LocalDate.now().withMonth(6).withDayOfMonth(1), LocalTime.MIN);
         LocalDateTime endDateTime = LocalDateTime.now();
 
-        // 2. Repository를 통해 해당 기간의 총 수소 생산량(productionKg) 합계 조회
-        BigDecimal totalAccumulatedKg = realRepository.sumProductionKgByPlantIdAndTsBetween(plantId, startDateTime, endDateTime);
+        // 2. 해당 기간의 총 수소 생산량(productionKg) 합계 조회 (누적 인덱스 적재 전이면 DB 합계)
+        BigDecimal totalAccumulatedKg = productionTotalIndex.isReady()
+                ? productionTotalIndex.sumByPlant(plantId, startDateTime, endDateTime)
+                : realRepository.sumProductionKgByPlantIdAndTsBetween(plantId, startDateTime, endDateTime);
 
         // 조회된 데이터가 없을 경우, 0으로 초기화
         if (totalAccumulatedKg == null) {
@@ -76,45 +85,96 @@ public class HydrogenStorageService {
     }
     
 
-  /**
- * [최종 해결] 로그인한 사용자가 소유한 모든 발전소의 "오늘" 시간대별 수소 생산량 총합을 조회합니다.
- * (Java Stream을 사용한 안정적인 집계 방식으로 전면 수정)
- * @return 0시부터 23시까지의 시간별 총생산량 DTO 리스트
- */
-public List<HourlyHydrogenProductionDTO> getHourlyProductionForToday() {
-    // 1. 현재 로그인한 사용자의 orgId 가져오기
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-        throw new SecurityException("인증된 사용자가 아닙니다.");
+    /**
+     * 로그인한 사용자(조직)의 "오늘" 시간대별 수소 생산량 총합을 조회합니다. (Asia/Seoul 기준)
+     * @return 0시부터 23시까지의 시간별 총생산량 DTO 리스트
+     */
+    public List<HourlyHydrogenProductionDTO> getHourlyProductionForToday() {
+        Long orgId = accessGuard.currentOrgId();
+        LocalDate today = LocalDate.now(SEOUL);
+        long[] grams = hourlyGrams(List.of(orgId), today, today).get(orgId);
+        return IntStream.range(0, 24)
+                .mapToObj(hour -> new HourlyHydrogenProductionDTO(hour, kg(grams[hour])))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 로그인한 사용자(조직)의 기간 [start, end] 시간대별 수소 생산량 (날짜 x 0~23시, 없는 시간은 0)
+     */
+    public List<HourlyOrgProductionDTO> getHourlyProduction(LocalDate start, LocalDate end) {
+        Long orgId = accessGuard.currentOrgId();
+        return toHourlyDtos(hourlyGrams(List.of(orgId), start, end), start);
     }
-    String userIdStr = (String) authentication.getPrincipal();
-    Long orgId = Long.parseLong(userIdStr);
-
-    // 2. [수정] Asia/Seoul 시간대를 기준으로 조회 범위 설정
-    LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-    LocalDateTime startOfToday = today.atStartOfDay();
-    LocalDateTime startOfTomorrow = today.plusDays(1).atStartOfDay();
-
-    // 3. [수정] 종료 시점을 포함하지 않는 메소드 호출로 변경
-    List<Real> todayProductionData = realRepository.findByOrgidAndTsGreaterThanEqualAndTsLessThan(orgId, startOfToday, startOfTomorrow);
-
-    // 4. Java Stream을 사용하여 시간대별로 productionKg를 안전하게 그룹화하고 합산합니다.
-    Map<Integer, BigDecimal> hourlyHydrogenProductionMap = todayProductionData.stream()
-        .filter(data -> data.getProductionKg() != null) // null 값 데이터는 제외
-        .collect(Collectors.groupingBy(
-            data -> data.getTs().getHour(), // 시간을 기준으로 그룹화
-            Collectors.reducing(BigDecimal.ZERO, Real::getProductionKg, BigDecimal::add) // 각 그룹의 productionKg를 합산
-        ));
-
-    // 5. 0시부터 23시까지의 전체 DTO 리스트를 생성하여 반환 (데이터가 없는 시간은 0으로 채움)
-    return IntStream.range(0, 24)
-        .mapToObj(hour -> {
-            BigDecimal production = hourlyHydrogenProductionMap.getOrDefault(hour, BigDecimal.ZERO);
-            return new HourlyHydrogenProductionDTO(hour, production);
-        })
-        .sorted(Comparator.comparingInt(HourlyHydrogenProductionDTO::getHour))
-        .collect(Collectors.toList());
-}
 
+    /**
+     * [관리자] 여러 조직의 기간 [start, end] 시간대별 수소 생산량 (조직 x 날짜 x 0~23시)
+     * orgIds 가 비어 있으면 생산 데이터가 있는 모든 조직
+     */
+    public List<HourlyOrgProductionDTO> getHourlyProductionByOrgs(List<Long> orgIds, LocalDate start, LocalDate end) {
+        accessGuard.requireSupervisor();
+        return toHourlyDtos(hourlyGrams((orgIds == null || orgIds.isEmpty()) ? null : orgIds, start, end), start);
+    }
 
-}
\ No newline at end of file
+    /**
+     * 발전소 탱크 설정/인출 기록 권한 확인 - 로그인한 조직의 생산 데이터가 있는 발전소이거나 관리자
+     * 권한이 없으면 SecurityException
+     */
+    public void checkPlantAccess(String plantId) {
+        Long orgId = accessGuard.currentOrgId();
+        if (plantId != null && realRepository.existsByPlantIdAndOrgid(plantId, orgId)) {
+            return;
+        }
+        if (!accessGuard.isSupervisor(orgId)) {
+            throw new SecurityException("발전소 권한이 없습니다: " + plantId);
+        }
+    }
+
+    // 조직별 시간 단위 생산량 (0.001kg 단위 long) - 누적 생산량 인덱스, 적재 전이면 DB에서 (조직, 시각) 단위로 합산
+    private Map<Long, long[]> hourlyGrams(Collection<Long> orgIds, LocalDate start, LocalDate end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다: " + start + " ~ " + end);
+        }
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+        }
+        LocalDateTime from = start.atStartOfDay();
+        int hours = (int) days * 24;
+        if (productionTotalIndex.isReady()) {
+            return productionTotalIndex.hourlyByOrg(orgIds, from, hours);
+        }
+
+        Map<Long, long[]> result = new TreeMap<>();
+        if (orgIds != null) {
+            orgIds.forEach(orgId -> result.put(orgId, new long[hours]));
+        }
+        LocalDateTime to = end.plusDays(1).atStartOfDay();
+        List<OrgHourProductionRow> rows = (orgIds != null)
+                ? realRepository.sumProductionByOrgAndTs(orgIds, from, to)
+                : realRepository.sumProductionByOrgAndTs(from, to);
+        for (OrgHourProductionRow row : rows) {
+            if (row.getProductionKg() == null) {
+                continue;
+            }
+            int index = (int) ChronoUnit.HOURS.between(from, row.getTs());
+            result.computeIfAbsent(row.getOrgId(), k -> new long[hours])[index] +=
+                    row.getProductionKg().setScale(3, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        return result;
+    }
+
+    private static List<HourlyOrgProductionDTO> toHourlyDtos(Map<Long, long[]> hourly, LocalDate start) {
+        List<HourlyOrgProductionDTO> result = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : hourly.entrySet()) {
+            long[] grams = entry.getValue();
+            for (int i = 0; i < grams.length; i++) {
+                result.add(new HourlyOrgProductionDTO(entry.getKey(), start.plusDays(i / 24), i % 24, kg(grams[i])));
+            }
+        }
+        return result;
+    }
+
+    private static BigDecimal kg(long grams) {
+        return BigDecimal.valueOf(grams, 3);
+    }
+}
@@ -0,0 +1,416 @@
+package com.project.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.dto.PlantPredictionRow;
+import com.project.dto.TankFarmStatusDTO;
+import com.project.dto.TankLevelDTO;
+import com.project.entity.HydrogenTank;
+import com.project.entity.TankDrawdown;
+import com.project.repository.HydrogenTankRepository;
+import com.project.repository.PredictRepository;
+import com.project.repository.TankDrawdownRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 발전소별 수소 탱크 묶음 시뮬레이션 (ProductionTotalIndex 의 시간별 생산량 기반)
+ *
+ * - 탱크는 fillOrder 순으로 채우고 역순으로 꺼내므로 상태는 항상 "앞쪽 k개 가득 + 1개 일부"
+ *   → 총 저장량 하나(long, 0.001kg 단위)로 표현, 시간당 생산 추가/넘침/인출이 O(1)
+ * - 발전소마다 마지막으로 반영한 시각을 기억하고 그 이후 시간만 진행 (6월 1일부터 매번 다시 합산하지 않음)
+ * - 진행 전에 반영한 총 생산량과 인덱스의 같은 구간 합(누적합 2회 조회)을 비교해 과거 시간이 바뀌었으면
+ *   값이 맞는 최근 체크포인트(없으면 시작일)부터 다시 진행
+ * - 가득 참 예상 시각은 production_predict 의 발전소 시각별 예측 합계와 예정 인출을 projection-hours 만큼 따라가며 계산
+ *
+ * 탱크 구성/인출 기록을 바꾸면 그 발전소 상태만 버리고 다음 조회 때 다시 계산합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HydrogenTankFarmEngine {
+
+    static final int MAX_TANKS = 100;
+    // 발전소당 보관할 최근 진행 시점 수
+    private static final int MAX_CHECKPOINTS = 48;
+
+    private final ProductionTotalIndex productionTotalIndex;
+    private final HydrogenTankRepository tankRepo;
+    private final TankDrawdownRepository drawdownRepo;
+    private final PredictRepository predictRepository;
+
+    // 저장 시작일 (비어 있으면 올해 6월 1일)
+    @Value("${hydrogen-storage.start-date:}")
+    private String startDate;
+
+    @Value("${hydrogen-storage.default-tank-count:1}")
+    private int defaultTankCount;
+
+    @Value("${hydrogen-storage.default-tank-capacity-kg:1000}")
+    private BigDecimal defaultTankCapacityKg;
+
+    @Value("${hydrogen-storage.projection-hours:168}")
+    private int projectionHours;
+
+    private final Map<String, PlantTanks> states = new ConcurrentHashMap<>();
+    // 탱크 구성/인출 기록 변경 횟수 (state() 가 읽는 동안 바뀌었는지 확인)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /** 누적 생산량 인덱스 적재 후 사용 가능 */
+    public boolean isReady() {
+        return productionTotalIndex.isReady();
+    }
+
+    /** 발전소 탱크 상태 (현재 시간까지 진행, 가득 참 예상 시각 포함) */
+    public TankFarmStatusDTO getStatus(String plantId) {
+        if (plantId == null || plantId.isBlank()) {
+            throw new IllegalArgumentException("plantId가 필요합니다.");
+        }
+        PlantTanks state = state(plantId);
+        synchronized (state) {
+            state.advance(productionTotalIndex, currentHourEnd());
+            return state.toStatus(projectFullAt(state), projectionHours);
+        }
+    }
+
+    /** 데이터가 있는 모든 발전소를 현재 시간까지 진행 (DataRefreshScheduler) */
+    public void refresh() {
+        if (!isReady()) {
+            return;
+        }
+        LocalDateTime until = currentHourEnd();
+        long started = System.nanoTime();
+        int count = 0;
+        for (String plantId : productionTotalIndex.plantIds()) {
+            PlantTanks state = state(plantId);
+            synchronized (state) {
+                state.advance(productionTotalIndex, until);
+            }
+            count++;
+        }
+        long micros = (System.nanoTime() - started) / 1000;
+        log.info("[TANK] 발전소 {}곳 진행 완료 ({}µs, 발전소당 {}µs)", count, micros, (count > 0) ? micros / count : 0);
+    }
+
+    /** 발전소 탱크 구성 (없으면 기본 구성, id 없음) */
+    public List<HydrogenTank> getTanks(String plantId) {
+        List<HydrogenTank> tanks = tankRepo.findByPlantIdOrderByFillOrderAscIdAsc(plantId);
+        if (!tanks.isEmpty()) {
+            return tanks;
+        }
+        List<HydrogenTank> defaults = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, defaultTankCount); i++) {
+            defaults.add(HydrogenTank.builder()
+                    .plantId(plantId)
+                    .name("T" + (i + 1))
+                    .capacityKg(defaultTankCapacityKg)
+                    .fillOrder(i)
+                    .build());
+        }
+        return defaults;
+    }
+
+    /** 발전소 탱크 구성 교체 (요청 순서 = 채우는 순서) */
+    @Transactional
+    public List<HydrogenTank> replaceTanks(String plantId, List<HydrogenTank> tanks) {
+        if (plantId == null || plantId.isBlank()) {
+            throw new IllegalArgumentException("plantId가 필요합니다.");
+        }
+        if (tanks == null || tanks.isEmpty() || tanks.size() > MAX_TANKS) {
+            throw new IllegalArgumentException("탱크는 1~" + MAX_TANKS + "개여야 합니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<HydrogenTank> saved = new ArrayList<>();
+        for (int i = 0; i < tanks.size(); i++) {
+            HydrogenTank tank = tanks.get(i);
+            if (tank == null || tank.getCapacityKg() == null || tank.getCapacityKg().signum() <= 0) {
+                throw new IllegalArgumentException("탱크 용량은 0보다 커야 합니다: " + (i + 1) + "번째");
+            }
+            String name = (tank.getName() != null && !tank.getName().isBlank()) ? tank.getName().trim() : "T" + (i + 1);
+            saved.add(HydrogenTank.builder()
+                    .plantId(plantId)
+                    .name(name)
+                    .capacityKg(tank.getCapacityKg().setScale(3, RoundingMode.HALF_UP))
+                    .fillOrder(i)
+                    .createdAt(now)
+                    .build());
+        }
+        tankRepo.deleteByPlantId(plantId);
+        List<HydrogenTank> result = tankRepo.saveAll(saved);
+        invalidateAfterCommit(plantId);
+        return result;
+    }
+
+    /** 인출 기록 추가 (ts 는 정시로 내림, 미래 시각이면 예정 인출) */
+    @Transactional
+    public TankDrawdown addDrawdown(TankDrawdown request) {
+        if (request == null || request.getPlantId() == null || request.getPlantId().isBlank() || request.getTs() == null) {
+            throw new IllegalArgumentException("plantId, ts가 필요합니다.");
+        }
+        if (request.getAmountKg() == null || request.getAmountKg().signum() <= 0) {
+            throw new IllegalArgumentException("인출량은 0보다 커야 합니다.");
+        }
+        TankDrawdown saved = drawdownRepo.save(TankDrawdown.builder()
+                .plantId(request.getPlantId())
+                .ts(request.getTs().truncatedTo(ChronoUnit.HOURS))
+                .amountKg(request.getAmountKg().setScale(3, RoundingMode.HALF_UP))
+                .reason(request.getReason())
+                .createdAt(LocalDateTime.now())
+                .build());
+        invalidateAfterCommit(saved.getPlantId());
+        return saved;
+    }
+
+    /** 최근 인출 기록 (최대 100건, 최신순) */
+    public List<TankDrawdown> getDrawdowns(String plantId) {
+        return drawdownRepo.findTop100ByPlantIdOrderByTsDescIdDesc(plantId);
+    }
+
+    // 발전소 상태 (없거나 시작일이 바뀌었으면 탱크 구성/인출 기록을 읽어 새로 생성)
+    // - 생산 데이터가 없는 발전소는 거부 (임의 plantId 로 상태가 쌓이지 않도록)
+    // - DB 조회는 compute 밖에서 하고, 넣을 때만 compute 로 확인 (동시에 만들면 먼저 넣은 쪽을 사용)
+    // - 읽는 동안 구성이 바뀌었으면(invalidations 변경) 읽은 값은 이번 조회에만 쓰고 저장하지 않음
+    private PlantTanks state(String plantId) {
+        LocalDate start = startDate();
+        PlantTanks current = states.get(plantId);
+        if (current != null && current.startDate.equals(start)) {
+            return current;
+        }
+        if (!productionTotalIndex.hasPlant(plantId)) {
+            throw new IllegalArgumentException("생산 데이터가 없는 발전소입니다: " + plantId);
+        }
+        long version = invalidations.get();
+        PlantTanks loaded = new PlantTanks(plantId, start, getTanks(plantId),
+                drawdownRepo.findByPlantIdAndTsGreaterThanEqualOrderByTsAscIdAsc(plantId, start.atStartOfDay()));
+        PlantTanks result = states.compute(plantId, (id, existing) -> {
+            if (existing != null && existing.startDate.equals(start)) {
+                return existing;
+            }
+            return (invalidations.get() == version) ? loaded : existing;
+        });
+        return (result != null && result.startDate.equals(start)) ? result : loaded;
+    }
+
+    private void invalidateAfterCommit(String plantId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(plantId);
+                }
+            });
+        } else {
+            invalidate(plantId);
+        }
+    }
+
+    // 카운터를 먼저 올려야 읽는 중이던 state() 가 옛 구성을 넣지 않음
+    private void invalidate(String plantId) {
+        invalidations.incrementAndGet();
+        states.remove(plantId);
+    }
+
+    // 현재 저장량에서 시각별 예측 생산량을 더하고 예정 인출을 빼며 전체 용량에 닿는 시각 (구간 안에 없으면 null)
+    private LocalDateTime projectFullAt(PlantTanks state) {
+        if (state.totalCapacity <= 0) {
+            return null;
+        }
+        if (state.stored >= state.totalCapacity) {
+            return hourToTime(state.nextHour);
+        }
+        LocalDateTime from = hourToTime(state.nextHour);
+        List<PlantPredictionRow> rows = predictRepository.sumPredictedByPlant(state.plantId, from, from.plusHours(projectionHours));
+        long stored = state.stored;
+        int cursor = state.drawCursor;
+        for (PlantPredictionRow row : rows) {
+            long hour = epochHour(row.getTs());
+            while (cursor < state.drawHour.length && state.drawHour[cursor] < hour) {
+                stored = Math.max(0, stored - state.drawGrams[cursor++]);
+            }
+            stored += (row.getPredictedKg() != null) ? Math.max(0, Math.round(row.getPredictedKg() * 1000)) : 0;
+            if (stored >= state.totalCapacity) {
+                return hourToTime(hour + 1);
+            }
+            while (cursor < state.drawHour.length && state.drawHour[cursor] == hour) {
+                stored = Math.max(0, stored - state.drawGrams[cursor++]);
+            }
+        }
+        return null;
+    }
+
+    private LocalDate startDate() {
+        return (startDate != null && !startDate.isBlank())
+                ? LocalDate.parse(startDate.trim())
+                : LocalDate.now().withMonth(6).withDayOfMonth(1);
+    }
+
+    // 현재 시간까지 포함 (ts = 정시인 현재 시간 행까지)
+    private static LocalDateTime currentHourEnd() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+    }
+
+    private static long epochHour(LocalDateTime t) {
+        return t.toLocalDate().toEpochDay() * 24 + t.getHour();
+    }
+
+    private static LocalDateTime hourToTime(long hour) {
+        return LocalDate.ofEpochDay(Math.floorDiv(hour, 24)).atTime((int) Math.floorMod(hour, 24), 0);
+    }
+
+    private static long grams(BigDecimal kg) {
+        return (kg != null) ? kg.setScale(3, RoundingMode.HALF_UP).unscaledValue().longValue() : 0;
+    }
+
+    private static BigDecimal kg(long grams) {
+        return BigDecimal.valueOf(grams, 3);
+    }
+
+    /** 발전소 하나의 탱크 묶음 상태 (저장량 등은 0.001kg 단위) */
+    private static final class PlantTanks {
+        final String plantId;
+        final LocalDate startDate;
+        final String[] names;
+        final long[] capacity;
+        final long totalCapacity;
+        // 인출 기록 (시각 순, epochHour / 양)
+        final long[] drawHour;
+        final long[] drawGrams;
+        // 최근 진행 시작 시점 { nextHour, produced, stored, drawn, vented, unmet, drawCursor }
+        final Deque<long[]> checkpoints = new ArrayDeque<>();
+
+        long nextHour;      // 다음에 반영할 시간 (epochHour)
+        long produced;
+        long stored;
+        long drawn;
+        long vented;
+        long unmet;
+        int drawCursor;
+
+        PlantTanks(String plantId, LocalDate startDate, List<HydrogenTank> tanks, List<TankDrawdown> drawdowns) {
+            this.plantId = plantId;
+            this.startDate = startDate;
+            this.names = new String[tanks.size()];
+            this.capacity = new long[tanks.size()];
+            long total = 0;
+            for (int i = 0; i < tanks.size(); i++) {
+                names[i] = tanks.get(i).getName();
+                capacity[i] = grams(tanks.get(i).getCapacityKg());
+                total += capacity[i];
+            }
+            this.totalCapacity = total;
+            this.drawHour = new long[drawdowns.size()];
+            this.drawGrams = new long[drawdowns.size()];
+            for (int i = 0; i < drawdowns.size(); i++) {
+                drawHour[i] = epochHour(drawdowns.get(i).getTs());
+                drawGrams[i] = grams(drawdowns.get(i).getAmountKg());
+            }
+            this.nextHour = epochHour(startDate.atStartOfDay());
+        }
+
+        // until 직전 시간까지 한 시간씩 진행 (생산 → 넘침 → 인출)
+        void advance(ProductionTotalIndex index, LocalDateTime until) {
+            long startHour = epochHour(startDate.atStartOfDay());
+            if (nextHour > startHour && grams(index.sumByPlant(plantId, startDate.atStartOfDay(), hourToTime(nextHour))) != produced) {
+                rewind(index, startHour);
+            }
+            long untilHour = epochHour(until);
+            if (untilHour <= nextHour) {
+                return;
+            }
+            checkpoints.addLast(new long[] { nextHour, produced, stored, drawn, vented, unmet, drawCursor });
+            if (checkpoints.size() > MAX_CHECKPOINTS) {
+                checkpoints.removeFirst();
+            }
+            long[] hourly = index.hourlyByPlant(plantId, hourToTime(nextHour), (int) (untilHour - nextHour));
+            for (int i = 0; i < hourly.length; i++) {
+                long hour = nextHour + i;
+                produced += hourly[i];
+                stored += hourly[i];
+                if (stored > totalCapacity) {
+                    vented += stored - totalCapacity;
+                    stored = totalCapacity;
+                }
+                while (drawCursor < drawHour.length && drawHour[drawCursor] <= hour) {
+                    long take = Math.min(drawGrams[drawCursor], stored);
+                    stored -= take;
+                    drawn += take;
+                    unmet += drawGrams[drawCursor] - take;
+                    drawCursor++;
+                }
+            }
+            nextHour = untilHour;
+        }
+
+        // 과거 시간 생산량이 바뀜 → 인덱스 합과 맞는 가장 최근 체크포인트로, 없으면 시작일로 되돌림
+        private void rewind(ProductionTotalIndex index, long startHour) {
+            while (!checkpoints.isEmpty()) {
+                long[] cp = checkpoints.removeLast();
+                if (cp[0] == startHour
+                        || grams(index.sumByPlant(plantId, startDate.atStartOfDay(), hourToTime(cp[0]))) == cp[1]) {
+                    restore(cp);
+                    return;
+                }
+            }
+            restore(new long[] { startHour, 0, 0, 0, 0, 0, 0 });
+        }
+
+        private void restore(long[] cp) {
+            nextHour = cp[0];
+            produced = cp[1];
+            stored = cp[2];
+            drawn = cp[3];
+            vented = cp[4];
+            unmet = cp[5];
+            drawCursor = (int) cp[6];
+        }
+
+        TankFarmStatusDTO toStatus(LocalDateTime fullAt, int projectionHours) {
+            List<TankLevelDTO> tanks = new ArrayList<>(capacity.length);
+            long remaining = stored;
+            int fullTanks = 0;
+            for (int i = 0; i < capacity.length; i++) {
+                long level = Math.min(capacity[i], remaining);
+                remaining -= level;
+                boolean full = level == capacity[i];
+                if (full) {
+                    fullTanks++;
+                }
+                tanks.add(new TankLevelDTO(names[i], kg(capacity[i]), kg(level), full));
+            }
+            return TankFarmStatusDTO.builder()
+                    .plantId(plantId)
+                    .startDate(startDate)
+                    .asOf(hourToTime(nextHour))
+                    .totalProducedKg(kg(produced))
+                    .totalDrawnKg(kg(drawn))
+                    .ventedKg(kg(vented))
+                    .unmetDrawKg(kg(unmet))
+                    .storedKg(kg(stored))
+                    .capacityKg(kg(totalCapacity))
+                    .fillRate(totalCapacity > 0 ? stored * 100.0 / totalCapacity : 0.0)
+                    .fullTanksCount(fullTanks)
+                    .tanks(tanks)
+                    .fullAt(fullAt)
+                    .projectionHours(projectionHours)
+                    .build();
+        }
+    }
+}
@@ -1,16 +1,16 @@
 package com.project.service;
 
 import com.project.dto.IdlePowerComparisonDTO;
+import com.project.dto.IdlePowerRow;
 import com.project.repository.PredictRepository;
 import com.project.repository.RealRepository;
+import com.project.util.TimeRange;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,22 +26,22 @@ public class IdlePowerComparisonService {
     private final RealRepository realRepository;
 
     public List<IdlePowerComparisonDTO> getIdlePowerComparison(LocalDate date) {
-        String dateString = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        TimeRange day = TimeRange.ofDay(date);
 
         // 1. 예측 데이터 조회: 시간(hour)을 Key, idlepowerkw 값들의 리스트를 Value로 하는 Map 생성
-        List<Object[]> predictedData = predictRepository.findIdlePowerByDate(dateString);
+        List<IdlePowerRow> predictedData = predictRepository.findIdlePowerBetween(day.getStart(), day.getEnd());
         Map<Integer, List<BigDecimal>> predictedMap = predictedData.stream()
             .collect(Collectors.groupingBy(
-                row -> ((Timestamp) row[0]).toLocalDateTime().getHour(),
-                Collectors.mapping(row -> new BigDecimal(row[1].toString()), Collectors.toList())
+                row -> row.getTs().getHour(),
+                Collectors.mapping(IdlePowerRow::getIdlepowerkw, Collectors.toList())
             ));
 
         // 2. 실제 데이터 조회: 위와 동일하게 Map 생성
-        List<Object[]> actualData = realRepository.findIdlePowerByDate(dateString);
+        List<IdlePowerRow> actualData = realRepository.findIdlePowerBetween(day.getStart(), day.getEnd());
         Map<Integer, List<BigDecimal>> actualMap = actualData.stream()
             .collect(Collectors.groupingBy(
-                row -> ((Timestamp) row[0]).toLocalDateTime().getHour(),
-                Collectors.mapping(row -> new BigDecimal(row[1].toString()), Collectors.toList())
+                row -> row.getTs().getHour(),
+                Collectors.mapping(IdlePowerRow::getIdlepowerkw, Collectors.toList())
             ));
 
         // 3. 0시부터 23시까지 데이터를 조합하여 최종 결과 생성
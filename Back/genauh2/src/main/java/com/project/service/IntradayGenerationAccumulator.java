@@ -0,0 +1,224 @@
+package com.project.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.project.entity.PlantGeneration;
+import com.project.repository.PlantGenerationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 오늘(Asia/Seoul) 0시 ~ 현재 시각까지의 발전소별 누적 합계 (실시간 효율성/수소 생산량 비교용)
+ *
+ * - 발전소마다 시간대별 값(24칸)과 현재 시각까지의 누적 합계를 함께 유지
+ * - 시각이 바뀌면 새로 포함되는 시간대 값만 누적 합계에 더함 (GROUP BY 재계산 없음)
+ * - 새 행은 적재 경로(offer)와 id 워터마크(refresh, 매시 스케줄러)로 들어옴
+ * - (plant_id, date, hour) 유일 키라 칸마다 행 하나 → 같은 행이 두 경로로 들어오거나 덮어써도 차이만큼만 반영
+ * - 서울 기준 날짜가 바뀌면 비우고 그날 행을 한 번 읽어 다시 시작 (하루 한 번)
+ * - 조회는 DB 없이 누적 합계만 반환
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IntradayGenerationAccumulator {
+
+    static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    // 워터마크 이후 새 행을 읽는 페이지 크기
+    private static final int PAGE_SIZE = 5_000;
+
+    private final PlantGenerationRepository repo;
+
+    // 테스트에서 시각을 바꿀 수 있게 둠
+    private Clock clock = Clock.system(SEOUL);
+
+    // 아래 상태는 모두 this 로 보호
+    private LocalDate date;
+    private int foldedHour = -1;        // 누적 합계에 반영된 마지막 시간대
+    private long lastId;                // 워터마크 (이 id까지 읽음)
+    private final Map<String, DayTotals> plants = new HashMap<>();
+    private final DayTotals all = new DayTotals();
+
+    /** plantId가 null이면 전체 발전소 합계 */
+    public synchronized Totals get(String plantId) {
+        advance();
+        DayTotals totals = plantId == null ? all : plants.get(plantId);
+        return totals == null ? Totals.EMPTY : totals.running();
+    }
+
+    /** 적재 경로에서 방금 upsert 한 행 반영 (오늘이 아닌 행은 무시) */
+    public synchronized void offer(String plantId, LocalDate rowDate, int hour,
+                                   double generation, double forecast, double capacity) {
+        advance();
+        if (rowDate.equals(date)) {
+            put(plantId, hour, generation, forecast, capacity);
+        }
+    }
+
+    /** 워터마크 이후 새 행을 읽어 반영 (매시 DataRefreshScheduler) */
+    public void refresh() {
+        long from;
+        synchronized (this) {
+            advance();
+            from = lastId;
+        }
+        int applied = 0;
+        while (true) {
+            // DB 읽기는 잠금 밖에서, 반영만 잠금 안에서
+            List<PlantGeneration> rows = repo.findByIdGreaterThanOrderByIdAsc(from, PageRequest.of(0, PAGE_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            synchronized (this) {
+                advance();
+                for (PlantGeneration row : rows) {
+                    if (date.equals(row.getDate())) {
+                        put(row);
+                        applied++;
+                    }
+                }
+                from = rows.get(rows.size() - 1).getId();
+                lastId = Math.max(lastId, from);
+            }
+            if (rows.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        log.debug("[INTRADAY] 워터마크 이후 오늘 행 {}건 반영 (lastId={})", applied, from);
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // 날짜가 바뀌었으면 초기화, 시각이 지났으면 새 시간대 값을 누적 합계에 더함
+    private void advance() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!now.toLocalDate().equals(date)) {
+            reset(now.toLocalDate());
+        }
+        int hour = now.getHour();
+        if (hour > foldedHour) {
+            for (DayTotals totals : plants.values()) {
+                totals.fold(foldedHour, hour);
+            }
+            all.fold(foldedHour, hour);
+            foldedHour = hour;
+        }
+    }
+
+    // 자정(서울) 이후 첫 호출: 비우고 그날 이미 들어와 있는 행을 읽음
+    private void reset(LocalDate today) {
+        // 행보다 먼저 읽어 둬야 읽는 도중 들어온 행을 다음 refresh 에서 놓치지 않음 (중복 반영은 무해)
+        Long maxId = repo.findMaxId();
+        plants.clear();
+        all.clear();
+        date = today;
+        foldedHour = -1;
+        lastId = maxId != null ? maxId : 0L;
+        for (PlantGeneration row : repo.findByDateOrderByHourAsc(today)) {
+            put(row);
+        }
+        log.info("[INTRADAY] {} 누적 합계 초기화: 발전소 {}곳", today, plants.size());
+    }
+
+    private void put(PlantGeneration row) {
+        Integer hour = row.getHour();
+        if (row.getPlantId() == null || hour == null || hour < 0 || hour > 23) {
+            return;
+        }
+        put(row.getPlantId(), hour,
+                row.getGeneration_Kw() != null ? row.getGeneration_Kw() : 0.0,
+                row.getForecast_Kwh() != null ? row.getForecast_Kwh() : 0.0,
+                row.getCapacity_Kw() != null ? row.getCapacity_Kw() : 0);
+    }
+
+    // 칸의 기존 값과의 차이만큼 발전소/전체 합계에 반영
+    private void put(String plantId, int hour, double generation, double forecast, double capacity) {
+        DayTotals plant = plants.computeIfAbsent(plantId, k -> new DayTotals());
+        double dGeneration = generation - plant.generation[hour];
+        double dForecast = forecast - plant.forecast[hour];
+        double dCapacity = capacity - plant.capacity[hour];
+        int dRows = plant.rows[hour] == 0 ? 1 : 0;
+        plant.add(hour, foldedHour, dGeneration, dForecast, dCapacity, dRows);
+        all.add(hour, foldedHour, dGeneration, dForecast, dCapacity, dRows);
+    }
+
+    /** 오늘 누적 합계 (hours = 반영된 시간 행 수) */
+    public static final class Totals {
+        static final Totals EMPTY = new Totals(0, 0, 0, 0);
+
+        public final double capacity;
+        public final double forecast;
+        public final double generation;
+        public final long hours;
+
+        Totals(double capacity, double forecast, double generation, long hours) {
+            this.capacity = capacity;
+            this.forecast = forecast;
+            this.generation = generation;
+            this.hours = hours;
+        }
+    }
+
+    // 시간대별 값 + foldedHour 까지의 누적 합계
+    private static final class DayTotals {
+        final double[] generation = new double[24];
+        final double[] forecast = new double[24];
+        final double[] capacity = new double[24];
+        final int[] rows = new int[24];
+        double runningGeneration;
+        double runningForecast;
+        double runningCapacity;
+        long runningRows;
+
+        void add(int hour, int foldedHour, double dGeneration, double dForecast, double dCapacity, int dRows) {
+            generation[hour] += dGeneration;
+            forecast[hour] += dForecast;
+            capacity[hour] += dCapacity;
+            rows[hour] += dRows;
+            if (hour <= foldedHour) {
+                runningGeneration += dGeneration;
+                runningForecast += dForecast;
+                runningCapacity += dCapacity;
+                runningRows += dRows;
+            }
+        }
+
+        // (fromHour, toHour] 시간대를 누적 합계에 더함
+        void fold(int fromHour, int toHour) {
+            for (int h = fromHour + 1; h <= toHour; h++) {
+                runningGeneration += generation[h];
+                runningForecast += forecast[h];
+                runningCapacity += capacity[h];
+                runningRows += rows[h];
+            }
+        }
+
+        void clear() {
+            Arrays.fill(generation, 0);
+            Arrays.fill(forecast, 0);
+            Arrays.fill(capacity, 0);
+            Arrays.fill(rows, 0);
+            runningGeneration = 0;
+            runningForecast = 0;
+            runningCapacity = 0;
+            runningRows = 0;
+        }
+
+        Totals running() {
+            return new Totals(runningCapacity, runningForecast, runningGeneration, runningRows);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.project.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.dto.OrgLatestSummaryDTO;
+import com.project.entity.LatestSnapshot;
+import com.project.entity.PlantGeneration;
+import com.project.entity.ProcessingWatermark;
+import com.project.entity.Real;
+import com.project.repository.LatestSnapshotRepository;
+import com.project.repository.PlantGenerationRepository;
+import com.project.repository.ProcessingWatermarkRepository;
+import com.project.repository.RealRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 발전소 / 설비별 최신 상태 저장소 (메모리 + latest_snapshot 테이블)
+ *
+ * - 쓰는 쪽(적재 API, 생산 엔진)이 배치마다 키별 최신 행을 offer() → 커밋 후 메모리와 테이블에 반영
+ * - 외부에서 들어온 행은 DataRefreshScheduler 의 refresh() 가 watermark 이후 id만 읽어 반영
+ * - 기동 시 테이블을 읽고 watermark 이후 행만 따라잡으므로 원본 테이블 전체를 정렬하지 않음
+ * - 조회는 발전소/설비 수만큼만 순회 (정렬 없음, 키 순서로 반환)
+ *
+ * 같은 키는 시각이 같거나 더 늦은 값으로만 덮어씁니다. 행 삭제는 반영되지 않으므로 rebuild() 를 호출합니다.
+ */
+@Component
+@Slf4j
+public class LatestSnapshotStore {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final String GENERATION_WATERMARK = "latest_snapshot:plant_generation";
+    private static final String PRODUCTION_WATERMARK = "latest_snapshot:production_real";
+
+    private final LatestSnapshotRepository snapshotRepo;
+    private final PlantGenerationRepository generationRepo;
+    private final RealRepository realRepo;
+    private final ProcessingWatermarkRepository watermarkRepo;
+    // 커밋 후 콜백에서도 저장되도록 항상 새 트랜잭션
+    private final TransactionTemplate persistTemplate;
+
+    @Value("${latest-snapshot.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, LatestSnapshot> plants = new ConcurrentSkipListMap<>();
+    private final Map<Long, LatestSnapshot> facilities = new ConcurrentSkipListMap<>();
+    private volatile boolean ready;
+
+    public LatestSnapshotStore(LatestSnapshotRepository snapshotRepo,
+                               PlantGenerationRepository generationRepo,
+                               RealRepository realRepo,
+                               ProcessingWatermarkRepository watermarkRepo,
+                               PlatformTransactionManager transactionManager) {
+        this.snapshotRepo = snapshotRepo;
+        this.generationRepo = generationRepo;
+        this.realRepo = realRepo;
+        this.watermarkRepo = watermarkRepo;
+        this.persistTemplate = new TransactionTemplate(transactionManager);
+        this.persistTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public static String plantKey(String plantId) {
+        return "plant:" + plantId;
+    }
+
+    public static String facilityKey(Long facId) {
+        return "facility:" + facId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            merge(snapshotRepo.findAll());
+            int rows = catchUp();
+            ready = true;
+            log.info("[SNAPSHOT] 적재 완료: 발전소 {}곳, 설비 {}곳, 신규 {}행 ({}ms)",
+                    plants.size(), facilities.size(), rows, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[SNAPSHOT] 적재 실패, DB 조회로 동작합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /** watermark 이후 새 행 반영 */
+    public synchronized void refresh() {
+        if (!enabled || !ready) {
+            return;
+        }
+        int rows = catchUp();
+        log.debug("[SNAPSHOT] 갱신: 신규 {}행", rows);
+    }
+
+    /** 전체 재구성 (원본 행 삭제 후) */
+    public synchronized int rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        plants.clear();
+        facilities.clear();
+        persistTemplate.executeWithoutResult(status -> {
+            snapshotRepo.deleteAllInBatch();
+            watermarkRepo.deleteAllById(List.of(GENERATION_WATERMARK, PRODUCTION_WATERMARK));
+        });
+        int rows = catchUp();
+        ready = true;
+        log.info("[SNAPSHOT] 재구성 완료: {}행 ({}ms)", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * 키별 최신 후보 반영 (발전량 후보는 name = plantKey, 생산량 후보는 name = facilityKey)
+     * 트랜잭션 안이면 커밋된 뒤에, 밖이면 바로 반영합니다.
+     */
+    public void offer(Collection<LatestSnapshot> candidates) {
+        if (!enabled || candidates.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(candidates);
+                }
+            });
+        } else {
+            apply(candidates);
+        }
+    }
+
+    // ===== 조회 (발전소/설비 수만큼 순회) =====
+
+    /** 발전소별 최신 상태 (plantId 순) */
+    public List<LatestSnapshot> getPlants() {
+        return new ArrayList<>(plants.values());
+    }
+
+    public LatestSnapshot getPlant(String plantId) {
+        return plants.get(plantId);
+    }
+
+    /** 발전량 시각이 가장 늦은 발전소 (같으면 plantId 가 앞선 쪽) */
+    public LatestSnapshot findLatestPlant() {
+        LatestSnapshot latest = null;
+        for (LatestSnapshot snapshot : plants.values()) {
+            if (snapshot.getGenerationTs() != null
+                    && (latest == null || snapshot.getGenerationTs().isAfter(latest.getGenerationTs()))) {
+                latest = snapshot;
+            }
+        }
+        return latest;
+    }
+
+    /** 설비별 최신 상태 (facId 순), orgId 가 있으면 그 조직만 */
+    public List<LatestSnapshot> getFacilities(Long orgId) {
+        List<LatestSnapshot> result = new ArrayList<>();
+        for (LatestSnapshot snapshot : facilities.values()) {
+            if (orgId == null || orgId.equals(snapshot.getOrgId())) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    /** 조직 전체 설비의 최신 상태 합계 */
+    public OrgLatestSummaryDTO getOrgSummary(Long orgId) {
+        int count = 0;
+        LocalDateTime latestTs = null;
+        BigDecimal production = BigDecimal.ZERO;
+        BigDecimal idle = BigDecimal.ZERO;
+        BigDecimal consumed = BigDecimal.ZERO;
+        BigDecimal utilization = BigDecimal.ZERO;
+        Set<String> plantIds = new HashSet<>();
+        for (LatestSnapshot snapshot : facilities.values()) {
+            if (!orgId.equals(snapshot.getOrgId())) {
+                continue;
+            }
+            count++;
+            if (latestTs == null || snapshot.getProductionTs().isAfter(latestTs)) {
+                latestTs = snapshot.getProductionTs();
+            }
+            production = production.add(nz(snapshot.getProductionKg()));
+            idle = idle.add(nz(snapshot.getIdlePowerKw()));
+            consumed = consumed.add(nz(snapshot.getPowerConsumedKwh()));
+            utilization = utilization.add(nz(snapshot.getUtilizationRate()));
+            if (snapshot.getPlantId() != null) {
+                plantIds.add(snapshot.getPlantId());
+            }
+        }
+        double generation = 0.0;
+        int capacity = 0;
+        for (String plantId : plantIds) {
+            LatestSnapshot plant = plants.get(plantId);
+            if (plant != null && plant.getGenerationTs() != null) {
+                generation += plant.getGenerationKw();
+                capacity += plant.getCapacityKw();
+            }
+        }
+        return OrgLatestSummaryDTO.builder()
+                .orgId(orgId)
+                .facilityCount(count)
+                .latestProductionTs(latestTs)
+                .productionKg(production)
+                .idlePowerKw(idle)
+                .powerConsumedKwh(consumed)
+                .avgUtilizationRate(count > 0
+                        ? utilization.divide(BigDecimal.valueOf(count), 3, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO)
+                .plantCount(plantIds.size())
+                .generationKw(generation)
+                .capacityKw(capacity)
+                .build();
+    }
+
+    // ===== 반영 =====
+
+    private synchronized void apply(Collection<LatestSnapshot> candidates) {
+        try {
+            Collection<LatestSnapshot> changed = merge(candidates);
+            if (!changed.isEmpty()) {
+                persistTemplate.executeWithoutResult(status -> snapshotRepo.saveAll(changed));
+            }
+        } catch (Exception e) {
+            log.warn("[SNAPSHOT] 최신 상태 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    // 후보를 메모리에 합치고 바뀐 항목 반환 (설비가 바뀌면 그 발전소의 생산량 합계도 다시 계산)
+    private Collection<LatestSnapshot> merge(Collection<LatestSnapshot> candidates) {
+        Map<String, LatestSnapshot> changed = new LinkedHashMap<>();
+        Set<String> touchedPlants = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LatestSnapshot candidate : candidates) {
+            if (candidate.getFacId() != null && candidate.getProductionTs() != null) {
+                LatestSnapshot current = facilities.get(candidate.getFacId());
+                if (current == null || !candidate.getProductionTs().isBefore(current.getProductionTs())) {
+                    LatestSnapshot next = candidate.toBuilder()
+                            .name(facilityKey(candidate.getFacId()))
+                            .updatedAt(now)
+                            .build();
+                    facilities.put(next.getFacId(), next);
+                    changed.put(next.getName(), next);
+                    if (current != null && current.getPlantId() != null) {
+                        touchedPlants.add(current.getPlantId());
+                    }
+                    if (next.getPlantId() != null) {
+                        touchedPlants.add(next.getPlantId());
+                    }
+                }
+            } else if (candidate.getPlantId() != null && candidate.getGenerationTs() != null) {
+                LatestSnapshot current = plants.get(candidate.getPlantId());
+                if (current == null || current.getGenerationTs() == null
+                        || !candidate.getGenerationTs().isBefore(current.getGenerationTs())) {
+                    LatestSnapshot.LatestSnapshotBuilder next = (current != null)
+                            ? current.toBuilder()
+                            : LatestSnapshot.builder().name(plantKey(candidate.getPlantId())).plantId(candidate.getPlantId());
+                    LatestSnapshot plant = next
+                            .generationTs(candidate.getGenerationTs())
+                            .generationKw(candidate.getGenerationKw())
+                            .forecastKwh(candidate.getForecastKwh())
+                            .capacityKw(candidate.getCapacityKw())
+                            .updatedAt(now)
+                            .build();
+                    plants.put(plant.getPlantId(), plant);
+                    changed.put(plant.getName(), plant);
+                }
+            }
+        }
+        for (String plantId : touchedPlants) {
+            LatestSnapshot plant = aggregatePlant(plantId, now);
+            plants.put(plantId, plant);
+            changed.put(plant.getName(), plant);
+        }
+        return changed.values();
+    }
+
+    // 발전소 설비들 중 가장 늦은 생산 시각의 생산량/유휴 전력/소비 전력 합계, 가동률 평균
+    private LatestSnapshot aggregatePlant(String plantId, LocalDateTime now) {
+        LocalDateTime latestTs = null;
+        for (LatestSnapshot facility : facilities.values()) {
+            if (plantId.equals(facility.getPlantId())
+                    && (latestTs == null || facility.getProductionTs().isAfter(latestTs))) {
+                latestTs = facility.getProductionTs();
+            }
+        }
+        BigDecimal production = BigDecimal.ZERO;
+        BigDecimal idle = BigDecimal.ZERO;
+        BigDecimal consumed = BigDecimal.ZERO;
+        BigDecimal utilization = BigDecimal.ZERO;
+        Long orgId = null;
+        int count = 0;
+        for (LatestSnapshot facility : facilities.values()) {
+            if (plantId.equals(facility.getPlantId()) && facility.getProductionTs().equals(latestTs)) {
+                production = production.add(nz(facility.getProductionKg()));
+                idle = idle.add(nz(facility.getIdlePowerKw()));
+                consumed = consumed.add(nz(facility.getPowerConsumedKwh()));
+                utilization = utilization.add(nz(facility.getUtilizationRate()));
+                orgId = (orgId != null) ? orgId : facility.getOrgId();
+                count++;
+            }
+        }
+        LatestSnapshot current = plants.get(plantId);
+        LatestSnapshot.LatestSnapshotBuilder next = (current != null)
+                ? current.toBuilder()
+                : LatestSnapshot.builder().name(plantKey(plantId)).plantId(plantId);
+        return next
+                .orgId(orgId)
+                .productionTs(latestTs)
+                .productionKg(count > 0 ? production : null)
+                .idlePowerKw(count > 0 ? idle : null)
+                .powerConsumedKwh(count > 0 ? consumed : null)
+                .utilizationRate(count > 0 ? utilization.divide(BigDecimal.valueOf(count), 3, RoundingMode.HALF_UP) : null)
+                .updatedAt(now)
+                .build();
+    }
+
+    // watermark 이후 plant_generation / production_real 행을 id 순으로 읽어 반영. 반환값 = 읽은 행 수
+    private int catchUp() {
+        int total = 0;
+        ProcessingWatermark generationMark = watermark(GENERATION_WATERMARK);
+        while (true) {
+            List<PlantGeneration> batch = generationRepo.findByIdGreaterThanOrderByIdAsc(
+                    generationMark.getLastId(), PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<String, LatestSnapshot> latest = new HashMap<>();
+            for (PlantGeneration row : batch) {
+                if (row.getHour() == null || row.getHour() < 0 || row.getHour() > 23) {
+                    continue;
+                }
+                LatestSnapshot candidate = LatestSnapshot.builder()
+                        .plantId(row.getPlantId())
+                        .generationTs(row.getDate().atTime(row.getHour(), 0))
+                        .generationKw(row.getGeneration_Kw())
+                        .forecastKwh(row.getForecast_Kwh())
+                        .capacityKw(row.getCapacity_Kw())
+                        .build();
+                latest.merge(row.getPlantId(), candidate,
+                        (a, b) -> b.getGenerationTs().isBefore(a.getGenerationTs()) ? a : b);
+            }
+            apply(latest.values());
+            generationMark.setLastId(batch.get(batch.size() - 1).getId());
+            total += batch.size();
+        }
+
+        ProcessingWatermark productionMark = watermark(PRODUCTION_WATERMARK);
+        while (true) {
+            List<Real> batch = realRepo.findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(
+                    productionMark.getLastId(), PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<Long, LatestSnapshot> latest = new HashMap<>();
+            for (Real row : batch) {
+                if (row.getFacid() == null || row.getTs() == null) {
+                    continue;
+                }
+                LatestSnapshot candidate = LatestSnapshot.builder()
+                        .facId(row.getFacid())
+                        .orgId(row.getOrgid())
+                        .plantId(row.getPlantId())
+                        .productionTs(row.getTs())
+                        .productionKg(row.getProductionKg())
+                        .idlePowerKw(row.getIdlepowerkw())
+                        .powerConsumedKwh(row.getPowerConsumedKwh())
+                        .utilizationRate(row.getUtilizationRate())
+                        .build();
+                latest.merge(row.getFacid(), candidate,
+                        (a, b) -> b.getProductionTs().isBefore(a.getProductionTs()) ? a : b);
+            }
+            apply(latest.values());
+            productionMark.setLastId(batch.get(batch.size() - 1).getHydrogenActualId());
+            total += batch.size();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        generationMark.setUpdatedAt(now);
+        productionMark.setUpdatedAt(now);
+        persistTemplate.executeWithoutResult(status -> watermarkRepo.saveAll(List.of(generationMark, productionMark)));
+        return total;
+    }
+
+    private ProcessingWatermark watermark(String name) {
+        return watermarkRepo.findById(name)
+                .orElseGet(() -> ProcessingWatermark.builder().name(name).lastId(0L).build());
+    }
+
+    private static BigDecimal nz(BigDecimal value) {
+        return (value != null) ? value : BigDecimal.ZERO;
+    }
+}
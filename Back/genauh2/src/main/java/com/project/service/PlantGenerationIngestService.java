@@ -0,0 +1,538 @@
+package com.project.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.GenerationIngestResultDTO;
+import com.project.entity.LatestSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * plant_generation 일괄 적재 (CSV / NDJSON, (plant_id, date, hour) 기준 upsert)
+ *
+ * - 입력을 한 줄씩 읽어 검증한 뒤 batch-size 행씩 기본형 배열에 모아 다중 VALUES INSERT 한 번으로 씀
+ *   → 메모리는 배치 크기만큼만 사용, JDBC 드라이버 설정(rewriteBatchedStatements) 없이도 왕복 1회/배치
+ * - 같은 키가 이미 있으면 발전량/예측량/설비용량을 덮어씀 (ON DUPLICATE KEY UPDATE)
+ *   → db/plant_generation_unique.sql 의 유니크 키가 필요
+ * - 배치마다 자동 커밋되므로 중간에 실패해도 앞선 배치는 남고, 결과에 completed = false 와 사유를 담아 반환
+ * - facid 는 입력에 있으면 그 값, 없으면 같은 발전소의 기존 행에서 찾아 씀 (요청 안에서 발전소별 한 번만 조회)
+ * - 배치마다 발전소별 가장 늦은 시각의 행을 최신 상태(LatestSnapshotStore), 오늘 행을 오늘 누계에 반영
+ * - 적재가 끝나면 영향받은 날짜를 ingestDerivedExecutor 에 넘겨 요청 밖에서 파생 저장소를 다시 계산
+ *   (기존 행 수정은 새 id가 없어 id 기준 증분 갱신에 안 잡힘, 여러 적재의 날짜는 합쳐서 한 번에 처리)
+ *   → 롤업, 메모리 시계열, 월별 스케치, 품질 인덱스, 이상 점수 기준선, production_real(+합계 인덱스)
+ * - 결과의 rowsPerSecond 는 읽기 + 검증 + upsert 만의 처리량 (파생 저장소 갱신 시간 제외)
+ *
+ * 컬럼/필드 이름은 대소문자와 '_' 를 무시하고 비교합니다 (plantId = plant_id, generation_Kw = generationKw).
+ * /generation/raw/export 결과를 그대로 다시 넣을 수 있습니다 (id 컬럼은 무시).
+ */
+@Service
+@Slf4j
+public class PlantGenerationIngestService {
+
+    // MySQL 자리표시자 최대 65535개 / 행당 7개
+    static final int MAX_BATCH_SIZE = 9000;
+    private static final int MAX_REJECTED_SAMPLES = 100;
+    private static final int MAX_PLANT_ID_LENGTH = 50;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO plant_generation (plant_id, date, hour, generation_kw, forecast_kwh, capacity_kw, facid) VALUES ";
+    private static final String UPSERT_SUFFIX =
+            " ON DUPLICATE KEY UPDATE generation_kw = VALUES(generation_kw), "
+            + "forecast_kwh = VALUES(forecast_kwh), capacity_kw = VALUES(capacity_kw), "
+            + "facid = COALESCE(VALUES(facid), facid)";
+    // 발전소의 설비 (기존 행 중 facid 가 있는 아무 행, (plant_id, date, hour) 유니크 키로 탐색)
+    private static final String SELECT_FACID =
+            "SELECT facid FROM plant_generation WHERE plant_id = ? AND facid IS NOT NULL LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final GenerationRollupService rollupService;
+    private final GenerationQualityIndex qualityIndex;
+    private final LatestSnapshotStore latestSnapshotStore;
+    private final GenerationSeriesStore seriesStore;
+    private final GenerationSketchService sketchService;
+    private final IntradayGenerationAccumulator intradayAccumulator;
+    private final GenerationAnomalyScorer anomalyScorer;
+    private final ElectrolyzerProductionEngine productionEngine;
+    private final ProductionTotalIndex productionTotalIndex;
+    private final Executor derivedExecutor;
+
+    @Value("${generation.ingest.batch-size:2000}")
+    private int batchSize;
+
+    // 파생 저장소 갱신을 기다리는 날짜 (여러 적재 요청이 합쳐짐, pendingDates 로 보호)
+    private final SortedSet<LocalDate> pendingDates = new TreeSet<>();
+    private boolean derivedRunning;
+
+    public PlantGenerationIngestService(JdbcTemplate jdbcTemplate,
+                                        ObjectMapper objectMapper,
+                                        GenerationRollupService rollupService,
+                                        GenerationQualityIndex qualityIndex,
+                                        LatestSnapshotStore latestSnapshotStore,
+                                        GenerationSeriesStore seriesStore,
+                                        GenerationSketchService sketchService,
+                                        IntradayGenerationAccumulator intradayAccumulator,
+                                        GenerationAnomalyScorer anomalyScorer,
+                                        ElectrolyzerProductionEngine productionEngine,
+                                        ProductionTotalIndex productionTotalIndex,
+                                        @Qualifier("ingestDerivedExecutor") Executor derivedExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.rollupService = rollupService;
+        this.qualityIndex = qualityIndex;
+        this.latestSnapshotStore = latestSnapshotStore;
+        this.seriesStore = seriesStore;
+        this.sketchService = sketchService;
+        this.intradayAccumulator = intradayAccumulator;
+        this.anomalyScorer = anomalyScorer;
+        this.productionEngine = productionEngine;
+        this.productionTotalIndex = productionTotalIndex;
+        this.derivedExecutor = derivedExecutor;
+    }
+
+    /**
+     * CSV 헤더 오류처럼 아무것도 쓰기 전에 실패하면 예외를 그대로 던지고,
+     * 일부 배치를 쓴 뒤 실패하면 그때까지의 결과를 completed = false 로 반환합니다.
+     */
+    public GenerationIngestResultDTO ingest(InputStream in, boolean csv) throws IOException {
+        long started = System.nanoTime();
+        Batch batch = new Batch(Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE)));
+        Map<String, Long> facIds = new HashMap<>();
+        List<String> rejectedSamples = new ArrayList<>();
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        long total = 0;
+        long written = 0;
+        long rejected = 0;
+        long batches = 0;
+        String error = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                total++;
+                try {
+                    if (csv) {
+                        parseCsv(line, header, batch);
+                    } else {
+                        parseJson(line, batch);
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException | IOException e) {
+                    rejected++;
+                    if (rejectedSamples.size() < MAX_REJECTED_SAMPLES) {
+                        rejectedSamples.add(lineNo + ": " + e.getMessage());
+                    }
+                    continue;
+                }
+                resolveFacId(batch, facIds);
+                if (batch.isFull()) {
+                    written += flush(batch, dates);
+                    batches++;
+                }
+            }
+            if (batch.size > 0) {
+                written += flush(batch, dates);
+                batches++;
+            }
+        } catch (IOException | RuntimeException e) {
+            if (batches == 0) {
+                throw e;
+            }
+            // 앞선 배치는 이미 커밋됨 → 그 날짜의 파생 저장소는 갱신하고 부분 결과 반환
+            error = e.getMessage();
+            log.error("[INGEST] {}배치({}행) 적재 후 실패: {}", batches, written, e.getMessage(), e);
+        }
+
+        long elapsedMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+        double rowsPerSecond = written * 1000.0 / elapsedMs;
+        boolean derivedQueued = !dates.isEmpty() && scheduleDerived(dates);
+        log.info("[INGEST] 적재 {}: {}행 중 {}행 upsert, 거부 {}행, {}ms ({} rows/s, 파생 저장소 갱신 {})",
+                error == null ? "완료" : "중단", total, written, rejected, elapsedMs, Math.round(rowsPerSecond),
+                derivedQueued ? "예약" : "없음");
+        return GenerationIngestResultDTO.builder()
+                .completed(error == null)
+                .error(error)
+                .totalRows(total)
+                .acceptedRows(written)
+                .rejectedRows(rejected)
+                .batches(batches)
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(rowsPerSecond)
+                .minDate(dates.isEmpty() ? null : dates.first())
+                .maxDate(dates.isEmpty() ? null : dates.last())
+                .derivedRefreshQueued(derivedQueued)
+                .rejectedSamples(rejectedSamples)
+                .build();
+    }
+
+    // 대기 날짜에 합치고, 처리 중인 작업이 없으면 새로 예약 (처리 중이면 그 작업이 이어서 처리)
+    private boolean scheduleDerived(SortedSet<LocalDate> dates) {
+        synchronized (pendingDates) {
+            pendingDates.addAll(dates);
+            if (derivedRunning) {
+                return true;
+            }
+            derivedRunning = true;
+        }
+        try {
+            derivedExecutor.execute(this::drainDerived);
+            return true;
+        } catch (RejectedExecutionException e) {
+            synchronized (pendingDates) {
+                derivedRunning = false;
+            }
+            log.error("[INGEST] 파생 저장소 갱신 예약 실패 (대기 날짜 {}~{}): {}",
+                    dates.first(), dates.last(), e.getMessage());
+            return false;
+        }
+    }
+
+    // 대기 날짜가 빌 때까지 꺼내서 처리
+    private void drainDerived() {
+        while (true) {
+            SortedSet<LocalDate> dates;
+            synchronized (pendingDates) {
+                if (pendingDates.isEmpty()) {
+                    derivedRunning = false;
+                    return;
+                }
+                dates = new TreeSet<>(pendingDates);
+                pendingDates.clear();
+            }
+            long started = System.currentTimeMillis();
+            try {
+                invalidateDerived(dates);
+                log.info("[INGEST] 파생 저장소 갱신 완료: {}~{} ({}일), {}ms",
+                        dates.first(), dates.last(), dates.size(), System.currentTimeMillis() - started);
+            } catch (RuntimeException e) {
+                // 새 행은 매시 스케줄러의 id 기준 갱신에 잡히지만 덮어쓴 행은 해당 날짜를 다시 적재/재구성해야 함
+                log.error("[INGEST] 파생 저장소 갱신 실패: {}~{} ({}일): {}",
+                        dates.first(), dates.last(), dates.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // 적재한 날짜를 파생 저장소마다 다시 계산 (upsert 는 MySQL/H2 에서 덮어쓴 행 수를 구분할 수 없어 날짜 단위로 처리)
+    private void invalidateDerived(SortedSet<LocalDate> dates) {
+        rollupService.rebuildDates(dates);
+        seriesStore.invalidateDates(dates);
+        sketchService.rebuildMonths(dates.stream().map(YearMonth::from).collect(Collectors.toCollection(TreeSet::new)));
+        qualityIndex.refresh();
+        anomalyScorer.invalidateDates(dates);
+
+        // production_real 은 (facid, ts) upsert 라 연속 구간마다 다시 계산한 뒤 그 구간만 합계 인덱스 재구성
+        LocalDate runStart = null;
+        LocalDate prev = null;
+        for (LocalDate d : dates) {
+            if (prev != null && !d.equals(prev.plusDays(1))) {
+                regenerateRun(runStart, prev);
+                runStart = null;
+            }
+            if (runStart == null) {
+                runStart = d;
+            }
+            prev = d;
+        }
+        regenerateRun(runStart, prev);
+    }
+
+    private void regenerateRun(LocalDate start, LocalDate end) {
+        if (productionEngine.generateBetween(null, start, end) > 0) {
+            productionTotalIndex.rebuildRange(null, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+        }
+    }
+
+    // 배치 전체를 다중 VALUES upsert 한 문장으로 실행, 커밋된 행 수 반환 (dates 에 커밋된 행의 날짜 추가)
+    private int flush(Batch batch, SortedSet<LocalDate> dates) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size * 14 + UPSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < batch.size; i++) {
+            sql.append(i == 0 ? "(?,?,?,?,?,?,?)" : ",(?,?,?,?,?,?,?)");
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        jdbcTemplate.update(sql.toString(), (PreparedStatement ps) -> {
+            int p = 1;
+            for (int i = 0; i < batch.size; i++) {
+                ps.setString(p++, batch.plantId[i]);
+                ps.setDate(p++, Date.valueOf(batch.date[i]));
+                ps.setInt(p++, batch.hour[i]);
+                ps.setDouble(p++, batch.generation[i]);
+                ps.setDouble(p++, batch.forecast[i]);
+                ps.setInt(p++, batch.capacity[i]);
+                if (batch.facId[i] > 0) {
+                    ps.setLong(p++, batch.facId[i]);
+                } else {
+                    ps.setNull(p++, Types.BIGINT);
+                }
+            }
+        });
+        int size = batch.size;
+        for (int i = 0; i < size; i++) {
+            dates.add(batch.date[i]);
+        }
+        latestSnapshotStore.offer(latestPerPlant(batch));
+        // 오늘 행은 누적 합계에 바로 반영 (덮어쓴 행은 차이만큼)
+        for (int i = 0; i < batch.size; i++) {
+            intradayAccumulator.offer(batch.plantId[i], batch.date[i], batch.hour[i],
+                    batch.generation[i], batch.forecast[i], batch.capacity[i]);
+        }
+        batch.clear();
+        return size;
+    }
+
+    // 방금 추가한 행의 facid - 입력에 없으면 같은 발전소의 기존 행에서 (요청 안에서 발전소별 한 번 조회, 0 = 모름)
+    private void resolveFacId(Batch batch, Map<String, Long> facIds) {
+        int i = batch.size - 1;
+        String plantId = batch.plantId[i];
+        if (batch.facId[i] > 0) {
+            facIds.putIfAbsent(plantId, batch.facId[i]);
+            return;
+        }
+        Long facId = facIds.get(plantId);
+        if (facId == null) {
+            facId = jdbcTemplate.query(SELECT_FACID, rs -> rs.next() ? rs.getLong(1) : 0L, plantId);
+            facIds.put(plantId, facId);
+        }
+        batch.facId[i] = facId;
+    }
+
+    // 배치 안에서 발전소별 가장 늦은 (date, hour) 행
+    private static List<LatestSnapshot> latestPerPlant(Batch batch) {
+        Map<String, LatestSnapshot> latest = new HashMap<>();
+        for (int i = 0; i < batch.size; i++) {
+            LatestSnapshot candidate = LatestSnapshot.builder()
+                    .plantId(batch.plantId[i])
+                    .generationTs(batch.date[i].atTime(batch.hour[i], 0))
+                    .generationKw(batch.generation[i])
+                    .forecastKwh(batch.forecast[i])
+                    .capacityKw(batch.capacity[i])
+                    .build();
+            latest.merge(batch.plantId[i], candidate,
+                    (a, b) -> b.getGenerationTs().isBefore(a.getGenerationTs()) ? a : b);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    // CSV 헤더 → 정규화한 컬럼 이름별 위치
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> columns = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(normalize(columns.get(i)), i);
+        }
+        for (String required : new String[] { "plantid", "date", "hour", "generationkw", "forecastkwh", "capacitykw" }) {
+            if (!header.containsKey(required)) {
+                throw new IllegalArgumentException("CSV 헤더에 " + required + " 컬럼이 없습니다: " + line);
+            }
+        }
+        return header;
+    }
+
+    private static void parseCsv(String line, Map<String, Integer> header, Batch batch) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < header.size()) {
+            throw new IllegalArgumentException("컬럼 수가 부족합니다 (" + fields.size() + "/" + header.size() + ")");
+        }
+        batch.add(fields.get(header.get("plantid")),
+                LocalDate.parse(fields.get(header.get("date")).trim()),
+                parseInt(fields.get(header.get("hour")), "hour"),
+                parseDouble(fields.get(header.get("generationkw")), "generation_kw"),
+                parseDouble(fields.get(header.get("forecastkwh")), "forecast_kwh"),
+                parseInt(fields.get(header.get("capacitykw")), "capacity_kw"),
+                header.containsKey("facid") ? parseFacId(fields.get(header.get("facid"))) : 0L);
+    }
+
+    private void parseJson(String line, Batch batch) throws IOException {
+        String plantId = null;
+        LocalDate date = null;
+        Integer hour = null;
+        Double generation = null;
+        Double forecast = null;
+        Integer capacity = null;
+        long facId = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("JSON 객체가 아닙니다");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = normalize(parser.currentName());
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "plantid": plantId = parser.getText(); break;
+                    case "date": date = LocalDate.parse(parser.getText()); break;
+                    case "hour": hour = parseInt(parser.getText(), "hour"); break;
+                    case "generationkw": generation = parseDouble(parser.getText(), "generation_kw"); break;
+                    case "forecastkwh": forecast = parseDouble(parser.getText(), "forecast_kwh"); break;
+                    case "capacitykw": capacity = parseInt(parser.getText(), "capacity_kw"); break;
+                    case "facid": facId = parseFacId(parser.getText()); break;
+                    default: parser.skipChildren();
+                }
+            }
+        }
+        if (date == null || hour == null || generation == null || forecast == null || capacity == null) {
+            throw new IllegalArgumentException("필수 필드 누락 (plantId, date, hour, generation_Kw, forecast_Kwh, capacity_Kw)");
+        }
+        batch.add(plantId, date, hour, generation, forecast, capacity, facId);
+    }
+
+    // facid 는 선택 항목 (빈 값 = 기존 행에서 찾음)
+    private static long parseFacId(String value) {
+        if (value == null || value.isBlank()) {
+            return 0L;
+        }
+        long facId;
+        try {
+            facId = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("facid 값이 정수가 아닙니다: " + value);
+        }
+        if (facId <= 0) {
+            throw new IllegalArgumentException("facid는 양수여야 합니다: " + value);
+        }
+        return facId;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 값이 정수가 아닙니다: " + value);
+        }
+    }
+
+    private static double parseDouble(String value, String name) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replace("_", "").toLowerCase();
+    }
+
+    // 큰따옴표로 감싼 필드("a,b", "" 이스케이프)를 지원하는 CSV 분리
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /** 검증을 통과한 행을 모아 두는 고정 크기 배치 (기본형 배열) */
+    private static final class Batch {
+        final String[] plantId;
+        final LocalDate[] date;
+        final int[] hour;
+        final double[] generation;
+        final double[] forecast;
+        final int[] capacity;
+        final long[] facId;     // 0 = 모름 (NULL 로 씀)
+        int size;
+
+        Batch(int capacity) {
+            this.plantId = new String[capacity];
+            this.date = new LocalDate[capacity];
+            this.hour = new int[capacity];
+            this.generation = new double[capacity];
+            this.forecast = new double[capacity];
+            this.capacity = new int[capacity];
+            this.facId = new long[capacity];
+        }
+
+        void add(String plantId, LocalDate date, int hour, double generation, double forecast, int capacity, long facId) {
+            if (plantId == null || plantId.isBlank() || plantId.length() > MAX_PLANT_ID_LENGTH) {
+                throw new IllegalArgumentException("plantId가 비어 있거나 " + MAX_PLANT_ID_LENGTH + "자를 넘습니다: " + plantId);
+            }
+            if (hour < 0 || hour > 23) {
+                throw new IllegalArgumentException("hour는 0~23이어야 합니다: " + hour);
+            }
+            if (!(generation >= 0) || !(forecast >= 0) || capacity < 0
+                    || Double.isInfinite(generation) || Double.isInfinite(forecast)) {
+                throw new IllegalArgumentException("발전량/예측량/설비용량은 0 이상이어야 합니다: "
+                        + generation + ", " + forecast + ", " + capacity);
+            }
+            int i = size++;
+            this.plantId[i] = plantId.trim();
+            this.date[i] = date;
+            this.hour[i] = hour;
+            this.generation[i] = generation;
+            this.forecast[i] = forecast;
+            this.capacity[i] = capacity;
+            this.facId[i] = facId;
+        }
+
+        boolean isFull() {
+            return size == plantId.length;
+        }
+
+        void clear() {
+            Arrays.fill(plantId, 0, size, null);
+            Arrays.fill(date, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -6,11 +6,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.project.repository.PredictRepository;
+import com.project.util.TimeRange;
 import com.project.dto.FacilityKpiDto;
 import com.project.dto.PredictDTO;
+import com.project.dto.PredictRowView;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -60,8 +61,8 @@ public class PredictService {
      */
     @Transactional(readOnly = true)
     public List<PredictDTO> getLatestPredictions() {
-        List<Object[]> rawResults = predictRepository.getLatestPredictionsRaw();
-        return convertToDto(rawResults);
+        List<PredictRowView> rows = predictRepository.getLatestPredictionsRaw();
+        return convertToDto(rows);
     }
 
     /**
@@ -69,28 +70,28 @@ public class PredictService {
      */
     @Transactional(readOnly = true)
     public List<PredictDTO> getPredictionsForFacility(Long facId) {
-        List<Object[]> rawResults = predictRepository.getPredictionsForFacilityRaw(facId);
-        return convertToDto(rawResults);
+        List<PredictRowView> rows = predictRepository.getPredictionsForFacilityRaw(facId);
+        return convertToDto(rows);
     }
 
     /**
-     * Object[] 결과를 PredictionResult DTO로 변환
+     * 프로젝션 결과를 PredictDTO로 변환 (DECIMAL 컬럼은 BigDecimal 그대로 사용)
      */
-    private List<PredictDTO> convertToDto(List<Object[]> rawResults) {
-        List<PredictDTO> results = new ArrayList<>();
+    private List<PredictDTO> convertToDto(List<PredictRowView> rows) {
+        List<PredictDTO> results = new ArrayList<>(rows.size());
         
-        for (Object[] row : rawResults) {
+        for (PredictRowView row : rows) {
             PredictDTO result = PredictDTO.builder()
-                .predictionid(row[0] != null ? ((Number) row[0]).longValue() : null)
-                .facid(row[1] != null ? ((Number) row[1]).longValue() : null)
-                .orgid(row[2] != null ? ((Number) row[2]).longValue() : null)
-                .plantId(row[3] != null ? row[3].toString() : null)
-                .ts(row[4] != null ? ((Timestamp) row[4]).toLocalDateTime() : null)
-                .idlepowerkw(row[5] != null ? new BigDecimal(row[5].toString()) : null)
-                .predictedmaxkg(row[6] != null ? new BigDecimal(row[6].toString()) : null)
-                .predictedcurrentkg(row[7] != null ? new BigDecimal(row[7].toString()) : null)
-                .facilityName(row[8] != null ? row[8].toString() : null)
-                .plantName(row[9] != null ? row[9].toString() : null)
+                .predictionid(row.getPredictionid())
+                .facid(row.getFacid())
+                .orgid(row.getOrgid())
+                .plantId(row.getPlantId())
+                .ts(row.getTs())
+                .idlepowerkw(row.getIdlepowerkw())
+                .predictedmaxkg(row.getPredictedmaxkg())
+                .predictedcurrentkg(row.getPredictedcurrentkg())
+                .facilityName(row.getFacilityName())
+                .plantName(row.getPlantName())
                 .build();
                 
             results.add(result);
@@ -101,14 +102,15 @@ public class PredictService {
     
     @Transactional(readOnly = true)
     public List<PredictDTO> getAllPredictions() {
-        List<Object[]> rawResults = predictRepository.getAllPredictionsRaw();
-        return convertToDto(rawResults);
+        List<PredictRowView> rows = predictRepository.getAllPredictionsRaw();
+        return convertToDto(rows);
     }
     
     @Transactional(readOnly = true)
     public List<PredictDTO> getPredictionsByDateRange(String startDate, String endDate) {
-        List<Object[]> rawResults = predictRepository.getPredictionsByDateRange(startDate, endDate);
-        return convertToDto(rawResults);
+        TimeRange range = TimeRange.parse(startDate, endDate, null, null);
+        List<PredictRowView> rows = predictRepository.getPredictionsByTsRange(range.getStart(), range.getEnd());
+        return convertToDto(rows);
     }
     
     
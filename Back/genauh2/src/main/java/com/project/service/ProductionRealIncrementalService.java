@@ -0,0 +1,127 @@
+package com.project.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.entity.ProcessingWatermark;
+import com.project.repository.ProcessingWatermarkRepository;
+import com.project.repository.RealRepository;
+import com.project.util.ElectrolyzerModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * production_real 증분 생성 (설비별 진행 위치 + (facid, ts) upsert)
+ *
+ * - 설비마다 processing_watermark("production_real:{facid}") 에 마지막으로 반영한 plant_generation id 를 둠
+ * - 그 이후 행만 id 순 chunk-size 건씩 ElectrolyzerProductionEngine 으로 계산해 upsert
+ * - 청크 반영과 진행 위치 갱신을 한 트랜잭션으로 묶어, 중간에 실패해도 다음 실행이 이어서 처리
+ * - 새 행이 없으면 설비당 조회 1회로 끝남 (재실행은 사실상 no-op)
+ * - 설비끼리는 진행 위치가 따로이므로 productionRealExecutor 에서 병렬로 실행
+ *   (큐가 유한하므로 넘치는 설비는 호출 스레드가 직접 처리 → 동시에 쌓이는 작업 수가 설비 수와 무관)
+ *
+ * (facid, ts) 유니크 키가 필요합니다 → db/production_real_unique.sql
+ */
+@Service
+@Slf4j
+public class ProductionRealIncrementalService {
+
+    static final String WATERMARK_PREFIX = "production_real:";
+
+    private final RealRepository realRepository;
+    private final ProcessingWatermarkRepository watermarkRepo;
+    private final ElectrolyzerProductionEngine engine;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+
+    // 한 트랜잭션에서 처리할 원본 행 수
+    @Value("${production-real.chunk-size:5000}")
+    private int chunkSize;
+
+    public ProductionRealIncrementalService(RealRepository realRepository,
+                                            ProcessingWatermarkRepository watermarkRepo,
+                                            ElectrolyzerProductionEngine engine,
+                                            TransactionTemplate transactionTemplate,
+                                            @Qualifier("productionRealExecutor") Executor executor) {
+        this.realRepository = realRepository;
+        this.watermarkRepo = watermarkRepo;
+        this.engine = engine;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    /** 모든 대상 설비의 새 행 반영. 반환값 = upsert 영향 행 수 */
+    public synchronized int generateIncremental() {
+        long started = System.currentTimeMillis();
+        Map<Long, ElectrolyzerModel> models = engine.loadModels();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(models.size());
+        for (ElectrolyzerModel model : models.values()) {
+            futures.add(CompletableFuture.supplyAsync(() -> process(model), executor));
+        }
+
+        int total = 0;
+        try {
+            for (CompletableFuture<Integer> future : futures) {
+                total += future.join();
+            }
+        } catch (CompletionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("[PRODUCTION-REAL] 증분 생성 실패: {}", cause.getMessage(), cause);
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException(cause);
+        }
+        log.info("[PRODUCTION-REAL] 설비 {}곳 증분 반영 완료: 영향 행 {} ({}ms)", models.size(), total,
+                System.currentTimeMillis() - started);
+        return total;
+    }
+
+    /** 설비 하나의 새 행 반영 */
+    public synchronized int generateIncremental(Long facId) {
+        ElectrolyzerModel model = engine.loadModels().get(facId);
+        return (model != null) ? process(model) : 0;
+    }
+
+    private int process(ElectrolyzerModel model) {
+        Long facId = model.getFacId();
+        String name = WATERMARK_PREFIX + facId;
+        long lastId = watermarkRepo.findById(name).map(ProcessingWatermark::getLastId).orElse(0L);
+        int size = Math.max(chunkSize, 1);
+        int affected = 0;
+        int chunks = 0;
+
+        while (true) {
+            Long toId = realRepository.findChunkEndId(facId, lastId, size);
+            if (toId == null) {
+                break;
+            }
+            long fromId = lastId;
+            Integer rows = transactionTemplate.execute(status -> {
+                int n = engine.generateRange(model, fromId, toId);
+                ProcessingWatermark watermark = watermarkRepo.findById(name)
+                        .orElseGet(() -> ProcessingWatermark.builder().name(name).build());
+                watermark.setLastId(toId);
+                watermark.setUpdatedAt(LocalDateTime.now());
+                watermarkRepo.save(watermark);
+                return n;
+            });
+            affected += (rows != null) ? rows : 0;
+            chunks++;
+            lastId = toId;
+        }
+
+        if (chunks > 0) {
+            log.info("[PRODUCTION-REAL] facid={} 증분 반영: {}개 청크, 영향 행 {} (last_id={})", facId, chunks, affected, lastId);
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,760 @@
+package com.project.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.entity.Real;
+import com.project.repository.RealRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * production_real 누적 생산량 인덱스 (조직별 / 발전소별, 시간 단위 누적합)
+ *
+ * - 시간별 생산량(0.001kg 단위 long)과 행 수, 그 누적합을 메모리에 보관 → [start, end) 합계 = 누적합 2회 조회 + 뺄셈
+ * - 범위에 행이 하나도 없으면 합계는 null (DB SUM 과 같음)
+ * - 새 행은 hydrogenactualid 순으로 이어 붙이고, 과거 시각에 들어온 행은 그 위치부터만 누적합을 다시 계산
+ * - checkpoint 파일은 적재/전체 재구성 직후와 checkpoint-interval 마다(변경이 있을 때만), 종료 시에 저장
+ * - 기동 시 checkpoint 의 행 수/합계가 DB(같은 last_id 까지)와 같을 때만 쓰고 그 이후 id만 추가로 읽음
+ * - 시간별 값은 조직별 시간대 그래프(HydrogenStorageService)에서 BigDecimal 합산 없이 그대로 사용
+ * - 행은 정시 ts 이므로 경계는 시간 단위: [start, end) 에서 start/end 가 정시가 아니면 올림한 정시 기준
+ * - 적재 전이거나 비활성화 상태면 isReady() = false → 호출 측은 DB SUM 사용
+ *
+ * 기존 행을 같은 id로 덮어쓴 재생성은 id 순 적재로는 반영되지 않으므로 바뀐 범위만 다시 읽습니다.
+ * (설비/시각 범위는 rebuildRange, 발전소는 rebuildPlant, 수동 전체 재구성은 rebuild)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductionTotalIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int CHECKPOINT_MAGIC = 0x50544932;     // "PTI2"
+    // 범위를 지정하지 않은 설비 재구성에서 쓰는 ts 하한/상한 (MySQL DATETIME 범위)
+    private static final LocalDateTime MIN_TS = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TS = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final RealRepository realRepository;
+
+    @Value("${production.total-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${production.total-index.checkpoint:data/production-total-index.bin}")
+    private String checkpointPath;
+
+    @Value("${production.total-index.checkpoint-interval-minutes:30}")
+    private long checkpointIntervalMinutes;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Series> orgs = new HashMap<>();
+    private final Map<String, Series> plants = new HashMap<>();
+    private long lastIndexedId;
+    private volatile boolean ready;
+    private boolean checkpointDirty;
+    private long lastCheckpointAt;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            boolean restored = readCheckpoint();
+            int rows = appendNewRows();
+            ready = true;
+            if (rows > 0 || !restored) {
+                writeCheckpoint();
+            }
+            log.info("[PRODUCTION-INDEX] 적재 완료: checkpoint {}, 신규 {}행, 조직 {}곳, 발전소 {}곳 ({}ms)",
+                    restored ? "사용" : "없음", rows, orgs.size(), plants.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[PRODUCTION-INDEX] 적재 실패, DB 조회로 동작합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 종료 전에 아직 저장하지 않은 변경을 checkpoint 에 기록 */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void saveOnShutdown() {
+        if (enabled && ready && checkpointDirty) {
+            writeCheckpoint();
+        }
+    }
+
+    /** lastIndexedId 이후 새 행 반영 (checkpoint 는 주기가 됐을 때만 저장) */
+    public synchronized void refresh() {
+        if (!enabled || !ready) {
+            return;
+        }
+        int rows = appendNewRows();
+        if (rows > 0) {
+            checkpointDirty = true;
+            writeCheckpointIfDue();
+        }
+        log.debug("[PRODUCTION-INDEX] 갱신: 신규 {}행", rows);
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤 rebuildRange (트랜잭션 밖이면 바로) */
+    public void rebuildRangeAfterCommit(Long facId, LocalDateTime start, LocalDateTime end) {
+        runAfterCommit(() -> rebuildRange(facId, start, end));
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤 rebuildPlant (트랜잭션 밖이면 바로) */
+    public void rebuildPlantAfterCommit(String plantId) {
+        runAfterCommit(() -> rebuildPlant(plantId));
+    }
+
+    /**
+     * 설비/시각 범위만 다시 읽어 교체 (기존 행을 같은 id로 덮어쓴 재생성 후), 반환값 = 읽은 행 수
+     *
+     * - facId 가 있으면 그 설비 행의 조직/발전소 키만, 그 설비 행이 있는 시간 범위만 다시 계산 (start/end 는 null 가능)
+     * - facId 가 null 이면 [start, end) 의 모든 키 (start/end 중 하나라도 null 이면 전체 재구성)
+     * - 재생성으로 새로 생긴 행(id 증가)은 이어서 id 순으로 추가
+     */
+    public synchronized int rebuildRange(Long facId, LocalDateTime start, LocalDateTime end) {
+        if (!enabled || !ready) {
+            return 0;
+        }
+        if (facId == null) {
+            if (start == null || end == null) {
+                return rebuild();
+            }
+            return rebuildKeys(start, end, null, null);
+        }
+        return rebuildKeys(realRepository.findIndexKeysByFacid(facId,
+                (start != null) ? start : MIN_TS, (end != null) ? end : MAX_TS));
+    }
+
+    /** 발전소 행만 다시 읽어 교체 (발전소 단위 재생성 후), 반환값 = 읽은 행 수 */
+    public synchronized int rebuildPlant(String plantId) {
+        if (!enabled || !ready) {
+            return 0;
+        }
+        return rebuildKeys(realRepository.findIndexKeysByPlantId(plantId));
+    }
+
+    /** 전체 재구성. 새 인덱스를 따로 만든 뒤 한 번에 교체하므로 그동안 조회는 이전 인덱스를 봅니다. */
+    public synchronized int rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        Map<Long, Series> rebuiltOrgs = new HashMap<>();
+        Map<String, Series> rebuiltPlants = new HashMap<>();
+        int[] rows = { 0 };
+        long lastId = append(rebuiltOrgs, rebuiltPlants, 0, rows);
+        lock.writeLock().lock();
+        try {
+            orgs.clear();
+            orgs.putAll(rebuiltOrgs);
+            plants.clear();
+            plants.putAll(rebuiltPlants);
+            lastIndexedId = lastId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        writeCheckpoint();
+        log.info("[PRODUCTION-INDEX] 재구성 완료: {}행 ({}ms)", rows[0], System.currentTimeMillis() - start);
+        return rows[0];
+    }
+    /** 조직의 [start, end) 생산량 합계 (kg), null 이면 그쪽으로 제한 없음 */
+    public BigDecimal sumByOrg(Long orgId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            return sum(orgs.get(orgId), start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 발전소의 [start, end) 생산량 합계 (kg), null 이면 그쪽으로 제한 없음 */
+    public BigDecimal sumByPlant(String plantId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            return sum(plants.get(plantId), start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 조직별 시간 단위 생산량 (0.001kg 단위), start 가 속한 정시부터 hours 시간
+     * orgIds 가 null 이면 데이터가 있는 모든 조직 (orgId 순), 데이터가 없는 시간은 0
+     */
+    public Map<Long, long[]> hourlyByOrg(Collection<Long> orgIds, LocalDateTime start, int hours) {
+        long from = floorHour(start);
+        Map<Long, long[]> result = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            for (Long orgId : (orgIds != null) ? orgIds : orgs.keySet()) {
+                long[] values = new long[hours];
+                Series series = orgs.get(orgId);
+                if (series != null) {
+                    series.copyHourly(from, values);
+                }
+                result.put(orgId, values);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /** 발전소 시간 단위 생산량 (0.001kg 단위), start 가 속한 정시부터 hours 시간, 데이터가 없는 시간은 0 */
+    public long[] hourlyByPlant(String plantId, LocalDateTime start, int hours) {
+        long[] values = new long[hours];
+        lock.readLock().lock();
+        try {
+            Series series = plants.get(plantId);
+            if (series != null) {
+                series.copyHourly(floorHour(start), values);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return values;
+    }
+
+    /** 데이터가 있는 발전소 ID */
+    public List<String> plantIds() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(plants.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 생산 데이터가 있는 발전소인지 */
+    public boolean hasPlant(String plantId) {
+        lock.readLock().lock();
+        try {
+            return plants.containsKey(plantId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 범위에 행이 없으면 null (DB SUM 과 같음)
+    private static BigDecimal sum(Series series, LocalDateTime start, LocalDateTime end) {
+        if (series == null) {
+            return null;
+        }
+        long toHour = (end != null) ? ceilHour(end) : Long.MAX_VALUE;
+        long fromHour = (start != null) ? ceilHour(start) : Long.MIN_VALUE;
+        if (series.rowsBefore(toHour) - series.rowsBefore(fromHour) <= 0) {
+            return null;
+        }
+        long to = series.sumBefore(toHour);
+        long from = series.sumBefore(fromHour);
+        return BigDecimal.valueOf(Math.max(to - from, 0), 3);
+    }
+
+    // lastIndexedId 이후 행을 id 순으로 읽어 반영. 반환값 = 읽은 행 수
+    private int appendNewRows() {
+        int[] rows = { 0 };
+        long lastId = append(orgs, plants, lastIndexedId, rows);
+        lock.writeLock().lock();
+        try {
+            lastIndexedId = lastId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rows[0];
+    }
+
+    // afterId 이후 행을 id 순으로 읽어 대상 맵에 반영, 마지막으로 읽은 id 반환 (rows[0] += 읽은 행 수)
+    private long append(Map<Long, Series> orgTarget, Map<String, Series> plantTarget, long afterId, int[] rows) {
+        long lastId = afterId;
+        while (true) {
+            List<Real> batch = realRepository.findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(
+                    lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return lastId;
+            }
+            lock.writeLock().lock();
+            try {
+                Set<Series> touched = new HashSet<>();
+                for (Real row : batch) {
+                    if (row.getTs() == null || row.getProductionKg() == null) {
+                        continue;
+                    }
+                    long hour = floorHour(row.getTs());
+                    long units = toUnits(row.getProductionKg());
+                    if (row.getOrgid() != null) {
+                        Series series = orgTarget.computeIfAbsent(row.getOrgid(), k -> new Series());
+                        series.add(hour, units, 1);
+                        touched.add(series);
+                    }
+                    if (row.getPlantId() != null) {
+                        Series series = plantTarget.computeIfAbsent(row.getPlantId(), k -> new Series());
+                        series.add(hour, units, 1);
+                        touched.add(series);
+                    }
+                }
+                touched.forEach(Series::settle);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastId = batch.get(batch.size() - 1).getHydrogenActualId();
+            rows[0] += batch.size();
+        }
+    }
+
+    // ===== 부분 재구성 =====
+
+    // findIndexKeysBy* 결과 (orgid, plantId, MIN(ts), MAX(ts)) 의 키와 시간 범위만 다시 계산
+    private int rebuildKeys(List<Object[]> keyRows) {
+        Set<Long> orgKeys = new HashSet<>();
+        Set<String> plantKeys = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (Object[] row : keyRows) {
+            if (row[0] != null) {
+                orgKeys.add((Long) row[0]);
+            }
+            if (row[1] != null) {
+                plantKeys.add((String) row[1]);
+            }
+            LocalDateTime first = (LocalDateTime) row[2];
+            LocalDateTime last = (LocalDateTime) row[3];
+            if (first != null && (from == null || first.isBefore(from))) {
+                from = first;
+            }
+            if (last != null && (to == null || last.isAfter(to))) {
+                to = last;
+            }
+        }
+        if (from == null) {
+            return appendAfterRebuild(0);
+        }
+        return rebuildKeys(from, to.plusHours(1), orgKeys, plantKeys);
+    }
+
+    /**
+     * [from, to) 시간의 값을 DB 에서 다시 읽어 교체 (orgKeys/plantKeys 가 null 이면 모든 키)
+     * 이미 반영한 id(lastIndexedId 이하) 행만 다시 읽고, 새 행은 이어서 id 순으로 추가
+     * 교체할 값을 먼저 모두 만든 뒤 한 번에 바꾸므로 그동안 조회는 이전 값을 봅니다.
+     */
+    private int rebuildKeys(LocalDateTime from, LocalDateTime to, Set<Long> orgKeys, Set<String> plantKeys) {
+        long fromHour = floorHour(from);
+        long toHour = ceilHour(to);
+        if (toHour <= fromHour) {
+            return appendAfterRebuild(0);
+        }
+        int span = Math.toIntExact(toHour - fromHour);
+        Map<Long, Cells> orgCells = new HashMap<>();
+        Map<String, Cells> plantCells = new HashMap<>();
+        int rows = 0;
+        // 날짜 경계로 나눠 하루씩 ts 범위로 읽음 (ts 인덱스 범위 탐색, 한 번에 설비 수 x 24행)
+        LocalDateTime end = hourStart(toHour);
+        LocalDateTime dayEnd;
+        for (LocalDateTime day = hourStart(fromHour); day.isBefore(end); day = dayEnd) {
+            LocalDateTime nextDay = day.toLocalDate().plusDays(1).atStartOfDay();
+            dayEnd = nextDay.isBefore(end) ? nextDay : end;
+            for (Real row : realRepository.findByTsGreaterThanEqualAndTsLessThan(day, dayEnd)) {
+                if (row.getTs() == null || row.getProductionKg() == null || row.getHydrogenActualId() > lastIndexedId) {
+                    continue;
+                }
+                int i = (int) (floorHour(row.getTs()) - fromHour);
+                long units = toUnits(row.getProductionKg());
+                if (row.getOrgid() != null && (orgKeys == null || orgKeys.contains(row.getOrgid()))) {
+                    orgCells.computeIfAbsent(row.getOrgid(), k -> new Cells(span)).add(i, units);
+                }
+                if (row.getPlantId() != null && (plantKeys == null || plantKeys.contains(row.getPlantId()))) {
+                    plantCells.computeIfAbsent(row.getPlantId(), k -> new Cells(span)).add(i, units);
+                }
+                rows++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            replace(orgs, (orgKeys != null) ? orgKeys : union(orgs.keySet(), orgCells.keySet()), orgCells, fromHour, span);
+            replace(plants, (plantKeys != null) ? plantKeys : union(plants.keySet(), plantCells.keySet()), plantCells,
+                    fromHour, span);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("[PRODUCTION-INDEX] 부분 재구성: {} ~ {}, 조직 {}곳, 발전소 {}곳, {}행", hourStart(fromHour),
+                hourStart(toHour), (orgKeys != null) ? orgKeys.size() : "전체", (plantKeys != null) ? plantKeys.size() : "전체",
+                rows);
+        return appendAfterRebuild(rows);
+    }
+
+    // 부분 재구성 뒤 새 id 행 추가, 변경 표시 후 주기가 됐으면 checkpoint 저장
+    private int appendAfterRebuild(int rows) {
+        rows += appendNewRows();
+        checkpointDirty = true;
+        writeCheckpointIfDue();
+        return rows;
+    }
+
+    private static <K> void replace(Map<K, Series> target, Set<K> keys, Map<K, Cells> cells, long fromHour, int span) {
+        Cells empty = new Cells(0);
+        for (K key : keys) {
+            Cells replacement = cells.getOrDefault(key, empty);
+            Series series = target.get(key);
+            if (series == null) {
+                if (replacement == empty) {
+                    continue;
+                }
+                series = new Series();
+                target.put(key, series);
+            }
+            series.replace(fromHour, span, replacement);
+            series.settle();
+        }
+    }
+
+    private static <K> Set<K> union(Set<K> a, Set<K> b) {
+        Set<K> result = new HashSet<>(a);
+        result.addAll(b);
+        return result;
+    }
+
+    private static void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    // ===== checkpoint =====
+
+    private boolean readCheckpoint() {
+        Path path = Paths.get(checkpointPath);
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        Map<Long, Series> loadedOrgs = new HashMap<>();
+        Map<String, Series> loadedPlants = new HashMap<>();
+        long loadedLastId;
+        long[] savedStats = new long[4];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                log.warn("[PRODUCTION-INDEX] checkpoint 형식이 달라 무시합니다: {}", path);
+                return false;
+            }
+            loadedLastId = in.readLong();
+            for (int i = 0; i < savedStats.length; i++) {
+                savedStats[i] = in.readLong();
+            }
+            int orgCount = in.readInt();
+            for (int i = 0; i < orgCount; i++) {
+                loadedOrgs.put(in.readLong(), Series.read(in));
+            }
+            int plantCount = in.readInt();
+            for (int i = 0; i < plantCount; i++) {
+                loadedPlants.put(in.readUTF(), Series.read(in));
+            }
+        } catch (IOException e) {
+            log.warn("[PRODUCTION-INDEX] checkpoint 읽기 실패, 전체 적재합니다: {}", e.getMessage());
+            return false;
+        }
+
+        // 파일 손상 / 테이블이 비워졌거나 다시 만들어진 경우 / 저장 후 기존 행이 바뀐 경우
+        if (!Arrays.equals(savedStats, stats(loadedOrgs, loadedPlants))) {
+            log.warn("[PRODUCTION-INDEX] checkpoint 내용이 저장된 합계와 달라 무시합니다: {}", path);
+            return false;
+        }
+        if (loadedLastId > realRepository.findMaxId()) {
+            log.warn("[PRODUCTION-INDEX] checkpoint(last_id={})가 DB보다 앞서 있어 무시합니다.", loadedLastId);
+            return false;
+        }
+        long[] dbStats = dbStats(loadedLastId);
+        if (!Arrays.equals(savedStats, dbStats)) {
+            log.warn("[PRODUCTION-INDEX] checkpoint(last_id={}) 행 수/합계가 DB와 달라 무시합니다: checkpoint {}, DB {}",
+                    loadedLastId, Arrays.toString(savedStats), Arrays.toString(dbStats));
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            orgs.clear();
+            orgs.putAll(loadedOrgs);
+            plants.clear();
+            plants.putAll(loadedPlants);
+            lastIndexedId = loadedLastId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    private void writeCheckpointIfDue() {
+        if (checkpointDirty
+                && System.currentTimeMillis() - lastCheckpointAt >= TimeUnit.MINUTES.toMillis(checkpointIntervalMinutes)) {
+            writeCheckpoint();
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 교체 (쓰는 도중 중단돼도 이전 checkpoint 유지)
+    private void writeCheckpoint() {
+        Path path = Paths.get(checkpointPath).toAbsolutePath();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeLong(lastIndexedId);
+                for (long stat : stats(orgs, plants)) {
+                    out.writeLong(stat);
+                }
+                out.writeInt(orgs.size());
+                for (Map.Entry<Long, Series> entry : orgs.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    entry.getValue().write(out);
+                }
+                out.writeInt(plants.size());
+                for (Map.Entry<String, Series> entry : plants.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    entry.getValue().write(out);
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointDirty = false;
+            lastCheckpointAt = System.currentTimeMillis();
+        } catch (IOException e) {
+            log.warn("[PRODUCTION-INDEX] checkpoint 저장 실패: {}", e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // { 조직 행 수, 조직 합계, 발전소 행 수, 발전소 합계 } (합계는 0.001kg 단위)
+    private static long[] stats(Map<Long, Series> orgSeries, Map<String, Series> plantSeries) {
+        long[] stats = new long[4];
+        for (Series series : orgSeries.values()) {
+            stats[0] += series.totalRows();
+            stats[1] += series.total();
+        }
+        for (Series series : plantSeries.values()) {
+            stats[2] += series.totalRows();
+            stats[3] += series.total();
+        }
+        return stats;
+    }
+
+    // DB 에서 id <= lastId 행으로 계산한 stats()
+    private long[] dbStats(long lastId) {
+        Object[] row = realRepository.findIndexStats(lastId).get(0);
+        return new long[] { toLong(row[0]), toUnits((BigDecimal) row[1]), toLong(row[2]), toUnits((BigDecimal) row[3]) };
+    }
+
+    private static long toLong(Object value) {
+        return (value != null) ? ((Number) value).longValue() : 0;
+    }
+
+    // kg → 0.001kg 단위
+    private static long toUnits(BigDecimal kg) {
+        return (kg != null) ? kg.setScale(3, RoundingMode.HALF_UP).unscaledValue().longValue() : 0;
+    }
+
+    // 1970-01-01 00시 기준 경과 시간
+    private static long floorHour(LocalDateTime t) {
+        return t.toLocalDate().toEpochDay() * 24 + t.getHour();
+    }
+
+    // t 이상인 첫 정시
+    private static long ceilHour(LocalDateTime t) {
+        long hour = floorHour(t);
+        return t.toLocalTime().equals(LocalTime.of(t.getHour(), 0)) ? hour : hour + 1;
+    }
+
+    private static LocalDateTime hourStart(long hour) {
+        return LocalDate.ofEpochDay(Math.floorDiv(hour, 24)).atTime((int) Math.floorMod(hour, 24), 0);
+    }
+
+    /** 부분 재구성에서 새로 계산한 시간별 값 (인덱스 = 재구성 시작 시각부터 경과 시간) */
+    private static final class Cells {
+        final long[] units;
+        final int[] rows;
+
+        Cells(int span) {
+            units = new long[span];
+            rows = new int[span];
+        }
+
+        void add(int i, long value) {
+            units[i] += value;
+            rows[i]++;
+        }
+    }
+
+    /** 키 하나의 시간별 생산량/행 수 + 누적합 (인덱스 = baseHour 부터 경과 시간) */
+    private static final class Series {
+        private long baseHour;
+        private long[] hourly = new long[0];
+        private int[] hourlyRows = new int[0];
+        private long[] prefix = new long[1];    // prefix[i] = hourly[0..i) 합
+        private long[] rowPrefix = new long[1]; // rowPrefix[i] = hourlyRows[0..i) 합
+        private int length;
+        private int dirtyFrom = Integer.MAX_VALUE;
+
+        void add(long hour, long units, int rows) {
+            if (length == 0) {
+                baseHour = hour;
+            } else if (hour < baseHour) {
+                int shift = Math.toIntExact(baseHour - hour);
+                long[] shifted = new long[length + shift + (length >> 1) + 16];
+                int[] shiftedRows = new int[shifted.length];
+                System.arraycopy(hourly, 0, shifted, shift, length);
+                System.arraycopy(hourlyRows, 0, shiftedRows, shift, length);
+                hourly = shifted;
+                hourlyRows = shiftedRows;
+                length += shift;
+                baseHour = hour;
+                dirtyFrom = 0;
+            }
+            int i = Math.toIntExact(hour - baseHour);
+            if (i >= hourly.length) {
+                int capacity = Math.max(i + 1, hourly.length + (hourly.length >> 1) + 16);
+                hourly = Arrays.copyOf(hourly, capacity);
+                hourlyRows = Arrays.copyOf(hourlyRows, capacity);
+            }
+            hourly[i] += units;
+            hourlyRows[i] += rows;
+            length = Math.max(length, i + 1);
+            dirtyFrom = Math.min(dirtyFrom, i);
+        }
+
+        // fromHour 부터 span 시간의 값을 cells 로 교체 (cells 가 비어 있으면 0), 바뀐 칸만 반영
+        void replace(long fromHour, int span, Cells cells) {
+            for (int k = 0; k < span; k++) {
+                long hour = fromHour + k;
+                long units = (k < cells.units.length) ? cells.units[k] : 0;
+                int rows = (k < cells.rows.length) ? cells.rows[k] : 0;
+                int i = (int) (hour - baseHour);
+                boolean inside = length > 0 && hour >= baseHour && i < length;
+                long deltaUnits = units - (inside ? hourly[i] : 0);
+                int deltaRows = rows - (inside ? hourlyRows[i] : 0);
+                if (deltaUnits != 0 || deltaRows != 0) {
+                    add(hour, deltaUnits, deltaRows);
+                }
+            }
+        }
+
+        // dirtyFrom 이후 누적합 다시 계산 (끝에 이어 붙인 경우 새 칸만)
+        void settle() {
+            if (dirtyFrom == Integer.MAX_VALUE) {
+                return;
+            }
+            if (prefix.length < length + 1) {
+                prefix = Arrays.copyOf(prefix, hourly.length + 1);
+                rowPrefix = Arrays.copyOf(rowPrefix, hourly.length + 1);
+            }
+            for (int i = dirtyFrom; i < length; i++) {
+                prefix[i + 1] = prefix[i] + hourly[i];
+                rowPrefix[i + 1] = rowPrefix[i] + hourlyRows[i];
+            }
+            dirtyFrom = Integer.MAX_VALUE;
+        }
+
+        // hour 미만 전체 합
+        long sumBefore(long hour) {
+            return (length == 0) ? 0 : prefix[index(hour)];
+        }
+
+        // hour 미만 전체 행 수
+        long rowsBefore(long hour) {
+            return (length == 0) ? 0 : rowPrefix[index(hour)];
+        }
+
+        // hour 미만 칸 수 (0 ~ length)
+        private int index(long hour) {
+            if (hour <= baseHour) {
+                return 0;
+            }
+            return (hour >= baseHour + length) ? length : (int) (hour - baseHour);
+        }
+
+        // fromHour 부터 dest.length 시간의 시간별 값 (범위 밖은 0 유지)
+        void copyHourly(long fromHour, long[] dest) {
+            long lo = Math.max(fromHour, baseHour);
+            long hi = Math.min(fromHour + dest.length, baseHour + length);
+            if (lo < hi) {
+                System.arraycopy(hourly, (int) (lo - baseHour), dest, (int) (lo - fromHour), (int) (hi - lo));
+            }
+        }
+
+        long total() {
+            return prefix[length];
+        }
+
+        long totalRows() {
+            return rowPrefix[length];
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(baseHour);
+            out.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                out.writeLong(hourly[i]);
+                out.writeInt(hourlyRows[i]);
+            }
+        }
+
+        static Series read(DataInputStream in) throws IOException {
+            Series series = new Series();
+            series.baseHour = in.readLong();
+            series.length = in.readInt();
+            series.hourly = new long[series.length];
+            series.hourlyRows = new int[series.length];
+            for (int i = 0; i < series.length; i++) {
+                series.hourly[i] = in.readLong();
+                series.hourlyRows[i] = in.readInt();
+            }
+            series.dirtyFrom = 0;
+            series.settle();
+            return series;
+        }
+    }
+}
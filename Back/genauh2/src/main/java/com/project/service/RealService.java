@@ -2,11 +2,14 @@ package com.project.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.repository.RealRepository;
+import com.project.util.TimeRange;
 import com.project.dto.HourlyProductionDTO;
 import com.project.dto.RealDTO;
+import com.project.dto.RealRowView;
 import com.project.entity.Real;
 
 import java.math.BigDecimal;
@@ -28,25 +31,42 @@ public class RealService {
     @Autowired
     private RealRepository realRepository;
 
+    @Autowired
+    private ProductionRealIncrementalService productionRealIncrementalService;
+
+    @Autowired
+    private ElectrolyzerProductionEngine productionEngine;
+
+    @Autowired
+    private ProductionTotalIndex productionTotalIndex;
+
     /**
      * 모든 plant_generation 데이터에 대한 실제 생산 데이터 생성
+     * 설비별로 마지막 반영 이후의 새 행만 upsert 합니다. (새 행이 없으면 0)
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int generateAllProductionReal() {
-        return realRepository.insertProductionRealForAll();
+        int count = productionRealIncrementalService.generateIncremental();
+        productionTotalIndex.refresh();
+        return count;
     }
 
     /**
      * 특정 facility에 대한 실제 생산 데이터 생성
      */
     public int generateProductionRealForFacility(Long facId) {
-        return realRepository.insertProductionRealForFacility(facId);
+        int count = productionEngine.generateForFacility(facId);
+        productionTotalIndex.rebuildRangeAfterCommit(facId, null, null);
+        return count;
     }
 
     /**
      * 특정 plant에 대한 실제 생산 데이터 생성
      */
     public int generateProductionRealForPlant(String plantId) {
-        return realRepository.insertProductionRealForPlant(plantId);
+        int count = productionEngine.generateForPlant(plantId);
+        productionTotalIndex.rebuildPlantAfterCommit(plantId);
+        return count;
     }
 
     /**
@@ -54,17 +74,20 @@ public class RealService {
      */
     public int generateProductionRealByDateTime(String date, Integer hour) {
         // 날짜 형식 검증
+        LocalDate parsed;
         try {
-            LocalDateTime.parse(date + "T00:00:00");
+            parsed = LocalDate.parse(date);
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid date format. Use YYYY-MM-DD");
         }
         
-        if (hour < 0 || hour > 23) {
+        if (hour == null || hour < 0 || hour > 23) {
             throw new IllegalArgumentException("Hour must be between 0 and 23");
         }
         
-        return realRepository.insertProductionRealByDateTime(date, hour);
+        int count = productionEngine.generateByDateTime(parsed, hour);
+        productionTotalIndex.rebuildRangeAfterCommit(null, parsed.atTime(hour, 0), parsed.atTime(hour, 0).plusHours(1));
+        return count;
     }
     
     /**
@@ -92,8 +115,8 @@ public class RealService {
      */
     @Transactional(readOnly = true)
     public List<RealDTO> getLatestProductionReal() {
-        List<Object[]> rawResults = realRepository.getLatestProductionRealRaw();
-        return convertToDto(rawResults);
+        List<RealRowView> rows = realRepository.getLatestProductionRealRaw();
+        return convertToDto(rows);
     }
 
     /**
@@ -101,8 +124,8 @@ public class RealService {
      */
     @Transactional(readOnly = true)
     public List<RealDTO> getProductionRealForFacility(Long facId) {
-        List<Object[]> rawResults = realRepository.getProductionRealForFacilityRaw(facId);
-        return convertToDto(rawResults);
+        List<RealRowView> rows = realRepository.getProductionRealForFacilityRaw(facId);
+        return convertToDto(rows);
     }
 
     /**
@@ -110,37 +133,34 @@ public class RealService {
      */
     @Transactional(readOnly = true)
     public List<RealDTO> getProductionRealForPlant(String plantId) {
-        List<Object[]> rawResults = realRepository.getProductionRealForPlantRaw(plantId);
-        return convertToDto(rawResults);
+        List<RealRowView> rows = realRepository.getProductionRealForPlantRaw(plantId);
+        return convertToDto(rows);
     }
 
     /**
      * 특정 기간 내의 실제 생산 결과를 조회
      * startDate와 endDate가 null이면 자동으로 DB의 첫 데이터부터 현재까지의 데이터를 조회합니다.
+     * 날짜만 준 endDate는 그날 전체를 포함합니다.
      */
     @Transactional(readOnly = true)
     public List<RealDTO> getProductionRealByDateRange(String startDate, String endDate) {
         
-        // startDate가 없으면 DB에서 가장 오래된 데이터를 찾습니다.
-        String finalStartDate = startDate;
-        if (startDate == null || startDate.isEmpty()) {
+        // startDate가 없으면 DB에서 가장 오래된 데이터부터, endDate가 없으면 현재 시간까지 조회합니다.
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime defaultStart = now;
+        if (startDate == null || startDate.trim().isEmpty()) {
             Timestamp firstTs = realRepository.findFirstTs();
             if (firstTs != null) {
-                finalStartDate = firstTs.toLocalDateTime().toString();
-            } else {
-                // 데이터가 없는 경우, 현재 시간을 시작 날짜로 설정
-                finalStartDate = LocalDateTime.now().toString();
+                defaultStart = firstTs.toLocalDateTime();
             }
         }
-        
-        // endDate가 없으면 현재 시간을 사용합니다.
-        String finalEndDate = endDate;
-        if (endDate == null || endDate.isEmpty()) {
-            finalEndDate = LocalDateTime.now().toString();
+        TimeRange range = TimeRange.parse(startDate, endDate, defaultStart, now);
+        if (range.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        List<Object[]> rawResults = realRepository.findByTsBetween(finalStartDate, finalEndDate);
-        return convertToDto(rawResults);
+        List<RealRowView> rows = realRepository.findByTsRange(range.getStart(), range.getEnd());
+        return convertToDto(rows);
     }
 
     @Transactional(readOnly = true)
@@ -157,35 +177,43 @@ public class RealService {
     public BigDecimal getSixMonthProduction(Long orgId) {
         LocalDateTime end = LocalDateTime.now();
         LocalDateTime start = end.minusMonths(6);
+        if (productionTotalIndex.isReady()) {
+            return productionTotalIndex.sumByOrg(orgId, start, end);
+        }
         return realRepository.findTotalProductionByOrgIdForLastSixMonths(orgId, start, end);
     }
 
     @Transactional(readOnly = true)
     public BigDecimal getTotalProduction(Long orgId) {
+        if (productionTotalIndex.isReady()) {
+            return productionTotalIndex.sumByOrg(orgId, null, null);
+        }
         return realRepository.findTotalProductionByOrgId(orgId);
     }
 
     /**
-     * Object[] 결과를 RealDTO로 변환
+     * 프로젝션 결과를 RealDTO로 변환 (DECIMAL 컬럼은 BigDecimal 그대로 사용)
      */
-    private List<RealDTO> convertToDto(List<Object[]> rawResults) {
-        List<RealDTO> results = new ArrayList<>();
+    static List<RealDTO> convertToDto(List<RealRowView> rows) {
+        List<RealDTO> results = new ArrayList<>(rows.size());
         
-        for (Object[] row : rawResults) {
+        for (RealRowView row : rows) {
+            Double generationKw = row.getGenerationKw();
+            Integer capacityKw = row.getCapacityKw();
             RealDTO result = RealDTO.builder()
-                .hydrogenActualId(row[0] != null ? ((Number) row[0]).longValue() : null)
-                .facid(row[1] != null ? ((Number) row[1]).longValue() : null)
-                .orgid(row[2] != null ? ((Number) row[2]).longValue() : null)
-                .plantId(row[3] != null ? row[3].toString() : null)
-                .ts(row[4] != null ? ((Timestamp) row[4]).toLocalDateTime() : null)
-                .idlepowerkw(row[5] != null ? new BigDecimal(row[5].toString()) : null)
-                .productionKg(row[6] != null ? new BigDecimal(row[6].toString()) : null)
-                .powerConsumedKwh(row[7] != null ? new BigDecimal(row[7].toString()) : null)
-                .utilizationRate(row[8] != null ? new BigDecimal(row[8].toString()) : null)
-                .facilityName(row[9] != null ? row[9].toString() : null)
+                .hydrogenActualId(row.getHydrogenActualId())
+                .facid(row.getFacid())
+                .orgid(row.getOrgid())
+                .plantId(row.getPlantId())
+                .ts(row.getTs())
+                .idlepowerkw(row.getIdlepowerkw())
+                .productionKg(row.getProductionKg())
+                .powerConsumedKwh(row.getPowerConsumedKwh())
+                .utilizationRate(row.getUtilizationRate())
+                .facilityName(row.getFacilityName())
                 .plantName(null)
-                .generationKw(row[10] != null ? new BigDecimal(row[10].toString()) : null)
-                .capacityKw(row[11] != null ? new BigDecimal(row[11].toString()) : null)
+                .generationKw(generationKw != null ? BigDecimal.valueOf(generationKw) : null)
+                .capacityKw(capacityKw != null ? BigDecimal.valueOf(capacityKw.longValue()) : null)
                 .build();
             
             results.add(result);
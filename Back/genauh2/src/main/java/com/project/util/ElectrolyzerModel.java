@@ -0,0 +1,95 @@
+package com.project.util;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import com.project.entity.Facility;
+
+/**
+ * 전해조 1기의 시간당 생산 모델 (발전량 → 유휴 전력 / 소비 전력 / 수소 생산량 / 가동률)
+ *
+ * - 잉여 전력 = max(0, 발전량 - 설비용량 x 0.7)
+ * - 소비 전력 = 기저 부하 50kW + 잉여 전력 (잉여가 없으면 49~51kW), 정격 전력(power_kw) 이하
+ * - 생산량 = 소비 전력 / 특정 소비전력(spec_kwh), 정격 생산량(h2_rate)이 있으면 그 이하
+ * - 가동률(%) = 소비 전력 / 정격 전력 x 100
+ *
+ * 난수는 (seed, facid, 시각)으로 정해지므로 같은 입력이면 실행 순서/스레드와 관계없이 같은 값이 나옵니다.
+ */
+public final class ElectrolyzerModel {
+
+    // 설비용량 중 이 비율을 넘는 발전량을 잉여 전력으로 봄
+    public static final double SURPLUS_RATIO = 0.7;
+    private static final double BASE_LOAD_KW = 50;
+    // 잉여 전력이 없을 때 기저 부하 흔들림 폭 (49~51kW)
+    private static final double IDLE_JITTER_KW = 2;
+
+    private final long facId;
+    private final long orgId;
+    private final double powerKw;
+    private final double specKwh;
+    private final double h2Rate;
+
+    public ElectrolyzerModel(long facId, long orgId, double powerKw, double specKwh, double h2Rate) {
+        if (powerKw <= 0 || specKwh <= 0) {
+            throw new IllegalArgumentException("power_kw, spec_kwh는 0보다 커야 합니다. facid=" + facId);
+        }
+        this.facId = facId;
+        this.orgId = orgId;
+        this.powerKw = powerKw;
+        this.specKwh = specKwh;
+        this.h2Rate = h2Rate;
+    }
+
+    /** 생산 모델을 만들 수 없는 설비(power_kw / spec_kwh 가 없거나 0 이하)는 null */
+    public static ElectrolyzerModel of(Facility facility) {
+        double powerKw = value(facility.getPowerKw());
+        double specKwh = value(facility.getSpecKwh());
+        if (facility.getFacId() == null || facility.getOrgId() == null || powerKw <= 0 || specKwh <= 0) {
+            return null;
+        }
+        return new ElectrolyzerModel(facility.getFacId(), facility.getOrgId(), powerKw, specKwh,
+                value(facility.getH2Rate()));
+    }
+
+    public long getFacId() {
+        return facId;
+    }
+
+    public long getOrgId() {
+        return orgId;
+    }
+
+    /**
+     * 한 시간 계산. out = { idlePowerKw, productionKg, powerConsumedKwh, utilizationRate } (DB 컬럼 자릿수로 반올림)
+     * epochHour = 1970-01-01 00시 기준 경과 시간 (난수 시드에 사용)
+     */
+    public void compute(double generationKw, double capacityKw, long epochHour, long seed, double[] out) {
+        double surplus = Math.max(0, round(generationKw - capacityKw * SURPLUS_RATIO, 1000));
+        double consumed = (surplus == 0)
+                ? BASE_LOAD_KW - IDLE_JITTER_KW / 2 + random(seed, epochHour) * IDLE_JITTER_KW
+                : BASE_LOAD_KW + surplus;
+        consumed = Math.min(consumed, powerKw);
+        double production = consumed / specKwh;
+        if (h2Rate > 0) {
+            production = Math.min(production, h2Rate);
+        }
+        out[0] = surplus;
+        out[1] = round(production, 1000);
+        out[2] = round(consumed, 100);
+        out[3] = round(consumed / powerKw * 100, 10000);
+    }
+
+    // 설비·시각별로 고정된 [0, 1) 난수
+    private double random(long seed, long epochHour) {
+        return new SplittableRandom(seed ^ (facId * 0x9E3779B97F4A7C15L) ^ (epochHour * 0xC2B2AE3D27D4EB4FL))
+                .nextDouble();
+    }
+
+    private static double round(double value, double scale) {
+        return Math.round(value * scale) / scale;
+    }
+
+    private static double value(BigDecimal value) {
+        return (value != null) ? value.doubleValue() : 0;
+    }
+}
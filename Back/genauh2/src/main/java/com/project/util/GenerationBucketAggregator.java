@@ -0,0 +1,154 @@
+package com.project.util;
+
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 발전량 합계를 일/주/월/시간대 버킷으로 모으는 집계기 (기본형 전용)
+ *
+ * - 버킷 키는 long: 일 = epochDay, 주 = 연도 * 100 + 주차(서버 Locale 기준), 월 = 연도 * 100 + 월,
+ *   시간대 = 0~23 (날짜와 무관하므로 addToKey 로만 더함)
+ * - 조회 구간의 날짜 → 키는 생성 시 한 번만 계산해 두고, add() 에서는 배열 조회만 합니다.
+ * - 누적값은 open addressing 해시(선형 탐색)의 기본형 배열에 보관 → 행마다 객체를 만들지 않음
+ */
+public final class GenerationBucketAggregator {
+
+    public enum Unit { DAY, WEEK, MONTH, HOUR_OF_DAY }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Unit unit;
+    private final WeekFields weekFields = WeekFields.of(Locale.getDefault());
+    private final long baseDay;
+    private final long[] calendarKeys;   // (epochDay - baseDay) → 버킷 키
+
+    private long[] keys;
+    private double[] gen;
+    private double[] pred;
+    private long[] capacity;
+    private long[] rows;
+    private int size;
+
+    public GenerationBucketAggregator(Unit unit, LocalDate start, LocalDate end) {
+        this.unit = unit;
+        this.baseDay = start.toEpochDay();
+        int days = (unit == Unit.HOUR_OF_DAY) ? 0 : (int) Math.max(end.toEpochDay() - baseDay + 1, 0);
+        this.calendarKeys = new long[days];
+        LocalDate date = start;
+        for (int i = 0; i < days; i++) {
+            calendarKeys[i] = computeKey(date);
+            date = date.plusDays(1);
+        }
+        allocate(16);
+    }
+
+    /** 날짜의 버킷 키 */
+    public long keyOf(LocalDate date) {
+        long offset = date.toEpochDay() - baseDay;
+        return (offset >= 0 && offset < calendarKeys.length) ? calendarKeys[(int) offset] : computeKey(date);
+    }
+
+    public void add(LocalDate date, double genSum, double predSum, long capacitySum, long rowCount) {
+        addToKey(keyOf(date), genSum, predSum, capacitySum, rowCount);
+    }
+
+    /** 이미 버킷 키를 알고 있는 값(예: 월별 롤업 행)을 더함 */
+    public void addToKey(long key, double genSum, double predSum, long capacitySum, long rowCount) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                rehash();
+                slot = slot(key);
+            }
+        }
+        gen[slot] += genSum;
+        pred[slot] += predSum;
+        capacity[slot] += capacitySum;
+        rows[slot] += rowCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** 버킷 키 오름차순으로 결과를 넘겨 줌 */
+    public void forEachSorted(BucketConsumer consumer) {
+        long[] sortedKeys = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                sortedKeys[n++] = key;
+            }
+        }
+        Arrays.sort(sortedKeys);
+        for (long key : sortedKeys) {
+            int s = slot(key);
+            consumer.accept(key, gen[s], pred[s], capacity[s], rows[s]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(long key, double genSum, double predSum, long capacitySum, long rowCount);
+    }
+
+    private long computeKey(LocalDate date) {
+        switch (unit) {
+            case WEEK:
+                return date.getYear() * 100L + date.get(weekFields.weekOfWeekBasedYear());
+            case MONTH:
+                return date.getYear() * 100L + date.getMonthValue();
+            case HOUR_OF_DAY:
+                throw new IllegalStateException("시간대 버킷은 addToKey 로 더합니다.");
+            default:
+                return date.toEpochDay();
+        }
+    }
+
+    // 키가 있는 칸 또는 키가 들어갈 빈 칸
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int i = (int) (mix(key) & mask);
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private void allocate(int capacityHint) {
+        keys = new long[capacityHint];
+        Arrays.fill(keys, EMPTY);
+        gen = new double[capacityHint];
+        pred = new double[capacityHint];
+        capacity = new long[capacityHint];
+        rows = new long[capacityHint];
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        double[] oldGen = gen;
+        double[] oldPred = pred;
+        long[] oldCapacity = capacity;
+        long[] oldRows = rows;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int s = slot(oldKeys[i]);
+            keys[s] = oldKeys[i];
+            gen[s] = oldGen[i];
+            pred[s] = oldPred[i];
+            capacity[s] = oldCapacity[i];
+            rows[s] = oldRows[i];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.project.util;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.entity.PlantGeneration;
+
+/**
+ * 발전소 1곳의 시간 단위 시계열을 LTTB(Largest-Triangle-Three-Buckets)로 줄이는 스트리밍 다운샘플러
+ *
+ * - 행을 (date, hour) 오름차순으로 add() 한 뒤 finish() 로 결과를 받습니다.
+ * - 조회 기간을 시간 축으로 (maxPoints - 2)개 구간에 나누고, 구간마다 발전량/예측량 삼각형 넓이의 합이
+ *   가장 큰 행 하나를 고릅니다. 첫 행과 마지막 행은 항상 유지합니다.
+ * - 한 번만 훑으며, 결과(maxPoints) 외에는 현재/직전 구간의 행만 보관합니다.
+ */
+public class LttbDownsampler {
+
+    private final LocalDate origin;
+    private final long span;
+    private final int buckets;
+
+    private final List<PlantGeneration> selected = new ArrayList<>();
+    private PlantGeneration anchor;           // 직전에 선택된 행 (삼각형의 a)
+
+    private List<PlantGeneration> pending;    // 다음 구간 평균을 기다리는 구간
+    private List<PlantGeneration> current = new ArrayList<>();
+    private int currentBucket = -1;
+
+    public LttbDownsampler(LocalDate start, LocalDate end, int maxPoints) {
+        if (maxPoints < 3) {
+            throw new IllegalArgumentException("maxPoints는 3 이상이어야 합니다.");
+        }
+        this.origin = start;
+        this.span = Math.max((ChronoUnit.DAYS.between(start, end) + 1) * 24, 1);
+        this.buckets = maxPoints - 2;
+    }
+
+    public void add(PlantGeneration row) {
+        if (anchor == null) {
+            anchor = row;
+            selected.add(row);
+            return;
+        }
+        int bucket = (int) Math.min(buckets - 1, Math.max(0, x(row) * buckets / span));
+        if (bucket != currentBucket) {
+            if (pending != null) {
+                select(pending, average(current));
+            }
+            pending = current;
+            current = new ArrayList<>();
+            currentBucket = bucket;
+        }
+        current.add(row);
+    }
+
+    public List<PlantGeneration> finish() {
+        if (current.isEmpty()) {
+            return selected;
+        }
+        PlantGeneration last = current.remove(current.size() - 1);
+        double[] lastPoint = { x(last), last.getGeneration_Kw(), last.getForecast_Kwh() };
+        if (pending != null && !pending.isEmpty()) {
+            select(pending, current.isEmpty() ? lastPoint : average(current));
+        }
+        if (!current.isEmpty()) {
+            select(current, lastPoint);
+        }
+        selected.add(last);
+        pending = null;
+        current = new ArrayList<>();
+        return selected;
+    }
+
+    // 구간에서 (anchor, 후보, 다음 구간 평균) 삼각형 넓이가 가장 큰 행을 선택
+    private void select(List<PlantGeneration> bucket, double[] next) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        double ax = x(anchor);
+        double ag = anchor.getGeneration_Kw();
+        double af = anchor.getForecast_Kwh();
+        PlantGeneration best = null;
+        double bestArea = -1;
+        for (PlantGeneration row : bucket) {
+            double bx = x(row);
+            double area = Math.abs((ax - next[0]) * (row.getGeneration_Kw() - ag) - (ax - bx) * (next[1] - ag))
+                    + Math.abs((ax - next[0]) * (row.getForecast_Kwh() - af) - (ax - bx) * (next[2] - af));
+            if (area > bestArea) {
+                bestArea = area;
+                best = row;
+            }
+        }
+        selected.add(best);
+        anchor = best;
+    }
+
+    private double[] average(List<PlantGeneration> bucket) {
+        double[] avg = new double[3];
+        for (PlantGeneration row : bucket) {
+            avg[0] += x(row);
+            avg[1] += row.getGeneration_Kw();
+            avg[2] += row.getForecast_Kwh();
+        }
+        for (int i = 0; i < 3; i++) {
+            avg[i] /= bucket.size();
+        }
+        return avg;
+    }
+
+    // 시작일 0시부터 경과한 시간 수
+    private long x(PlantGeneration row) {
+        return ChronoUnit.DAYS.between(origin, row.getDate()) * 24 + row.getHour();
+    }
+}
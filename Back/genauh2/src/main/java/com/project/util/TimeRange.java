@@ -0,0 +1,91 @@
+package com.project.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * [start, end) 반열림 시각 구간
+ *
+ * 쿼리는 ts >= :start AND ts < :end 로만 쓰므로 ts 인덱스 범위 탐색이 가능합니다. (DATE(ts) = ? 는 인덱스를 못 씀)
+ */
+public final class TimeRange {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    private TimeRange(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public static TimeRange of(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("start, end는 필수입니다.");
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("end가 start보다 빠릅니다.");
+        }
+        return new TimeRange(start, end);
+    }
+
+    /** 하루 전체 [date 00:00, date+1 00:00) */
+    public static TimeRange ofDay(LocalDate date) {
+        return new TimeRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * 요청 파라미터 문자열 → 구간 (yyyy-MM-dd 또는 yyyy-MM-ddTHH:mm[:ss], 'T' 대신 공백도 허용)
+     * - 날짜만 준 end 는 그날 전체를 포함
+     * - 시각을 준 end 는 그 시각까지 포함 (기존 BETWEEN 과 같음, ts 는 초 단위이므로 +1초를 끝으로 사용)
+     * - 비어 있으면 defaultStart / defaultEnd 사용
+     * - 기본값으로 채운 쪽 때문에 순서가 뒤집히면 빈 구간 (예: 데이터가 없어 defaultStart = 현재인데 end 가 과거)
+     */
+    public static TimeRange parse(String start, String end, LocalDateTime defaultStart, LocalDateTime defaultEnd) {
+        LocalDateTime s = isBlank(start) ? defaultStart : parseDateTime(start, false);
+        LocalDateTime e = isBlank(end) ? defaultEnd : parseDateTime(end, true);
+        if (s != null && e != null && e.isBefore(s)) {
+            if (isBlank(start)) {
+                s = e;
+            } else if (isBlank(end)) {
+                e = s;
+            }
+        }
+        return of(s, e);
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public boolean isEmpty() {
+        return !start.isBefore(end);
+    }
+
+    private static LocalDateTime parseDateTime(String value, boolean endBound) {
+        String v = value.trim().replace(' ', 'T');
+        try {
+            if (v.indexOf('T') < 0) {
+                LocalDate date = LocalDate.parse(v);
+                return endBound ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            LocalDateTime time = LocalDateTime.parse(v);
+            return endBound ? time.plusSeconds(1) : time;
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("날짜 형식이 잘못되었습니다: " + value);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ")";
+    }
+}
@@ -0,0 +1,45 @@
+-- 파생 테이블 재생성 작업 / 청크 (BackfillService)
+
+CREATE TABLE IF NOT EXISTS backfill_job (
+    id           BIGINT        NOT NULL AUTO_INCREMENT,
+    type         VARCHAR(20)   NOT NULL,
+    split        VARCHAR(20)   NOT NULL,
+    start_date   DATE          NOT NULL,
+    end_date     DATE          NOT NULL,
+    status       VARCHAR(20)   NOT NULL,
+    total_chunks INT           NOT NULL,
+    created_at   DATETIME(6)   NOT NULL,
+    started_at   DATETIME(6),
+    finished_at  DATETIME(6),
+    last_error   VARCHAR(1000),
+    PRIMARY KEY (id),
+    KEY idx_backfill_job_status (status)
+);
+
+CREATE TABLE IF NOT EXISTS backfill_chunk (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    job_id      BIGINT        NOT NULL,
+    chunk_date  DATE,
+    facid       BIGINT,
+    status      VARCHAR(20)   NOT NULL,
+    attempts    INT           NOT NULL,
+    row_count   BIGINT        NOT NULL,
+    duration_ms BIGINT        NOT NULL,
+    error       VARCHAR(1000),
+    updated_at  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_backfill_chunk_job_status (job_id, status)
+);
+
+-- production_predict 날짜 범위 삭제/재생성용
+ALTER TABLE production_predict
+    ADD KEY idx_production_predict_ts_facid (ts, facid);
+
+-- 기간 재생성 원본 조회 (ElectrolyzerProductionEngine SELECT_SOURCE: 날짜 범위 AND pg.id > ? ORDER BY pg.id LIMIT ?)
+-- 하루 청크는 (date, id), 설비 청크(pg.facid = ? AND 날짜 범위)는 (facid, date, id) 로 범위 탐색
+ALTER TABLE plant_generation
+    ADD KEY idx_plant_generation_date_id (date, id),
+    ADD KEY idx_plant_generation_facid_date_id (facid, date, id);
+
+-- 확인 (type = range, key = 위 인덱스)
+-- EXPLAIN SELECT pg.id FROM plant_generation pg WHERE pg.id > 0 AND pg.date >= '2025-01-01' AND pg.date <= '2025-01-01' ORDER BY pg.id LIMIT 2000;
@@ -0,0 +1,24 @@
+-- 발전소별 수소 탱크 구성 / 인출 기록 (HydrogenTankFarmEngine)
+
+CREATE TABLE IF NOT EXISTS hydrogen_tank (
+    id          BIGINT         NOT NULL AUTO_INCREMENT,
+    plant_id    VARCHAR(50)    NOT NULL,
+    name        VARCHAR(50)    NOT NULL,
+    capacity_kg DECIMAL(12,3)  NOT NULL,
+    fill_order  INT            NOT NULL,
+    created_at  DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_hydrogen_tank_plant (plant_id, fill_order)
+);
+
+CREATE TABLE IF NOT EXISTS hydrogen_tank_drawdown (
+    id         BIGINT         NOT NULL AUTO_INCREMENT,
+    plant_id   VARCHAR(50)    NOT NULL,
+    ts         DATETIME(6)    NOT NULL,
+    amount_kg  DECIMAL(12,3)  NOT NULL,
+    reason     VARCHAR(200),
+    created_at DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_hydrogen_tank_drawdown_plant_ts (plant_id, ts)
+);
+
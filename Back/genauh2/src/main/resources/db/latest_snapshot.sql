@@ -0,0 +1,20 @@
+-- 발전소 / 설비별 최신 상태 (LatestSnapshotStore)
+-- name = 'plant:{plant_id}' 또는 'facility:{facid}', 발전소·설비 수만큼의 작은 테이블
+
+CREATE TABLE IF NOT EXISTS latest_snapshot (
+    name             VARCHAR(100)   NOT NULL,
+    plant_id         VARCHAR(50),
+    facid            BIGINT,
+    orgid            BIGINT,
+    generation_ts    DATETIME(6),
+    generation_kw    DOUBLE,
+    forecast_kwh     DOUBLE,
+    capacity_kw      INT,
+    production_ts    DATETIME(6),
+    productionkg     DECIMAL(12,3),
+    idlepowerkw      DECIMAL(10,3),
+    powerconsumedkwh DECIMAL(12,3),
+    utilizationrate  DECIMAL(10,3),
+    updated_at       DATETIME(6)    NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,12 @@
+-- 일별 롤업에 예측 정확도 구성 값 추가 (plant_generation_rollup.sql 이후 실행)
+-- err = generation_kw - forecast_kwh
+
+ALTER TABLE plant_generation_daily
+    ADD COLUMN err_sum         DOUBLE NOT NULL DEFAULT 0,
+    ADD COLUMN sq_err_sum      DOUBLE NOT NULL DEFAULT 0,
+    ADD COLUMN abs_pct_err_sum DOUBLE NOT NULL DEFAULT 0,
+    ADD COLUMN pct_count       BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN hit_count       BIGINT NOT NULL DEFAULT 0;
+
+-- 기존 롤업 행에는 구성 값이 없으므로 다음 갱신 때 전체 재생성되도록 진행 위치를 지운다
+DELETE FROM processing_watermark WHERE name = 'plant_generation_rollup';
@@ -0,0 +1,8 @@
+-- 일별 롤업에 데이터가 있는 시간 수 추가 (plant_generation_accuracy.sql 이후 실행)
+-- hour_count < 24 이면 누락 시간이 있는 날 (/generation/daily 의 incomplete)
+
+ALTER TABLE plant_generation_daily
+    ADD COLUMN hour_count INT NOT NULL DEFAULT 0;
+
+-- 기존 롤업 행에는 값이 없으므로 다음 갱신 때 전체 재생성되도록 진행 위치를 지운다
+DELETE FROM processing_watermark WHERE name = 'plant_generation_rollup';
@@ -0,0 +1,53 @@
+-- plant_generation 일/주/월 롤업 테이블 (GenerationRollupService 에서 갱신)
+
+CREATE TABLE IF NOT EXISTS plant_generation_daily (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    plant_id     VARCHAR(50) NOT NULL,
+    date         DATE        NOT NULL,
+    gen_sum      DOUBLE      NOT NULL,
+    forecast_sum DOUBLE      NOT NULL,
+    capacity_sum BIGINT      NOT NULL,
+    row_count    BIGINT      NOT NULL,
+    updated_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_plant_generation_daily (plant_id, date),
+    KEY idx_plant_generation_daily_date (date)
+);
+
+CREATE TABLE IF NOT EXISTS plant_generation_weekly (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    plant_id     VARCHAR(50) NOT NULL,
+    week_start   DATE        NOT NULL,
+    gen_sum      DOUBLE      NOT NULL,
+    forecast_sum DOUBLE      NOT NULL,
+    capacity_sum BIGINT      NOT NULL,
+    row_count    BIGINT      NOT NULL,
+    updated_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_plant_generation_weekly (plant_id, week_start),
+    KEY idx_plant_generation_weekly_week_start (week_start)
+);
+
+CREATE TABLE IF NOT EXISTS plant_generation_monthly (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    plant_id     VARCHAR(50) NOT NULL,
+    year         INT         NOT NULL,
+    month        INT         NOT NULL,
+    gen_sum      DOUBLE      NOT NULL,
+    forecast_sum DOUBLE      NOT NULL,
+    capacity_sum BIGINT      NOT NULL,
+    row_count    BIGINT      NOT NULL,
+    updated_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_plant_generation_monthly (plant_id, year, month),
+    KEY idx_plant_generation_monthly_ym (year, month)
+);
+
+-- 증분 처리 작업별 진행 위치
+CREATE TABLE IF NOT EXISTS processing_watermark (
+    name       VARCHAR(100) NOT NULL,
+    last_id    BIGINT       NOT NULL,
+    last_ts    DATETIME(6)  NULL,
+    updated_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name)
+);
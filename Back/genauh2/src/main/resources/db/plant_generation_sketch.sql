@@ -0,0 +1,15 @@
+-- 발전소 x 월 x 시간대 발전량 분위수 스케치 (GenerationSketchService 에서 갱신)
+
+CREATE TABLE IF NOT EXISTS plant_generation_sketch (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    plant_id    VARCHAR(50) NOT NULL,
+    year        INT         NOT NULL,
+    month       INT         NOT NULL,
+    hour        INT         NOT NULL,
+    sketch      MEDIUMBLOB  NOT NULL,
+    value_count BIGINT      NOT NULL,
+    updated_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_plant_generation_sketch (plant_id, year, month, hour),
+    KEY idx_plant_generation_sketch_month (year, month)
+);
@@ -0,0 +1,17 @@
+-- plant_generation (plant_id, date, hour) 유니크 키 (PlantGenerationIngestService 의 upsert 에 필요)
+
+-- 1) 중복 행 정리: 같은 (plant_id, date, hour) 중 id가 가장 큰 행만 남김
+DELETE p
+  FROM plant_generation p
+  JOIN plant_generation q
+    ON q.plant_id = p.plant_id
+   AND q.date = p.date
+   AND q.hour = p.hour
+   AND q.id > p.id;
+
+-- 2) 유니크 키 추가
+ALTER TABLE plant_generation
+    ADD UNIQUE KEY uk_plant_generation_plant_date_hour (plant_id, date, hour);
+
+-- 3) 중복이 지워진 날짜가 롤업/스케치에 남지 않도록 전체 재생성 예약
+DELETE FROM processing_watermark WHERE name IN ('plant_generation_rollup', 'plant_generation_sketch');
@@ -0,0 +1,22 @@
+-- production_real 증분 생성용 스키마 (ProductionRealIncrementalService)
+
+-- 1) 기존 /real/generate-all 반복 호출로 쌓인 중복 정리: 같은 (facid, ts) 중 id가 가장 작은 행만 남김
+DELETE pr
+  FROM production_real pr
+  JOIN production_real keep
+    ON keep.facid = pr.facid
+   AND keep.ts = pr.ts
+   AND keep.hydrogenactualid < pr.hydrogenactualid;
+
+-- 2) upsert 기준 유니크 키
+ALTER TABLE production_real
+    ADD UNIQUE KEY uk_production_real_facid_ts (facid, ts);
+
+-- 3) 설비별 새 행 탐색 (facid, id) - InnoDB 보조 인덱스는 PK(id)를 포함
+ALTER TABLE plant_generation
+    ADD KEY idx_plant_generation_facid (facid);
+
+-- 진행 위치는 processing_watermark 의 "production_real:{facid}" 행 (plant_generation_rollup.sql 에서 생성)
+-- 이미 전체 이력이 들어 있는 경우 아래처럼 현재 최대 id로 초기화하면 기존 행을 다시 계산하지 않습니다.
+-- INSERT INTO processing_watermark (name, last_id, updated_at)
+-- SELECT CONCAT('production_real:', facid), MAX(id), NOW() FROM plant_generation WHERE facid IS NOT NULL GROUP BY facid;
@@ -0,0 +1,19 @@
+-- production_real / production_predict 시각 범위 조회용 인덱스
+-- 모든 조회/삭제는 ts >= :start AND ts < :end (TimeRange) 형태이므로 ts 를 뒤에 둔 복합 인덱스로 범위 탐색
+
+-- production_real: (facid, ts) 는 uk_production_real_facid_ts (production_real_unique.sql) 가 담당
+ALTER TABLE production_real
+    ADD KEY idx_production_real_ts (ts),
+    ADD KEY idx_production_real_orgid_ts (orgid, ts),
+    ADD KEY idx_production_real_plant_id_ts (plant_id, ts);
+
+-- production_predict: (ts, facid) 는 backfill_job.sql 에서 생성
+ALTER TABLE production_predict
+    ADD KEY idx_production_predict_facid_ts (facid, ts),
+    ADD KEY idx_production_predict_orgid_ts (orgid, ts),
+    ADD KEY idx_production_predict_plant_id_ts (plant_id, ts);
+
+-- 확인 (type = range, key = 위 인덱스)
+-- EXPLAIN SELECT ts, idlepowerkw FROM production_real WHERE ts >= '2025-01-01' AND ts < '2025-01-02';
+-- EXPLAIN SELECT * FROM production_real WHERE facid = 1 AND ts >= '2025-01-01' AND ts < '2025-02-01';
+-- EXPLAIN SELECT * FROM production_predict WHERE orgid = 1 AND ts >= '2025-01-01' AND ts < '2025-02-01';
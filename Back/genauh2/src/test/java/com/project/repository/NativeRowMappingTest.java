@@ -0,0 +1,118 @@
+package com.project.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.dto.IdlePowerRow;
+import com.project.dto.PredictRowView;
+import com.project.dto.RealRowView;
+import com.project.support.H2JpaTest;
+
+/**
+ * 네이티브 쿼리 결과가 행 DTO 생성자로 바로 들어오는지 (컬럼 순서/타입이 생성자와 맞는지) 확인
+ */
+@H2JpaTest
+class NativeRowMappingTest {
+
+    private static final LocalDateTime TS = LocalDateTime.of(2025, 5, 1, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private RealRepository realRepository;
+
+    @Autowired
+    private PredictRepository predictRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 운영 DB 컬럼 이름 그대로 (엔티티 매핑과 다른 테이블이 있어 직접 만듦)
+        jdbc.execute("DROP TABLE IF EXISTS production_real");
+        jdbc.execute("CREATE TABLE production_real (hydrogenactualid BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "facid BIGINT, orgid BIGINT, plant_id VARCHAR(50), ts DATETIME, idlepowerkw DECIMAL(10,3), "
+                + "productionkg DECIMAL(12,3), powerconsumedkwh DECIMAL(12,3), utilizationrate DECIMAL(10,3))");
+        jdbc.execute("DROP TABLE IF EXISTS production_predict");
+        jdbc.execute("CREATE TABLE production_predict (predictionid BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "facid BIGINT, orgid BIGINT, plant_id VARCHAR(50), ts DATETIME, idlepowerkw DECIMAL(10,3), "
+                + "predictedmaxkg DECIMAL(10,3), predictedcurrentkg DECIMAL(10,3))");
+        jdbc.update("DELETE FROM plant_generation");
+        jdbc.update("DELETE FROM facilities");
+        jdbc.update("INSERT INTO facilities (facId, orgId, name, type, power_kw, h2_rate, spec_kwh, created) "
+                + "VALUES (7, 70, 'f7', 'PEM', 500, 10, 50, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO plant_generation (plant_id, date, hour, generation_kw, forecast_kwh, capacity_kw) "
+                + "VALUES ('plt001', ?, 10, 123.5, 120, 1000)", LocalDate.of(2025, 5, 1));
+        jdbc.update("INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, "
+                + "powerconsumedkwh, utilizationrate) VALUES (7, 70, 'plt001', ?, 12.345, 1.500, 30.250, 0.875)", TS);
+        // 발전량 행이 없는 시각 → 조인 컬럼은 null
+        jdbc.update("INSERT INTO production_real (facid, orgid, plant_id, ts, idlepowerkw, productionkg, "
+                + "powerconsumedkwh, utilizationrate) VALUES (7, 70, 'plt001', ?, 0, 0, 0, 0)", TS.plusHours(1));
+        jdbc.update("INSERT INTO production_predict (facid, orgid, plant_id, ts, idlepowerkw, predictedmaxkg, "
+                + "predictedcurrentkg) VALUES (7, 70, 'plt001', ?, 11.000, 2.250, 1.125)", TS);
+    }
+
+    @Test
+    void realRowsMapToConstructor() {
+        List<RealRowView> rows = realRepository.findByTsRange(TS, TS.plusHours(2));
+
+        assertThat(rows).hasSize(2);
+        RealRowView row = rows.get(0);
+        assertThat(row.getHydrogenActualId()).isNotNull();
+        assertThat(row.getFacid()).isEqualTo(7L);
+        assertThat(row.getOrgid()).isEqualTo(70L);
+        assertThat(row.getPlantId()).isEqualTo("plt001");
+        assertThat(row.getTs()).isEqualTo(TS);
+        assertThat(row.getIdlepowerkw()).isEqualByComparingTo("12.345");
+        assertThat(row.getProductionKg()).isEqualByComparingTo("1.5");
+        assertThat(row.getPowerConsumedKwh()).isEqualByComparingTo("30.25");
+        assertThat(row.getUtilizationRate()).isEqualByComparingTo("0.875");
+        assertThat(row.getFacilityName()).isEqualTo("f7");
+        assertThat(row.getGenerationKw()).isEqualTo(123.5);
+        assertThat(row.getCapacityKw()).isEqualTo(1000);
+
+        assertThat(rows.get(1).getGenerationKw()).isNull();
+        assertThat(rows.get(1).getCapacityKw()).isNull();
+        assertThat(realRepository.getLatestProductionRealRaw()).hasSize(2);
+        assertThat(realRepository.getProductionRealForFacilityRaw(7L)).hasSize(2);
+        assertThat(realRepository.getProductionRealForPlantRaw("plt001")).hasSize(2);
+    }
+
+    @Test
+    void predictRowsMapToConstructor() {
+        List<PredictRowView> rows = predictRepository.getPredictionsByTsRange(TS, TS.plusHours(1));
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getPredictionid()).isNotNull();
+            assertThat(row.getFacid()).isEqualTo(7L);
+            assertThat(row.getOrgid()).isEqualTo(70L);
+            assertThat(row.getTs()).isEqualTo(TS);
+            assertThat(row.getIdlepowerkw()).isEqualByComparingTo("11");
+            assertThat(row.getPredictedmaxkg()).isEqualByComparingTo("2.25");
+            assertThat(row.getPredictedcurrentkg()).isEqualByComparingTo("1.125");
+            assertThat(row.getFacilityName()).isEqualTo("f7");
+            assertThat(row.getPlantName()).isEqualTo("plt001");
+        });
+        assertThat(predictRepository.getLatestPredictionsRaw()).hasSize(1);
+        assertThat(predictRepository.getPredictionsForFacilityRaw(7L)).hasSize(1);
+        assertThat(predictRepository.getAllPredictionsRaw()).hasSize(1);
+    }
+
+    @Test
+    void idlePowerRowsMapToConstructor() {
+        List<IdlePowerRow> real = realRepository.findIdlePowerBetween(TS, TS.plusHours(2));
+        List<IdlePowerRow> predicted = predictRepository.findIdlePowerBetween(TS, TS.plusHours(2));
+
+        assertThat(real).extracting(IdlePowerRow::getTs).containsExactly(TS, TS.plusHours(1));
+        assertThat(real.get(0).getIdlepowerkw()).isEqualByComparingTo(new BigDecimal("12.345"));
+        assertThat(predicted).hasSize(2);
+    }
+}
@@ -0,0 +1,159 @@
+package com.project.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * db/production_ts_indexes.sql 을 H2(MySQL 모드)에 적용한 뒤
+ * [start, end) 범위 조회 쿼리가 ts 인덱스로 범위 탐색하는지 EXPLAIN 으로 확인
+ */
+class ProductionTsIndexTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:ts_index;MODE=MySQL;NON_KEYWORDS=HOUR,YEAR,MONTH,VALUE,DAY;DB_CLOSE_DELAY=0");
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE facilities (facid BIGINT PRIMARY KEY, name VARCHAR(100))");
+            st.execute("CREATE TABLE plant_generation (id BIGINT AUTO_INCREMENT PRIMARY KEY, facid BIGINT, "
+                    + "plant_id VARCHAR(50), date DATE, hour INT, generation_kw DOUBLE, capacity_kw INT)");
+            st.execute("CREATE TABLE production_real (hydrogenactualid BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "facid BIGINT, orgid BIGINT, plant_id VARCHAR(50), ts TIMESTAMP, idlepowerkw DECIMAL(10,3), "
+                    + "productionkg DECIMAL(10,3), powerconsumedkwh DECIMAL(10,2), utilizationrate DECIMAL(7,4))");
+            st.execute("CREATE TABLE production_predict (predictionid BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "facid BIGINT, orgid BIGINT, plant_id VARCHAR(50), ts TIMESTAMP, idlepowerkw DECIMAL(10,3), "
+                    + "predictedmaxkg DECIMAL(10,3), predictedcurrentkg DECIMAL(10,3))");
+        }
+        // (ts, facid) 는 backfill_job.sql, 나머지는 production_ts_indexes.sql
+        runScript("db/backfill_job.sql");
+        runScript("db/production_ts_indexes.sql");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void realIdlePowerRangeUsesTsIndex() throws Exception {
+        assertThat(explain(RealRepository.class, "findIdlePowerBetween"))
+                .containsIgnoringCase("IDX_PRODUCTION_REAL_TS:");
+    }
+
+    @Test
+    void realRowRangeUsesTsIndex() throws Exception {
+        assertThat(explain(RealRepository.class, "findByTsRange"))
+                .containsIgnoringCase("IDX_PRODUCTION_REAL_TS:");
+    }
+
+    @Test
+    void predictionRangeUsesTsIndex() throws Exception {
+        assertThat(explain(PredictRepository.class, "getPredictionsByTsRange"))
+                .containsIgnoringCase("IDX_PRODUCTION_PREDICT_TS_FACID:");
+    }
+
+    @Test
+    void predictRepositoryIdlePowerRangeUsesTsIndex() throws Exception {
+        assertThat(explain(PredictRepository.class, "findIdlePowerBetween"))
+                .containsIgnoringCase("IDX_PRODUCTION_REAL_TS:");
+    }
+
+    @Test
+    void backfillSourceIndexesAreCreated() throws Exception {
+        // ElectrolyzerProductionEngine 기간 재생성 원본 조회용 (빈 H2 테이블에서는 실행 계획이 PK 를 고르므로 정의만 확인)
+        assertThat(indexColumns("IDX_PLANT_GENERATION_DATE_ID")).containsExactly("DATE", "ID");
+        assertThat(indexColumns("IDX_PLANT_GENERATION_FACID_DATE_ID")).containsExactly("FACID", "DATE", "ID");
+    }
+
+    private List<String> indexColumns(String indexName) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION")) {
+            ps.setString(1, indexName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    // 리포지토리 메서드의 네이티브 쿼리를 그대로 꺼내 :start / :end 를 바인딩한 EXPLAIN 결과
+    private String explain(Class<?> repository, String methodName) throws Exception {
+        Method method = repository.getMethod(methodName, LocalDateTime.class, LocalDateTime.class);
+        String sql = method.getAnnotation(Query.class).value()
+                .replace(":start", "?")
+                .replace(":end", "?");
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            ps.setTimestamp(1, Timestamp.valueOf(start));
+            ps.setTimestamp(2, Timestamp.valueOf(start.plusDays(1)));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    // 주석을 빼고 ';' 로 나눠 실행. H2 는 ALTER TABLE 한 문장에 여러 ADD 를 못 받으므로 절마다 나눔
+    private void runScript(String resource) throws IOException, SQLException {
+        String script;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            assertThat(in).as(resource).isNotNull();
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder body = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                body.append(line).append('\n');
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            for (String statement : body.toString().split(";")) {
+                for (String sql : splitAlter(statement.trim())) {
+                    st.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static List<String> splitAlter(String statement) {
+        List<String> result = new ArrayList<>();
+        if (statement.isEmpty()) {
+            return result;
+        }
+        String upper = statement.toUpperCase();
+        int add = upper.indexOf(" ADD ");
+        if (!upper.startsWith("ALTER TABLE") || add < 0) {
+            result.add(statement);
+            return result;
+        }
+        String prefix = statement.substring(0, add);
+        for (String clause : statement.substring(add).split(",\\s*(?=ADD )")) {
+            result.add(prefix + " " + clause.trim());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.config.GenerationExecutorConfig;
+import com.project.entity.BackfillChunk;
+import com.project.entity.BackfillJob;
+import com.project.repository.BackfillChunkRepository;
+import com.project.repository.BackfillJobRepository;
+import com.project.repository.PredictRepository;
+import com.project.util.ElectrolyzerModel;
+
+class BackfillServiceTest {
+
+    private static final long JOB_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private BackfillJobRepository jobRepo;
+    private BackfillChunkRepository chunkRepo;
+    private ElectrolyzerProductionEngine engine;
+    private ProductionTotalIndex totalIndex;
+    private ThreadPoolTaskExecutor executor;
+    private BackfillService service;
+    private BackfillJob job;
+    private CountDownLatch finished;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jobRepo = mock(BackfillJobRepository.class);
+        chunkRepo = mock(BackfillChunkRepository.class);
+        engine = mock(ElectrolyzerProductionEngine.class);
+        totalIndex = mock(ProductionTotalIndex.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        doAnswer(inv -> {
+            ((Consumer<TransactionStatus>) inv.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        job = BackfillJob.builder()
+                .id(JOB_ID)
+                .type(BackfillJob.JobType.REAL)
+                .split(BackfillJob.Split.DAY)
+                .startDate(START)
+                .endDate(START.plusDays(29))
+                .status(BackfillJob.Status.FAILED)
+                .totalChunks(30)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(jobRepo.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(jobRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(chunkRepo.statsByJob(JOB_ID)).thenReturn(List.of());
+        // rebuildRange() 는 synchronized 라 verify(timeout) 으로 기다리면 모니터를 잡고 있어 호출이 막힘 → 래치로 대기
+        finished = new CountDownLatch(1);
+        when(totalIndex.rebuildRange(any(), any(), any())).thenAnswer(inv -> {
+            finished.countDown();
+            return 0;
+        });
+        when(engine.loadModels()).thenReturn(Map.of(7L, new ElectrolyzerModel(7, 1, 500, 50, 10)));
+
+        // 풀 2 + 큐 2
+        executor = new GenerationExecutorConfig().backfillExecutor(2, 2);
+        service = new BackfillService(jobRepo, chunkRepo, engine, mock(PredictRepository.class), transactionTemplate,
+                totalIndex, executor);
+        ReflectionTestUtils.setField(service, "workers", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void workersPullChunksWithBoundedQueueAndModelsLoadedOnce() throws InterruptedException {
+        List<BackfillChunk> chunks = chunks(30);
+        when(chunkRepo.findByJobIdAndStatusOrderByIdAsc(JOB_ID, BackfillChunk.Status.PENDING)).thenReturn(chunks);
+        AtomicInteger maxQueued = new AtomicInteger();
+        when(engine.generateBetween(anyMap(), any(), any(), any())).thenAnswer(inv -> {
+            maxQueued.accumulateAndGet(executor.getThreadPoolExecutor().getQueue().size(), Math::max);
+            return 24;
+        });
+
+        service.resume(JOB_ID);
+
+        awaitFinish();
+        assertThat(chunks).allSatisfy(c -> {
+            assertThat(c.getStatus()).isEqualTo(BackfillChunk.Status.DONE);
+            assertThat(c.getRowCount()).isEqualTo(24L);
+        });
+        assertThat(job.getStatus()).isEqualTo(BackfillJob.Status.COMPLETED);
+        // 청크마다가 아니라 작업당 한 번
+        verify(engine, times(1)).loadModels();
+        verify(engine, times(30)).generateBetween(anyMap(), eq(null), any(), any());
+        verify(engine, never()).generateBetween(any(), any(), any());
+        // 풀 큐에는 작업의 워커만 들어감 (청크 수와 무관)
+        assertThat(maxQueued.get()).isLessThanOrEqualTo(2);
+        // 누적 생산량 인덱스는 작업 기간만 다시 구성
+        verify(totalIndex).rebuildRange(null, START.atStartOfDay(), START.plusDays(30).atStartOfDay());
+        verify(totalIndex, never()).rebuild();
+    }
+
+    @Test
+    void cancelStopsWorkersFromTakingMoreChunks() throws InterruptedException {
+        List<BackfillChunk> chunks = chunks(30);
+        when(chunkRepo.findByJobIdAndStatusOrderByIdAsc(JOB_ID, BackfillChunk.Status.PENDING)).thenReturn(chunks);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(engine.generateBetween(anyMap(), any(), any(), any())).thenAnswer(inv -> {
+            firstStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+
+        service.resume(JOB_ID);
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        service.cancel(JOB_ID);
+        release.countDown();
+
+        awaitFinish();
+        assertThat(job.getStatus()).isEqualTo(BackfillJob.Status.CANCELLED);
+        // 실행 중이던 청크(워커 수만큼)만 끝나고 나머지는 PENDING
+        assertThat(chunks.stream().filter(c -> c.getStatus() == BackfillChunk.Status.DONE).count())
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void fullPoolLeavesJobPendingForResume() throws InterruptedException {
+        when(chunkRepo.findByJobIdAndStatusOrderByIdAsc(JOB_ID, BackfillChunk.Status.PENDING)).thenReturn(chunks(3));
+        // 스레드 2개 + 큐 2칸을 모두 막음
+        CountDownLatch block = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        try {
+            assertThatThrownBy(() -> service.resume(JOB_ID)).isInstanceOf(IllegalStateException.class);
+            assertThat(job.getStatus()).isEqualTo(BackfillJob.Status.PENDING);
+        } finally {
+            block.countDown();
+        }
+
+        // 자리가 나면 다시 시작 가능 (실행 중 표시가 남지 않음)
+        Thread.sleep(100);
+        finished = new CountDownLatch(1);
+        when(engine.generateBetween(anyMap(), any(), any(), any())).thenReturn(1);
+        service.resume(JOB_ID);
+        awaitFinish();
+        assertThat(job.getStatus()).isEqualTo(BackfillJob.Status.COMPLETED);
+        verify(chunkRepo, never()).findLastError(anyLong());
+    }
+
+    private void awaitFinish() throws InterruptedException {
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static List<BackfillChunk> chunks(int days) {
+        List<BackfillChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            chunks.add(BackfillChunk.builder()
+                    .id((long) i + 1)
+                    .jobId(JOB_ID)
+                    .chunkDate(START.plusDays(i))
+                    .status(BackfillChunk.Status.PENDING)
+                    .attempts(0)
+                    .rowCount(0L)
+                    .durationMs(0L)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        return chunks;
+    }
+}
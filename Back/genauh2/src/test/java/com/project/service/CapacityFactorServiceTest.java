@@ -0,0 +1,182 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.dto.CapacityFactorSeriesDTO;
+import com.project.dto.GenerationPlantDailySum;
+import com.project.repository.PlantGenerationDailyRepository;
+import com.project.repository.PlantGenerationRepository;
+
+class CapacityFactorServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+    private static final LocalDate END = LocalDate.of(2025, 3, 31);
+
+    private PlantGenerationRepository repo;
+    private PlantGenerationDailyRepository dailyRollupRepo;
+    private GenerationRollupService rollupService;
+    private CapacityFactorService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(PlantGenerationRepository.class);
+        dailyRollupRepo = mock(PlantGenerationDailyRepository.class);
+        rollupService = mock(GenerationRollupService.class);
+        service = new CapacityFactorService(repo, dailyRollupRepo, rollupService);
+    }
+
+    @Test
+    void rollingRatiosMatchBruteForceIncludingLeadInDays() {
+        LocalDate from = START.minusDays(29);
+        Random random = new Random(7);
+        List<GenerationPlantDailySum> rows = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(END); d = d.plusDays(1)) {
+            rows.add(sum("plt001", d, random.nextDouble() * 5_000, 24_000L));
+            // plt002 는 격일로만 데이터가 있음
+            if (d.getDayOfMonth() % 2 == 0) {
+                rows.add(sum("plt002", d, random.nextDouble() * 1_000, 2_400L));
+            }
+        }
+        when(repo.sumDailyByPlant(isNull(), eq(from), eq(END), any(), anyInt())).thenReturn(rows);
+
+        List<CapacityFactorSeriesDTO> result = service.getRollingCapacityFactor(null, START, END, List.of(7, 30));
+
+        assertThat(result).extracting(CapacityFactorSeriesDTO::getPlantId).containsExactly("plt001", "plt002");
+        for (CapacityFactorSeriesDTO series : result) {
+            assertThat(series.getDates()).hasSize(31).startsWith(START).endsWith(END);
+            for (int w : List.of(7, 30)) {
+                List<Double> values = series.getWindows().get(w);
+                for (int i = 0; i < series.getDates().size(); i++) {
+                    Double expected = bruteForce(rows, series.getPlantId(), series.getDates().get(i), w);
+                    if (expected == null) {
+                        assertThat(values.get(i)).isNull();
+                    } else {
+                        assertThat(values.get(i)).isCloseTo(expected, within(1e-9));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void windowWithoutCapacityIsNull() {
+        LocalDate from = START.minusDays(6);
+        when(repo.sumDailyByPlant(isNull(), eq(from), eq(END), any(), anyInt()))
+                .thenReturn(List.of(sum("plt001", START, 100.0, 1_000L), sum("plt001", END, 0.0, 0L)));
+
+        CapacityFactorSeriesDTO series = service.getRollingCapacityFactor(null, START, END, List.of(7)).get(0);
+
+        List<Double> values = series.getWindows().get(7);
+        assertThat(values.get(0)).isCloseTo(10.0, within(1e-9));
+        assertThat(values.get(6)).isCloseTo(10.0, within(1e-9));
+        // 3/8 부터는 구간 안에 설비용량이 없음
+        assertThat(values.subList(7, 31)).containsOnlyNulls();
+    }
+
+    @Test
+    void defaultsToSevenThirtyNinetyDayWindows() {
+        when(repo.sumDailyByPlant(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(sum("plt001", START, 1.0, 10L)));
+
+        CapacityFactorSeriesDTO series = service.getRollingCapacityFactor("plt001", START, END, null).get(0);
+
+        assertThat(series.getWindows()).containsOnlyKeys(7, 30, 90);
+        verify(repo).sumDailyByPlant(eq("plt001"), eq(START.minusDays(89)), eq(END), any(), anyInt());
+    }
+
+    @Test
+    void rejectsInvalidWindowsAndRange() {
+        assertThatThrownBy(() -> service.getRollingCapacityFactor(null, START, END, List.of(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getRollingCapacityFactor(null, START, END,
+                List.of(CapacityFactorService.MAX_WINDOW_DAYS + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getRollingCapacityFactor(null, START, END, Arrays.asList(7, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getRollingCapacityFactor(null, END, START, List.of(7)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void closedDaysComeFromRollupAndRestFromRaw() {
+        LocalDate closedBefore = LocalDate.of(2025, 3, 20);
+        LocalDate from = START.minusDays(6);
+        when(rollupService.closedBefore()).thenReturn(closedBefore);
+        when(dailyRollupRepo.findDailyByPlant(isNull(), eq(from), eq(closedBefore.minusDays(1))))
+                .thenReturn(List.of(sum("plt001", START, 100.0, 1_000L)));
+        when(repo.sumDailyByPlant(isNull(), eq(closedBefore), eq(END), any(), anyInt()))
+                .thenReturn(List.of(sum("plt001", END, 300.0, 1_000L)));
+
+        CapacityFactorSeriesDTO series = service.getRollingCapacityFactor(null, START, END, List.of(7)).get(0);
+
+        assertThat(series.getWindows().get(7).get(0)).isCloseTo(10.0, within(1e-9));
+        assertThat(series.getWindows().get(7).get(30)).isCloseTo(30.0, within(1e-9));
+    }
+
+    @Test
+    void fullyClosedRangeReadsOnlyRollup() {
+        when(rollupService.closedBefore()).thenReturn(END.plusDays(10));
+        when(dailyRollupRepo.findDailyByPlant(any(), any(), any())).thenReturn(List.of());
+
+        assertThat(service.getRollingCapacityFactor(null, START, END, List.of(7))).isEmpty();
+
+        verify(dailyRollupRepo).findDailyByPlant(null, START.minusDays(6), END);
+        verify(repo, never()).sumDailyByPlant(any(), any(), any(), any(), anyInt());
+    }
+
+    private static Double bruteForce(List<GenerationPlantDailySum> rows, String plantId, LocalDate date, int window) {
+        LocalDate first = date.minusDays(window - 1);
+        double gen = 0;
+        long capacity = 0;
+        for (GenerationPlantDailySum row : rows) {
+            if (row.getPlantId().equals(plantId) && !row.getDate().isBefore(first) && !row.getDate().isAfter(date)) {
+                gen += row.getGenSum();
+                capacity += row.getCapacitySum();
+            }
+        }
+        return capacity > 0 ? gen / capacity * 100 : null;
+    }
+
+    private static GenerationPlantDailySum sum(String plantId, LocalDate date, double gen, long capacity) {
+        return new GenerationPlantDailySum() {
+            @Override
+            public String getPlantId() {
+                return plantId;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public Double getGenSum() {
+                return gen;
+            }
+
+            @Override
+            public Long getCapacitySum() {
+                return capacity;
+            }
+        };
+    }
+}
@@ -0,0 +1,190 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.dto.GenerationAnomalyDTO;
+import com.project.entity.PlantGeneration;
+import com.project.repository.PlantGenerationRepository;
+
+class GenerationAnomalyScorerTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final List<PlantGeneration> table = new ArrayList<>();
+    private PlantGenerationRepository repo;
+    private GenerationAnomalyScorer scorer;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(PlantGenerationRepository.class);
+        // id 순 키셋 페이징과 워밍업 시작점을 메모리 목록으로 흉내
+        when(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            return table.stream().filter(r -> r.getId() > afterId).limit(page.getPageSize()).toList();
+        });
+        when(repo.findMinIdSince(any())).thenAnswer(inv -> {
+            LocalDate since = inv.getArgument(0);
+            return table.stream().filter(r -> !r.getDate().isBefore(since)).map(PlantGeneration::getId)
+                    .min(Long::compare).orElse(null);
+        });
+        when(repo.findMaxId()).thenAnswer(inv -> table.isEmpty() ? 0L : table.get(table.size() - 1).getId());
+
+        scorer = new GenerationAnomalyScorer(repo);
+        ReflectionTestUtils.setField(scorer, "enabled", true);
+        ReflectionTestUtils.setField(scorer, "alpha", 0.1);
+        ReflectionTestUtils.setField(scorer, "threshold", 3.0);
+        ReflectionTestUtils.setField(scorer, "minSamples", 7);
+        ReflectionTestUtils.setField(scorer, "minStdKw", 1.0);
+        ReflectionTestUtils.setField(scorer, "warmupDays", 28);
+        ReflectionTestUtils.setField(scorer, "history", 168);
+    }
+
+    @Test
+    void noScoreUntilMinSamplesThenScoresAgainstPriorBaseline() {
+        for (int d = 20; d >= 1; d--) {
+            insert("plt001", TODAY.minusDays(d), 12, 100.0 + (d % 2 == 0 ? 5 : -5));
+        }
+        scorer.refresh();
+
+        List<GenerationAnomalyDTO> scores = scorer.getScores("plt001", 100, false);
+        assertThat(scores).hasSize(20);
+        assertThat(scores.subList(0, 7)).allSatisfy(s -> assertThat(s.getScore()).isNull());
+        assertThat(scores.subList(7, 20)).allSatisfy(s -> {
+            assertThat(s.getScore()).isNotNull();
+            assertThat(s.isAnomaly()).isFalse();
+        });
+        // 오래된 것부터
+        assertThat(scores.get(0).getDate()).isEqualTo(TODAY.minusDays(20));
+    }
+
+    @Test
+    void spikeIsFlaggedAndScoredBeforeBaselineAbsorbsIt() {
+        for (int d = 20; d >= 2; d--) {
+            insert("plt001", TODAY.minusDays(d), 12, 100.0 + (d % 2 == 0 ? 5 : -5));
+        }
+        scorer.refresh();
+        GenerationAnomalyDTO before = last(scorer.getScores("plt001", 1, false));
+
+        insert("plt001", TODAY.minusDays(1), 12, 400.0);
+        scorer.refresh();
+
+        GenerationAnomalyDTO spike = last(scorer.getScores("plt001", 1, false));
+        assertThat(spike.isAnomaly()).isTrue();
+        assertThat(spike.getScore()).isGreaterThan(3.0);
+        // 기대값은 갱신 전 기준선 (이전 점수 시점 평균과 직전 값으로 한 단계 갱신한 값)
+        double expected = before.getExpectedKw() + 0.1 * (before.getGenerationKw() - before.getExpectedKw());
+        assertThat(spike.getExpectedKw()).isCloseTo(expected, within(1e-9));
+        assertThat(scorer.getScores("plt001", 10, true)).containsExactly(spike);
+    }
+
+    @Test
+    void flatZeroHourUsesStdFloor() {
+        for (int d = 10; d >= 2; d--) {
+            insert("plt001", TODAY.minusDays(d), 2, 0.0);
+        }
+        insert("plt001", TODAY.minusDays(1), 2, 0.5);
+        scorer.refresh();
+
+        GenerationAnomalyDTO night = last(scorer.getScores("plt001", 1, false));
+        assertThat(night.getStdKw()).isEqualTo(1.0);
+        assertThat(night.getScore()).isCloseTo(0.5, within(1e-9));
+        assertThat(night.isAnomaly()).isFalse();
+    }
+
+    @Test
+    void lateAndDuplicateRowsForSameHourAreSkipped() {
+        insert("plt001", TODAY.minusDays(3), 12, 100.0);
+        insert("plt001", TODAY.minusDays(3), 12, 100.0);
+        insert("plt001", TODAY.minusDays(5), 12, 100.0);
+        insert("plt001", TODAY.minusDays(5), 13, 100.0);
+        scorer.refresh();
+
+        List<GenerationAnomalyDTO> scores = scorer.getScores("plt001", 100, false);
+        assertThat(scores).extracting(GenerationAnomalyDTO::getHour).containsExactly(12, 13);
+    }
+
+    @Test
+    void historyKeepsOnlyMostRecentScoresPerPlant() {
+        ReflectionTestUtils.setField(scorer, "history", 5);
+        for (int d = 12; d >= 1; d--) {
+            insert("plt001", TODAY.minusDays(d), 12, 100.0);
+            insert("plt002", TODAY.minusDays(d), 12, 50.0);
+        }
+        scorer.refresh();
+
+        assertThat(scorer.getScores("plt001", 100, false)).hasSize(5)
+                .extracting(GenerationAnomalyDTO::getDate)
+                .containsExactly(TODAY.minusDays(5), TODAY.minusDays(4), TODAY.minusDays(3),
+                        TODAY.minusDays(2), TODAY.minusDays(1));
+        assertThat(scorer.getScores("plt001", 2, false)).hasSize(2);
+        assertThat(scorer.getScores(null, 100, false)).hasSize(10);
+        assertThat(scorer.getScores("unknown", 100, false)).isEmpty();
+    }
+
+    @Test
+    void warmupSkipsRowsOlderThanWarmupDaysAndRefreshReadsOnlyNewIds() {
+        insert("plt001", TODAY.minusDays(60), 12, 100.0);
+        long recentFirst = insert("plt001", TODAY.minusDays(10), 12, 100.0);
+        scorer.refresh();
+
+        assertThat(scorer.getScores("plt001", 100, false)).hasSize(1);
+        verify(repo).findByIdGreaterThanOrderByIdAsc(eq(recentFirst - 1), any(Pageable.class));
+
+        long next = insert("plt001", TODAY.minusDays(9), 12, 100.0);
+        clearInvocations(repo);
+        scorer.refresh();
+        // 이미 채점한 id 다음부터만 읽음 (기간 시작점을 다시 찾지 않음)
+        verify(repo).findByIdGreaterThanOrderByIdAsc(eq(next - 1), any(Pageable.class));
+        verify(repo, never()).findMinIdSince(any());
+        assertThat(scorer.getScores("plt001", 100, false)).hasSize(2);
+    }
+
+    @Test
+    void invalidatingRecentDateRebuildsBaselineFromOverwrittenValues() {
+        for (int d = 10; d >= 1; d--) {
+            insert("plt001", TODAY.minusDays(d), 12, 100.0);
+        }
+        scorer.refresh();
+        assertThat(last(scorer.getScores("plt001", 1, false)).getGenerationKw()).isEqualTo(100.0);
+
+        // 같은 id 로 덮어쓴 행은 증분 채점에 잡히지 않으므로 날짜 무효화로 다시 계산
+        PlantGeneration old = table.get(table.size() - 1);
+        table.set(table.size() - 1, new PlantGeneration(old.getId(), old.getPlantId(), old.getDate(), old.getHour(),
+                900.0, old.getForecast_Kwh(), old.getCapacity_Kw()));
+        scorer.invalidateDates(List.of(old.getDate()));
+
+        GenerationAnomalyDTO rescored = last(scorer.getScores("plt001", 1, false));
+        assertThat(rescored.getGenerationKw()).isEqualTo(900.0);
+        assertThat(rescored.isAnomaly()).isTrue();
+        assertThat(scorer.getScores("plt001", 100, false)).hasSize(10);
+    }
+
+    private long insert(String plantId, LocalDate date, int hour, double generation) {
+        long id = table.size() + 1;
+        table.add(new PlantGeneration(id, plantId, date, hour, generation, generation, 1000));
+        return id;
+    }
+
+    private static GenerationAnomalyDTO last(List<GenerationAnomalyDTO> scores) {
+        return scores.get(scores.size() - 1);
+    }
+}
@@ -0,0 +1,196 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.dto.GenerationCoverageDTO;
+import com.project.dto.GenerationGapDTO;
+import com.project.dto.GenerationHourKey;
+import com.project.repository.PlantGenerationRepository;
+
+class GenerationQualityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final List<GenerationHourKey> table = new ArrayList<>();
+    private PlantGenerationRepository repo;
+    private GenerationQualityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(PlantGenerationRepository.class);
+        when(repo.streamHourKeysAfter(anyLong())).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            return table.stream().filter(k -> k.getId() > afterId);
+        });
+        index = new GenerationQualityIndex(repo);
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    void fullDaysHaveNoGaps() {
+        LocalDate day = TODAY.minusDays(3);
+        insertDay("plt001", day, 0, 24);
+        insertDay("plt001", day.plusDays(1), 0, 24);
+
+        index.rebuild();
+
+        assertThat(index.getGaps("plt001", day, day.plusDays(1))).isEmpty();
+        GenerationCoverageDTO coverage = index.getCoverage("plt001", day, day.plusDays(1)).get(0);
+        assertThat(coverage.getDays()).isEqualTo(2);
+        assertThat(coverage.getCompleteDays()).isEqualTo(2);
+        assertThat(coverage.getCoverageRate()).isEqualTo(100.0);
+    }
+
+    @Test
+    void missingHoursAndEmptyDaysAreReported() {
+        LocalDate day = TODAY.minusDays(5);
+        insertDay("plt001", day, 0, 24);
+        // 다음 날은 0~19시만, 그다음 날은 행이 없음
+        insertDay("plt001", day.plusDays(1), 0, 20);
+        insertDay("plt001", day.plusDays(3), 0, 24);
+
+        index.rebuild();
+
+        List<GenerationGapDTO> gaps = index.getGaps("plt001", day, day.plusDays(3));
+        assertThat(gaps).extracting(GenerationGapDTO::getDate).containsExactly(day.plusDays(1), day.plusDays(2));
+        assertThat(gaps.get(0).getPresentHours()).isEqualTo(20);
+        assertThat(gaps.get(0).getMissingHours()).containsExactly(20, 21, 22, 23);
+        assertThat(gaps.get(1).getPresentHours()).isZero();
+        assertThat(gaps.get(1).getMissingHours()).hasSize(24);
+        assertThat(gaps).allSatisfy(g -> assertThat(g.getDuplicateHours()).isEmpty());
+
+        GenerationCoverageDTO coverage = index.getCoverage("plt001", day, day.plusDays(3)).get(0);
+        assertThat(coverage.getIncompleteDays()).isEqualTo(2);
+        assertThat(coverage.getMissingHours()).isEqualTo(4 + 24);
+        assertThat(coverage.getCoverageRate()).isEqualTo((96.0 - 28) / 96 * 100);
+    }
+
+    @Test
+    void todayIsCheckedOnlyUpToCurrentHour() {
+        int nowHour = LocalTime.now().getHour();
+        insertDay("plt001", TODAY, 0, nowHour + 1);
+
+        index.rebuild();
+
+        // 시각이 바뀌는 순간과 겹치면 한 시간이 누락으로 보일 수 있으므로 현재 시각 이전만 확인
+        List<GenerationGapDTO> gaps = index.getGaps("plt001", TODAY, TODAY);
+        assertThat(gaps).allSatisfy(g -> assertThat(g.getMissingHours()).allMatch(h -> h > nowHour));
+    }
+
+    @Test
+    void duplicateMaskMarksRepeatedHoursOnly() {
+        LocalDate day = TODAY.minusDays(2);
+        insertDay("plt001", day, 0, 24);
+        // 유니크 키 적용 전 DB 처럼 같은 시간 행이 또 있음
+        insert("plt001", day, 7);
+        insert("plt001", day, 7);
+        insert("plt001", day, 9);
+
+        index.rebuild();
+
+        GenerationGapDTO gap = index.getGaps("plt001", day, day).get(0);
+        assertThat(gap.getMissingHours()).isEmpty();
+        assertThat(gap.getDuplicateHours()).containsExactly(7, 9);
+        assertThat(index.getCoverage("plt001", day, day).get(0).getDuplicateHours()).isEqualTo(2);
+    }
+
+    @Test
+    void earlierDateThanFirstRowShiftsMasks() {
+        LocalDate day = TODAY.minusDays(3);
+        insertDay("plt001", day, 0, 24);
+        insertDay("plt001", day.minusDays(2), 0, 12);
+
+        index.rebuild();
+
+        // 첫 일자가 앞으로 당겨져도 기존 일자의 마스크는 그대로
+        List<GenerationGapDTO> gaps = index.getGaps("plt001", day.minusDays(2), day);
+        assertThat(gaps).extracting(GenerationGapDTO::getDate).containsExactly(day.minusDays(2), day.minusDays(1));
+        assertThat(gaps.get(0).getMissingHours()).hasSize(12).startsWith(12);
+    }
+
+    @Test
+    void rangeStartsAtPlantsFirstDayAndInvalidHoursAreIgnored() {
+        LocalDate day = TODAY.minusDays(2);
+        insertDay("plt001", day, 0, 24);
+        insert("plt001", day, 24);
+        insert("plt001", day, -1);
+
+        index.rebuild();
+
+        // 첫 데이터 이전 날짜는 기대 구간이 아님
+        assertThat(index.getGaps("plt001", day.minusDays(10), day)).isEmpty();
+        assertThat(index.getCoverage("plt001", day.minusDays(10), day).get(0).getDays()).isEqualTo(1);
+        assertThat(index.getGaps("unknown", day, day)).isEmpty();
+    }
+
+    @Test
+    void refreshAppliesOnlyNewIds() {
+        LocalDate day = TODAY.minusDays(2);
+        insertDay("plt001", day, 0, 12);
+        index.rebuild();
+        assertThat(index.getGaps("plt001", day, day).get(0).getPresentHours()).isEqualTo(12);
+
+        long lastId = table.size();
+        insertDay("plt001", day, 12, 24);
+        index.refresh();
+
+        verify(repo).streamHourKeysAfter(lastId);
+        assertThat(index.getGaps("plt001", day, day)).isEmpty();
+    }
+
+    @Test
+    void rebuildAfterRowDeletionDropsStaleBits() {
+        LocalDate day = TODAY.minusDays(2);
+        insertDay("plt001", day, 0, 24);
+        index.rebuild();
+
+        table.removeIf(k -> k.getHour() == 5);
+        index.rebuild();
+
+        assertThat(index.getGaps("plt001", day, day).get(0).getMissingHours()).containsExactly(5);
+    }
+
+    private void insertDay(String plantId, LocalDate date, int fromHour, int toHour) {
+        for (int h = fromHour; h < toHour; h++) {
+            insert(plantId, date, h);
+        }
+    }
+
+    private void insert(String plantId, LocalDate date, int hour) {
+        long id = table.size() + 1;
+        table.add(new GenerationHourKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getPlantId() {
+                return plantId;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public Integer getHour() {
+                return hour;
+            }
+        });
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.dto.GenerationDailySum;
+import com.project.repository.PlantGenerationDailyRepository;
+import com.project.repository.PlantGenerationRepository;
+import com.project.repository.PlantGenerationWeeklyRepository;
+import com.project.support.H2JpaTest;
+
+@H2JpaTest
+@Import(GenerationRollupService.class)
+class GenerationRollupServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private GenerationRollupService rollupService;
+
+    @Autowired
+    private PlantGenerationRepository repo;
+
+    @Autowired
+    private PlantGenerationDailyRepository dailyRepo;
+
+    @Autowired
+    private PlantGenerationWeeklyRepository weeklyRepo;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM plant_generation");
+        jdbc.update("DELETE FROM plant_generation_daily");
+        jdbc.update("DELETE FROM plant_generation_weekly");
+        jdbc.update("DELETE FROM plant_generation_monthly");
+        jdbc.update("DELETE FROM processing_watermark");
+    }
+
+    @Test
+    void firstRefreshBuildsEveryMonthFromRaw() {
+        LocalDate start = TODAY.minusDays(70);
+        for (LocalDate d = start; !d.isAfter(TODAY); d = d.plusDays(1)) {
+            insertDay("plt001", d, 24, 10.0);
+            insertDay("plt002", d, 23, 5.0);
+        }
+
+        rollupService.refresh();
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM plant_generation_daily", Long.class)).isEqualTo(71L * 2);
+        assertThat(jdbc.queryForObject("SELECT SUM(gen_sum) FROM plant_generation_daily", Double.class))
+                .isEqualTo(jdbc.queryForObject("SELECT SUM(generation_kw) FROM plant_generation", Double.class));
+        assertThat(jdbc.queryForObject("SELECT SUM(gen_sum) FROM plant_generation_monthly", Double.class))
+                .isEqualTo(jdbc.queryForObject("SELECT SUM(generation_kw) FROM plant_generation", Double.class));
+        assertThat(jdbc.queryForObject("SELECT SUM(gen_sum) FROM plant_generation_weekly", Double.class))
+                .isEqualTo(jdbc.queryForObject("SELECT SUM(generation_kw) FROM plant_generation", Double.class));
+    }
+
+    @Test
+    void closedBeforeKeepsOneDayGraceWindow() {
+        insertDay("plt001", TODAY.minusDays(3), 24, 1.0);
+        assertThat(rollupService.closedBefore()).isNull();
+
+        rollupService.refresh();
+
+        // 오늘 갱신했어도 어제는 늦게 들어오는 행이 있을 수 있어 닫힌 기간이 아님
+        assertThat(rollupService.closedBefore()).isEqualTo(TODAY.minusDays(1));
+    }
+
+    @Test
+    void lateRowsForRecheckedDayAreFoldedIn() {
+        LocalDate yesterday = TODAY.minusDays(1);
+        insertDay("plt001", yesterday, 12, 2.0);
+        rollupService.refresh();
+
+        // 같은 날의 나머지 시간이 늦게 도착
+        for (int h = 12; h < 24; h++) {
+            insertRow("plt001", yesterday, h, 2.0);
+        }
+        rollupService.refresh();
+
+        assertThat(jdbc.queryForObject(
+                "SELECT row_count FROM plant_generation_daily WHERE plant_id = 'plt001' AND date = ?",
+                Long.class, yesterday)).isEqualTo(24L);
+    }
+
+    @Test
+    void dailyRollupKeepsHourCountForIncompleteFlag() {
+        LocalDate day = TODAY.minusDays(5);
+        insertDay("plt001", day, 24, 1.0);
+        insertDay("plt002", day, 20, 1.0);
+        rollupService.refresh();
+
+        assertThat(jdbc.queryForList("SELECT hour_count FROM plant_generation_daily WHERE date = ? ORDER BY plant_id",
+                Integer.class, day)).containsExactly(24, 20);
+
+        GenerationDailySum all = dailyRepo.sumDaily(null, day, day).get(0);
+        assertThat(all.getHourCount()).isEqualTo(44L);
+        assertThat(all.getPlantCount()).isEqualTo(2L);
+        assertThat(PlantGenerationQueryService.isIncomplete(all, TODAY, 0)).isTrue();
+        assertThat(PlantGenerationQueryService.isIncomplete(dailyRepo.sumDaily("plt001", day, day).get(0), TODAY, 0))
+                .isFalse();
+
+        // 롤업 전 구간(원본)도 같은 값
+        GenerationDailySum raw = repo.sumDaily(null, day, day, TODAY, 23).get(0);
+        assertThat(raw.getHourCount()).isEqualTo(44L);
+        assertThat(raw.getPlantCount()).isEqualTo(2L);
+
+        // 주별 롤업 프로젝션에는 시간 수가 없음 → 판단하지 않음
+        List<GenerationDailySum> weekly = weeklyRepo.sumWeekly(null, day.minusDays(7), day);
+        assertThat(weekly).allSatisfy(w -> assertThat(w.getHourCount()).isNull());
+    }
+
+    private void insertDay(String plantId, LocalDate date, int hours, double generation) {
+        for (int h = 0; h < hours; h++) {
+            insertRow(plantId, date, h, generation);
+        }
+    }
+
+    private void insertRow(String plantId, LocalDate date, int hour, double generation) {
+        jdbc.update("INSERT INTO plant_generation (plant_id, date, hour, generation_kw, forecast_kwh, capacity_kw) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", plantId, date, hour, generation, generation, 100);
+    }
+}
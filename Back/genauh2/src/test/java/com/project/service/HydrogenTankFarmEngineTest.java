@@ -0,0 +1,295 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.dto.PlantPredictionRow;
+import com.project.dto.TankFarmStatusDTO;
+import com.project.entity.HydrogenTank;
+import com.project.entity.TankDrawdown;
+import com.project.repository.HydrogenTankRepository;
+import com.project.repository.PredictRepository;
+import com.project.repository.TankDrawdownRepository;
+
+/**
+ * 시간별 생산량(0.001kg)을 배열로 들고 있는 가짜 인덱스로 넘침, 모자란 인출,
+ * 과거 시간 변경 후 재계산, 예정 인출을 포함한 가득 참 예상 시각, 발전소당 진행 시간을 확인
+ */
+class HydrogenTankFarmEngineTest {
+
+    // 시작일 = 2일 전 0시 → 현재 시간까지 48시간 이상 진행
+    private static final LocalDate START = LocalDate.now().minusDays(2);
+    private static final LocalDateTime START_TS = START.atStartOfDay();
+
+    private final Map<String, long[]> hourly = new HashMap<>();
+    private final Map<String, List<HydrogenTank>> tanks = new HashMap<>();
+    private final Map<String, List<TankDrawdown>> drawdowns = new HashMap<>();
+
+    private ProductionTotalIndex index;
+    private PredictRepository predictRepository;
+    private HydrogenTankFarmEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // 인덱스는 목 대신 직접 구현 (시간 측정 테스트에서 목 호출 비용이 섞이지 않도록)
+        index = new FakeIndex();
+        HydrogenTankRepository tankRepo = mock(HydrogenTankRepository.class, withSettings().stubOnly());
+        TankDrawdownRepository drawdownRepo = mock(TankDrawdownRepository.class, withSettings().stubOnly());
+        predictRepository = mock(PredictRepository.class, withSettings().stubOnly());
+
+        when(tankRepo.findByPlantIdOrderByFillOrderAscIdAsc(anyString()))
+                .thenAnswer(inv -> tanks.getOrDefault(inv.<String>getArgument(0), List.of()));
+        when(drawdownRepo.findByPlantIdAndTsGreaterThanEqualOrderByTsAscIdAsc(anyString(), any()))
+                .thenAnswer(inv -> drawdowns.getOrDefault(inv.<String>getArgument(0), List.of()));
+        when(predictRepository.sumPredictedByPlant(anyString(), any(), any())).thenReturn(List.of());
+
+        engine = new HydrogenTankFarmEngine(index, tankRepo, drawdownRepo, predictRepository);
+        ReflectionTestUtils.setField(engine, "startDate", START.toString());
+        ReflectionTestUtils.setField(engine, "defaultTankCount", 1);
+        ReflectionTestUtils.setField(engine, "defaultTankCapacityKg", new BigDecimal("1000"));
+        ReflectionTestUtils.setField(engine, "projectionHours", 168);
+    }
+
+    @Test
+    void productionAboveTotalCapacityIsVentedAndTanksFillInOrder() {
+        production("P1", 0, 6_000, 6_000, 6_000);
+        tanks("P1", "4", "6");
+
+        TankFarmStatusDTO status = engine.getStatus("P1");
+
+        assertThat(status.getTotalProducedKg()).isEqualByComparingTo("18");
+        assertThat(status.getStoredKg()).isEqualByComparingTo("10");
+        assertThat(status.getVentedKg()).isEqualByComparingTo("8");
+        assertThat(status.getFullTanksCount()).isEqualTo(2);
+        assertThat(status.getFillRate()).isEqualTo(100.0);
+        // 이미 가득 차 있으면 예상 시각 = 지금
+        assertThat(status.getFullAt()).isEqualTo(status.getAsOf());
+    }
+
+    @Test
+    void drawdownLargerThanStoredIsPartlyUnmet() {
+        production("P1", 0, 5_000);
+        tanks("P1", "100");
+        drawdown("P1", START_TS.plusHours(1), "8");
+        drawdown("P1", START_TS.plusHours(2), "1");
+
+        TankFarmStatusDTO status = engine.getStatus("P1");
+
+        assertThat(status.getTotalDrawnKg()).isEqualByComparingTo("5");
+        assertThat(status.getUnmetDrawKg()).isEqualByComparingTo("4");
+        assertThat(status.getStoredKg()).isEqualByComparingTo("0");
+        assertThat(status.getFullTanksCount()).isZero();
+    }
+
+    @Test
+    void changedPastHourIsReplayedOnNextStatus() {
+        production("P1", 4_000, 4_000);
+        tanks("P1", "10");
+        drawdown("P1", START_TS.plusHours(1), "3");
+        assertThat(engine.getStatus("P1").getStoredKg()).isEqualByComparingTo("5");
+
+        // 이미 반영한 0시 생산량이 수정됨 → 넘침/인출까지 처음부터 다시 계산: 9 → 13 넘침 3 → 인출 3 → 7
+        hourly.get("P1")[0] = 9_000;
+        TankFarmStatusDTO status = engine.getStatus("P1");
+
+        assertThat(status.getTotalProducedKg()).isEqualByComparingTo("13");
+        assertThat(status.getVentedKg()).isEqualByComparingTo("3");
+        assertThat(status.getTotalDrawnKg()).isEqualByComparingTo("3");
+        assertThat(status.getStoredKg()).isEqualByComparingTo("7");
+
+        // 9 → 17 넘침 7 → 인출 3 → 7
+        hourly.get("P1")[1] = 8_000;
+        status = engine.getStatus("P1");
+        assertThat(status.getTotalProducedKg()).isEqualByComparingTo("17");
+        assertThat(status.getVentedKg()).isEqualByComparingTo("7");
+        assertThat(status.getStoredKg()).isEqualByComparingTo("7");
+    }
+
+    @Test
+    void fullAtFollowsPredictionsAndScheduledDrawdowns() {
+        production("P1", 0);
+        tanks("P1", "100");
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        // 예정 인출은 그 시간 생산 뒤에 빠짐: 30, 60-50=10, 40, 70, 100
+        drawdown("P1", from.plusHours(1), "50");
+        when(predictRepository.sumPredictedByPlant(eq("P1"), any(), any())).thenAnswer(inv -> {
+            LocalDateTime first = inv.getArgument(1);
+            List<PlantPredictionRow> rows = new ArrayList<>();
+            for (int h = 0; h < 5; h++) {
+                rows.add(prediction(first.plusHours(h), 30.0));
+            }
+            return rows;
+        });
+
+        TankFarmStatusDTO status = engine.getStatus("P1");
+
+        assertThat(status.getTotalDrawnKg()).isEqualByComparingTo("0");
+        assertThat(status.getFullAt()).isEqualTo(status.getAsOf().plusHours(5));
+
+        // 예정 인출이 없으면 네 번째 시간에 가득 참
+        drawdowns.remove("P1");
+        ReflectionTestUtils.invokeMethod(engine, "invalidate", "P1");
+        assertThat(engine.getStatus("P1").getFullAt()).isEqualTo(status.getAsOf().plusHours(4));
+    }
+
+    @Test
+    void unknownPlantIsRejectedWithoutLoadingTanks() {
+        HydrogenTankRepository tankRepo = mock(HydrogenTankRepository.class);
+        TankDrawdownRepository drawdownRepo = mock(TankDrawdownRepository.class);
+        HydrogenTankFarmEngine guarded = new HydrogenTankFarmEngine(index, tankRepo, drawdownRepo, predictRepository);
+        ReflectionTestUtils.setField(guarded, "startDate", START.toString());
+
+        assertThatThrownBy(() -> guarded.getStatus("nope")).isInstanceOf(IllegalArgumentException.class);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(guarded, "states")).isEmpty();
+        verifyNoInteractions(tankRepo, drawdownRepo);
+    }
+
+    @Test
+    void refreshStaysWellUnderAMillisecondPerPlant() {
+        int plantCount = 500;
+        int rounds = 5;
+        // 이틀치 생산 (7~18시 12.345kg)
+        long[] values = new long[48];
+        for (int h = 0; h < values.length; h++) {
+            values[h] = (h % 24 >= 7 && h % 24 <= 18) ? 12_345 : 0;
+        }
+        for (int p = 0; p < plantCount; p++) {
+            hourly.put("P" + p, values.clone());
+            tanks("P" + p, "50", "50");
+            drawdown("P" + p, START_TS.plusHours(20), "30");
+        }
+        Map<?, ?> states = (Map<?, ?>) ReflectionTestUtils.getField(engine, "states");
+        // JIT 예열
+        engine.refresh();
+
+        // 매번 상태를 버려 구성 적재 + 시작일부터 현재까지 전부 다시 진행하는 경우를 잼
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            states.clear();
+            engine.refresh();
+        }
+        double perPlantMicros = (System.nanoTime() - started) / 1000.0 / (rounds * plantCount);
+
+        assertThat(perPlantMicros).isLessThan(1000.0);
+
+        // 이미 현재 시간까지 진행한 상태의 주기 갱신 (과거 변경 확인만)
+        started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            engine.refresh();
+        }
+        double steadyMicros = (System.nanoTime() - started) / 1000.0 / (rounds * plantCount);
+        assertThat(steadyMicros).isLessThan(250.0);
+
+        TankFarmStatusDTO status = engine.getStatus("P0");
+        assertThat(status.getTotalProducedKg()).isEqualByComparingTo("296.28");
+        assertThat(status.getTotalDrawnKg()).isEqualByComparingTo("30");
+    }
+
+    private void production(String plantId, long... gramsByHour) {
+        hourly.put(plantId, gramsByHour);
+    }
+
+    private void tanks(String plantId, String... capacities) {
+        List<HydrogenTank> list = new ArrayList<>();
+        for (int i = 0; i < capacities.length; i++) {
+            list.add(HydrogenTank.builder()
+                    .plantId(plantId)
+                    .name("T" + (i + 1))
+                    .capacityKg(new BigDecimal(capacities[i]))
+                    .fillOrder(i)
+                    .build());
+        }
+        tanks.put(plantId, list);
+    }
+
+    private void drawdown(String plantId, LocalDateTime ts, String kg) {
+        drawdowns.computeIfAbsent(plantId, k -> new ArrayList<>()).add(TankDrawdown.builder()
+                .plantId(plantId)
+                .ts(ts)
+                .amountKg(new BigDecimal(kg))
+                .build());
+    }
+
+    private static PlantPredictionRow prediction(LocalDateTime ts, Double kg) {
+        return new PlantPredictionRow() {
+            @Override
+            public LocalDateTime getTs() {
+                return ts;
+            }
+
+            @Override
+            public Double getPredictedKg() {
+                return kg;
+            }
+        };
+    }
+
+    /** 시작일 0시부터의 시간별 생산량 배열을 읽는 인덱스 */
+    private class FakeIndex extends ProductionTotalIndex {
+
+        FakeIndex() {
+            super(null);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public boolean hasPlant(String plantId) {
+            return hourly.containsKey(plantId);
+        }
+
+        @Override
+        public List<String> plantIds() {
+            return new ArrayList<>(hourly.keySet());
+        }
+
+        @Override
+        public BigDecimal sumByPlant(String plantId, LocalDateTime start, LocalDateTime end) {
+            long[] values = hourly.get(plantId);
+            long sum = 0;
+            for (long h = Math.max(0, hoursFromStart(start)); h < Math.min(values.length, hoursFromStart(end)); h++) {
+                sum += values[(int) h];
+            }
+            return BigDecimal.valueOf(sum, 3);
+        }
+
+        @Override
+        public long[] hourlyByPlant(String plantId, LocalDateTime start, int hours) {
+            long[] values = hourly.get(plantId);
+            long from = hoursFromStart(start);
+            long[] result = new long[hours];
+            for (int i = 0; i < hours; i++) {
+                long h = from + i;
+                result[i] = (h >= 0 && h < values.length) ? values[(int) h] : 0;
+            }
+            return result;
+        }
+    }
+
+    private static long hoursFromStart(LocalDateTime t) {
+        return ChronoUnit.HOURS.between(START_TS, t.truncatedTo(ChronoUnit.HOURS));
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.project.entity.PlantGeneration;
+import com.project.repository.PlantGenerationRepository;
+
+class IntradayGenerationAccumulatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    private PlantGenerationRepository repo;
+    private IntradayGenerationAccumulator accumulator;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(PlantGenerationRepository.class);
+        when(repo.findMaxId()).thenReturn(100L);
+        when(repo.findByDateOrderByHourAsc(any())).thenReturn(List.of());
+        when(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        accumulator = new IntradayGenerationAccumulator(repo);
+        clock = new MutableClock(DAY.atTime(10, 30));
+        accumulator.setClock(clock);
+    }
+
+    @Test
+    void accumulatesOnlyHoursUpToNow() {
+        accumulator.offer("plt001", DAY, 9, 10, 12, 100);
+        accumulator.offer("plt001", DAY, 10, 20, 18, 100);
+        // 아직 오지 않은 시간대는 보관만 함
+        accumulator.offer("plt001", DAY, 11, 40, 30, 100);
+        accumulator.offer("plt002", DAY, 10, 5, 4, 50);
+
+        IntradayGenerationAccumulator.Totals plant = accumulator.get("plt001");
+        assertThat(plant.generation).isEqualTo(30.0);
+        assertThat(plant.forecast).isEqualTo(30.0);
+        assertThat(plant.capacity).isEqualTo(200.0);
+        assertThat(plant.hours).isEqualTo(2);
+        assertThat(accumulator.get(null).generation).isEqualTo(35.0);
+        assertThat(accumulator.get(null).hours).isEqualTo(3);
+
+        // 11시가 되면 보관해 둔 시간대가 누적 합계에 더해짐
+        clock.set(DAY.atTime(11, 0));
+        assertThat(accumulator.get("plt001").generation).isEqualTo(70.0);
+        assertThat(accumulator.get("plt001").hours).isEqualTo(3);
+        assertThat(accumulator.get("unknown")).isSameAs(IntradayGenerationAccumulator.Totals.EMPTY);
+    }
+
+    @Test
+    void sameRowOfferedTwiceOrOverwrittenCountsOnce() {
+        accumulator.offer("plt001", DAY, 9, 10, 10, 100);
+        // 워터마크로 같은 행이 다시 들어와도 그대로
+        accumulator.offer("plt001", DAY, 9, 10, 10, 100);
+        // 같은 칸 덮어쓰기는 차이만큼만
+        accumulator.offer("plt001", DAY, 9, 16, 10, 100);
+
+        IntradayGenerationAccumulator.Totals plant = accumulator.get("plt001");
+        assertThat(plant.generation).isEqualTo(16.0);
+        assertThat(plant.hours).isEqualTo(1);
+        assertThat(accumulator.get(null).generation).isEqualTo(16.0);
+    }
+
+    @Test
+    void ignoresRowsOfOtherDays() {
+        accumulator.offer("plt001", DAY.minusDays(1), 9, 10, 10, 100);
+        accumulator.offer("plt001", DAY.plusDays(1), 0, 10, 10, 100);
+
+        assertThat(accumulator.get("plt001").hours).isZero();
+    }
+
+    @Test
+    void resetsAtSeoulMidnightAndLoadsNewDayOnce() {
+        accumulator.offer("plt001", DAY, 9, 10, 10, 100);
+        assertThat(accumulator.get("plt001").hours).isEqualTo(1);
+
+        LocalDate next = DAY.plusDays(1);
+        when(repo.findByDateOrderByHourAsc(next)).thenReturn(List.of(row(101L, "plt001", next, 0, 7.0)));
+        // 서울 자정 = UTC 15시
+        clock.setInstant(DAY.atTime(15, 0).toInstant(ZoneOffset.UTC));
+
+        IntradayGenerationAccumulator.Totals plant = accumulator.get("plt001");
+        assertThat(plant.generation).isEqualTo(7.0);
+        assertThat(plant.hours).isEqualTo(1);
+        accumulator.get(null);
+        verify(repo, times(1)).findByDateOrderByHourAsc(next);
+    }
+
+    @Test
+    void refreshAddsRowsAfterWatermarkWithoutRegrouping() {
+        accumulator.get(null);
+        when(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(row(101L, "plt001", DAY, 10, 3.0), row(102L, "plt001", DAY.minusDays(1), 10, 50.0)))
+                .thenReturn(List.of());
+
+        accumulator.refresh();
+
+        assertThat(accumulator.get("plt001").generation).isEqualTo(3.0);
+        // 워터마크 다음부터 읽고, 날짜 전체를 다시 읽지 않음
+        verify(repo).findByIdGreaterThanOrderByIdAsc(eq(100L), any(Pageable.class));
+        verify(repo, times(1)).findByDateOrderByHourAsc(DAY);
+        verify(repo, never()).findByDateOrderByHourAsc(DAY.minusDays(1));
+    }
+
+    private static PlantGeneration row(Long id, String plantId, LocalDate date, int hour, double generation) {
+        return new PlantGeneration(id, plantId, date, hour, generation, generation, 100);
+    }
+
+    // 서울 시각 기준으로 바꿀 수 있는 시계
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDateTime seoulTime) {
+            set(seoulTime);
+        }
+
+        void set(LocalDateTime seoulTime) {
+            this.instant = seoulTime.atZone(IntradayGenerationAccumulator.SEOUL).toInstant();
+        }
+
+        void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return IntradayGenerationAccumulator.SEOUL;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
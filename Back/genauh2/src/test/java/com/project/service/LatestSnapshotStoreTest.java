@@ -0,0 +1,252 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.dto.OrgLatestSummaryDTO;
+import com.project.entity.LatestSnapshot;
+import com.project.entity.PlantGeneration;
+import com.project.entity.ProcessingWatermark;
+import com.project.entity.Real;
+import com.project.repository.LatestSnapshotRepository;
+import com.project.repository.PlantGenerationRepository;
+import com.project.repository.ProcessingWatermarkRepository;
+import com.project.repository.RealRepository;
+
+/**
+ * 메모리 목록을 원본/스냅샷/watermark 테이블처럼 돌려주는 가짜 리포지토리로
+ * 적재(스냅샷 + watermark 이후 따라잡기), 최신 값 규칙, 커밋 후 반영, 조직 합계, 재구성을 확인
+ */
+class LatestSnapshotStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 1);
+
+    private final List<PlantGeneration> generations = new ArrayList<>();
+    private final List<Real> productions = new ArrayList<>();
+    private final Map<String, LatestSnapshot> snapshotTable = new HashMap<>();
+    private final Map<String, ProcessingWatermark> watermarkTable = new HashMap<>();
+
+    private LatestSnapshotRepository snapshotRepo;
+    private ProcessingWatermarkRepository watermarkRepo;
+    private LatestSnapshotStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        snapshotRepo = mock(LatestSnapshotRepository.class);
+        PlantGenerationRepository generationRepo = mock(PlantGenerationRepository.class);
+        RealRepository realRepo = mock(RealRepository.class);
+        watermarkRepo = mock(ProcessingWatermarkRepository.class);
+
+        when(snapshotRepo.findAll()).thenAnswer(inv -> new ArrayList<>(snapshotTable.values()));
+        when(snapshotRepo.saveAll(any())).thenAnswer(inv -> {
+            for (LatestSnapshot s : (Iterable<LatestSnapshot>) inv.getArgument(0)) {
+                snapshotTable.put(s.getName(), s);
+            }
+            return null;
+        });
+        when(generationRepo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            return generations.stream().filter(g -> g.getId() > afterId)
+                    .sorted(Comparator.comparing(PlantGeneration::getId))
+                    .limit(page.getPageSize()).collect(Collectors.toList());
+        });
+        when(realRepo.findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(anyLong(), any())).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            return productions.stream().filter(r -> r.getHydrogenActualId() > afterId)
+                    .sorted(Comparator.comparing(Real::getHydrogenActualId))
+                    .limit(page.getPageSize()).collect(Collectors.toList());
+        });
+        when(watermarkRepo.findById(any())).thenAnswer(inv -> Optional.ofNullable(watermarkTable.get(inv.getArgument(0))));
+        when(watermarkRepo.saveAll(any())).thenAnswer(inv -> {
+            for (ProcessingWatermark w : (Iterable<ProcessingWatermark>) inv.getArgument(0)) {
+                watermarkTable.put(w.getName(), ProcessingWatermark.builder().name(w.getName()).lastId(w.getLastId()).build());
+            }
+            return null;
+        });
+        doAnswer(inv -> {
+            ((Iterable<String>) inv.getArgument(0)).forEach(watermarkTable::remove);
+            return null;
+        }).when(watermarkRepo).deleteAllById(any());
+        doAnswer(inv -> {
+            snapshotTable.clear();
+            return null;
+        }).when(snapshotRepo).deleteAllInBatch();
+
+        // TransactionTemplate 은 내부에서 만들므로 트랜잭션 매니저만 가짜로
+        store = new LatestSnapshotStore(snapshotRepo, generationRepo, realRepo, watermarkRepo,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(store, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void startupUsesSnapshotTableAndCatchesUpOnlyAfterWatermark() {
+        // 이미 저장된 최신 상태 + watermark
+        snapshotTable.put("facility:3", facility(3L, 30L, "P1", DAY.atTime(5, 0), "1.000").toBuilder()
+                .name("facility:3").updatedAt(LocalDateTime.now()).build());
+        watermarkTable.put("latest_snapshot:production_real",
+                ProcessingWatermark.builder().name("latest_snapshot:production_real").lastId(10L).build());
+        // watermark 이전 행은 다시 읽지 않음 (더 늦은 시각이어도)
+        productions.add(real(10L, 3L, 30L, "P1", DAY.atTime(9, 0), "9.000"));
+        productions.add(real(11L, 3L, 30L, "P1", DAY.atTime(6, 0), "2.000"));
+        productions.add(real(12L, 4L, 30L, "P1", DAY.atTime(6, 0), "3.000"));
+        generations.add(new PlantGeneration(1L, "P1", DAY, 6, 100.0, 90.0, 500));
+        generations.add(new PlantGeneration(2L, "P1", DAY, 5, 50.0, 40.0, 500));
+
+        store.loadOnStartup();
+
+        assertThat(store.isReady()).isTrue();
+        assertThat(store.getFacilities(null)).extracting(LatestSnapshot::getFacId).containsExactly(3L, 4L);
+        assertThat(store.getFacilities(null).get(0).getProductionKg()).isEqualByComparingTo("2");
+        // 발전량은 배치 안에서도 가장 늦은 시각만
+        LatestSnapshot plant = store.getPlant("P1");
+        assertThat(plant.getGenerationTs()).isEqualTo(DAY.atTime(6, 0));
+        assertThat(plant.getGenerationKw()).isEqualTo(100.0);
+        // 발전소 생산량 = 가장 늦은 시각 설비들의 합
+        assertThat(plant.getProductionTs()).isEqualTo(DAY.atTime(6, 0));
+        assertThat(plant.getProductionKg()).isEqualByComparingTo("5");
+        assertThat(watermarkTable.get("latest_snapshot:production_real").getLastId()).isEqualTo(12L);
+        assertThat(watermarkTable.get("latest_snapshot:plant_generation").getLastId()).isEqualTo(2L);
+        assertThat(snapshotTable).containsKeys("plant:P1", "facility:3", "facility:4");
+    }
+
+    @Test
+    void olderCandidatesAreIgnoredAndSameTimeOverwrites() {
+        store.loadOnStartup();
+        store.offer(List.of(facility(1L, 10L, "P1", DAY.atTime(10, 0), "1.000")));
+
+        store.offer(List.of(facility(1L, 10L, "P1", DAY.atTime(9, 0), "7.000")));
+        assertThat(store.getFacilities(null).get(0).getProductionKg()).isEqualByComparingTo("1");
+
+        store.offer(List.of(facility(1L, 10L, "P1", DAY.atTime(10, 0), "4.000")));
+        assertThat(store.getFacilities(null).get(0).getProductionKg()).isEqualByComparingTo("4");
+        assertThat(snapshotTable.get("facility:1").getProductionKg()).isEqualByComparingTo("4");
+    }
+
+    @Test
+    void offerInsideTransactionIsAppliedAfterCommit() {
+        store.loadOnStartup();
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.offer(List.of(facility(1L, 10L, "P1", DAY.atTime(10, 0), "1.000")));
+        assertThat(store.getFacilities(null)).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(store.getFacilities(null)).hasSize(1);
+    }
+
+    @Test
+    void orgSummaryAddsLatestFacilitiesAndTheirPlants() {
+        store.loadOnStartup();
+        store.offer(List.of(
+                facility(1L, 10L, "P1", DAY.atTime(10, 0), "1.000"),
+                facility(2L, 10L, "P2", DAY.atTime(11, 0), "2.000"),
+                facility(3L, 20L, "P3", DAY.atTime(11, 0), "5.000")));
+        store.offer(List.of(
+                plant("P1", DAY.atTime(10, 0), 100.0, 1000),
+                plant("P2", DAY.atTime(11, 0), 50.0, 500),
+                plant("P3", DAY.atTime(12, 0), 70.0, 700)));
+
+        OrgLatestSummaryDTO summary = store.getOrgSummary(10L);
+
+        assertThat(summary.getFacilityCount()).isEqualTo(2);
+        assertThat(summary.getLatestProductionTs()).isEqualTo(DAY.atTime(11, 0));
+        assertThat(summary.getProductionKg()).isEqualByComparingTo("3");
+        assertThat(summary.getAvgUtilizationRate()).isEqualByComparingTo("50");
+        assertThat(summary.getPlantCount()).isEqualTo(2);
+        assertThat(summary.getGenerationKw()).isEqualTo(150.0);
+        assertThat(summary.getCapacityKw()).isEqualTo(1500);
+        assertThat(store.getFacilities(20L)).extracting(LatestSnapshot::getFacId).containsExactly(3L);
+        assertThat(store.findLatestPlant().getPlantId()).isEqualTo("P3");
+        assertThat(store.getOrgSummary(99L).getFacilityCount()).isZero();
+    }
+
+    @Test
+    void rebuildDropsDeletedRowsAndRereadsFromStart() {
+        productions.add(real(1L, 1L, 10L, "P1", DAY.atTime(1, 0), "1.000"));
+        productions.add(real(2L, 2L, 10L, "P1", DAY.atTime(1, 0), "2.000"));
+        store.loadOnStartup();
+        assertThat(store.getFacilities(null)).hasSize(2);
+
+        // 설비 2 행 삭제 → refresh 로는 반영되지 않음
+        productions.removeIf(r -> r.getFacid() == 2L);
+        store.refresh();
+        assertThat(store.getFacilities(null)).hasSize(2);
+
+        assertThat(store.rebuild()).isEqualTo(1);
+        assertThat(store.getFacilities(null)).extracting(LatestSnapshot::getFacId).containsExactly(1L);
+        assertThat(store.getPlant("P1").getProductionKg()).isEqualByComparingTo("1");
+        assertThat(snapshotTable).doesNotContainKey("facility:2");
+        verify(snapshotRepo).deleteAllInBatch();
+        verify(watermarkRepo).deleteAllById(List.of("latest_snapshot:plant_generation", "latest_snapshot:production_real"));
+    }
+
+    private static LatestSnapshot facility(Long facId, Long orgId, String plantId, LocalDateTime ts, String kg) {
+        return LatestSnapshot.builder()
+                .facId(facId)
+                .orgId(orgId)
+                .plantId(plantId)
+                .productionTs(ts)
+                .productionKg(new BigDecimal(kg))
+                .idlePowerKw(BigDecimal.ONE)
+                .powerConsumedKwh(BigDecimal.TEN)
+                .utilizationRate(new BigDecimal("50.000"))
+                .build();
+    }
+
+    private static LatestSnapshot plant(String plantId, LocalDateTime ts, double generationKw, int capacityKw) {
+        return LatestSnapshot.builder()
+                .plantId(plantId)
+                .generationTs(ts)
+                .generationKw(generationKw)
+                .forecastKwh(generationKw)
+                .capacityKw(capacityKw)
+                .build();
+    }
+
+    private static Real real(Long id, Long facId, Long orgId, String plantId, LocalDateTime ts, String kg) {
+        return Real.builder()
+                .hydrogenActualId(id)
+                .facid(facId)
+                .orgid(orgId)
+                .plantId(plantId)
+                .ts(ts)
+                .productionKg(new BigDecimal(kg))
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.dto.GenerationIngestResultDTO;
+import com.project.support.H2JpaTest;
+
+/**
+ * 적재 → facid 기록 → (요청 밖) production_real 재계산까지 한 번에 확인
+ * 파생 저장소 갱신 실행기는 호출 스레드에서 바로 실행하도록 바꿔 끝난 뒤 결과를 확인
+ */
+@H2JpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ PlantGenerationIngestService.class, ElectrolyzerProductionEngine.class,
+        PlantGenerationIngestServiceTest.DirectExecutorConfig.class })
+class PlantGenerationIngestServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 1);
+
+    @TestConfiguration
+    static class DirectExecutorConfig {
+        @Bean(name = "ingestDerivedExecutor")
+        Executor ingestDerivedExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlantGenerationIngestService ingestService;
+
+    @MockitoBean
+    private GenerationRollupService rollupService;
+    @MockitoBean
+    private GenerationQualityIndex qualityIndex;
+    @MockitoBean
+    private LatestSnapshotStore latestSnapshotStore;
+    @MockitoBean
+    private GenerationSeriesStore seriesStore;
+    @MockitoBean
+    private GenerationSketchService sketchService;
+    @MockitoBean
+    private IntradayGenerationAccumulator intradayAccumulator;
+    @MockitoBean
+    private GenerationAnomalyScorer anomalyScorer;
+    @MockitoBean
+    private ProductionTotalIndex productionTotalIndex;
+
+    @BeforeEach
+    void setUp() {
+        // 운영 DB 에는 있지만 엔티티에는 없는 컬럼/키 (production_real_unique.sql)
+        jdbc.execute("ALTER TABLE plant_generation ADD COLUMN IF NOT EXISTS facid BIGINT");
+        jdbc.execute("DROP TABLE IF EXISTS production_real");
+        jdbc.execute("CREATE TABLE production_real (hydrogenactualid BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "facid BIGINT, orgid BIGINT, plant_id VARCHAR(50), ts TIMESTAMP, idlepowerkw DECIMAL(10,3), "
+                + "productionkg DECIMAL(12,3), powerconsumedkwh DECIMAL(12,3), utilizationrate DECIMAL(10,3), "
+                + "UNIQUE (facid, ts))");
+        jdbc.update("DELETE FROM plant_generation");
+        jdbc.update("DELETE FROM facilities");
+        jdbc.update("INSERT INTO facilities (facId, orgId, name, type, power_kw, h2_rate, spec_kwh, created) "
+                + "VALUES (7, 70, 'f7', 'PEM', 500, 10, 50, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO facilities (facId, orgId, name, type, power_kw, h2_rate, spec_kwh, created) "
+                + "VALUES (8, 80, 'f8', 'PEM', 500, 10, 50, CURRENT_TIMESTAMP)");
+    }
+
+    @Test
+    void ingestedRowsGetFacIdFromExistingRowsAndProduceProductionReal() throws IOException {
+        // 이미 facid 가 붙어 있는 발전소 (외부 적재로 들어온 행)
+        jdbc.update("INSERT INTO plant_generation (plant_id, date, hour, generation_kw, forecast_kwh, capacity_kw, facid) "
+                + "VALUES ('plt001', ?, 0, 0, 0, 100, 7)", DAY.minusDays(30));
+
+        StringBuilder csv = new StringBuilder("plantId,date,hour,generation_Kw,forecast_Kwh,capacity_Kw\n");
+        for (int h = 0; h < 24; h++) {
+            csv.append("plt001,").append(DAY).append(',').append(h).append(',').append(h * 20.0).append(",1.0,100\n");
+        }
+        GenerationIngestResultDTO result = ingestService.ingest(stream(csv.toString()), true);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getAcceptedRows()).isEqualTo(24);
+        assertThat(result.isDerivedRefreshQueued()).isTrue();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM plant_generation WHERE date = ? AND facid = 7",
+                Long.class, DAY)).isEqualTo(24L);
+        // generateBetween(null, …) 이 새 행을 읽어 설비 7의 production_real 을 만듦
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM production_real WHERE facid = 7 AND ts >= ? AND ts < ?",
+                Long.class, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay())).isEqualTo(24L);
+        assertThat(jdbc.queryForObject("SELECT plant_id FROM production_real WHERE facid = 7 AND ts = ?",
+                String.class, DAY.atTime(12, 0))).isEqualTo("plt001");
+    }
+
+    @Test
+    void explicitFacIdWinsAndOverwriteKeepsKnownFacId() throws IOException {
+        String ndjson = "{\"plantId\":\"plt002\",\"date\":\"" + DAY + "\",\"hour\":9,\"generation_Kw\":300,"
+                + "\"forecast_Kwh\":1,\"capacity_Kw\":100,\"facid\":8}\n"
+                + "{\"plantId\":\"plt002\",\"date\":\"" + DAY + "\",\"hour\":10,\"generation_Kw\":310,"
+                + "\"forecast_Kwh\":1,\"capacity_Kw\":100}\n";
+        ingestService.ingest(stream(ndjson), false);
+
+        // 같은 요청 안에서 앞 행의 facid 를 이어 씀
+        assertThat(jdbc.queryForList("SELECT facid FROM plant_generation WHERE plant_id = 'plt002' ORDER BY hour",
+                Long.class)).containsExactly(8L, 8L);
+
+        // facid 없이 다시 적재해도 (다른 요청, 기존 행에서 찾음) 덮어쓴 값으로 다시 계산
+        String overwrite = "{\"plantId\":\"plt002\",\"date\":\"" + DAY + "\",\"hour\":9,\"generation_Kw\":0,"
+                + "\"forecast_Kwh\":1,\"capacity_Kw\":100}\n";
+        ingestService.ingest(stream(overwrite), false);
+
+        assertThat(jdbc.queryForObject("SELECT facid FROM plant_generation WHERE plant_id = 'plt002' AND hour = 9",
+                Long.class)).isEqualTo(8L);
+        assertThat(jdbc.queryForObject("SELECT idlepowerkw FROM production_real WHERE facid = 8 AND ts = ?",
+                Double.class, DAY.atTime(9, 0))).isZero();
+    }
+
+    @Test
+    void unknownPlantIsStoredWithoutFacIdAndSkippedByProduction() throws IOException {
+        ingestService.ingest(stream("plantId,date,hour,generation_Kw,forecast_Kwh,capacity_Kw\n"
+                + "plt999," + DAY + ",5,100,1,100\n"), true);
+
+        assertThat(jdbc.queryForObject("SELECT facid FROM plant_generation WHERE plant_id = 'plt999'", Long.class))
+                .isNull();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM production_real", Long.class)).isZero();
+    }
+
+    @Test
+    void headerErrorBeforeAnyWriteIsThrown() {
+        assertThatThrownBy(() -> ingestService.ingest(stream("plantId,date\nplt001,2025-05-01\n"), true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failureAfterCommittedBatchReturnsPartialResultInsteadOfThrowing() throws IOException {
+        ReflectionTestUtils.setField(ingestService, "batchSize", 1);
+        // 첫 배치는 커밋, 두 번째 배치 처리 중 실패
+        doNothing().doThrow(new IllegalStateException("boom")).when(intradayAccumulator)
+                .offer(any(), any(), anyInt(), anyDouble(), anyDouble(), anyDouble());
+
+        GenerationIngestResultDTO result = ingestService.ingest(stream(row("plt001", 0) + row("plt001", 1)), false);
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getError()).isEqualTo("boom");
+        assertThat(result.getBatches()).isEqualTo(1);
+        assertThat(result.getAcceptedRows()).isEqualTo(1);
+        // 커밋된 날짜는 파생 저장소 갱신까지 예약
+        assertThat(result.isDerivedRefreshQueued()).isTrue();
+        verify(rollupService).rebuildDates(new TreeSet<>(Set.of(DAY)));
+    }
+
+    private static String row(String plantId, int hour) {
+        return "{\"plantId\":\"" + plantId + "\",\"date\":\"" + DAY + "\",\"hour\":" + hour
+                + ",\"generation_Kw\":1,\"forecast_Kwh\":1,\"capacity_Kw\":100}\n";
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.config.GenerationExecutorConfig;
+import com.project.repository.ProcessingWatermarkRepository;
+import com.project.repository.RealRepository;
+import com.project.util.ElectrolyzerModel;
+
+class ProductionRealIncrementalServiceTest {
+
+    private static final int FACILITIES = 40;
+
+    private RealRepository realRepository;
+    private ElectrolyzerProductionEngine engine;
+    private ThreadPoolTaskExecutor executor;
+    private ProductionRealIncrementalService service;
+
+    private final Set<Long> processed = ConcurrentHashMap.newKeySet();
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        realRepository = mock(RealRepository.class);
+        engine = mock(ElectrolyzerProductionEngine.class);
+        ProcessingWatermarkRepository watermarkRepo = mock(ProcessingWatermarkRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        // 풀 2 + 큐 2 → 나머지 설비는 호출 스레드가 처리해야 함
+        executor = new GenerationExecutorConfig().productionRealExecutor(2, 2);
+
+        Map<Long, ElectrolyzerModel> models = new LinkedHashMap<>();
+        for (long facId = 1; facId <= FACILITIES; facId++) {
+            models.put(facId, new ElectrolyzerModel(facId, 1, 500, 50, 10));
+        }
+        when(engine.loadModels()).thenReturn(models);
+        // 설비마다 청크 하나 (0 → facId * 10) 후 끝
+        when(realRepository.findChunkEndId(any(), anyLong(), anyInt())).thenAnswer(inv -> {
+            Long facId = inv.getArgument(0);
+            long fromId = inv.getArgument(1);
+            return fromId == 0 ? facId * 10 : null;
+        });
+        when(engine.generateRange(any(), eq(0L), anyLong())).thenAnswer(inv -> {
+            ElectrolyzerModel model = inv.getArgument(0);
+            maxQueued.accumulateAndGet(executor.getThreadPoolExecutor().getQueue().size(), Math::max);
+            Thread.sleep(5);
+            processed.add(model.getFacId());
+            threads.add(Thread.currentThread().getName());
+            return 24;
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(watermarkRepo.findById(any())).thenReturn(Optional.empty());
+
+        service = new ProductionRealIncrementalService(realRepository, watermarkRepo, engine, transactionTemplate, executor);
+        ReflectionTestUtils.setField(service, "chunkSize", 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void everyFacilityIsProcessedWithBoundedQueue() {
+        int total = service.generateIncremental();
+
+        assertThat(total).isEqualTo(FACILITIES * 24);
+        assertThat(processed).hasSize(FACILITIES);
+        assertThat(maxQueued.get()).isLessThanOrEqualTo(2);
+        // 큐가 찼을 때는 거부 대신 호출 스레드에서 실행
+        assertThat(threads).contains(Thread.currentThread().getName());
+        assertThat(threads).anyMatch(name -> name.startsWith("prod-real-"));
+    }
+
+    @Test
+    void singleFacilityRunsOnCallerThread() {
+        assertThat(service.generateIncremental(3L)).isEqualTo(24);
+        assertThat(service.generateIncremental(999L)).isZero();
+
+        assertThat(processed).containsExactly(3L);
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+}
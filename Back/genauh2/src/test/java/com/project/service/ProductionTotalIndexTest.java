@@ -0,0 +1,271 @@
+package com.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.entity.Real;
+import com.project.repository.RealRepository;
+
+/**
+ * 메모리 목록을 production_real 처럼 돌려주는 가짜 리포지토리로
+ * 합계의 null 규칙, 부분 재구성 범위, checkpoint 검증/저장 시점을 확인
+ */
+class ProductionTotalIndexTest {
+
+    private static final LocalDate DAY1 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY5 = DAY1.plusDays(4);
+
+    @TempDir
+    Path dir;
+
+    private final List<Real> table = new ArrayList<>();
+    private RealRepository repo;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(RealRepository.class);
+        when(repo.findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(anyLong(), any())).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            return select(r -> r.getHydrogenActualId() > afterId).stream()
+                    .sorted(Comparator.comparing(Real::getHydrogenActualId))
+                    .limit(page.getPageSize())
+                    .collect(Collectors.toList());
+        });
+        when(repo.findMaxId()).thenAnswer(inv -> table.stream().mapToLong(Real::getHydrogenActualId).max().orElse(0));
+        when(repo.findByTsGreaterThanEqualAndTsLessThan(any(), any())).thenAnswer(inv -> {
+            LocalDateTime start = inv.getArgument(0);
+            LocalDateTime end = inv.getArgument(1);
+            return select(r -> !r.getTs().isBefore(start) && r.getTs().isBefore(end));
+        });
+        when(repo.findIndexKeysByFacid(any(), any(), any())).thenAnswer(inv -> {
+            Long facId = inv.getArgument(0);
+            LocalDateTime start = inv.getArgument(1);
+            LocalDateTime end = inv.getArgument(2);
+            return keys(r -> r.getFacid().equals(facId) && !r.getTs().isBefore(start) && r.getTs().isBefore(end));
+        });
+        when(repo.findIndexKeysByPlantId(any())).thenAnswer(inv -> {
+            String plantId = inv.getArgument(0);
+            return keys(r -> plantId.equals(r.getPlantId()));
+        });
+        when(repo.findIndexStats(anyLong())).thenAnswer(inv -> {
+            long lastId = inv.getArgument(0);
+            List<Real> rows = select(r -> r.getHydrogenActualId() <= lastId);
+            Object[] stats = {
+                    rows.stream().filter(r -> r.getOrgid() != null).count(),
+                    sumKg(rows.stream().filter(r -> r.getOrgid() != null).collect(Collectors.toList())),
+                    rows.stream().filter(r -> r.getPlantId() != null).count(),
+                    sumKg(rows.stream().filter(r -> r.getPlantId() != null).collect(Collectors.toList())) };
+            List<Object[]> result = new ArrayList<>();
+            result.add(stats);
+            return result;
+        });
+    }
+
+    @Test
+    void sumIsNullWhenNoRowsLikeDbSum() {
+        insert(7L, 1L, "A", DAY1.atTime(0, 0), "1.500");
+        insert(7L, 1L, "A", DAY1.atTime(1, 0), "0");
+        ProductionTotalIndex index = loaded(30);
+
+        assertThat(index.sumByOrg(99L, null, null)).isNull();
+        assertThat(index.sumByPlant("none", null, null)).isNull();
+        // 키는 있지만 범위에 행이 없음
+        assertThat(index.sumByOrg(1L, DAY1.atTime(5, 0), DAY1.atTime(8, 0))).isNull();
+        assertThat(index.sumByOrg(1L, DAY5.atStartOfDay(), null)).isNull();
+        // 생산량 0 인 행은 있음 → 0
+        assertThat(index.sumByOrg(1L, DAY1.atTime(1, 0), DAY1.atTime(2, 0))).isEqualByComparingTo("0");
+        assertThat(index.sumByOrg(1L, null, null)).isEqualByComparingTo("1.5");
+        assertThat(index.sumByPlant("A", DAY1.atTime(0, 0), DAY1.atTime(1, 0))).isEqualByComparingTo("1.5");
+    }
+
+    @Test
+    void facilityRebuildOnlyReadsItsHoursAndKeys() {
+        for (int h = 0; h < 24; h++) {
+            insert(7L, 1L, "A", DAY1.atTime(h, 0), "1.000");
+            insert(8L, 1L, "B", DAY1.atTime(h, 0), "2.000");
+        }
+        insert(8L, 1L, "B", DAY5.atTime(3, 0), "5.000");
+        ProductionTotalIndex index = loaded(30);
+        clearInvocations(repo);
+
+        // 설비 7 재생성: 같은 id 값 변경 + 새 행 추가
+        row(7L, DAY1.atTime(10, 0)).setProductionKg(new BigDecimal("4.000"));
+        insert(7L, 1L, "A", DAY1.minusDays(1).atTime(23, 0), "0.500");
+        assertThat(index.rebuildRange(7L, null, null)).isGreaterThan(0);
+
+        assertThat(index.sumByPlant("A", null, null)).isEqualByComparingTo("27.5");
+        assertThat(index.sumByPlant("B", null, null)).isEqualByComparingTo("53");
+        assertThat(index.sumByOrg(1L, null, null)).isEqualByComparingTo("80.5");
+        assertThat(index.sumByOrg(1L, DAY1.atTime(10, 0), DAY1.atTime(11, 0))).isEqualByComparingTo("6");
+        // 설비 7 행이 있는 시간(전날 23시 ~ DAY1)만 하루 단위로 읽음, 전체 재적재 없음
+        verify(repo).findByTsGreaterThanEqualAndTsLessThan(DAY1.minusDays(1).atTime(23, 0), DAY1.atStartOfDay());
+        verify(repo).findByTsGreaterThanEqualAndTsLessThan(DAY1.atStartOfDay(), DAY1.plusDays(1).atStartOfDay());
+        verify(repo, never()).findByTsGreaterThanEqualAndTsLessThan(eq(DAY5.atStartOfDay()), any());
+        verify(repo, never()).findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(eq(0L), any());
+    }
+
+    @Test
+    void timeRangeRebuildReplacesOnlyThatRange() {
+        insert(7L, 1L, "A", DAY1.atTime(10, 0), "1.000");
+        insert(8L, 2L, "B", DAY1.atTime(10, 0), "2.000");
+        insert(8L, 2L, "B", DAY1.atTime(11, 0), "3.000");
+        ProductionTotalIndex index = loaded(30);
+
+        row(7L, DAY1.atTime(10, 0)).setProductionKg(new BigDecimal("10.000"));
+        row(8L, DAY1.atTime(10, 0)).setProductionKg(new BigDecimal("20.000"));
+        // 범위 밖 값은 바뀌어도 반영하지 않음 (재생성 범위가 아님)
+        row(8L, DAY1.atTime(11, 0)).setProductionKg(new BigDecimal("30.000"));
+        index.rebuildRange(null, DAY1.atTime(10, 0), DAY1.atTime(11, 0));
+
+        assertThat(index.sumByOrg(1L, null, null)).isEqualByComparingTo("10");
+        assertThat(index.sumByOrg(2L, null, null)).isEqualByComparingTo("23");
+        assertThat(index.sumByPlant("B", DAY1.atTime(10, 0), DAY1.atTime(11, 0))).isEqualByComparingTo("20");
+    }
+
+    @Test
+    void plantRebuildUsesPlantRows() {
+        insert(7L, 1L, "A", DAY1.atTime(1, 0), "1.000");
+        insert(8L, 1L, "B", DAY1.atTime(1, 0), "1.000");
+        ProductionTotalIndex index = loaded(30);
+
+        row(7L, DAY1.atTime(1, 0)).setProductionKg(new BigDecimal("6.000"));
+        index.rebuildPlant("A");
+
+        assertThat(index.sumByPlant("A", null, null)).isEqualByComparingTo("6");
+        assertThat(index.sumByOrg(1L, null, null)).isEqualByComparingTo("7");
+    }
+
+    @Test
+    void checkpointIsUsedOnlyWhenRowCountAndSumMatchDb() {
+        insert(7L, 1L, "A", DAY1.atTime(1, 0), "1.000");
+        insert(7L, 1L, "A", DAY1.atTime(2, 0), "2.000");
+        loaded(30);
+        assertThat(Files.exists(checkpoint())).isTrue();
+
+        // 같은 DB + 새 행 1개 → checkpoint 사용, 그 이후 id만 읽음
+        insert(7L, 1L, "A", DAY1.atTime(3, 0), "3.000");
+        clearInvocations(repo);
+        ProductionTotalIndex restored = loaded(30);
+        verify(repo, never()).findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(eq(0L), any());
+        assertThat(restored.sumByOrg(1L, null, null)).isEqualByComparingTo("6");
+
+        // 앱이 꺼진 동안 기존 행 값이 바뀜 (id 그대로) → 합계가 달라 checkpoint 무시, 전체 적재
+        row(7L, DAY1.atTime(1, 0)).setProductionKg(new BigDecimal("100.000"));
+        clearInvocations(repo);
+        ProductionTotalIndex reloaded = loaded(30);
+        verify(repo).findByHydrogenActualIdGreaterThanOrderByHydrogenActualIdAsc(eq(0L), any());
+        assertThat(reloaded.sumByOrg(1L, null, null)).isEqualByComparingTo("105");
+    }
+
+    @Test
+    void checkpointIsWrittenAfterRebuildOrWhenIntervalPassed() throws IOException {
+        insert(7L, 1L, "A", DAY1.atTime(1, 0), "1.000");
+        ProductionTotalIndex index = loaded(30);
+        byte[] afterLoad = Files.readAllBytes(checkpoint());
+
+        // 주기 전: 새 행이 들어와도 파일은 그대로
+        insert(7L, 1L, "A", DAY1.atTime(2, 0), "2.000");
+        index.refresh();
+        index.rebuildRange(7L, null, null);
+        assertThat(Files.readAllBytes(checkpoint())).isEqualTo(afterLoad);
+
+        // 종료 시에는 남은 변경 저장
+        index.saveOnShutdown();
+        byte[] afterShutdown = Files.readAllBytes(checkpoint());
+        assertThat(afterShutdown).isNotEqualTo(afterLoad);
+
+        // 전체 재구성 직후에는 바로 저장
+        insert(7L, 1L, "A", DAY1.atTime(3, 0), "3.000");
+        index.rebuild();
+        assertThat(Files.readAllBytes(checkpoint())).isNotEqualTo(afterShutdown);
+
+        // 주기가 0 이면 갱신마다 저장
+        ReflectionTestUtils.setField(index, "checkpointIntervalMinutes", 0L);
+        byte[] beforeRefresh = Files.readAllBytes(checkpoint());
+        insert(7L, 1L, "A", DAY1.atTime(4, 0), "4.000");
+        index.refresh();
+        assertThat(Files.readAllBytes(checkpoint())).isNotEqualTo(beforeRefresh);
+    }
+
+    private ProductionTotalIndex loaded(long intervalMinutes) {
+        ProductionTotalIndex index = new ProductionTotalIndex(repo);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "checkpointPath", checkpoint().toString());
+        ReflectionTestUtils.setField(index, "checkpointIntervalMinutes", intervalMinutes);
+        index.loadOnStartup();
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    private Path checkpoint() {
+        return dir.resolve("index.bin");
+    }
+
+    private void insert(Long facId, Long orgId, String plantId, LocalDateTime ts, String kg) {
+        table.add(Real.builder()
+                .hydrogenActualId(nextId++)
+                .facid(facId)
+                .orgid(orgId)
+                .plantId(plantId)
+                .ts(ts)
+                .productionKg(new BigDecimal(kg))
+                .build());
+    }
+
+    private Real row(Long facId, LocalDateTime ts) {
+        return table.stream().filter(r -> r.getFacid().equals(facId) && r.getTs().equals(ts)).findFirst().orElseThrow();
+    }
+
+    private List<Real> select(Predicate<Real> filter) {
+        return table.stream().filter(filter).collect(Collectors.toList());
+    }
+
+    // SELECT orgid, plantId, MIN(ts), MAX(ts) ... GROUP BY orgid, plantId
+    private List<Object[]> keys(Predicate<Real> filter) {
+        Map<List<Object>, LocalDateTime[]> groups = new LinkedHashMap<>();
+        for (Real r : select(filter)) {
+            LocalDateTime[] range = groups.computeIfAbsent(List.of(r.getOrgid(), r.getPlantId()),
+                    k -> new LocalDateTime[] { r.getTs(), r.getTs() });
+            range[0] = r.getTs().isBefore(range[0]) ? r.getTs() : range[0];
+            range[1] = r.getTs().isAfter(range[1]) ? r.getTs() : range[1];
+        }
+        List<Object[]> result = new ArrayList<>();
+        groups.forEach((key, range) -> result.add(new Object[] { key.get(0), key.get(1), range[0], range[1] }));
+        return result;
+    }
+
+    private static BigDecimal sumKg(List<Real> rows) {
+        return rows.isEmpty() ? null
+                : rows.stream().map(Real::getProductionKg).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
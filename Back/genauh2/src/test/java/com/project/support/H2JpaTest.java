@@ -0,0 +1,43 @@
+package com.project.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 엔티티 스키마를 H2(MySQL 모드)에 만들어 쓰는 리포지토리/서비스 테스트
+ *
+ * - 테스트 메서드를 트랜잭션으로 감싸지 않음 → 서비스의 커밋/afterCommit 동작을 그대로 확인
+ * - 테스트 클래스마다 DB 이름이 달라야 하면 spring.datasource.url 을 덮어씀
+ * - organizations 테이블 DDL(MySQL 전용 컬럼 정의)은 H2 에서 실패하지만 다른 테이블에는 영향 없음
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:genauh2;MODE=MySQL;NON_KEYWORDS=HOUR,YEAR,MONTH,VALUE,DAY",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "logging.level.org.hibernate.tool.schema=OFF",
+        "logging.level.com.project=INFO"
+})
+public @interface H2JpaTest {
+}
@@ -0,0 +1,95 @@
+package com.project.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ElectrolyzerModelTest {
+
+    private static final long SEED = 20250101L;
+    private static final double POWER_KW = 1000;
+    private static final double SPEC_KWH = 50;
+    private static final double H2_RATE = 15;
+
+    @Test
+    void sameSeedFacilityAndHourGiveSameOutput() {
+        ElectrolyzerModel model = new ElectrolyzerModel(7, 1, POWER_KW, SPEC_KWH, H2_RATE);
+        ElectrolyzerModel other = new ElectrolyzerModel(7, 1, POWER_KW, SPEC_KWH, H2_RATE);
+        Random random = new Random(3);
+        for (int i = 0; i < 1_000; i++) {
+            double generation = random.nextDouble() * 800;
+            double capacity = 100 + random.nextInt(900);
+            long epochHour = 480_000 + random.nextInt(10_000);
+            double[] first = new double[4];
+            double[] second = new double[4];
+
+            model.compute(generation, capacity, epochHour, SEED, first);
+            other.compute(generation, capacity, epochHour, SEED, second);
+
+            assertThat(second).containsExactly(first);
+        }
+    }
+
+    @Test
+    void idleJitterDependsOnFacilityAndHour() {
+        ElectrolyzerModel model = new ElectrolyzerModel(7, 1, POWER_KW, SPEC_KWH, H2_RATE);
+        ElectrolyzerModel otherFacility = new ElectrolyzerModel(8, 1, POWER_KW, SPEC_KWH, H2_RATE);
+        double[] a = new double[4];
+        double[] b = new double[4];
+        double[] c = new double[4];
+
+        model.compute(0, 100, 480_000, SEED, a);
+        model.compute(0, 100, 480_001, SEED, b);
+        otherFacility.compute(0, 100, 480_000, SEED, c);
+
+        assertThat(a[2]).isNotEqualTo(b[2]);
+        assertThat(a[2]).isNotEqualTo(c[2]);
+    }
+
+    @Test
+    void outputsStayWithinSqlFormulaBounds() {
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            double powerKw = 60 + random.nextInt(2_000);
+            double specKwh = 40 + random.nextDouble() * 20;
+            double h2Rate = random.nextBoolean() ? 0 : 1 + random.nextDouble() * 30;
+            ElectrolyzerModel model = new ElectrolyzerModel(i, 1, powerKw, specKwh, h2Rate);
+            double generation = random.nextDouble() * 3_000;
+            double capacity = random.nextInt(3_000);
+            double[] out = new double[4];
+
+            model.compute(generation, capacity, random.nextInt(1_000_000), SEED, out);
+
+            // 기존 SQL: idle = GREATEST(0, generation - capacity x 0.7)
+            double surplus = Math.max(0, generation - capacity * ElectrolyzerModel.SURPLUS_RATIO);
+            assertThat(out[0]).isCloseTo(surplus, within(0.0005));
+            // 소비 전력: 잉여가 없으면 49~51kW, 있으면 50 + 잉여, 어느 쪽이든 정격 전력 이하
+            if (out[0] == 0) {
+                assertThat(out[2]).isBetween(Math.min(49, powerKw), Math.min(51, powerKw));
+            } else {
+                assertThat(out[2]).isCloseTo(Math.min(50 + out[0], powerKw), within(0.005));
+            }
+            // 생산량 = 소비 전력 / spec_kwh, h2_rate 가 있으면 그 이하
+            double production = out[2] / specKwh;
+            if (h2Rate > 0) {
+                production = Math.min(production, h2Rate);
+            }
+            assertThat(out[1]).isCloseTo(production, within(0.001));
+            assertThat(out[3]).isBetween(0.0, 100.0);
+            // 가동률은 반올림 전 소비 전력으로 계산하므로 소비 전력 반올림 오차(0.005kW)만큼 허용
+            assertThat(out[3]).isCloseTo(out[2] / powerKw * 100, within(0.5 / powerKw + 0.0001));
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveRatings() {
+        assertThatThrownBy(() -> new ElectrolyzerModel(1, 1, 0, SPEC_KWH, H2_RATE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ElectrolyzerModel(1, 1, POWER_KW, -1, H2_RATE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
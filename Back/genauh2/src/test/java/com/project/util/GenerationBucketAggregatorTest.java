@@ -0,0 +1,99 @@
+package com.project.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class GenerationBucketAggregatorTest {
+
+    private static final LocalDate START = LocalDate.of(2023, 11, 15);
+    private static final LocalDate END = LocalDate.of(2025, 2, 10);
+
+    @Test
+    void dailyBucketsMatchNaiveSum() {
+        assertMatchesNaive(GenerationBucketAggregator.Unit.DAY, LocalDate::toEpochDay);
+    }
+
+    @Test
+    void weeklyBucketsMatchNaiveSum() {
+        WeekFields weekFields = WeekFields.of(Locale.getDefault());
+        assertMatchesNaive(GenerationBucketAggregator.Unit.WEEK,
+                d -> d.getYear() * 100L + d.get(weekFields.weekOfWeekBasedYear()));
+    }
+
+    @Test
+    void monthlyBucketsMatchNaiveSum() {
+        assertMatchesNaive(GenerationBucketAggregator.Unit.MONTH, d -> d.getYear() * 100L + d.getMonthValue());
+    }
+
+    @Test
+    void keyOfOutsidePrecomputedRangeIsComputed() {
+        GenerationBucketAggregator aggregator =
+                new GenerationBucketAggregator(GenerationBucketAggregator.Unit.MONTH, START, START.plusDays(3));
+
+        assertThat(aggregator.keyOf(LocalDate.of(2030, 7, 4))).isEqualTo(203007L);
+        assertThat(aggregator.keyOf(LocalDate.of(2001, 1, 1))).isEqualTo(200101L);
+    }
+
+    @Test
+    void hourOfDayBucketsUseExplicitKeys() {
+        GenerationBucketAggregator aggregator =
+                new GenerationBucketAggregator(GenerationBucketAggregator.Unit.HOUR_OF_DAY, START, END);
+        aggregator.addToKey(13, 2.0, 1.0, 0, 1);
+        aggregator.addToKey(5, 1.0, 1.0, 0, 1);
+        aggregator.addToKey(13, 3.0, 1.0, 0, 2);
+
+        List<long[]> emitted = new ArrayList<>();
+        aggregator.forEachSorted((key, gen, pred, capacity, rows) -> emitted.add(new long[] { key, (long) gen, rows }));
+
+        assertThat(emitted).containsExactly(new long[] { 5, 1, 1 }, new long[] { 13, 5, 3 });
+        assertThatThrownBy(() -> aggregator.add(START, 1, 1, 1, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    // 무작위 일별 값을 집계기와 TreeMap 양쪽에 더해 버킷별 결과를 비교 (키 수가 많아 재해시도 거침)
+    private static void assertMatchesNaive(GenerationBucketAggregator.Unit unit, Function<LocalDate, Long> key) {
+        Random random = new Random(42);
+        GenerationBucketAggregator aggregator = new GenerationBucketAggregator(unit, START, END);
+        Map<Long, double[]> naive = new TreeMap<>();
+
+        for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+            int rows = 1 + random.nextInt(3);
+            for (int i = 0; i < rows; i++) {
+                double gen = random.nextDouble() * 1000;
+                double pred = random.nextDouble() * 1000;
+                long capacity = random.nextInt(500);
+                aggregator.add(d, gen, pred, capacity, 1);
+                double[] acc = naive.computeIfAbsent(key.apply(d), k -> new double[4]);
+                acc[0] += gen;
+                acc[1] += pred;
+                acc[2] += capacity;
+                acc[3] += 1;
+            }
+        }
+
+        List<Long> keys = new ArrayList<>();
+        aggregator.forEachSorted((k, gen, pred, capacity, rows) -> {
+            double[] expected = naive.get(k);
+            assertThat(expected).as("bucket %d", k).isNotNull();
+            assertThat(gen).isCloseTo(expected[0], within(1e-6));
+            assertThat(pred).isCloseTo(expected[1], within(1e-6));
+            assertThat(capacity).isEqualTo((long) expected[2]);
+            assertThat(rows).isEqualTo((long) expected[3]);
+            keys.add(k);
+        });
+        assertThat(keys).containsExactlyElementsOf(naive.keySet());
+        assertThat(aggregator.size()).isEqualTo(naive.size());
+    }
+}
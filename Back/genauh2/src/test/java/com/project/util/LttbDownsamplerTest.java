@@ -0,0 +1,79 @@
+package com.project.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.entity.PlantGeneration;
+
+class LttbDownsamplerTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void keepsFirstAndLastRowsAndReturnsMaxPoints() {
+        LocalDate end = START.plusDays(29);
+        List<PlantGeneration> rows = series(30 * 24);
+
+        List<PlantGeneration> result = downsample(rows, end, 100);
+
+        assertThat(result).hasSize(100);
+        assertThat(result.get(0)).isSameAs(rows.get(0));
+        assertThat(result.get(result.size() - 1)).isSameAs(rows.get(rows.size() - 1));
+        // 입력 순서(시간 오름차순)를 유지
+        for (int i = 1; i < result.size(); i++) {
+            assertThat(result.get(i).getId()).isGreaterThan(result.get(i - 1).getId());
+        }
+    }
+
+    @Test
+    void keepsIsolatedSpike() {
+        LocalDate end = START.plusDays(29);
+        List<PlantGeneration> rows = series(30 * 24);
+        PlantGeneration spike = new PlantGeneration(334L, "plt001", START.plusDays(333 / 24), 333 % 24,
+                10_000.0, 0.0, 100);
+        rows.set(333, spike);
+
+        assertThat(downsample(rows, end, 50)).contains(spike);
+    }
+
+    @Test
+    void returnsEveryRowWhenFewerRowsThanPoints() {
+        List<PlantGeneration> rows = series(10);
+
+        assertThat(downsample(rows, START, 100)).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    void emptyInputGivesEmptyResult() {
+        assertThat(new LttbDownsampler(START, START, 10).finish()).isEmpty();
+    }
+
+    @Test
+    void rejectsFewerThanThreePoints() {
+        assertThatThrownBy(() -> new LttbDownsampler(START, START, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<PlantGeneration> downsample(List<PlantGeneration> rows, LocalDate end, int maxPoints) {
+        LttbDownsampler sampler = new LttbDownsampler(START, end, maxPoints);
+        rows.forEach(sampler::add);
+        return sampler.finish();
+    }
+
+    // 시간 단위 사인파 형태 발전량 (id = 1부터 시간 순)
+    private static List<PlantGeneration> series(int hours) {
+        List<PlantGeneration> rows = new ArrayList<>(hours);
+        for (int i = 0; i < hours; i++) {
+            double generation = Math.max(0, Math.sin((i % 24 - 6) * Math.PI / 12)) * 100;
+            rows.add(new PlantGeneration((long) i + 1, "plt001", START.plusDays(i / 24), i % 24,
+                    generation, generation * 0.9, 100));
+        }
+        return rows;
+    }
+}
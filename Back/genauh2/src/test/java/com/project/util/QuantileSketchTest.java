@@ -0,0 +1,106 @@
+package com.project.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = { 0.0, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1.0 };
+
+    @Test
+    void quantilesStayWithinRelativeErrorBound() {
+        Random random = new Random(7);
+        double[] values = new double[20_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // 0.01 ~ 10,000 범위의 로그 정규 형태 값
+            values[i] = Math.exp(random.nextGaussian() * 2 + 3);
+            sketch.add(values[i]);
+        }
+
+        assertWithinBound(sketch, values);
+    }
+
+    @Test
+    void mergedSketchEqualsSketchOfAllValues() {
+        Random random = new Random(11);
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 0; i < 5_000; i++) {
+            double a = random.nextDouble() * 100;
+            double b = random.nextDouble() * 5_000;
+            left.add(a);
+            right.add(b);
+            all.add(a);
+            all.add(b);
+        }
+
+        left.merge(right);
+
+        assertThat(left.getCount()).isEqualTo(all.getCount());
+        for (double q : QUANTILES) {
+            assertThat(left.quantile(q)).isEqualTo(all.quantile(q));
+        }
+    }
+
+    @Test
+    void zeroValuesAreCountedSeparately() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < 60; i++) {
+            sketch.add(0.0);
+        }
+        for (int i = 0; i < 40; i++) {
+            sketch.add(50.0);
+        }
+
+        assertThat(sketch.quantile(0.5)).isEqualTo(0.0);
+        assertThat(sketch.quantile(0.9)).isCloseTo(50.0, within(0.5));
+    }
+
+    @Test
+    void emptySketchHasNoQuantile() {
+        assertThat(new QuantileSketch().quantile(0.5)).isNull();
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 1_000; i++) {
+            sketch.add(i * 0.37);
+        }
+        sketch.add(0);
+
+        QuantileSketch restored = QuantileSketch.fromBytes(sketch.toBytes());
+
+        assertThat(restored.getCount()).isEqualTo(sketch.getCount());
+        for (double q : QUANTILES) {
+            assertThat(restored.quantile(q)).isEqualTo(sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] bytes = new QuantileSketch().toBytes();
+        bytes[0] = 99;
+
+        assertThatThrownBy(() -> QuantileSketch.fromBytes(bytes)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 스케치 분위수가 같은 순위의 실제 값과 상대 오차 1% 이내인지 확인
+    private static void assertWithinBound(QuantileSketch sketch, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double estimate = sketch.quantile(q);
+            assertThat(Math.abs(estimate - exact) / exact).as("q=%s", q).isLessThanOrEqualTo(0.01 + 1e-9);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class TimeRangeTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 10, 30);
+
+    @Test
+    void dateOnlyEndIncludesWholeDay() {
+        TimeRange range = TimeRange.parse("2025-01-01", "2025-01-31", null, null);
+
+        assertThat(range.getStart()).isEqualTo(LocalDateTime.of(2025, 1, 1, 0, 0));
+        assertThat(range.getEnd()).isEqualTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+
+    @Test
+    void timedEndIncludesThatSecond() {
+        TimeRange range = TimeRange.parse("2025-01-01 09:00", "2025-01-01T18:00:00", null, null);
+
+        assertThat(range.getStart()).isEqualTo(LocalDateTime.of(2025, 1, 1, 9, 0));
+        assertThat(range.getEnd()).isEqualTo(LocalDateTime.of(2025, 1, 1, 18, 0, 1));
+    }
+
+    @Test
+    void blankStartDefaultAfterEndGivesEmptyRange() {
+        // 데이터가 없어 defaultStart = 현재인데 end 가 과거인 경우
+        TimeRange range = TimeRange.parse(" ", "2025-01-31", NOW, NOW);
+
+        assertThat(range.isEmpty()).isTrue();
+        assertThat(range.getEnd()).isEqualTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+
+    @Test
+    void blankEndDefaultBeforeStartGivesEmptyRange() {
+        TimeRange range = TimeRange.parse("2030-01-01", null, NOW, NOW);
+
+        assertThat(range.isEmpty()).isTrue();
+        assertThat(range.getStart()).isEqualTo(LocalDateTime.of(2030, 1, 1, 0, 0));
+    }
+
+    @Test
+    void explicitReversedRangeIsRejected() {
+        assertThatThrownBy(() -> TimeRange.parse("2025-02-01", "2025-01-01", NOW, NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void malformedDateIsRejected() {
+        assertThatThrownBy(() -> TimeRange.parse("2025/01/01", null, NOW, NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}